@@ -0,0 +1,80 @@
+package com.samsungds.ims.mail.benchmark;
+
+import com.samsungds.ims.mail.util.DomainRuleTrie;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 allowedEmailDomains.stream().anyMatch(endsWith) 방식과 {@link DomainRuleTrie} 조회 비교.
+ * <p>
+ * 규칙 수(ruleCount)만큼 임의 도메인을 만들고, 조회 대상은 허용(일치)/미허용(불일치) 주소를 절반씩 섞습니다.
+ * 할당 여부는 "-prof gc"로 확인합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailDomainPolicyBenchmark {
+    private static final int ADDRESS_COUNT = 1024;
+
+    @Param({"10", "1000"})
+    public int ruleCount;
+
+    private List<String> allowedDomains;
+    private DomainRuleTrie trie;
+    private String[] addresses;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        allowedDomains = new ArrayList<>(List.of("samsung.com", "partner.samsung.com", "partner.sec.co.kr"));
+        while (allowedDomains.size() < ruleCount) {
+            allowedDomains.add(randomLabel(random) + "." + randomLabel(random) + (random.nextBoolean() ? ".com" : ".co.kr"));
+        }
+        trie = DomainRuleTrie.compile(allowedDomains, List.of());
+
+        addresses = new String[ADDRESS_COUNT];
+        for (int i = 0; i < ADDRESS_COUNT; i++) {
+            String user = "user" + i + "@";
+            if (i % 2 == 0) {
+                String domain = allowedDomains.get(random.nextInt(allowedDomains.size()));
+                addresses[i] = user + (i % 4 == 0 ? "mail." + domain : domain);
+            } else {
+                addresses[i] = user + randomLabel(random) + ".example.net";
+            }
+        }
+    }
+
+    @Benchmark
+    public void legacyStreamEndsWith(Blackhole bh) {
+        String address = nextAddress();
+        bh.consume(allowedDomains.stream().anyMatch(address::endsWith));
+    }
+
+    @Benchmark
+    public void reversedLabelTrie(Blackhole bh) {
+        bh.consume(trie.isAllowed(nextAddress()));
+    }
+
+    private String nextAddress() {
+        index = (index + 1) & (ADDRESS_COUNT - 1);
+        return addresses[index];
+    }
+
+    private static String randomLabel(Random random) {
+        int length = 4 + random.nextInt(8);
+        StringBuilder label = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            label.append((char) ('a' + random.nextInt(26)));
+        }
+        return label.toString();
+    }
+}
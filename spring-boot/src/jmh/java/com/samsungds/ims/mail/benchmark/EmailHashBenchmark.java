@@ -0,0 +1,53 @@
+package com.samsungds.ims.mail.benchmark;
+
+import com.samsungds.ims.mail.util.EmailHashGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 uniqueId 해시(String.getBytes + 호출마다 MessageDigest.getInstance)와
+ * {@link EmailHashGenerator#generateSha256Hash}(스레드별 MessageDigest, 고정 버퍼 인코딩) 비교.
+ * <p>
+ * 입력은 Jira 알림 HTML 본문이며, 할당량은 "-prof gc"(jmh 작업 기본값)로 확인합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailHashBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "HUGE"})
+    public JiraMailFixtures.Size size;
+
+    private String html;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        html = JiraMailFixtures.html(size);
+        if (!legacyHash(html).equals(EmailHashGenerator.generateSha256Hash(html))) {
+            throw new IllegalStateException("기존 해시와 결과가 다릅니다.");
+        }
+    }
+
+    @Benchmark
+    public String legacyGetBytes() throws NoSuchAlgorithmException {
+        return legacyHash(html);
+    }
+
+    @Benchmark
+    public String threadLocalDigest() {
+        return EmailHashGenerator.generateSha256Hash(html);
+    }
+
+    private static String legacyHash(String body) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(digest.digest(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.samsungds.ims.mail.benchmark;
+
+import com.samsungds.ims.mail.util.FileNames;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 첨부파일 이름 정제(호출마다 정규식 컴파일하는 String.replaceAll)와 {@link FileNames#sanitize} 비교.
+ * <p>
+ * SMALL은 바꿀 문자가 없는 이름, TYPICAL은 공백/괄호가 섞인 한글 이름, HUGE는 200자를 넘는 이름 묶음입니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileNameSanitizeBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "HUGE"})
+    public JiraMailFixtures.Size size;
+
+    private String[] fileNames;
+
+    @Setup
+    public void setUp() {
+        fileNames = switch (size) {
+            case SMALL -> new String[]{"report-0.pdf", "screenshot_2024-05-01.png", "IMS-1234.log", "build.gradle"};
+            case TYPICAL -> new String[]{"2024년 상반기 보안 교육 (최종).pptx", "회의록 - 주간 회의 #12.docx",
+                    "스크린샷 2024-05-01 오후 3.12.45.png", "요구사항 정의서 v1.2 [검토].xlsx"};
+            case HUGE -> new String[]{"장애 보고서 ".repeat(30) + "(첨부).pdf", "very long attachment name ".repeat(12) + ".zip",
+                    "데이터 추출 결과 😀 ".repeat(20) + ".csv", "로그 파일 (서버 #1) ".repeat(20) + ".log"};
+        };
+        for (String fileName : fileNames) {
+            if (!legacySanitize(fileName).equals(FileNames.sanitize(fileName))) {
+                throw new IllegalStateException("기존 정제 결과와 다릅니다: " + fileName);
+            }
+        }
+    }
+
+    @Benchmark
+    public void legacyReplaceAll(Blackhole bh) {
+        for (String fileName : fileNames) {
+            bh.consume(legacySanitize(fileName));
+        }
+    }
+
+    @Benchmark
+    public void codePointScan(Blackhole bh) {
+        for (String fileName : fileNames) {
+            bh.consume(FileNames.sanitize(fileName));
+        }
+    }
+
+    private static String legacySanitize(String fileName) {
+        String sanitized = fileName.replaceAll("[^a-zA-Z0-9.\\-_ㄱ-ㅎㅏ-ㅣ가-힣]", "_");
+        return sanitized.length() > 200 ? sanitized.substring(0, 200) : sanitized;
+    }
+}
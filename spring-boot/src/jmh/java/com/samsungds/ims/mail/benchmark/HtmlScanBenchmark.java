@@ -0,0 +1,69 @@
+package com.samsungds.ims.mail.benchmark;
+
+import com.samsungds.ims.mail.util.BlobReferences;
+import com.samsungds.ims.mail.util.JiraHtmlScanner;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 Jsoup 2회 파싱(getSenderFromBody, replaceCidSrcInHtml + doc.html())과 {@link JiraHtmlScanner} 단일 스캔 비교.
+ * <p>
+ * 두 경로 모두 발신자 사용자명 추출과 cid: 이미지 src 치환을 수행합니다. 할당량은 "-prof gc"로 확인합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HtmlScanBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "HUGE"})
+    public JiraMailFixtures.Size size;
+
+    private String html;
+    private Map<String, String> cidToUrlMap;
+
+    @Setup
+    public void setUp() {
+        html = JiraMailFixtures.html(size);
+        cidToUrlMap = new HashMap<>();
+        cidToUrlMap.put("jira-generated-image-avatar-0", BlobReferences.reference("0".repeat(64), "image/png"));
+        for (int i = 0; i < 16; i++) {
+            cidToUrlMap.put("jira-generated-image-static-" + i, BlobReferences.reference(Integer.toHexString(i).repeat(64).substring(0, 64), "image/png"));
+        }
+    }
+
+    @Benchmark
+    public void jsoupTwoPass(Blackhole bh) {
+        Document senderDocument = Jsoup.parse(html);
+        Element element = senderDocument.selectFirst("#header-pattern a.user-hover");
+        bh.consume(element != null ? element.attr("rel") : null);
+
+        Document doc = Jsoup.parse(html);
+        for (Element imgTag : doc.select("img[src^=cid:]")) {
+            String cid = imgTag.attr("src").substring("cid:".length());
+            if (cidToUrlMap.containsKey(cid)) {
+                imgTag.attr("src", cidToUrlMap.get(cid));
+            }
+        }
+        bh.consume(doc.html());
+    }
+
+    @Benchmark
+    public JiraHtmlScanner.Result streamingScan() {
+        return JiraHtmlScanner.scan(html, cidToUrlMap);
+    }
+
+    @Benchmark
+    public String streamingSenderOnly() {
+        return JiraHtmlScanner.findSenderUserName(html);
+    }
+}
@@ -0,0 +1,163 @@
+package com.samsungds.ims.mail.benchmark;
+
+import javax.activation.DataHandler;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import javax.mail.util.ByteArrayDataSource;
+import javax.mail.util.SharedByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * 벤치마크용 Jira 알림 메일 샘플 생성기.
+ * Jira가 보내는 형태(multipart/mixed > related > alternative)와 CID 이미지, 첨부파일을 재현합니다.
+ */
+public final class JiraMailFixtures {
+
+    public static final Session SESSION = Session.getInstance(new Properties());
+
+    /**
+     * 페이로드 크기 프로파일
+     */
+    public enum Size {
+        SMALL(1, 0, 2, 0),
+        TYPICAL(20, 3, 8, 1),
+        HUGE(400, 12, 64, 4);
+
+        final int comments;
+        final int images;
+        final int imageKb;
+        final int attachments;
+
+        Size(int comments, int images, int imageKb, int attachments) {
+            this.comments = comments;
+            this.images = images;
+            this.imageKb = imageKb;
+            this.attachments = attachments;
+        }
+    }
+
+    private JiraMailFixtures() {
+    }
+
+    /**
+     * Jira 알림 HTML 본문 생성 (#header-pattern 내부 user-hover 링크, cid: 이미지 포함)
+     */
+    public static String html(Size size) {
+        return html(size, null);
+    }
+
+    /**
+     * issueKey가 있으면 헤더에 이슈 링크를 넣어 본문(중복 판별 해시)이 메일마다 달라지게 함
+     */
+    public static String html(Size size, String issueKey) {
+        StringBuilder html = new StringBuilder(1024 + size.comments * 600);
+        html.append("<html><head><meta charset=\"utf-8\"><style>td{padding:0}</style></head><body>")
+                .append("<table id=\"background-table\" cellpadding=\"0\" cellspacing=\"0\" width=\"100%\"><tr><td>")
+                .append("<table id=\"header-pattern-container\"><tr><td id=\"header-pattern\">")
+                .append("<div class=\"aui-avatar\"><img src=\"cid:jira-generated-image-avatar-0\" alt=\"\"></div>")
+                .append("<a class=\"user-hover\" rel=\"jdoe\" id=\"email_jdoe\" href=\"https://jira.samsungds.net/secure/ViewProfile.jspa?name=jdoe\">John Doe</a>")
+                .append(" <strong>updated</strong> an issue");
+        if (issueKey != null) {
+            html.append(" <a href=\"https://jira.samsungds.net/browse/").append(issueKey).append("\">").append(issueKey).append("</a>");
+        }
+        html.append("</td></tr></table>");
+        for (int i = 0; i < size.comments; i++) {
+            html.append("<table class=\"keyvalue-table\"><tr><th>Comment ").append(i).append("</th><td>")
+                    .append("<div class=\"comment-block\"><p>Lorem ipsum dolor sit amet, consectetur adipiscing elit. ")
+                    .append("Integer nec odio. Praesent libero. Sed cursus ante dapibus diam. 이슈 코멘트 본문 ")
+                    .append(i).append("</p><ul><li><a href=\"https://jira.samsungds.net/browse/IMS-").append(i)
+                    .append("\">IMS-").append(i).append("</a></li></ul></div>");
+            if (size.images > 0 && i % Math.max(1, size.comments / size.images) == 0) {
+                html.append("<img src=\"cid:jira-generated-image-static-").append(i % size.images).append("\" width=\"16\" height=\"16\">");
+            }
+            html.append("</td></tr></table>");
+        }
+        html.append("</td></tr></table></body></html>");
+        return html.toString();
+    }
+
+    public static MimeMessage message(Size size) throws MessagingException, IOException {
+        return message(size, null);
+    }
+
+    public static MimeMessage message(Size size, String issueKey) throws MessagingException, IOException {
+        Random random = new Random(size.ordinal());
+        String html = html(size, issueKey);
+
+        MimeBodyPart textPart = new MimeBodyPart();
+        textPart.setText(html.replaceAll("<[^>]+>", " "), "UTF-8");
+        MimeBodyPart htmlPart = new MimeBodyPart();
+        htmlPart.setContent(html, "text/html; charset=UTF-8");
+
+        MimeMultipart alternative = new MimeMultipart("alternative");
+        alternative.addBodyPart(textPart);
+        alternative.addBodyPart(htmlPart);
+
+        MimeMultipart related = new MimeMultipart("related");
+        MimeBodyPart alternativePart = new MimeBodyPart();
+        alternativePart.setContent(alternative);
+        related.addBodyPart(alternativePart);
+        related.addBodyPart(image("jira-generated-image-avatar-0", 2, random));
+        for (int i = 0; i < size.images; i++) {
+            related.addBodyPart(image("jira-generated-image-static-" + i, size.imageKb, random));
+        }
+
+        MimeMultipart mixed = new MimeMultipart("mixed");
+        MimeBodyPart relatedPart = new MimeBodyPart();
+        relatedPart.setContent(related);
+        mixed.addBodyPart(relatedPart);
+        for (int i = 0; i < size.attachments; i++) {
+            MimeBodyPart attachment = new MimeBodyPart();
+            attachment.setDataHandler(new DataHandler(new ByteArrayDataSource(bytes(size.imageKb * 4, random), "application/pdf")));
+            attachment.setFileName("report-" + i + ".pdf");
+            attachment.setDisposition(MimeBodyPart.ATTACHMENT);
+            mixed.addBodyPart(attachment);
+        }
+
+        MimeMessage message = new MimeMessage(SESSION);
+        message.setFrom(new InternetAddress("jira@samsung.com"));
+        message.addRecipients(MimeMessage.RecipientType.TO, InternetAddress.parse("dev.kim@samsung.com,dev.lee@samsung.com"));
+        message.addRecipients(MimeMessage.RecipientType.CC, InternetAddress.parse("qa.hong@partner.samsung.com"));
+        message.setSubject("[JIRA] (" + (issueKey != null ? issueKey : "IMS-1234") + ") 벤치마크 이슈 업데이트", "UTF-8");
+        message.setContent(mixed);
+        message.saveChanges();
+        return message;
+    }
+
+    /**
+     * 직렬화된 RFC 822 메시지 바이트
+     */
+    public static byte[] rawMessage(Size size) throws MessagingException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message(size).writeTo(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * SMTP로 수신한 것처럼 바이트로부터 메시지를 다시 파싱
+     */
+    public static MimeMessage parse(byte[] raw) throws MessagingException {
+        return new MimeMessage(SESSION, new SharedByteArrayInputStream(raw));
+    }
+
+    private static MimeBodyPart image(String cid, int kb, Random random) throws MessagingException {
+        MimeBodyPart image = new MimeBodyPart();
+        image.setDataHandler(new DataHandler(new ByteArrayDataSource(bytes(kb, random), "image/png")));
+        image.setHeader("Content-ID", "<" + cid + ">");
+        image.setDisposition(MimeBodyPart.INLINE);
+        return image;
+    }
+
+    private static byte[] bytes(int kb, Random random) {
+        byte[] data = new byte[kb * 1024];
+        random.nextBytes(data);
+        return data;
+    }
+}
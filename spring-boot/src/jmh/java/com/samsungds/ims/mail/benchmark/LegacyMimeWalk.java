@@ -0,0 +1,111 @@
+package com.samsungds.ims.mail.benchmark;
+
+import javax.mail.BodyPart;
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.Part;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 변경 전 SmtpMessageHandler의 MIME 순회 로직 (비교 기준, MimeMessageParserTest에서도 사용)
+ */
+public final class LegacyMimeWalk {
+
+    private LegacyMimeWalk() {
+    }
+
+    public static String findBodyTextRecursive(Part part, String targetMimeType) throws MessagingException, IOException {
+        if (Part.ATTACHMENT.equalsIgnoreCase(part.getDisposition())) {
+            return null;
+        }
+        if (part.isMimeType(targetMimeType)) {
+            return (String) part.getContent();
+        }
+        if (part.isMimeType("multipart/*")) {
+            Multipart mp = (Multipart) part.getContent();
+            for (int i = 0; i < mp.getCount(); i++) {
+                BodyPart bodyPart = mp.getBodyPart(i);
+                String found = findBodyTextRecursive(bodyPart, targetMimeType);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    public static void collectCidImagesRecursive(Part part, Map<String, byte[]> cidImages) throws MessagingException, IOException {
+        if (part.isMimeType("multipart/*")) {
+            Multipart multipart = (Multipart) part.getContent();
+            for (int i = 0; i < multipart.getCount(); i++) {
+                collectCidImagesRecursive(multipart.getBodyPart(i), cidImages);
+            }
+            return;
+        }
+        String cid = contentId(part);
+        if (cid == null || cidImages.containsKey(cid)) {
+            return;
+        }
+        String mimeType = part.getContentType();
+        if (mimeType != null && mimeType.contains(";")) {
+            mimeType = mimeType.substring(0, mimeType.indexOf(";")).trim();
+        }
+        if (mimeType == null || !mimeType.startsWith("image/")) {
+            return;
+        }
+        try (InputStream in = part.getInputStream()) {
+            cidImages.put(cid, in.readAllBytes());
+        }
+    }
+
+    public static long readOtherAttachments(Part part, Set<String> processedCids) throws MessagingException, IOException {
+        return readOtherAttachments(part, processedCids, new ArrayList<>());
+    }
+
+    /**
+     * @param fileNames 저장 대상 첨부파일의 원본 파일명을 순회 순서대로 수집
+     */
+    public static long readOtherAttachments(Part part, Set<String> processedCids, List<String> fileNames) throws MessagingException, IOException {
+        if (part.isMimeType("multipart/*")) {
+            long total = 0;
+            Multipart multipart = (Multipart) part.getContent();
+            for (int i = 0; i < multipart.getCount(); i++) {
+                total += readOtherAttachments(multipart.getBodyPart(i), processedCids, fileNames);
+            }
+            return total;
+        }
+        String cid = contentId(part);
+        if (cid != null && processedCids.contains(cid)) {
+            return 0;
+        }
+        String disposition = part.getDisposition();
+        String fileName = part.getFileName();
+        boolean attachment = Part.ATTACHMENT.equalsIgnoreCase(disposition)
+                || (Part.INLINE.equalsIgnoreCase(disposition) && fileName != null && !fileName.trim().isEmpty());
+        if (!attachment || fileName == null || fileName.trim().isEmpty()) {
+            return 0;
+        }
+        fileNames.add(fileName);
+        try (InputStream in = part.getInputStream()) {
+            return in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static String contentId(Part part) throws MessagingException {
+        String[] cids = part.getHeader("Content-ID");
+        if (cids == null || cids.length == 0) {
+            return null;
+        }
+        String cid = cids[0].trim();
+        if (cid.startsWith("<") && cid.endsWith(">")) {
+            cid = cid.substring(1, cid.length() - 1);
+        }
+        return cid;
+    }
+}
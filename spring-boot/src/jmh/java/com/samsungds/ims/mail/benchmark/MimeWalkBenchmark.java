@@ -0,0 +1,83 @@
+package com.samsungds.ims.mail.benchmark;
+
+import com.samsungds.ims.mail.util.MimeMessageParser;
+import com.samsungds.ims.mail.util.ParsedEmail;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.mail.internet.MimeMessage;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 4회 재귀 순회(findBodyTextRecursive x2, collectAndSaveCidImagesRecursive, saveOtherAttachments)와
+ * {@link MimeMessageParser} 단일 순회 비교.
+ * <p>
+ * 두 경로 모두 매 호출마다 원본 바이트에서 메시지를 새로 파싱하고, 이미지/첨부파일 데이터를 끝까지 읽습니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MimeWalkBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "HUGE"})
+    public JiraMailFixtures.Size size;
+
+    private byte[] raw;
+
+    @Setup
+    public void setUp() throws Exception {
+        raw = JiraMailFixtures.rawMessage(size);
+    }
+
+    @Benchmark
+    public void legacyFourWalks(Blackhole bh) throws Exception {
+        MimeMessage message = JiraMailFixtures.parse(raw);
+        String htmlBody = LegacyMimeWalk.findBodyTextRecursive(message, "text/html");
+        String textBody = null;
+        if (htmlBody == null) {
+            textBody = LegacyMimeWalk.findBodyTextRecursive(message, "text/plain");
+        }
+        Map<String, byte[]> cidImages = new HashMap<>();
+        if (htmlBody != null) {
+            LegacyMimeWalk.collectCidImagesRecursive(message, cidImages);
+        }
+        bh.consume(LegacyMimeWalk.readOtherAttachments(message, cidImages.keySet()));
+        bh.consume(htmlBody);
+        bh.consume(textBody);
+        bh.consume(cidImages);
+    }
+
+    @Benchmark
+    public void singlePassParser(Blackhole bh) throws Exception {
+        MimeMessage message = JiraMailFixtures.parse(raw);
+        ParsedEmail parsed = MimeMessageParser.parse(message);
+        Map<String, byte[]> cidImages = new HashMap<>();
+        if (parsed.getHtmlBody() != null) {
+            for (ParsedEmail.InlineImage image : parsed.getInlineImages().values()) {
+                try (InputStream in = image.getPart().getInputStream()) {
+                    cidImages.put(image.getCid(), in.readAllBytes());
+                }
+            }
+        }
+        long attachmentBytes = 0;
+        for (ParsedEmail.Attachment attachment : parsed.getAttachments()) {
+            if (attachment.getCid() != null && cidImages.containsKey(attachment.getCid())) {
+                continue;
+            }
+            try (InputStream in = attachment.getPart().getInputStream()) {
+                attachmentBytes += in.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        bh.consume(attachmentBytes);
+        bh.consume(parsed.getHtmlBody());
+        bh.consume(parsed.getTextBody());
+        bh.consume(cidImages);
+    }
+}
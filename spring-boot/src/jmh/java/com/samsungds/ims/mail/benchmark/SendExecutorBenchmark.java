@@ -0,0 +1,89 @@
+package com.samsungds.ims.mail.benchmark;
+
+import com.samsungds.ims.mail.component.SendMailBatchProperties;
+import com.samsungds.ims.mail.config.AsyncConfig;
+import com.samsungds.ims.mail.util.ConcurrencyLimitedExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * emailExecutor 방식별 모의 발송 처리량 (동시 발송 요청 1,000건)
+ * <p>
+ * 호출마다 디스패처처럼 최대 1,000건을 동시에 요청하고, 거부된 발송은 자리가 날 때까지 잠시 뒤 다시 요청합니다.
+ * 발송은 simulateEmailSending처럼 대부분 I/O 대기로 보고 50ms 동안 잠듭니다.
+ * JDK 21 미만에서는 VIRTUAL 모드가 플랫폼 스레드로 실행되므로 세마포어 제한의 효과만 측정됩니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SendExecutorBenchmark {
+    private static final int SENDS = 1000;
+    private static final long SEND_MILLIS = 50;
+
+    @Param({"POOL", "VIRTUAL"})
+    public String executorMode;
+
+    private Executor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SendMailBatchProperties properties = new SendMailBatchProperties();
+        properties.setExecutorMode(SendMailBatchProperties.ExecutorMode.valueOf(executorMode));
+        properties.setMaxConcurrentSends(SENDS);
+        executor = new AsyncConfig(properties, new SimpleMeterRegistry()).emailTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (executor instanceof ConcurrencyLimitedExecutor limited) {
+            limited.shutdown();
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Rejections {
+        public long rejected;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SENDS)
+    public void send1000(Rejections rejections) throws InterruptedException {
+        Semaphore window = new Semaphore(SENDS);
+        CountDownLatch done = new CountDownLatch(SENDS);
+        for (int i = 0; i < SENDS; i++) {
+            window.acquire();
+            while (true) {
+                try {
+                    executor.execute(() -> {
+                        try {
+                            Thread.sleep(SEND_MILLIS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            window.release();
+                            done.countDown();
+                        }
+                    });
+                    break;
+                } catch (RejectedExecutionException e) {
+                    rejections.rejected++;
+                    Thread.sleep(1);
+                }
+            }
+        }
+        done.await();
+    }
+}
@@ -0,0 +1,158 @@
+package com.samsungds.ims.mail.benchmark;
+
+import com.samsungds.ims.mail.service.NettySmtpServer;
+import org.openjdk.jmh.annotations.*;
+import org.subethamail.smtp.MessageHandler;
+import org.subethamail.smtp.MessageHandlerFactory;
+import org.subethamail.smtp.server.SMTPServer;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SubEthaSMTP(연결마다 세션 스레드)와 Netty 이벤트 루프 리스너의 동시 연결 500개 비교.
+ * <p>
+ * 스레드마다 연결 하나를 유지하며 매 호출마다 MAIL/RCPT/DATA를 한 번에 보내고(PIPELINING) 응답 3개를 받은 뒤,
+ * TYPICAL 메일 본문과 종료 표시를 보내고 250 응답을 기다립니다. 핸들러는 DATA를 끝까지 읽기만 합니다.
+ * 서버 스레드 수는 SubEthaSMTP가 연결 수만큼, Netty가 이벤트 루프 수 + 처리 중인 DATA 수만큼 사용합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(500)
+public class SmtpListenerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Server {
+        @Param({"SUBETHA", "NETTY"})
+        public String listener;
+
+        int port;
+        byte[] body;
+        private SMTPServer subEthaServer;
+        private NettySmtpServer nettyServer;
+
+        @Setup(Level.Trial)
+        public void start() throws Exception {
+            body = dotStuff(JiraMailFixtures.rawMessage(JiraMailFixtures.Size.TYPICAL));
+            try (ServerSocket probe = new ServerSocket(0)) {
+                port = probe.getLocalPort();
+            }
+            MessageHandlerFactory factory = ctx -> new DrainingHandler();
+            if ("NETTY".equals(listener)) {
+                nettyServer = new NettySmtpServer(factory, Executors.newCachedThreadPool());
+                nettyServer.setPort(port);
+                nettyServer.setMaxConnections(1000);
+                nettyServer.start();
+            } else {
+                subEthaServer = new SMTPServer(factory, null, Executors.newCachedThreadPool());
+                subEthaServer.setPort(port);
+                subEthaServer.setMaxConnections(1000);
+                subEthaServer.start();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            if (nettyServer != null) {
+                nettyServer.stop();
+            }
+            if (subEthaServer != null) {
+                subEthaServer.stop();
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        // 500개 연결을 동시에 맺으면 SubEthaSMTP의 accept 대기열(50)이 넘치므로 연결 수립만 순서대로 수행
+        private static final Object CONNECT_LOCK = new Object();
+
+        private Socket socket;
+        private BufferedReader reader;
+        private OutputStream out;
+
+        @Setup(Level.Trial)
+        public void connect(Server server) throws IOException {
+            synchronized (CONNECT_LOCK) {
+                socket = new Socket("localhost", server.port);
+                socket.setTcpNoDelay(true);
+                reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                out = new BufferedOutputStream(socket.getOutputStream(), 16 * 1024);
+                expect("220");
+            }
+            send("EHLO bench\r\n");
+            expect("250");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            send("QUIT\r\n");
+            socket.close();
+        }
+
+        void send(String commands) throws IOException {
+            out.write(commands.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        void expect(String code) throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null || !line.startsWith(code)) {
+                    throw new IOException("예상 응답 " + code + ", 실제: " + line);
+                }
+            } while (line.charAt(3) == '-');
+        }
+    }
+
+    @Benchmark
+    public void sendMessage(Server server, Client client) throws IOException {
+        client.send("MAIL FROM:<jira@example.com>\r\nRCPT TO:<user@example.com>\r\nDATA\r\n");
+        client.expect("250");
+        client.expect("250");
+        client.expect("354");
+        client.out.write(server.body);
+        client.send("\r\n.\r\n");
+        client.expect("250");
+    }
+
+    private static byte[] dotStuff(byte[] raw) {
+        ByteArrayOutputStream stuffed = new ByteArrayOutputStream(raw.length + 64);
+        boolean lineStart = true;
+        for (byte b : raw) {
+            if (lineStart && b == '.') {
+                stuffed.write('.');
+            }
+            stuffed.write(b);
+            lineStart = b == '\n';
+        }
+        return stuffed.toByteArray();
+    }
+
+    private static final class DrainingHandler implements MessageHandler {
+        @Override
+        public void from(String from) {
+        }
+
+        @Override
+        public void recipient(String recipient) {
+        }
+
+        @Override
+        public void data(InputStream data) throws IOException {
+            data.transferTo(OutputStream.nullOutputStream());
+        }
+
+        @Override
+        public void done() {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.samsungds.ims.mail.component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 발송 동시 실행 수 자동 조절 (AIMD)
+ * <p>
+ * 현재 한도만큼 발송이 끝날 때마다 그 구간의 평균 발송 시간과 오류율을 평가하여,
+ * targetLatencyMillis/maxErrorRate를 넘으면 한도를 backoffRatio 배로 줄이고 아니면 1 늘립니다. 한도는 [minConcurrency, maxConcurrency]로 제한됩니다.
+ * 한도를 줄이기 전에 시작된 발송 결과는 다음 평가에 넣지 않아 한 번의 과부하로 연속해서 줄어들지 않도록 합니다.
+ * adaptiveConcurrency가 꺼져 있으면 concurrentBatchSize를 그대로 한도로 사용합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+    private final SendMailBatchProperties sendMailBatchProperties;
+    private final MeterRegistry meterRegistry;
+
+    private LongSupplier nanoClock = System::nanoTime;
+    private int limit;
+    private int samples;
+    private int errors;
+    private long latencySumNanos;
+    private long lastDecreaseNanos;
+
+    @PostConstruct
+    public void init() {
+        reset();
+        Gauge.builder("mail.send.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("발송 동시 실행 한도").register(meterRegistry);
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        reset();
+    }
+
+    /**
+     * 한도를 concurrentBatchSize(범위 안으로 조정)로 되돌리고 평가 구간을 초기화
+     */
+    public synchronized void reset() {
+        limit = clamp(sendMailBatchProperties.getConcurrentBatchSize());
+        samples = 0;
+        errors = 0;
+        latencySumNanos = 0;
+        lastDecreaseNanos = nanoClock.getAsLong();
+    }
+
+    public synchronized int getLimit() {
+        if (!isAdaptive()) {
+            return Math.max(1, sendMailBatchProperties.getConcurrentBatchSize());
+        }
+        return limit;
+    }
+
+    public boolean isAdaptive() {
+        return sendMailBatchProperties.isAdaptiveConcurrency();
+    }
+
+    /**
+     * 발송 한 건의 결과 기록
+     *
+     * @param startedAtNanos 발송 요청 시각 (System.nanoTime)
+     * @param failed         발송 실패 또는 실행기 거부 여부
+     */
+    public synchronized void record(long startedAtNanos, boolean failed) {
+        if (!isAdaptive() || startedAtNanos - lastDecreaseNanos < 0) {
+            return;
+        }
+        samples++;
+        if (failed) {
+            errors++;
+        }
+        latencySumNanos += nanoClock.getAsLong() - startedAtNanos;
+        if (samples < limit) {
+            return;
+        }
+
+        double errorRate = (double) errors / samples;
+        long averageLatencyMillis = TimeUnit.NANOSECONDS.toMillis(latencySumNanos / samples);
+        int previous = limit;
+        if (errorRate > sendMailBatchProperties.getMaxErrorRate()
+                || averageLatencyMillis > sendMailBatchProperties.getTargetLatencyMillis()) {
+            limit = clamp((int) (limit * sendMailBatchProperties.getBackoffRatio()));
+            lastDecreaseNanos = nanoClock.getAsLong();
+        } else {
+            limit = clamp(limit + 1);
+        }
+        if (limit != previous) {
+            log.info("발송 동시 실행 한도 조정: {} → {} (평균 발송 시간 {}ms, 오류율 {})",
+                    previous, limit, averageLatencyMillis, String.format("%.2f", errorRate));
+        }
+        samples = 0;
+        errors = 0;
+        latencySumNanos = 0;
+    }
+
+    /**
+     * 발송 시간 측정에 사용할 시계 (테스트용, {@link #init()} 전에 지정)
+     */
+    void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    private int clamp(int value) {
+        int min = Math.max(1, sendMailBatchProperties.getMinConcurrency());
+        int max = Math.max(min, sendMailBatchProperties.getMaxConcurrency());
+        return Math.min(max, Math.max(min, value));
+    }
+}
@@ -0,0 +1,240 @@
+package com.samsungds.ims.mail.component;
+
+import com.samsungds.ims.mail.model.AttachmentBlob;
+import com.samsungds.ims.mail.repository.AttachmentBlobRepository;
+import com.samsungds.ims.mail.repository.EmailQueueAttachmentRepository;
+import com.samsungds.ims.mail.util.ContentAddressedStore;
+import com.samsungds.ims.mail.util.PinRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * 내용 주소(content-addressed) 방식의 첨부파일 저장소
+ * <p>
+ * 첨부파일은 기록하면서 SHA-256을 계산하여 {@code attachmentPath/objects/}에 한 번만 저장합니다.
+ * 같은 내용이 이미 있으면 원본을 다시 저장하지 않고, 메일별 경로({@code attachmentPath/<메일 해시>/<SHA-256 앞 16자리>-<파일명>})에는
+ * 원본에 대한 하드 링크를 만듭니다. 링크 경로는 원본마다 다르므로 이미 있는 링크는 교체하지 않고 그대로 사용합니다.
+ * 하드 링크를 지원하지 않는 파일 시스템에서는 원본 경로를 그대로 사용합니다.
+ * 원본별 참조 수는 {@link AttachmentBlob}에 기록하며, 0이 되면 원본을 삭제합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AttachmentStore {
+    private static final int LINK_PREFIX_LENGTH = 16;
+
+    private final SmtpInterceptorProperties smtpInterceptorProperties;
+    private final AttachmentBlobRepository attachmentBlobRepository;
+    private final EmailQueueAttachmentRepository emailQueueAttachmentRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final PinRegistry<Path> linkPins = new PinRegistry<>();
+
+    private Path root;
+    private ContentAddressedStore store;
+    private Counter storedBytes;
+    private Counter savedBytes;
+    private Counter duplicateCount;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(smtpInterceptorProperties.getAttachmentPath());
+        store = new ContentAddressedStore(root);
+        storedBytes = Counter.builder("mail.attachment.stored.bytes")
+                .description("새로 저장된 첨부파일 원본 크기").baseUnit("bytes").register(meterRegistry);
+        savedBytes = Counter.builder("mail.attachment.dedup.saved.bytes")
+                .description("중복 제거로 저장하지 않은 첨부파일 크기").baseUnit("bytes").register(meterRegistry);
+        duplicateCount = Counter.builder("mail.attachment.dedup.count")
+                .description("이미 저장된 원본과 내용이 같은 첨부파일 수").register(meterRegistry);
+        log.info("첨부파일 저장소 초기화 완료. 경로: {}", root.toAbsolutePath());
+    }
+
+    /**
+     * 첨부파일을 저장하고 메일별 경로에 연결
+     * 원본과 링크는 참조를 커밋하면 {@link #keep}, 저장에 실패하면 {@link #discard}로 정리해야 합니다.
+     *
+     * @param directoryName 메일별 하위 디렉토리 이름
+     * @param fileName      정제된 파일명
+     */
+    public StoredAttachment store(InputStream data, String directoryName, String fileName) throws IOException {
+        ContentAddressedStore.PutResult result = store.put(data);
+        if (result.isCreated()) {
+            storedBytes.increment(result.getSize());
+        } else {
+            savedBytes.increment(result.getSize());
+            duplicateCount.increment();
+            log.debug("중복 첨부파일 원본 재사용: {} ({} bytes)", result.getId(), result.getSize());
+        }
+
+        String linkName = result.getId().substring(0, LINK_PREFIX_LENGTH) + "-" + fileName;
+        Path linkPath = root.resolve(directoryName).resolve(linkName);
+        linkPins.pin(linkPath);
+        Link link;
+        try {
+            link = link(result.getId(), linkPath);
+        } catch (IOException | RuntimeException e) {
+            linkPins.unpin(linkPath);
+            store.discard(result);
+            throw e;
+        }
+        if (link.path() != linkPath) {
+            linkPins.unpin(linkPath);
+        }
+        return new StoredAttachment(result.getId(), result.getSize(), link.path().toAbsolutePath().toString(),
+                result, link.path() == linkPath ? linkPath : null, link.created());
+    }
+
+    /**
+     * 참조가 커밋된 첨부파일의 저장 중 표시 해제
+     */
+    public void keep(Collection<StoredAttachment> attachments) {
+        for (StoredAttachment attachment : attachments) {
+            if (attachment.linkPath != null) {
+                linkPins.unpin(attachment.linkPath);
+            }
+            store.release(attachment.object);
+        }
+    }
+
+    /**
+     * 참조를 저장하지 못한 첨부파일 정리
+     * 이번 저장에서 새로 만든 링크와 원본 중 그동안 다른 메일이 사용하지 않은 것만 삭제합니다.
+     */
+    public void discard(Collection<StoredAttachment> attachments) {
+        for (StoredAttachment attachment : attachments) {
+            try {
+                if (attachment.linkPath != null && attachment.linkCreated) {
+                    linkPins.unpinAndRunIfExclusive(attachment.linkPath, () -> deleteFile(attachment.linkPath));
+                } else if (attachment.linkPath != null) {
+                    linkPins.unpin(attachment.linkPath);
+                }
+                store.discard(attachment.object);
+                log.debug("저장하지 못한 첨부파일 정리: {} ({})", attachment.getFilePath(), attachment.getSha256());
+            } catch (UncheckedIOException e) {
+                log.warn("저장하지 못한 첨부파일 삭제 실패: {}", attachment.getFilePath(), e);
+            }
+        }
+    }
+
+    /**
+     * 삭제되는 첨부파일 행의 참조를 반환하고, 참조가 없어진 원본과 링크를 트랜잭션 커밋 후 삭제
+     * 저장 중(커밋 전)인 메일이 사용하고 있는 원본과 링크는 삭제하지 않습니다.
+     *
+     * @param references 원본(SHA-256)별 삭제되는 행 수
+     * @param filePaths  삭제되는 행의 파일 경로 (다른 큐 항목이 같은 경로를 사용하지 않는 경우에만 삭제)
+     */
+    public void release(Map<String, Long> references, Collection<String> filePaths) {
+        references.forEach(attachmentBlobRepository::releaseReferences);
+        List<AttachmentBlob> unreferenced = references.isEmpty()
+                ? List.of()
+                : attachmentBlobRepository.findBySha256InAndRefCountLessThanEqual(references.keySet(), 0);
+        attachmentBlobRepository.deleteAll(unreferenced);
+
+        List<Path> linksToDelete = new ArrayList<>();
+        for (String filePath : new HashSet<>(filePaths)) {
+            // 원본 경로(하드 링크 미지원 시)는 참조 수로만 삭제
+            if (!store.isObjectPath(Paths.get(filePath)) && !emailQueueAttachmentRepository.existsByFilePath(filePath)) {
+                linksToDelete.add(Paths.get(filePath).toAbsolutePath());
+            }
+        }
+
+        Runnable deleteFiles = () -> {
+            int deleted = 0;
+            for (Path path : linksToDelete) {
+                try {
+                    if (linkPins.runIfUnpinned(path, () -> deleteFile(path))) {
+                        deleted++;
+                    }
+                } catch (UncheckedIOException e) {
+                    log.warn("첨부파일 삭제 실패: {}", path, e);
+                }
+            }
+            for (AttachmentBlob blob : unreferenced) {
+                try {
+                    if (store.deleteIfUnpinned(blob.getSha256())) {
+                        deleted++;
+                    }
+                } catch (UncheckedIOException e) {
+                    log.warn("첨부파일 원본 삭제 실패: {}", blob.getSha256(), e);
+                }
+            }
+            log.info("참조가 없어진 첨부파일 원본 {}개, 파일 {}개 삭제", unreferenced.size(), deleted);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteFiles.run();
+                }
+            });
+        } else {
+            deleteFiles.run();
+        }
+    }
+
+    // 메일별 경로에 원본 하드 링크 생성 (같은 메일의 같은 원본이 이미 연결되어 있으면 그대로 사용)
+    private Link link(String objectId, Path linkPath) throws IOException {
+        Path object = store.resolve(objectId);
+        try {
+            Files.createDirectories(linkPath.getParent());
+            Files.createLink(linkPath, object);
+            return new Link(linkPath, true);
+        } catch (FileAlreadyExistsException e) {
+            if (Files.isSameFile(linkPath, object)) {
+                return new Link(linkPath, false);
+            }
+            // 해시 앞자리가 같은 다른 원본의 링크: 교체하지 않고 원본 경로 사용
+            log.warn("첨부파일 링크 경로가 다른 원본에 연결되어 있어 원본 경로를 사용합니다: {}", linkPath);
+            return new Link(object, false);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            log.debug("하드 링크를 만들 수 없어 원본 경로를 사용합니다: {} ({})", linkPath, e.getMessage());
+            return new Link(object, false);
+        }
+    }
+
+    private static void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Link(Path path, boolean created) {
+    }
+
+    /**
+     * 저장된 첨부파일 정보
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class StoredAttachment {
+        private final String sha256;
+        private final long fileSize;
+        private final String filePath;
+        @Getter(AccessLevel.NONE)
+        private final ContentAddressedStore.PutResult object;
+        @Getter(AccessLevel.NONE)
+        private final Path linkPath;        // 원본 경로를 사용하는 경우 null
+        @Getter(AccessLevel.NONE)
+        private final boolean linkCreated;  // 이번 저장에서 링크를 새로 만들었는지
+    }
+}
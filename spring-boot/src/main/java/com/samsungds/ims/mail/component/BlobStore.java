@@ -0,0 +1,88 @@
+package com.samsungds.ims.mail.component;
+
+import com.samsungds.ims.mail.util.ContentAddressedStore;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+
+/**
+ * 로컬 내용 주소(content-addressed) 블롭 저장소
+ * <p>
+ * 인라인(CID) 이미지와 임계값을 넘는 메일 본문을 SHA-256 해시를 키로 저장합니다.
+ * 같은 내용은 한 번만 저장되며, 저장 경로는 {@code blobPath/objects/<해시 앞 2자리>/<해시>}입니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlobStore {
+
+    private final SmtpInterceptorProperties smtpInterceptorProperties;
+
+    private ContentAddressedStore store;
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path root = Paths.get(smtpInterceptorProperties.getBlobPath());
+        store = new ContentAddressedStore(root);
+        log.info("블롭 저장소 초기화 완료. 경로: {}", root.toAbsolutePath());
+    }
+
+    /**
+     * 스트림 내용을 저장 (블롭 ID는 SHA-256 16진수)
+     * 참조를 커밋하면 {@link #keep}, 저장에 실패하면 {@link #discard}를 호출해야 합니다.
+     */
+    public ContentAddressedStore.PutResult put(InputStream data) throws IOException {
+        return store.put(data);
+    }
+
+    public ContentAddressedStore.PutResult put(byte[] data) throws IOException {
+        return put(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * 참조가 커밋된 블롭의 저장 중 표시 해제
+     */
+    public void keep(Collection<ContentAddressedStore.PutResult> blobs) {
+        blobs.forEach(store::release);
+    }
+
+    /**
+     * 참조를 저장하지 못한 블롭 정리 (이번 저장에서 새로 만들었고 그동안 다른 메일이 사용하지 않은 블롭만 삭제)
+     */
+    public void discard(Collection<ContentAddressedStore.PutResult> blobs) {
+        for (ContentAddressedStore.PutResult blob : blobs) {
+            try {
+                store.discard(blob);
+            } catch (UncheckedIOException e) {
+                log.warn("저장하지 못한 블롭 삭제 실패: {}", blob.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * 블롭 내용을 읽는 스트림 반환
+     *
+     * @throws NoSuchFileException 블롭이 없는 경우
+     */
+    public InputStream open(String blobId) throws IOException {
+        return store.open(blobId);
+    }
+
+    public boolean exists(String blobId) {
+        return store.exists(blobId);
+    }
+
+    public long size(String blobId) throws IOException {
+        return store.size(blobId);
+    }
+}
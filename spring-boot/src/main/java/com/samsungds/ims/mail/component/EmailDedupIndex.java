@@ -0,0 +1,170 @@
+package com.samsungds.ims.mail.component;
+
+import com.samsungds.ims.mail.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * EmailQueue.uniqueId 중복 판별용 메모리 인덱스
+ * <p>
+ * 큐에 저장된 모든 uniqueId를 블룸 필터에 담아 처음 보는 메일(대부분의 경우)은 DB 조회 없이 신규로 판단하고,
+ * 최근 저장/조회한 uniqueId는 크기 제한이 있는 LRU 맵(uniqueId → 큐 ID)으로 바로 찾습니다.
+ * LRU 맵의 큐 ID는 이력 이동 등으로 삭제되었을 수 있으므로 기본 키 조회로 존재를 확인합니다.
+ * 그 밖의 경우(블룸 필터가 "있을 수 있음"으로 판단)에만 unique_id 인덱스로 조회합니다.
+ * <p>
+ * 인덱스에 없는 행(다른 인스턴스가 저장한 행 등)과의 경합은 unique_id 유니크 인덱스({@link EmailQueueUniqueIndex})가 막으며,
+ * 저장기는 중복 키 오류가 나면 인덱스를 거치지 않고 다시 저장합니다.
+ * 블룸 필터는 시작 시 email_queue에서 구성하고, 예상 키 수를 넘으면 두 배 크기로 다시 구성합니다.
+ */
+@Component
+@DependsOn({"entityManagerFactory", "emailQueueUniqueIndex"})
+@RequiredArgsConstructor
+@Slf4j
+public class EmailDedupIndex {
+    private static final String METRIC_LOOKUP = "mail.ingest.dedup.lookup";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final SmtpInterceptorProperties smtpInterceptorProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final LinkedHashMap<String, Long> recent = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > Math.max(1, smtpInterceptorProperties.getDedupRecentCacheSize());
+        }
+    };
+
+    private BloomFilter bloomFilter;
+    private Counter recentCounter;
+    private Counter absentCounter;
+    private Counter databaseCounter;
+
+    @PostConstruct
+    public void init() {
+        recentCounter = Counter.builder(METRIC_LOOKUP).tag("result", "recent")
+                .description("최근 uniqueId 맵에서 찾은 중복 메일 수").register(meterRegistry);
+        absentCounter = Counter.builder(METRIC_LOOKUP).tag("result", "absent")
+                .description("블룸 필터로 DB 조회 없이 신규로 판단한 메일 수").register(meterRegistry);
+        databaseCounter = Counter.builder(METRIC_LOOKUP).tag("result", "database")
+                .description("unique_id 인덱스 조회가 필요했던 메일 수").register(meterRegistry);
+        Gauge.builder("mail.ingest.dedup.bloom.insertions", this, EmailDedupIndex::getBloomInsertions)
+                .description("블룸 필터에 추가된 uniqueId 수").register(meterRegistry);
+        rebuild();
+    }
+
+    /**
+     * email_queue의 uniqueId로 블룸 필터를 다시 구성
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_queue WHERE unique_id IS NOT NULL",
+                new MapSqlParameterSource(), Long.class);
+        long expected = Math.max(smtpInterceptorProperties.getDedupBloomExpectedInsertions(), (rows != null ? rows : 0) * 2);
+        BloomFilter filter = new BloomFilter(expected, smtpInterceptorProperties.getDedupBloomFalsePositiveRate());
+        jdbcTemplate.query("SELECT unique_id FROM email_queue WHERE unique_id IS NOT NULL", new MapSqlParameterSource(),
+                rs -> {
+                    filter.put(rs.getString(1));
+                });
+        recent.keySet().forEach(filter::put);
+        bloomFilter = filter;
+        log.info("중복 판별 인덱스 구성 완료. uniqueId {}건, 예상 키 수 {}, 소요 시간 {}ms",
+                filter.getInsertions(), expected, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 이미 큐에 있는 uniqueId의 큐 ID 조회 (현재 트랜잭션에서 수행)
+     *
+     * @param useIndex false이면 인덱스를 거치지 않고 모두 DB에서 조회
+     */
+    public Map<String, Long> findExisting(Set<String> uniqueIds, boolean useIndex) {
+        if (!useIndex) {
+            databaseCounter.increment(uniqueIds.size());
+            return findByUniqueIds(uniqueIds);
+        }
+
+        Map<String, Long> cached = new HashMap<>();
+        Set<String> candidates = new HashSet<>();
+        synchronized (this) {
+            for (String uniqueId : uniqueIds) {
+                Long queueId = recent.get(uniqueId);
+                if (queueId != null) {
+                    cached.put(uniqueId, queueId);
+                } else if (bloomFilter.mightContain(uniqueId)) {
+                    candidates.add(uniqueId);
+                }
+            }
+        }
+        int absent = uniqueIds.size() - cached.size() - candidates.size();
+
+        Map<String, Long> existing = new HashMap<>();
+        int stale = 0;
+        if (!cached.isEmpty()) {
+            Set<Long> alive = new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM email_queue WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", cached.values()), Long.class));
+            for (Map.Entry<String, Long> entry : cached.entrySet()) {
+                if (alive.contains(entry.getValue())) {
+                    existing.put(entry.getKey(), entry.getValue());
+                } else {
+                    candidates.add(entry.getKey());
+                    stale++;
+                }
+            }
+        }
+        existing.putAll(findByUniqueIds(candidates));
+
+        recentCounter.increment(cached.size() - stale);
+        databaseCounter.increment(candidates.size());
+        absentCounter.increment(absent);
+        return existing;
+    }
+
+    /**
+     * 커밋된 uniqueId → 큐 ID 기록
+     */
+    public void record(Map<String, Long> committed) {
+        if (committed.isEmpty()) {
+            return;
+        }
+        boolean saturated;
+        synchronized (this) {
+            committed.forEach((uniqueId, queueId) -> {
+                recent.put(uniqueId, queueId);
+                if (!bloomFilter.mightContain(uniqueId)) {
+                    bloomFilter.put(uniqueId);
+                }
+            });
+            saturated = bloomFilter.isSaturated();
+        }
+        if (saturated) {
+            log.info("블룸 필터가 예상 키 수({})를 넘어 다시 구성합니다.", bloomFilter.getExpectedInsertions());
+            rebuild();
+        }
+    }
+
+    public synchronized long getBloomInsertions() {
+        return bloomFilter != null ? bloomFilter.getInsertions() : 0;
+    }
+
+    private Map<String, Long> findByUniqueIds(Set<String> uniqueIds) {
+        Map<String, Long> ids = new HashMap<>();
+        if (uniqueIds.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query("SELECT unique_id, id FROM email_queue WHERE unique_id IN (:uniqueIds)",
+                new MapSqlParameterSource("uniqueIds", uniqueIds),
+                rs -> {
+                    ids.putIfAbsent(rs.getString(1), rs.getLong(2));
+                });
+        return ids;
+    }
+}
@@ -0,0 +1,51 @@
+package com.samsungds.ims.mail.component;
+
+import com.samsungds.ims.mail.util.DomainRuleTrie;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 발신자/수신자 이메일 도메인 정책
+ * <p>
+ * allowedEmailDomains(허용)와 deniedEmailDomains(차단) 규칙을 {@link DomainRuleTrie}로 컴파일하여 보관합니다.
+ * 조회 시에는 @RefreshScope 프록시를 거치지 않고 불변 스냅샷만 읽으며, 설정이 갱신되면 스냅샷을 새로 만들어 교체합니다.
+ * 일치하는 규칙이 없는 도메인은 허용하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailDomainPolicy {
+
+    private final SmtpInterceptorProperties smtpInterceptorProperties;
+
+    private volatile DomainRuleTrie rules;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        DomainRuleTrie compiled = DomainRuleTrie.compile(
+                smtpInterceptorProperties.getAllowedEmailDomains(),
+                smtpInterceptorProperties.getDeniedEmailDomains());
+        rules = compiled;
+        log.info("이메일 도메인 정책 컴파일 완료. 규칙: {}개", compiled.getRuleCount());
+    }
+
+    /**
+     * 이메일 주소의 도메인이 허용되었는지 확인
+     */
+    public boolean isAllowed(String emailAddress) {
+        return rules.isAllowed(emailAddress);
+    }
+}
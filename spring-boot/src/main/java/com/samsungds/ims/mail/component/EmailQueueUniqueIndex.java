@@ -0,0 +1,172 @@
+package com.samsungds.ims.mail.component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.*;
+
+/**
+ * email_queue.unique_id 유니크 인덱스 확인 및 생성
+ * <p>
+ * 중복 메일 병합과 {@link EmailDedupIndex}는 이 인덱스가 있다고 가정합니다.
+ * 인덱스가 추가되기 전부터 운영된 DB에는 같은 unique_id의 행이 여러 개 있을 수 있어 스키마 자동 갱신(ddl-auto)이 인덱스를 만들지 못하므로,
+ * 시작 시 인덱스가 없으면 중복 행을 가장 먼저 저장된 행으로 병합한 뒤 인덱스를 생성합니다.
+ * 그래도 인덱스를 만들지 못하면 애플리케이션을 시작하지 않습니다.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class EmailQueueUniqueIndex {
+    static final String INDEX_NAME = "ux_email_queue_unique_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    public void init() {
+        if (exists()) {
+            return;
+        }
+        log.warn("email_queue.unique_id 유니크 인덱스가 없습니다. 중복 행을 병합한 뒤 인덱스를 생성합니다.");
+        Integer merged = new TransactionTemplate(transactionManager).execute(status -> mergeDuplicates());
+        try {
+            jdbcTemplate.getJdbcTemplate().execute("CREATE UNIQUE INDEX " + INDEX_NAME + " ON email_queue (unique_id)");
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("email_queue.unique_id 유니크 인덱스를 생성하지 못했습니다. 수동으로 생성한 뒤 다시 시작하세요.", e);
+        }
+        if (!exists()) {
+            throw new IllegalStateException("email_queue.unique_id 유니크 인덱스를 확인할 수 없습니다.");
+        }
+        log.info("email_queue.unique_id 유니크 인덱스 생성 완료 (병합한 중복 행 {}건)", merged);
+    }
+
+    /**
+     * unique_id 한 컬럼으로 구성된 유니크 인덱스가 있는지 확인
+     */
+    boolean exists() {
+        return Boolean.TRUE.equals(jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // DB마다 메타데이터의 테이블명 대소문자가 다름
+            for (String table : List.of("email_queue", "EMAIL_QUEUE")) {
+                Map<String, Set<String>> columns = new HashMap<>();
+                try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, true, false)) {
+                    while (rs.next()) {
+                        String indexName = rs.getString("INDEX_NAME");
+                        String column = rs.getString("COLUMN_NAME");
+                        if (indexName != null && column != null) {
+                            columns.computeIfAbsent(indexName, k -> new HashSet<>()).add(column.toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+                if (columns.values().stream().anyMatch(Set.of("unique_id")::equals)) {
+                    return true;
+                }
+            }
+            return false;
+        }));
+    }
+
+    /**
+     * 같은 unique_id의 행을 가장 먼저 저장된 행(가장 작은 ID)으로 병합 (저장기가 중복 메일을 병합하는 방식과 같음)
+     * 수신자는 이메일, 첨부파일은 파일 경로 기준으로 중복을 제거하고, 본문은 남길 행에 없을 때만 가장 최근 본문을 옮깁니다.
+     *
+     * @return 삭제한 중복 행 수
+     */
+    int mergeDuplicates() {
+        List<String> duplicates = jdbcTemplate.queryForList(
+                "SELECT unique_id FROM email_queue WHERE unique_id IS NOT NULL GROUP BY unique_id HAVING COUNT(*) > 1",
+                new MapSqlParameterSource(), String.class);
+        int removed = 0;
+        for (String uniqueId : duplicates) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM email_queue WHERE unique_id = :uniqueId ORDER BY id",
+                    new MapSqlParameterSource("uniqueId", uniqueId), Long.class);
+            Long keeper = ids.get(0);
+            List<Long> others = ids.subList(1, ids.size());
+            mergeRecipients(keeper, others);
+            mergeAttachments(keeper, others);
+            mergeContent(keeper, others);
+            removed += jdbcTemplate.update("DELETE FROM email_queue WHERE id IN (:ids)", new MapSqlParameterSource("ids", others));
+            log.info("중복 큐 항목 병합: uniqueId={}, 남긴 ID={}, 삭제한 ID={}", uniqueId, keeper, others);
+        }
+        return removed;
+    }
+
+    private void mergeRecipients(Long keeper, List<Long> others) {
+        Set<String> emails = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT email FROM email_queue_recipients WHERE email_queue_id = :id", new MapSqlParameterSource("id", keeper), String.class));
+        List<Long> move = new ArrayList<>();
+        List<Long> delete = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, email FROM email_queue_recipients WHERE email_queue_id IN (:ids) ORDER BY id",
+                new MapSqlParameterSource("ids", others),
+                rs -> {
+                    (emails.add(rs.getString(2)) ? move : delete).add(rs.getLong(1));
+                });
+        moveRows("email_queue_recipients", keeper, move);
+        deleteRows("email_queue_recipients", delete);
+    }
+
+    private void mergeAttachments(Long keeper, List<Long> others) {
+        Set<String> filePaths = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT file_path FROM email_queue_attachment WHERE email_queue_id = :id", new MapSqlParameterSource("id", keeper), String.class));
+        List<Long> move = new ArrayList<>();
+        List<Long> delete = new ArrayList<>();
+        Map<String, Long> releasedReferences = new HashMap<>();
+        jdbcTemplate.query("SELECT id, file_path, sha256 FROM email_queue_attachment WHERE email_queue_id IN (:ids) ORDER BY id",
+                new MapSqlParameterSource("ids", others),
+                rs -> {
+                    if (filePaths.add(rs.getString(2))) {
+                        move.add(rs.getLong(1));
+                    } else {
+                        delete.add(rs.getLong(1));
+                        if (rs.getString(3) != null) {
+                            releasedReferences.merge(rs.getString(3), 1L, Long::sum);
+                        }
+                    }
+                });
+        moveRows("email_queue_attachment", keeper, move);
+        deleteRows("email_queue_attachment", delete);
+        // 같은 경로의 파일은 남긴 행이 계속 사용하므로 참조 수만 반환
+        releasedReferences.forEach((sha256, count) -> jdbcTemplate.update(
+                "UPDATE attachment_blob SET ref_count = ref_count - :count WHERE sha256 = :sha256",
+                new MapSqlParameterSource().addValue("count", count).addValue("sha256", sha256)));
+    }
+
+    private void mergeContent(Long keeper, List<Long> others) {
+        Long keeperContents = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_queue_contents WHERE email_queue_id = :id",
+                new MapSqlParameterSource("id", keeper), Long.class);
+        if (keeperContents == null || keeperContents == 0) {
+            List<Long> latest = jdbcTemplate.queryForList(
+                    "SELECT id FROM email_queue_contents WHERE email_queue_id IN (:ids) ORDER BY email_queue_id DESC, id DESC",
+                    new MapSqlParameterSource("ids", others), Long.class);
+            if (!latest.isEmpty()) {
+                moveRows("email_queue_contents", keeper, List.of(latest.get(0)));
+            }
+        }
+        jdbcTemplate.update("DELETE FROM email_queue_contents WHERE email_queue_id IN (:ids)", new MapSqlParameterSource("ids", others));
+    }
+
+    private void moveRows(String table, Long keeper, List<Long> rowIds) {
+        if (!rowIds.isEmpty()) {
+            jdbcTemplate.update("UPDATE " + table + " SET email_queue_id = :keeper WHERE id IN (:ids)",
+                    new MapSqlParameterSource().addValue("keeper", keeper).addValue("ids", rowIds));
+        }
+    }
+
+    private void deleteRows(String table, List<Long> rowIds) {
+        if (!rowIds.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN (:ids)", new MapSqlParameterSource("ids", rowIds));
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.samsungds.ims.mail.component;
+
+import com.samsungds.ims.mail.service.EmailIngestService;
+import com.samsungds.ims.mail.util.SpooledMessage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import javax.mail.util.SharedFileInputStream;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * SMTP 인제스트 선행 기록(write-ahead) 저널
+ * <p>
+ * 수신한 원본 메시지를 저널 디렉토리에 기록하고 fsync 한 뒤 원자적으로 게시(rename)합니다.
+ * 게시가 끝나면 SMTP 세션은 바로 250으로 응답하고, 백그라운드 인제스트 워커가 {@link EmailIngestService}로 저장합니다.
+ * 저장이 끝난 항목은 삭제되며, 애플리케이션 시작 시 남아 있는 항목은 다시 처리됩니다.
+ * DB 장애 등 일시적 오류로 저장하지 못한 항목은 그대로 두고 간격을 늘려 가며 최대 횟수까지 다시 시도하며,
+ * 파싱 오류 등 다시 시도해도 실패할 항목과 재시도 횟수를 모두 쓴 항목은 failed 디렉토리로 옮깁니다.
+ * <p>
+ * 레코드 형식: [헤더 길이(int)][헤더: MAIL FROM, MAIL FROM 없음 여부][원본 메시지]
+ * 직접 저장과 마찬가지로 수신자는 원본 메시지 헤더에서 읽으므로 RCPT TO는 기록하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IngestJournal {
+    private static final String PENDING_SUFFIX = ".msg";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String JOURNAL_DIR = "journal";
+    private static final String FAILED_DIR = "failed";
+
+    private final EmailIngestService emailIngestService;
+    private final SmtpInterceptorProperties smtpInterceptorProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Path> replayEntries = new ArrayList<>();
+    private Path journalDir;
+    private ExecutorService workers;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean stopping;
+
+    @PostConstruct
+    public void init() throws IOException {
+        journalDir = Paths.get(smtpInterceptorProperties.getSpoolPath(), JOURNAL_DIR);
+        Files.createDirectories(journalDir.resolve(FAILED_DIR));
+
+        // 시작 시점에 남아 있는 항목만 재처리 대상으로 확정 (이후 새로 기록되는 항목과 섞이지 않도록)
+        try (Stream<Path> entries = Files.list(journalDir)) {
+            for (Path entry : entries.sorted().toList()) {
+                String name = entry.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    // fsync/게시 전에 중단된 기록은 클라이언트에 응답하지 않았으므로 버린다
+                    Files.deleteIfExists(entry);
+                } else if (name.endsWith(PENDING_SUFFIX)) {
+                    replayEntries.add(entry);
+                }
+            }
+        }
+
+        workers = Executors.newFixedThreadPool(
+                Math.max(1, smtpInterceptorProperties.getIngestWorkers()),
+                new CustomizableThreadFactory("ingest-worker-"));
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("ingest-journal-retry-"));
+
+        Gauge.builder("mail.ingest.journal.depth", depth, AtomicInteger::get)
+                .description("저장 대기 중인 인제스트 저널 항목 수")
+                .register(meterRegistry);
+
+        log.info("인제스트 저널 초기화 완료. 경로: {}, 재처리 대상: {}건", journalDir.toAbsolutePath(), replayEntries.size());
+    }
+
+    /**
+     * 애플리케이션 시작 시 처리되지 않은 저널 항목 재처리
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replay() {
+        if (replayEntries.isEmpty()) {
+            return;
+        }
+        log.info("처리되지 않은 인제스트 저널 {}건을 재처리합니다.", replayEntries.size());
+        replayEntries.forEach(this::submit);
+        replayEntries.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("인제스트 워커가 제한 시간 내에 종료되지 않았습니다. 남은 항목은 다음 시작 시 재처리됩니다.");
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * 원본 메시지를 저널에 기록(fsync)하고 백그라운드 저장을 예약
+     *
+     * @throws org.subethamail.smtp.TooMuchDataException 메시지가 최대 크기를 초과한 경우
+     */
+    public void append(String from, InputStream data) throws IOException {
+        String name = String.format("%013d-%08d", System.currentTimeMillis(), sequence.incrementAndGet());
+        Path temp = journalDir.resolve(name + TEMP_SUFFIX);
+        Path pending = journalDir.resolve(name + PENDING_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+            byte[] header = encodeHeader(from);
+            DataOutputStream headerOut = new DataOutputStream(out);
+            headerOut.writeInt(header.length);
+            headerOut.write(header);
+            SpooledMessage.copyBounded(data, out, smtpInterceptorProperties.getMaxMessageSize());
+            out.flush();
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, pending, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(journalDir);
+        log.info("인제스트 저널 기록 완료: {} (발신자: {})", pending.getFileName(), from);
+        submit(pending);
+    }
+
+    public int getDepth() {
+        return depth.get();
+    }
+
+    private void submit(Path entry) {
+        depth.incrementAndGet();
+        execute(entry, 0);
+    }
+
+    private void execute(Path entry, int attempt) {
+        try {
+            workers.execute(() -> process(entry, attempt));
+        } catch (RejectedExecutionException e) {
+            // 종료 중: 항목은 남겨 두고 다음 시작 시 재처리
+            depth.decrementAndGet();
+        }
+    }
+
+    private void process(Path entry, int attempt) {
+        boolean retrying = false;
+        try {
+            Header header;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+                header = decodeHeader(in);
+            }
+
+            SharedFileInputStream shared = new SharedFileInputStream(entry.toFile());
+            try {
+                emailIngestService.ingest(header.from(), shared.newStream(Integer.BYTES + header.length(), -1));
+            } finally {
+                shared.close();
+            }
+
+            Files.deleteIfExists(entry);
+        } catch (Exception e) {
+            if (stopping) {
+                log.info("종료 중 저장하지 못한 인제스트 저널 항목은 다음 시작 시 재처리합니다: {}", entry.getFileName());
+            } else if (isTransient(e) && attempt + 1 < Math.max(1, smtpInterceptorProperties.getIngestRetryMaxAttempts())) {
+                retrying = scheduleRetry(entry, attempt, e);
+            } else if (isTransient(e)) {
+                log.error("인제스트 저널 항목 재시도 횟수({}회)를 모두 사용했습니다: {}", attempt + 1, entry.getFileName(), e);
+                moveToFailed(entry);
+            } else {
+                log.error("인제스트 저널 항목 처리 중 오류 발생: {}", entry.getFileName(), e);
+                moveToFailed(entry);
+            }
+        } finally {
+            if (!retrying) {
+                depth.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 일시적 오류로 저장하지 못한 항목을 간격을 늘려 가며 다시 처리 (항목은 저널에 그대로 남음)
+     *
+     * @return 재시도를 예약했으면 true
+     */
+    private boolean scheduleRetry(Path entry, int attempt, Exception cause) {
+        long initialDelay = Math.max(1, smtpInterceptorProperties.getIngestRetryInitialDelayMillis());
+        long maxDelay = Math.max(initialDelay, smtpInterceptorProperties.getIngestRetryMaxDelayMillis());
+        int exponent = Math.min(attempt, 30);
+        long delay = initialDelay > (maxDelay >> exponent) ? maxDelay : initialDelay << exponent;
+        log.warn("인제스트 저널 항목 저장 실패(일시적 오류), {}ms 후 다시 시도합니다: {} ({}회째): {}",
+                delay, entry.getFileName(), attempt + 1, cause.getMessage());
+        try {
+            retryScheduler.schedule(() -> execute(entry, attempt + 1), delay, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 다시 시도하면 성공할 수 있는 오류인지 판별 (DB 연결 실패, 일시적 DB 오류, 대기 시간 초과, 작업 거부)
+     * 제약 조건 위반, SQL 문법 오류, 잘못된 API 사용처럼 다시 시도해도 같은 결과가 나오는 오류는 제외합니다.
+     */
+    static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException) {
+                return false;
+            }
+            if (cause instanceof TransientDataAccessException || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException || cause instanceof SQLRecoverableException
+                    || cause instanceof TimeoutException || cause instanceof RejectedExecutionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void moveToFailed(Path entry) {
+        try {
+            Files.move(entry, journalDir.resolve(FAILED_DIR).resolve(entry.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("실패한 인제스트 저널 항목 이동 중 오류 발생: {}", entry.getFileName(), e);
+        }
+    }
+
+    private byte[] encodeHeader(String from) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeUTF(from == null ? "" : from);
+        // MAIL FROM 없음(null)을 빈 주소("")와 구분
+        out.writeBoolean(from == null);
+        return buffer.toByteArray();
+    }
+
+    static Header decodeHeader(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        byte[] header = new byte[length];
+        in.readFully(header);
+
+        DataInputStream headerIn = new DataInputStream(new ByteArrayInputStream(header));
+        String from = headerIn.readUTF();
+        boolean nullFrom = headerIn.readBoolean();
+        return new Header(length, nullFrom ? null : from);
+    }
+
+    // 디렉토리 엔트리(rename)까지 디스크에 반영. 디렉토리 fsync를 지원하지 않는 OS(Windows)에서는 무시
+    private void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("저널 디렉토리 fsync 미지원: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param length 헤더 바이트 수 (원본 메시지는 헤더 길이(int)와 헤더 다음부터)
+     */
+    record Header(int length, String from) {
+    }
+}
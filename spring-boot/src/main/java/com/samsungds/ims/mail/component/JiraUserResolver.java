@@ -0,0 +1,222 @@
+package com.samsungds.ims.mail.component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kong.unirest.HttpResponse;
+import kong.unirest.JsonNode;
+import kong.unirest.Unirest;
+import kong.unirest.UnirestException;
+import kong.unirest.UnirestInstance;
+import kong.unirest.json.JSONArray;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jira 사용자명으로 이메일 주소를 조회하는 리졸버
+ * <p>
+ * 조회 결과는 크기 제한이 있는 LRU/TTL 캐시에 보관하며, 존재하지 않는 사용자도 짧은 TTL로 캐시합니다(negative caching).
+ * 같은 사용자명에 대한 동시 조회는 하나의 HTTP 요청을 공유합니다.
+ * 타임아웃/서버 오류 등 일시적인 실패는 캐시하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JiraUserResolver {
+    private static final String METRIC_LOOKUP = "mail.jira.user.lookup";
+    private static final String METRIC_LATENCY = "mail.jira.user.lookup.latency";
+
+    private final SmtpInterceptorProperties smtpInterceptorProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, CacheEntry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+            return size() > Math.max(1, smtpInterceptorProperties.getUserCacheMaxSize());
+        }
+    };
+
+    private volatile UnirestInstance httpClient;
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Counter coalescedCounter;
+
+    @PostConstruct
+    public void init() {
+        httpClient = createHttpClient();
+        hitCounter = Counter.builder(METRIC_LOOKUP).tag("result", "hit")
+                .description("Jira 사용자 조회 캐시 적중 수").register(meterRegistry);
+        missCounter = Counter.builder(METRIC_LOOKUP).tag("result", "miss")
+                .description("Jira 사용자 조회 캐시 미적중 수 (HTTP 요청 발생)").register(meterRegistry);
+        coalescedCounter = Counter.builder(METRIC_LOOKUP).tag("result", "coalesced")
+                .description("진행 중인 HTTP 요청을 공유한 조회 수").register(meterRegistry);
+        Gauge.builder("mail.jira.user.cache.size", this, JiraUserResolver::getCacheSize)
+                .description("Jira 사용자 캐시 항목 수").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.close();
+    }
+
+    /**
+     * 설정 갱신 시 HTTP 클라이언트(타임아웃, API 주소)를 다시 만들고 캐시를 비운다
+     */
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        UnirestInstance previous = httpClient;
+        httpClient = createHttpClient();
+        previous.close();
+        clearCache();
+        log.info("Jira 사용자 리졸버 설정 갱신 완료. 캐시를 초기화했습니다.");
+    }
+
+    /**
+     * 사용자명으로 이메일 주소 조회
+     *
+     * @return 이메일 주소, 사용자가 없거나 조회에 실패하면 null
+     */
+    public String resolveEmail(String userName) {
+        if (userName == null || userName.isBlank()) {
+            return null;
+        }
+
+        CacheEntry cached = getCached(userName);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached.email;
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(userName, future);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return await(userName, existing);
+        }
+
+        try {
+            // 대기열 등록 직전에 다른 요청이 캐시를 채웠을 수 있으므로 다시 확인
+            cached = getCached(userName);
+            if (cached != null) {
+                hitCounter.increment();
+                future.complete(cached.email);
+                return cached.email;
+            }
+            missCounter.increment();
+            String email = fetchAndCache(userName);
+            future.complete(email);
+            return email;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(userName, future);
+        }
+    }
+
+    public int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private String fetchAndCache(String userName) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            HttpResponse<JsonNode> response = httpClient.get(smtpInterceptorProperties.getUserApiUrl())
+                    .basicAuth(smtpInterceptorProperties.getUserApiUsername(), smtpInterceptorProperties.getUserApiPassword())
+                    .queryString("username", userName)
+                    .asJson();
+            if (response.getStatus() != 200) {
+                log.warn("Jira 사용자 조회 실패 (사용자: {}, 상태 코드: {})", userName, response.getStatus());
+                return null;
+            }
+            JSONArray users = response.getBody().getArray();
+            String email = users.isEmpty() ? null : users.getJSONObject(0).optString("emailAddress", null);
+            outcome = email != null ? "found" : "not_found";
+            putCached(userName, email);
+            return email;
+        } catch (UnirestException e) {
+            log.warn("Jira 사용자 조회 중 오류 발생 (사용자: {}): {}", userName, e.getMessage());
+            return null;
+        } finally {
+            sample.stop(Timer.builder(METRIC_LATENCY)
+                    .tag("outcome", outcome)
+                    .description("Jira 사용자 조회 HTTP 요청 시간")
+                    .register(meterRegistry));
+        }
+    }
+
+    private String await(String userName, CompletableFuture<String> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("Jira 사용자 조회 중 오류 발생 (사용자: {}): {}", userName, e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    private CacheEntry getCached(String userName) {
+        synchronized (cache) {
+            CacheEntry entry = cache.get(userName);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt - System.nanoTime() <= 0) {
+                cache.remove(userName);
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private void putCached(String userName, String email) {
+        long ttlSeconds = email != null
+                ? smtpInterceptorProperties.getUserCacheTtlSeconds()
+                : smtpInterceptorProperties.getUserCacheNegativeTtlSeconds();
+        if (ttlSeconds <= 0) {
+            return;
+        }
+        synchronized (cache) {
+            cache.put(userName, new CacheEntry(email, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+    }
+
+    private UnirestInstance createHttpClient() {
+        UnirestInstance instance = Unirest.spawnInstance();
+        instance.config()
+                .connectTimeout(smtpInterceptorProperties.getUserApiConnectTimeoutMillis())
+                .socketTimeout(smtpInterceptorProperties.getUserApiReadTimeoutMillis());
+        return instance;
+    }
+
+    @RequiredArgsConstructor
+    private static final class CacheEntry {
+        private final String email;
+        private final long expiresAt;
+    }
+}
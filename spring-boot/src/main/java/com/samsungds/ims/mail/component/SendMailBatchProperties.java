@@ -17,9 +17,33 @@ public class SendMailBatchProperties {
     private int batchSize = 10;
     private int concurrentBatchSize = 5;
     private int lockTimeoutMinutes = 1;
-    private int retryDelayMinutes = 1;
+    private int retryDelayMinutes = 1;              // 첫 재시도 간격 (재시도마다 2배)
+    private int retryMaxDelayMinutes = 60;          // 재시도 간격 상한
+    private double retryJitterRatio = 0.5;          // 재시도 간격을 임의로 줄이는 최대 비율 (동시 재시도 분산)
     private String scheduleCron = "0 0/1 * * * ?";
+    private long scheduleWindowSeconds = 300;       // 예약 메일을 메모리에 올리는 범위 (지금부터)
+    private int scheduleMaxLoaded = 10000;          // 메모리에 올리는 예약 메일 최대 수
+    private boolean dispatchOnIngest = true;        // 인제스트 커밋 즉시 디스패처 실행 (false면 스케줄에서만 실행)
+    private ExecutorMode executorMode = ExecutorMode.POOL;
+    private int maxConcurrentSends = 1000;          // VIRTUAL 모드 동시 발송 수 (concurrentBatchSize도 함께 늘려야 효과)
+    private long sendAcquireTimeoutMillis = 1000;   // VIRTUAL 모드에서 빈 자리를 기다리는 최대 시간
+    private double globalRatePerSecond = 0;         // Knox API 전체 초당 발송 수 (0이면 제한 없음)
+    private int globalBurst = 20;
+    private double senderRatePerSecond = 0;         // 발신자별 초당 발송 수 (0이면 제한 없음)
+    private int senderBurst = 5;
+    private int senderBucketMaxSize = 10000;        // 유지할 발신자별 버킷 수
+    private boolean adaptiveConcurrency = false;    // 발송 시간/오류율에 따라 동시 발송 수 자동 조절 (AIMD)
+    private int minConcurrency = 1;
+    private int maxConcurrency = 50;
+    private long targetLatencyMillis = 3000;        // 평균 발송 시간이 이보다 길면 동시 발송 수 감소
+    private double maxErrorRate = 0.5;              // 오류율이 이보다 높으면 동시 발송 수 감소
+    private double backoffRatio = 0.75;             // 감소 시 곱하는 비율
     private String knoxApiUrl = "https://knox-api.com";
     private String knoxApiKey = "knox-api-key";
     private String knoxApiSecret = "knox-api-secret";
+
+    public enum ExecutorMode {
+        POOL,       // 고정 크기 스레드풀 (core 5, max 10, 대기열 25)
+        VIRTUAL     // 발송마다 가상 스레드(JDK 21 미만은 플랫폼 스레드), 동시 발송 수는 maxConcurrentSends로 제한
+    }
 }
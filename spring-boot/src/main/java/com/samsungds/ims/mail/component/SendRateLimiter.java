@@ -0,0 +1,131 @@
+package com.samsungds.ims.mail.component;
+
+import com.samsungds.ims.mail.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 이메일 발송률 제한
+ * <p>
+ * Knox API 전체 한도(globalRatePerSecond/globalBurst)와 발신자별 한도(senderRatePerSecond/senderBurst)를 토큰 버킷으로 적용합니다.
+ * 발신자 버킷은 최근 사용한 senderBucketMaxSize 개만 유지하며, 설정이 갱신되면 모든 버킷을 새 설정으로 다시 만듭니다.
+ * 비율이 0 이하이면 해당 제한을 적용하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SendRateLimiter {
+    private static final String METRIC_THROTTLED = "mail.send.throttled";
+
+    private final SendMailBatchProperties sendMailBatchProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TokenBucket> senderBuckets = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            return size() > Math.max(1, sendMailBatchProperties.getSenderBucketMaxSize());
+        }
+    };
+    private LongSupplier nanoClock = System::nanoTime;
+    private volatile TokenBucket globalBucket;
+    private volatile double senderRatePerSecond;
+    private volatile int senderBurst;
+    private Counter globalThrottled;
+    private Counter senderThrottled;
+
+    @PostConstruct
+    public void init() {
+        globalThrottled = Counter.builder(METRIC_THROTTLED).tag("scope", "global")
+                .description("전역 발송 한도로 미뤄진 발송 수").register(meterRegistry);
+        senderThrottled = Counter.builder(METRIC_THROTTLED).tag("scope", "sender")
+                .description("발신자별 발송 한도로 미뤄진 발송 수").register(meterRegistry);
+        rebuild();
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        rebuild();
+    }
+
+    /**
+     * 설정으로 버킷을 다시 생성
+     */
+    public void rebuild() {
+        double globalRate = sendMailBatchProperties.getGlobalRatePerSecond();
+        globalBucket = globalRate > 0 ? new TokenBucket(globalRate, sendMailBatchProperties.getGlobalBurst(), nanoClock) : null;
+        synchronized (senderBuckets) {
+            senderRatePerSecond = sendMailBatchProperties.getSenderRatePerSecond();
+            senderBurst = sendMailBatchProperties.getSenderBurst();
+            senderBuckets.clear();
+        }
+        log.info("발송률 제한 설정: 전역 {}/s (버스트 {}), 발신자별 {}/s (버스트 {})",
+                globalRate, sendMailBatchProperties.getGlobalBurst(), senderRatePerSecond, senderBurst);
+    }
+
+    /**
+     * 발신자 한도와 전역 한도에서 토큰을 하나씩 사용
+     *
+     * @return 발송할 수 있으면 0, 아니면 다시 시도하기까지 기다릴 시간(나노초)
+     */
+    public long tryAcquire(String sender) {
+        TokenBucket senderBucket = senderBucket(sender);
+        if (senderBucket != null && !senderBucket.tryAcquire()) {
+            senderThrottled.increment();
+            return Math.max(1, senderBucket.nanosUntilAvailable());
+        }
+
+        TokenBucket global = globalBucket;
+        if (global != null && !global.tryAcquire()) {
+            if (senderBucket != null) {
+                senderBucket.refund();
+            }
+            globalThrottled.increment();
+            return Math.max(1, global.nanosUntilAvailable());
+        }
+        return 0;
+    }
+
+    /**
+     * 전역 한도에서 지금 발송할 수 있는 수 (최대 max, 토큰은 사용하지 않음)
+     */
+    public int availableGlobalPermits(int max) {
+        TokenBucket global = globalBucket;
+        return global != null ? global.available(max) : max;
+    }
+
+    /**
+     * 전역 한도에서 다음 발송이 가능할 때까지 남은 시간(나노초)
+     */
+    public long globalWaitNanos() {
+        TokenBucket global = globalBucket;
+        return global != null ? global.nanosUntilAvailable() : 0;
+    }
+
+    /**
+     * 버킷이 사용할 시계 (테스트용, {@link #init()} 전에 지정)
+     */
+    void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    private TokenBucket senderBucket(String sender) {
+        if (senderRatePerSecond <= 0 || sender == null) {
+            return null;
+        }
+        String key = sender.toLowerCase(Locale.ROOT);
+        synchronized (senderBuckets) {
+            return senderBuckets.computeIfAbsent(key, k -> new TokenBucket(senderRatePerSecond, senderBurst, nanoClock));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.samsungds.ims.mail.component;
+
+import com.samsungds.ims.mail.util.IpPrefixTrie;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * SMTP 연결 허용 여부 판단
+ * <p>
+ * 허용 IP 목록(allowedIps, CIDR 지원)은 {@link IpPrefixTrie}로, 허용 도메인 목록(allowedDomains)은 호스트명 접미사 집합으로 컴파일합니다.
+ * IP가 일치하면 역방향 DNS 조회 없이 바로 허용하고, 그렇지 않은 경우에만 PTR 조회를 수행합니다.
+ * PTR 조회는 별도 스레드에서 수행하여 최대 reverseDnsTimeoutMillis까지만 기다리며, 결과는 TTL 동안 캐시합니다.
+ * 캐시는 최근 사용한 reverseDnsCacheMaxSize 개의 IP만 유지합니다.
+ * 설정이 갱신되면 규칙을 새로 컴파일하여 원자적으로 교체합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SmtpConnectionAdmission {
+    public static final String UNKNOWN_HOST = "unknown";
+
+    private final SmtpInterceptorProperties smtpInterceptorProperties;
+
+    private final Map<String, PtrEntry> ptrCache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PtrEntry> eldest) {
+            return size() > Math.max(1, smtpInterceptorProperties.getReverseDnsCacheMaxSize());
+        }
+    };
+    private final Map<String, CompletableFuture<String>> ptrInFlight = new ConcurrentHashMap<>();
+    private volatile Rules rules;
+    private ExecutorService dnsExecutor;
+
+    @PostConstruct
+    public void init() {
+        dnsExecutor = Executors.newFixedThreadPool(
+                Math.max(1, smtpInterceptorProperties.getReverseDnsThreads()),
+                new CustomizableThreadFactory("reverse-dns-"));
+        rebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dnsExecutor.shutdownNow();
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void onRefresh() {
+        rebuild();
+    }
+
+    /**
+     * 허용 목록을 다시 컴파일하여 교체
+     */
+    public void rebuild() {
+        IpPrefixTrie ipRules = new IpPrefixTrie();
+        for (String allowedIp : smtpInterceptorProperties.getAllowedIps()) {
+            if (!ipRules.add(allowedIp)) {
+                log.warn("잘못된 허용 IP 규칙을 무시합니다: {}", allowedIp);
+            }
+        }
+
+        Set<String> domainSuffixes = new HashSet<>();
+        for (String allowedDomain : smtpInterceptorProperties.getAllowedDomains()) {
+            String suffix = normalizeHostname(allowedDomain);
+            if (!suffix.isEmpty()) {
+                domainSuffixes.add(suffix);
+            }
+        }
+
+        rules = new Rules(ipRules, Set.copyOf(domainSuffixes));
+        log.info("SMTP 연결 허용 목록 컴파일 완료. IP/CIDR 규칙: {}개, 도메인 규칙: {}개", ipRules.size(), domainSuffixes.size());
+    }
+
+    /**
+     * 클라이언트 연결 허용 여부 판단
+     */
+    public Decision admit(InetAddress clientAddress) {
+        Rules current = rules;
+        String clientIp = clientAddress.getHostAddress();
+
+        if (current.ipRules.matches(clientAddress)) {
+            return new Decision(true, clientIp, null);
+        }
+        if (current.domainSuffixes.isEmpty()) {
+            return new Decision(false, clientIp, null);
+        }
+
+        String hostname = reverseLookup(clientAddress);
+        return new Decision(matchesDomain(current.domainSuffixes, hostname), clientIp, hostname);
+    }
+
+    public void clearPtrCache() {
+        synchronized (ptrCache) {
+            ptrCache.clear();
+        }
+    }
+
+    private String reverseLookup(InetAddress clientAddress) {
+        String clientIp = clientAddress.getHostAddress();
+        PtrEntry cached;
+        synchronized (ptrCache) {
+            cached = ptrCache.get(clientIp);
+        }
+        if (cached != null && cached.expiresAt - System.nanoTime() > 0) {
+            return cached.hostname;
+        }
+
+        // 같은 IP에 대한 동시 조회는 하나의 PTR 조회를 공유
+        CompletableFuture<String> lookup = new CompletableFuture<>();
+        CompletableFuture<String> existing = ptrInFlight.putIfAbsent(clientIp, lookup);
+        if (existing != null) {
+            lookup = existing;
+        } else {
+            CompletableFuture<String> started = lookup;
+            try {
+                dnsExecutor.execute(() -> {
+                    String hostname = lookupHostname(clientAddress);
+                    cachePtr(clientIp, hostname);
+                    ptrInFlight.remove(clientIp, started);
+                    started.complete(hostname);
+                });
+            } catch (RejectedExecutionException e) {
+                // 종료 중이라 조회를 시작하지 못함: 같은 조회를 기다리는 연결도 바로 끝나도록 완료
+                ptrInFlight.remove(clientIp, started);
+                started.completeExceptionally(e);
+            }
+        }
+
+        try {
+            return lookup.get(smtpInterceptorProperties.getReverseDnsTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 조회는 백그라운드에서 계속 진행되어 다음 연결부터 캐시가 사용됨
+            log.warn("IP 주소 '{}'에 대한 도메인 조회 시간 초과 ({}ms)", clientIp, smtpInterceptorProperties.getReverseDnsTimeoutMillis());
+            return UNKNOWN_HOST;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return UNKNOWN_HOST;
+        } catch (ExecutionException e) {
+            return UNKNOWN_HOST;
+        }
+    }
+
+    private String lookupHostname(InetAddress clientAddress) {
+        // 리터럴 주소로 새 InetAddress를 만들어 JDK 내부 호스트명 캐시 대신 실제 PTR 조회를 수행
+        String clientIp = clientAddress.getHostAddress();
+        String hostname;
+        try {
+            hostname = InetAddress.getByAddress(clientAddress.getAddress()).getCanonicalHostName();
+        } catch (Exception e) {
+            log.warn("IP 주소 '{}'에 대한 도메인 조회 중 오류 발생: {}", clientIp, e.getMessage());
+            return UNKNOWN_HOST;
+        }
+        // IP와 hostname이 같으면 역방향 DNS 조회가 실패한 것이므로 도메인이 없음
+        return hostname.equals(clientIp) ? UNKNOWN_HOST : hostname;
+    }
+
+    private void cachePtr(String clientIp, String hostname) {
+        long ttlSeconds = UNKNOWN_HOST.equals(hostname)
+                ? smtpInterceptorProperties.getReverseDnsNegativeCacheTtlSeconds()
+                : smtpInterceptorProperties.getReverseDnsCacheTtlSeconds();
+        if (ttlSeconds <= 0) {
+            return;
+        }
+        // 한도를 넘으면 가장 오래 사용하지 않은 IP부터 제거
+        PtrEntry entry = new PtrEntry(hostname, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+        synchronized (ptrCache) {
+            ptrCache.put(clientIp, entry);
+        }
+    }
+
+    // 호스트명 자신 또는 라벨 경계(.) 이후의 접미사가 허용 목록에 있는지 확인
+    private static boolean matchesDomain(Set<String> domainSuffixes, String hostname) {
+        if (hostname == null || UNKNOWN_HOST.equals(hostname)) {
+            return false;
+        }
+        String candidate = normalizeHostname(hostname);
+        while (!candidate.isEmpty()) {
+            if (domainSuffixes.contains(candidate)) {
+                return true;
+            }
+            int dot = candidate.indexOf('.');
+            if (dot < 0) {
+                return false;
+            }
+            candidate = candidate.substring(dot + 1);
+        }
+        return false;
+    }
+
+    private static String normalizeHostname(String hostname) {
+        String value = hostname.trim().toLowerCase(Locale.ROOT);
+        while (value.startsWith(".")) {
+            value = value.substring(1);
+        }
+        return value.endsWith(".") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    /**
+     * 연결 허용 판단 결과
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Decision {
+        private final boolean allowed;
+        private final String clientIp;
+        private final String hostname;     // IP 규칙으로 허용된 경우 조회하지 않으므로 null
+    }
+
+    @RequiredArgsConstructor
+    private static final class Rules {
+        private final IpPrefixTrie ipRules;
+        private final Set<String> domainSuffixes;
+    }
+
+    @RequiredArgsConstructor
+    private static final class PtrEntry {
+        private final String hostname;
+        private final long expiresAt;
+    }
+}
@@ -21,21 +21,49 @@ public class SmtpInterceptorProperties {
     private List<String> allowedIps = new ArrayList<>(List.of("127.0.0.1"));;
     private List<String> allowedDomains = new ArrayList<>(List.of("localhost"));;
     private List<String> allowedEmailDomains = new ArrayList<>(List.of("samsung.com", "partner.samsung.com"));
+    private List<String> deniedEmailDomains = new ArrayList<>();  // 허용 도메인 중 차단할 하위 도메인 ("=도메인"은 하위 도메인 제외)
     private String attachmentPath = "./attachments";
     private String userApiUrl = "http://localhost:2990/jira/rest/api/2/user/search";
     private String userApiUsername = "admin";
     private String userApiPassword = "admin";
+    private int userApiConnectTimeoutMillis = 2000;
+    private int userApiReadTimeoutMillis = 5000;
+    private int userCacheMaxSize = 1000;
+    private long userCacheTtlSeconds = 600;             // 조회된 사용자 캐시 유지 시간
+    private long userCacheNegativeTtlSeconds = 60;      // 존재하지 않는 사용자 캐시 유지 시간
+    private long reverseDnsTimeoutMillis = 1000;            // 역방향 DNS 조회 최대 대기 시간
+    private long reverseDnsCacheTtlSeconds = 300;
+    private long reverseDnsNegativeCacheTtlSeconds = 60;    // PTR 레코드가 없는 IP 캐시 유지 시간
+    private int reverseDnsCacheMaxSize = 10000;
+    private int reverseDnsThreads = 4;
+    private String blobPath = "./blobs";
+    private int bodyBlobThreshold = 256 * 1024;    // 이 크기(bytes)를 넘는 본문은 블롭 저장소에 저장
+    private String spoolPath = "./spool";
+    private int spoolThreshold = 256 * 1024;
+    private int maxMessageSize = 25 * 1024 * 1024;
+    private int maxConnections = 1000;                  // 동시 SMTP 연결 수 제한 (초과 시 421 응답)
+    private int connectionTimeoutMillis = 60000;        // 연결별 명령/DATA 읽기 제한 시간
+    private boolean virtualThreadSessions = false;      // JDK 21 이상에서 SMTP 세션을 가상 스레드로 실행
+    private SmtpListener listener = SmtpListener.SUBETHA;
+    private IngestMode ingestMode = IngestMode.DIRECT;
+    private int ingestWorkers = 4;
+    private long ingestRetryInitialDelayMillis = 1000;  // 일시적 오류(DB 장애 등)로 저장하지 못한 저널 항목의 첫 재시도 간격 (재시도마다 2배)
+    private long ingestRetryMaxDelayMillis = 60000;     // 저널 항목 재시도 간격 상한
+    private int ingestRetryMaxAttempts = 20;            // 저널 항목 최대 재시도 횟수 (초과 시 failed 디렉토리로 이동)
+    private int ingestBatchSize = 50;               // 그룹 커밋 최대 메일 수
+    private long ingestFlushIntervalMillis = 20;    // 그룹 커밋 최대 대기 시간
+    private long ingestWriteTimeoutMillis = 30000;  // 그룹 커밋 완료 대기 제한 시간 (초과 시 일시적 오류로 처리)
+    private long dedupBloomExpectedInsertions = 1_000_000;  // 중복 판별 블룸 필터 예상 uniqueId 수
+    private double dedupBloomFalsePositiveRate = 0.01;
+    private int dedupRecentCacheSize = 10000;                // 최근 uniqueId → 큐 ID 맵 크기
 
-    public boolean isAllowedIp(String ip) {
-        return allowedIps.contains(ip);
+    public enum SmtpListener {
+        SUBETHA,    // 연결마다 세션 스레드 하나 (SubEthaSMTP)
+        NETTY       // 이벤트 루프에서 명령 처리, 핸들러 호출 중에만 스레드 사용
     }
 
-    public boolean isAllowedDomain(String domain) {
-        return allowedDomains.stream().anyMatch(domain::endsWith);
-    }
-
-    @SuppressWarnings("BooleanMethodIsAlwaysInverted")
-    public boolean isAllowedEmailDomain(String emailDomain) {
-        return allowedEmailDomains.stream().anyMatch(emailDomain::endsWith);
+    public enum IngestMode {
+        DIRECT,     // SMTP 세션에서 파싱/저장 후 응답
+        JOURNAL     // 로컬 저널에 기록(fsync) 후 즉시 응답, 백그라운드 워커가 저장
     }
 }
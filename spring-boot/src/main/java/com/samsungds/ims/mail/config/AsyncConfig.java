@@ -1,23 +1,47 @@
 package com.samsungds.ims.mail.config;
 
+import com.samsungds.ims.mail.component.SendMailBatchProperties;
+import com.samsungds.ims.mail.util.ConcurrencyLimitedExecutor;
+import com.samsungds.ims.mail.util.VirtualThreads;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
+@Slf4j
 public class AsyncConfig {
+    private static final String METRIC_PREFIX = "mail.send.executor";
+
+    private final SendMailBatchProperties sendMailBatchProperties;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * 이메일 처리 전용 스레드풀 설정
+     * 이메일 처리 전용 실행기 설정
+     * POOL이면 고정 크기 스레드풀, VIRTUAL이면 발송마다 가상 스레드를 만들고 동시 발송 수를 세마포어로 제한합니다.
      */
     @Bean(name = "emailExecutor")
     public Executor emailTaskExecutor() {
+        if (sendMailBatchProperties.getExecutorMode() == SendMailBatchProperties.ExecutorMode.VIRTUAL) {
+            return concurrencyLimitedExecutor();
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         // 코어 스레드 크기
         executor.setCorePoolSize(5);
@@ -27,18 +51,57 @@ public class AsyncConfig {
         executor.setQueueCapacity(25);
         // 스레드 이름 접두사
         executor.setThreadNamePrefix("email-task-");
+        // 대기열까지 가득 차면 거부 (거부 수 기록)
+        Counter rejected = rejectedCounter("pool");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, pool);
+        });
         // 종료 시 대기 중인 작업 처리
         executor.setWaitForTasksToCompleteOnShutdown(true);
         // 종료 대기 시간 (초)
         executor.setAwaitTerminationSeconds(60);
-        
+
         executor.initialize();
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolTaskExecutor::getActiveCount).tag("mode", "pool")
+                .description("발송 중인 이메일 수").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queued", executor, ThreadPoolTaskExecutor::getQueueSize).tag("mode", "pool")
+                .description("스레드를 기다리는 발송 수").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".limit", executor, ThreadPoolTaskExecutor::getMaxPoolSize).tag("mode", "pool")
+                .description("최대 동시 발송 수").register(meterRegistry);
         return executor;
     }
 
+    private ConcurrencyLimitedExecutor concurrencyLimitedExecutor() {
+        ExecutorService threadPerTask = VirtualThreads.newThreadPerTaskExecutor("email-task-").orElse(null);
+        if (threadPerTask != null) {
+            log.info("이메일 발송을 가상 스레드로 실행합니다. (최대 동시 발송: {})", sendMailBatchProperties.getMaxConcurrentSends());
+        } else {
+            log.warn("현재 JDK({})는 가상 스레드를 지원하지 않아 플랫폼 스레드로 이메일을 발송합니다.", Runtime.version());
+            threadPerTask = Executors.newCachedThreadPool(new CustomizableThreadFactory("email-task-"));
+        }
+
+        ConcurrencyLimitedExecutor executor = new ConcurrencyLimitedExecutor(threadPerTask,
+                sendMailBatchProperties.getMaxConcurrentSends(), sendMailBatchProperties.getSendAcquireTimeoutMillis());
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ConcurrencyLimitedExecutor::getActiveCount).tag("mode", "virtual")
+                .description("발송 중인 이메일 수").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queued", executor, ConcurrencyLimitedExecutor::getWaitingCount).tag("mode", "virtual")
+                .description("빈 자리를 기다리는 발송 수").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".limit", executor, ConcurrencyLimitedExecutor::getLimit).tag("mode", "virtual")
+                .description("최대 동시 발송 수").register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".rejected", executor, ConcurrencyLimitedExecutor::getRejectedCount).tag("mode", "virtual")
+                .description("동시 발송 제한으로 거부된 발송 수").register(meterRegistry);
+        return executor;
+    }
+
+    private Counter rejectedCounter(String mode) {
+        return Counter.builder(METRIC_PREFIX + ".rejected").tag("mode", mode)
+                .description("실행기가 가득 차 거부된 발송 수").register(meterRegistry);
+    }
+
     // 비동기 작업 예외 처리를 위한 빈
     @Bean
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.samsungds.ims.mail.controller;
+
+import com.samsungds.ims.mail.component.BlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 블롭 저장소의 인라인 이미지 조회 (메일 본문 미리보기용)
+ */
+@RestController
+@RequestMapping("/api/blobs")
+@RequiredArgsConstructor
+@Slf4j
+public class BlobController {
+    private final BlobStore blobStore;
+
+    @GetMapping("/{blobId}")
+    public ResponseEntity<InputStreamResource> getBlob(
+            @PathVariable String blobId,
+            @RequestParam(required = false) String type) throws IOException {
+        if (!blobStore.exists(blobId)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // 본문 미리보기에서 스크립트가 실행되지 않도록 이미지 타입만 그대로 응답
+        MediaType mediaType = MediaType.APPLICATION_OCTET_STREAM;
+        if (type != null && type.startsWith("image/") && !type.contains("svg")) {
+            try {
+                mediaType = MediaType.parseMediaType(type);
+            } catch (Exception e) {
+                log.debug("잘못된 블롭 MIME 타입: {}", type);
+            }
+        }
+
+        // 내용 주소 방식이므로 같은 ID의 내용은 바뀌지 않음
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .contentLength(blobStore.size(blobId))
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                .body(new InputStreamResource(blobStore.open(blobId)));
+    }
+}
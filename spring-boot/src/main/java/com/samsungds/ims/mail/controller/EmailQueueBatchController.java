@@ -35,6 +35,8 @@ public class EmailQueueBatchController {
 
         try {
             emailQueueBatchService.start();
+            // 다음 스케줄을 기다리지 않고 바로 발송 재개
+            emailQueueBatchService.requestDispatch();
             ProcessorStatus status = emailQueueBatchService.getProcessorStatus();
 
             response.put("success", true);
@@ -6,6 +6,7 @@ import com.samsungds.ims.mail.repository.EmailQueueRepository;
 import com.samsungds.ims.mail.service.EmailHistoryService;
 import com.samsungds.ims.mail.service.EmailQueueService;
 import com.samsungds.ims.mail.service.EmailQueueStreamService;
+import com.samsungds.ims.mail.service.ScheduledEmailScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -36,6 +37,7 @@ public class EmailQueueController {
     private final EmailHistoryService emailHistoryService;
     private final EmailQueueService emailQueueService;
     private final EmailQueueStreamService emailQueueStreamService;
+    private final ScheduledEmailScheduler scheduledEmailScheduler;
 
     /**
      * 이메일 큐에 새 이메일 추가
@@ -51,6 +53,7 @@ public class EmailQueueController {
         }
 
         EmailQueue savedEmail = emailQueueRepository.save(emailQueue);
+        scheduledEmailScheduler.schedule(savedEmail);
         return ResponseEntity.ok(savedEmail);
     }
 
@@ -67,6 +70,7 @@ public class EmailQueueController {
         email.setCreatedAt(LocalDateTime.now());
 
         EmailQueue savedEmail = emailQueueRepository.save(email);
+        scheduledEmailScheduler.schedule(savedEmail);
         return ResponseEntity.ok(savedEmail);
     }
 
@@ -50,6 +50,7 @@ public class SmtpInterceptorController {
         boolean isRunning = smtpInterceptorServerService.isRunning();
         status.put("running", isRunning);
         status.put("status", isRunning ? "RUNNING" : "STOPPED");
+        status.put("activeConnections", smtpInterceptorServerService.getActiveConnections());
         return status;
     }
 }
@@ -11,4 +11,7 @@ public class ProcessorStatus {
     private final String processorId;
     private final boolean running;
     private final LocalDateTime startedAt;
+    private final boolean adaptiveConcurrency;
+    private final int concurrencyLimit;     // 현재 발송 동시 실행 한도
+    private final int inFlight;             // 발송 중인 이메일 수
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.samsungds.ims.mail.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 주소 방식으로 저장된 첨부파일 원본
+ * refCount는 이 원본을 참조하는 큐/이력 첨부파일 행 수이며, 0이 되면 원본 파일을 삭제합니다.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "attachment_blob")
+public class AttachmentBlob {
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    private long fileSize;
+    private long refCount;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -27,4 +27,9 @@ public class EmailHistoryAttachment {
 
     @Column(nullable = false, length = 1024)
     private String filePath;
+
+    @Column(length = 64)
+    private String sha256;      // 첨부파일 원본(AttachmentBlob) SHA-256
+
+    private Long fileSize;
 }
\ No newline at end of file
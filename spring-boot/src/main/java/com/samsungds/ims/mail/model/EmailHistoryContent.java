@@ -21,6 +21,9 @@ public class EmailHistoryContent {
     @Column(columnDefinition = "LONGTEXT")
     private String body;  // 이메일 본문
 
+    @Column(length = 64)
+    private String bodyBlobId;  // 본문이 블롭 저장소에 있는 경우 블롭 ID (body는 null)
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
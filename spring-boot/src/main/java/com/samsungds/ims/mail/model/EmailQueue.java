@@ -14,7 +14,12 @@ import java.util.List;
 @Getter
 @Setter
 @ToString(exclude = {"content", "recipients"})
-@Table(name = "email_queue")
+@Table(name = "email_queue", indexes = {
+        @Index(name = "ux_email_queue_unique_id", columnList = "uniqueId", unique = true),
+        @Index(name = "ix_email_queue_claim", columnList = "status, priority, createdAt"),
+        @Index(name = "ix_email_queue_next_attempt", columnList = "status, nextAttemptAt"),
+        @Index(name = "ix_email_queue_scheduled", columnList = "status, scheduledAt")
+})
 public class EmailQueue {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -48,6 +53,7 @@ public class EmailQueue {
     private LocalDateTime scheduledAt;    // 예약 발송 시간
     private LocalDateTime sentAt;         // 실제 발송 시간
     private LocalDateTime lastRetryAt;    // 마지막 재시도 시간
+    private LocalDateTime nextAttemptAt;  // 이 시간 전에는 선점하지 않음 (발송 한도로 미룬 경우), 재시도 대기 중이면 다음 재시도 시간
 
     @Column(length = 2000)
     private String errorMessage;
@@ -71,6 +77,16 @@ public class EmailQueue {
         }
     }
 
+    /**
+     * 발송 한도 초과로 발송을 미룸 (재시도 횟수는 늘리지 않음)
+     */
+    public void defer(LocalDateTime nextAttemptAt, String reason) {
+        this.status = EmailStatus.QUEUED;
+        this.nextAttemptAt = nextAttemptAt;
+        this.errorMessage = reason;
+        this.locked = false;
+    }
+
     public void markAsSent() {
         this.status = EmailStatus.SENT;
         this.sentAt = LocalDateTime.now();
@@ -21,6 +21,9 @@ public class EmailQueueContent {
     @Column(columnDefinition = "LONGTEXT")
     private String body;
 
+    @Column(length = 64)
+    private String bodyBlobId;  // 본문이 블롭 저장소에 있는 경우 블롭 ID (body는 null)
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
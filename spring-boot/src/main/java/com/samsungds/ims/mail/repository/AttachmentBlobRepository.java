@@ -0,0 +1,21 @@
+package com.samsungds.ims.mail.repository;
+
+import com.samsungds.ims.mail.model.AttachmentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, String> {
+
+    @Modifying
+    @Query("UPDATE AttachmentBlob b SET b.refCount = b.refCount - :count WHERE b.sha256 = :sha256")
+    int releaseReferences(@Param("sha256") String sha256, @Param("count") long count);
+
+    List<AttachmentBlob> findBySha256InAndRefCountLessThanEqual(Collection<String> sha256s, long refCount);
+}
@@ -9,5 +9,6 @@ import java.util.List;
 public interface EmailQueueAttachmentRepository extends JpaRepository<EmailQueueAttachment, Long> {
     List<EmailQueueAttachment> findByEmailQueueId(Long emailQueueId);
     List<EmailQueueAttachment> findAllByEmailQueueIdIn(Collection<Long> emailQueueIds);
+    boolean existsByFilePath(String filePath);
     void deleteAllByEmailQueueIdIn(Collection<Long> emailQueueIds);
 }
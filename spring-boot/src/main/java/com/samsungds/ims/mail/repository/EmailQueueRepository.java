@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,17 +19,76 @@ public interface EmailQueueRepository extends JpaRepository<EmailQueue, Long> {
 
     List<EmailQueue> findByStatus(EmailQueue.EmailStatus status);
 
-    List<EmailQueue> findByStatusOrderByPriorityAscCreatedAtAsc(EmailQueue.EmailStatus status);
+    /**
+     * 발송 대상 후보를 우선순위/생성 순으로 pageable 건수만큼 조회 (엔티티 대신 id/priority만 로딩, 미뤄진 메일은 nextAttemptAt 이후)
+     */
+    @Query("SELECT e.id AS id, e.priority AS priority FROM EmailQueue e " +
+           "WHERE e.status = :status AND e.locked = false AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now) " +
+           "ORDER BY e.priority ASC, e.createdAt ASC, e.id ASC")
+    List<ClaimCandidate> findClaimCandidates(@Param("status") EmailQueue.EmailStatus status, @Param("now") LocalDateTime now, Pageable pageable);
 
-    @Query("SELECT e FROM EmailQueue e WHERE e.status = 'SCHEDULED' AND e.scheduledAt <= :now AND e.locked = false")
-    List<EmailQueue> findScheduledEmailsDueBefore(@Param("now") LocalDateTime now);
+    /**
+     * until까지의 예약 메일을 (scheduledAt, id) 순으로 pageable 건수만큼 조회 (예약 스케줄러 적재용)
+     */
+    @Query("SELECT e.id AS id, e.scheduledAt AS scheduledAt FROM EmailQueue e " +
+           "WHERE e.status = 'SCHEDULED' AND e.locked = false AND e.scheduledAt <= :until " +
+           "ORDER BY e.scheduledAt ASC, e.id ASC")
+    List<ScheduledCandidate> findScheduledCandidates(@Param("until") LocalDateTime until, Pageable pageable);
 
-    @Query("SELECT e FROM EmailQueue e WHERE e.status = 'RETRY' AND e.lastRetryAt <= :retryAfter AND e.locked = false")
-    List<EmailQueue> findEmailsForRetry(@Param("retryAfter") LocalDateTime retryAfter);
+    /**
+     * 예약 시각이 된 id를 한 번의 UPDATE로 발송 대기로 전환 (그 사이 취소되었거나 시각이 바뀐 행은 제외)
+     */
+    @Modifying
+    @Query("UPDATE EmailQueue e SET e.status = 'QUEUED' " +
+           "WHERE e.id IN :ids AND e.status = 'SCHEDULED' AND e.locked = false AND e.scheduledAt <= :now")
+    int promoteScheduled(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * 예약 시각이 지난 메일을 모두 발송 대기로 전환
+     */
+    @Modifying
+    @Query("UPDATE EmailQueue e SET e.status = 'QUEUED' WHERE e.status = 'SCHEDULED' AND e.locked = false AND e.scheduledAt <= :now")
+    int promoteDueScheduled(@Param("now") LocalDateTime now);
+
+    /**
+     * 재시도 대기 중인 메일 중 afterId 다음부터 until까지 시도할 메일의 다음 시도 시각 (재시도 타이밍 휠 복원용, id 순 페이지 단위)
+     * nextAttemptAt이 없는 이전 데이터는 항상 포함합니다.
+     */
+    @Query("SELECT e.id AS id, e.nextAttemptAt AS nextAttemptAt, e.lastRetryAt AS lastRetryAt FROM EmailQueue e " +
+           "WHERE e.status = 'RETRY' AND e.locked = false AND e.id > :afterId " +
+           "AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :until) ORDER BY e.id")
+    List<RetrySchedule> findRetrySchedules(@Param("afterId") long afterId, @Param("until") LocalDateTime until, Pageable pageable);
+
+    /**
+     * 재시도 시각이 된 id를 한 번의 UPDATE로 발송 대기로 전환 (그 사이 상태나 시각이 바뀐 행은 제외)
+     */
+    @Modifying
+    @Query("UPDATE EmailQueue e SET e.status = 'QUEUED' " +
+           "WHERE e.id IN :ids AND e.status = 'RETRY' AND e.locked = false AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now)")
+    int promoteRetries(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * 재시도 시각이 지난 메일을 모두 발송 대기로 전환 (nextAttemptAt이 없는 이전 데이터는 lastRetryAt 기준)
+     */
+    @Modifying
+    @Query("UPDATE EmailQueue e SET e.status = 'QUEUED' WHERE e.status = 'RETRY' AND e.locked = false " +
+           "AND (e.nextAttemptAt <= :now OR (e.nextAttemptAt IS NULL AND e.lastRetryAt <= :retryAfter))")
+    int promoteDueRetries(@Param("now") LocalDateTime now, @Param("retryAfter") LocalDateTime retryAfter);
 
+    /**
+     * 후보 id 중 아직 대기 중인 건을 한 번의 UPDATE로 잠그고 claimToken을 processorId에 기록
+     * 다른 인스턴스가 먼저 잠근 행은 조건(locked = false)에서 제외되므로 반환값이 후보 수보다 작을 수 있습니다.
+     */
     @Modifying
-    @Query("UPDATE EmailQueue e SET e.locked = true, e.lockedAt = :now, e.status = 'PROCESSING', e.processorId = :processorId WHERE e.id = :id AND e.locked = false")
-    int lockEmailForProcessing(@Param("id") Long id, @Param("processorId") String processorId, @Param("now") LocalDateTime now);
+    @Query("UPDATE EmailQueue e SET e.locked = true, e.lockedAt = :now, e.status = 'PROCESSING', e.processorId = :claimToken " +
+           "WHERE e.id IN :ids AND e.status = 'QUEUED' AND e.locked = false")
+    int claimEmails(@Param("ids") List<Long> ids, @Param("claimToken") String claimToken, @Param("now") LocalDateTime now);
+
+    /**
+     * 선점한 후보 중 claimToken으로 잠근 행만 조회 (기본 키로 찾으므로 processorId 인덱스가 필요 없음)
+     */
+    @Query("SELECT e FROM EmailQueue e WHERE e.id IN :ids AND e.processorId = :claimToken AND e.status = 'PROCESSING'")
+    List<EmailQueue> findClaimed(@Param("ids") List<Long> ids, @Param("claimToken") String claimToken);
 
     @Modifying
     @Query("UPDATE EmailQueue e SET e.locked = false, e.status = 'QUEUED' WHERE e.status = 'PROCESSING' AND e.lockedAt <= :timeout")
@@ -53,4 +113,33 @@ public interface EmailQueueRepository extends JpaRepository<EmailQueue, Long> {
         @Param("end") LocalDateTime end,
         Pageable pageable
     );
-}
\ No newline at end of file
+
+    /**
+     * 발송 대상 후보 프로젝션
+     */
+    interface ClaimCandidate {
+        Long getId();
+
+        Integer getPriority();
+    }
+
+    /**
+     * 예약 메일 프로젝션
+     */
+    interface ScheduledCandidate {
+        Long getId();
+
+        LocalDateTime getScheduledAt();
+    }
+
+    /**
+     * 재시도 시각 프로젝션
+     */
+    interface RetrySchedule {
+        Long getId();
+
+        LocalDateTime getNextAttemptAt();
+
+        LocalDateTime getLastRetryAt();
+    }
+}
@@ -0,0 +1,54 @@
+package com.samsungds.ims.mail.service;
+
+import com.samsungds.ims.mail.component.BlobStore;
+import com.samsungds.ims.mail.model.EmailQueueContent;
+import com.samsungds.ims.mail.util.BlobReferences;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+
+/**
+ * 발송 시점에 저장된 본문을 복원하는 서비스
+ * <p>
+ * 블롭 저장소로 분리된 본문(bodyBlobId)과 인라인 이미지 참조를 스트리밍으로 읽어 원래의 HTML(data URI 이미지 포함)로 기록합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailBodyResolver {
+
+    private final BlobStore blobStore;
+
+    /**
+     * 본문을 복원하여 Writer로 기록
+     */
+    public void writeBody(EmailQueueContent content, Writer out) throws IOException {
+        if (content == null) {
+            return;
+        }
+        try (Reader source = openBody(content)) {
+            BlobReferences.resolve(source, out, this::openBlob);
+        }
+        out.flush();
+    }
+
+    private Reader openBody(EmailQueueContent content) throws IOException {
+        if (content.getBodyBlobId() != null) {
+            return new InputStreamReader(blobStore.open(content.getBodyBlobId()), StandardCharsets.UTF_8);
+        }
+        return new StringReader(content.getBody() != null ? content.getBody() : "");
+    }
+
+    private InputStream openBlob(String blobId) throws IOException {
+        try {
+            return blobStore.open(blobId);
+        } catch (NoSuchFileException e) {
+            log.warn("본문에서 참조한 블롭이 없습니다: {}", blobId);
+            return null;
+        }
+    }
+}
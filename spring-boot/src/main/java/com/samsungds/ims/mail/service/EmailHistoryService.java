@@ -1,5 +1,6 @@
 package com.samsungds.ims.mail.service;
 
+import com.samsungds.ims.mail.component.AttachmentStore;
 import com.samsungds.ims.mail.model.*;
 import com.samsungds.ims.mail.repository.*;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,7 @@ public class EmailHistoryService {
     private final EmailHistoryContentRepository emailHistoryContentRepository;
     private final EmailHistoryRecipientRepository emailHistoryRecipientRepository;
     private final EmailHistoryAttachmentRepository emailHistoryAttachmentRepository;
+    private final AttachmentStore attachmentStore;
 
     @Transactional
     public int moveEmailsToHistoryByStatus(EmailQueue.EmailStatus status) {
@@ -63,6 +65,7 @@ public class EmailHistoryService {
             EmailHistoryContent historyContent = new EmailHistoryContent();
             historyContent.setEmailHistory(savedHistories.get(i));
             historyContent.setBody(queueContents.get(i).getBody());
+            historyContent.setBodyBlobId(queueContents.get(i).getBodyBlobId());
             historyContents.add(historyContent);
         }
         emailHistoryContentRepository.saveAll(historyContents);
@@ -99,6 +102,8 @@ public class EmailHistoryService {
                     ha.setContentType(qa.getContentType());
                     ha.setFileName(qa.getFileName());
                     ha.setFilePath(qa.getFilePath());
+                    ha.setSha256(qa.getSha256());
+                    ha.setFileSize(qa.getFileSize());
                     return ha;
                 })
                 .toList();
@@ -118,7 +123,14 @@ public class EmailHistoryService {
         long historyCount = emailHistoryRepository.count();
         emailHistoryContentRepository.deleteAll();
         emailHistoryRecipientRepository.deleteAll();
-        emailHistoryAttachmentRepository.deleteAll();
+
+        // 첨부파일 원본 참조 반환 (참조가 없어진 원본과 링크는 커밋 후 삭제)
+        List<EmailHistoryAttachment> historyAttachments = emailHistoryAttachmentRepository.findAll();
+        Map<String, Long> references = historyAttachments.stream()
+                .filter(attachment -> attachment.getSha256() != null)
+                .collect(Collectors.groupingBy(EmailHistoryAttachment::getSha256, Collectors.counting()));
+        attachmentStore.release(references, historyAttachments.stream().map(EmailHistoryAttachment::getFilePath).toList());
+        emailHistoryAttachmentRepository.deleteAll(historyAttachments);
         emailHistoryRepository.deleteAll();
         return historyCount;
     }
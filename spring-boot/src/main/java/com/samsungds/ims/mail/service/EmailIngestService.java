@@ -0,0 +1,234 @@
+package com.samsungds.ims.mail.service;
+
+import com.samsungds.ims.mail.component.AttachmentStore;
+import com.samsungds.ims.mail.component.BlobStore;
+import com.samsungds.ims.mail.component.EmailDomainPolicy;
+import com.samsungds.ims.mail.component.JiraUserResolver;
+import com.samsungds.ims.mail.component.SmtpInterceptorProperties;
+import com.samsungds.ims.mail.model.EmailQueueRecipient;
+import com.samsungds.ims.mail.util.BlobReferences;
+import com.samsungds.ims.mail.util.ContentAddressedStore;
+import com.samsungds.ims.mail.util.EmailHashGenerator;
+import com.samsungds.ims.mail.util.FileNames;
+import com.samsungds.ims.mail.util.JiraHtmlScanner;
+import com.samsungds.ims.mail.util.MimeMessageParser;
+import com.samsungds.ims.mail.util.ParsedEmail;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.mail.*;
+import javax.mail.Message.RecipientType;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 수신한 원본 메일을 파싱하여 EmailQueue에 저장하는 서비스
+ * SMTP 세션(직접 모드)과 인제스트 저널 워커(저널 모드)가 공통으로 사용합니다.
+ * DB 저장은 {@link EmailQueueIngestWriter}가 여러 메일을 모아 한 트랜잭션으로 수행하며, 커밋될 때까지 대기합니다.
+ * 커밋 전에 기록한 블롭과 첨부파일은 저장에 실패하면 정리합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailIngestService {
+
+    private final EmailQueueIngestWriter emailQueueIngestWriter;
+    private final SmtpInterceptorProperties smtpInterceptorProperties;
+    private final JiraUserResolver jiraUserResolver;
+    private final EmailDomainPolicy emailDomainPolicy;
+    private final BlobStore blobStore;
+    private final AttachmentStore attachmentStore;
+
+    /**
+     * 원본 메일(RFC 822)을 파싱하여 큐에 저장
+     *
+     * @param envelopeFrom SMTP MAIL FROM 주소 (본문에서 발신자를 찾지 못한 경우 사용)
+     * @param rawMessage   원본 메시지 스트림 (SharedInputStream 권장)
+     */
+    public void ingest(String envelopeFrom, InputStream rawMessage) throws MessagingException, IOException {
+        // 1. MIME 메시지 파싱
+        MimeMessage message = parseMimeMessage(rawMessage);
+        String subject = message.getSubject();
+
+        // 2. MIME 트리 단일 순회: HTML 및 텍스트 본문(HTML 우선), CID 이미지, 첨부파일 수집
+        ParsedEmail parsed = MimeMessageParser.parse(message);
+
+        // 커밋 전에 기록한 블롭/첨부파일: 저장에 실패하면 이번에 새로 만든 파일을 정리
+        List<ContentAddressedStore.PutResult> storedBlobs = new ArrayList<>();
+        List<AttachmentStore.StoredAttachment> storedAttachments = new ArrayList<>();
+        boolean committed = false;
+        try {
+            storeAndWrite(message, subject, parsed, envelopeFrom, storedBlobs, storedAttachments);
+            committed = true;
+        } catch (IngestTimeoutException e) {
+            // 이미 배치에 포함된 메일은 늦게 커밋될 수 있으므로 파일을 남김
+            committed = !e.isAbandoned();
+            throw e;
+        } finally {
+            if (committed) {
+                blobStore.keep(storedBlobs);
+                attachmentStore.keep(storedAttachments);
+            } else {
+                blobStore.discard(storedBlobs);
+                attachmentStore.discard(storedAttachments);
+            }
+        }
+    }
+
+    private void storeAndWrite(MimeMessage message, String subject, ParsedEmail parsed, String envelopeFrom,
+                               List<ContentAddressedStore.PutResult> storedBlobs,
+                               List<AttachmentStore.StoredAttachment> storedAttachments) throws MessagingException, IOException {
+        String htmlBody = parsed.getHtmlBody();
+        String textBody = parsed.getTextBody();
+
+        // 3. CID 이미지를 블롭 저장소에 저장 (HTML 본문에는 참조만 남김)
+        Map<String, String> cidToUrlMap = htmlBody != null
+                ? storeCidImages(parsed.getInlineImages().values(), subject, storedBlobs)
+                : Collections.emptyMap();
+
+        // 4. 본문 단일 스캔: 본문 내 Jira 사용자 정보 추출과 CID 이미지 src 치환을 함께 수행
+        String bodyForSenderDetection = htmlBody != null ? htmlBody : textBody;
+        JiraHtmlScanner.Result scanned = JiraHtmlScanner.scan(bodyForSenderDetection, cidToUrlMap);
+
+        // 실제 발신자 결정 (메일 헤더의 From 또는 본문 내 Jira 사용자 정보)
+        String effectiveSender = envelopeFrom; // 기본값
+        if (scanned.getSenderUserName() != null) {
+            String senderFromBody = jiraUserResolver.resolveEmail(scanned.getSenderUserName());
+            if (senderFromBody != null) {
+                effectiveSender = senderFromBody;
+            }
+        }
+
+        // 5. 중복 메일 판별용 해시 (같은 해시의 메일은 하나의 큐 항목으로 병합)
+        String uniqueId = EmailHashGenerator.generateSha256Hash(bodyForSenderDetection);
+
+        String finalBodyToStore = scanned.getHtml();
+        if (finalBodyToStore == null) {
+            finalBodyToStore = "";
+            log.warn("이메일에서 본문(text/plain 또는 text/html)을 추출할 수 없습니다. 제목: {}", subject);
+        }
+
+        // 임계값을 넘는 본문은 블롭 저장소에 두고 큐에는 블롭 ID만 저장
+        String bodyBlobId = null;
+        byte[] bodyBytes = finalBodyToStore.getBytes(StandardCharsets.UTF_8);
+        if (bodyBytes.length > smtpInterceptorProperties.getBodyBlobThreshold()) {
+            ContentAddressedStore.PutResult bodyBlob = blobStore.put(bodyBytes);
+            storedBlobs.add(bodyBlob);
+            bodyBlobId = bodyBlob.getId();
+            finalBodyToStore = null;
+            log.info("본문을 블롭 저장소에 저장했습니다: {} ({} bytes, 제목: {})", bodyBlobId, bodyBytes.length, subject);
+        }
+        EmailQueueIngestWriter.IngestRecord record = new EmailQueueIngestWriter.IngestRecord(uniqueId, effectiveSender, subject, finalBodyToStore, bodyBlobId);
+
+        // 6. 수신자 정보 추가 (TO, CC, BCC 헤더 기반, 중복 제거는 저장기에서 수행)
+        addRecipients(record, message.getRecipients(RecipientType.TO), EmailQueueRecipient.RecipientType.TO);
+        addRecipients(record, message.getRecipients(RecipientType.CC), EmailQueueRecipient.RecipientType.CC);
+        addRecipients(record, message.getRecipients(RecipientType.BCC), EmailQueueRecipient.RecipientType.BCC);
+
+        // 7. CID로 처리되지 않은 나머지 첨부파일을 디스크에 기록
+        saveOtherAttachments(parsed.getAttachments(), record, cidToUrlMap.keySet(), storedAttachments);
+
+        // 8. 그룹 커밋 저장 (커밋될 때까지 대기)
+        Long queueId = emailQueueIngestWriter.write(record);
+        log.info("이메일 처리 완료. 큐 ID: {}, 제목: {}, 발신자: {}, 수신자: {}명", queueId, subject, effectiveSender, record.getRecipients().size());
+    }
+
+    private MimeMessage parseMimeMessage(InputStream data) throws MessagingException {
+        Properties props = new Properties();
+        Session session = Session.getDefaultInstance(props, null);
+        return new MimeMessage(session, data);
+    }
+
+    private String extractEmailAddress(String fullAddress) {
+        try {
+            InternetAddress internetAddress = new InternetAddress(fullAddress);
+            return internetAddress.getAddress();
+        } catch (AddressException e) {
+            log.warn("잘못된 형식의 이메일 주소입니다: {}. 원본 주소를 사용합니다.", fullAddress);
+            return fullAddress; // 파싱 실패 시 원본 반환
+        }
+    }
+
+    private void addRecipients(EmailQueueIngestWriter.IngestRecord record, Address[] addresses, EmailQueueRecipient.RecipientType type) {
+        if (addresses == null) {
+            return;
+        }
+        for (Address address : addresses) {
+            String recipientEmail = extractEmailAddress(address.toString());
+            if (!emailDomainPolicy.isAllowed(recipientEmail)) {
+                log.warn("허용되지 않는 이메일 도메인입니다. (수신자: {})", recipientEmail);
+                continue;
+            }
+            record.getRecipients().add(new EmailQueueIngestWriter.RecipientEntry(recipientEmail, type));
+        }
+    }
+
+    private Map<String, String> storeCidImages(Collection<ParsedEmail.InlineImage> inlineImages, String subject,
+                                               List<ContentAddressedStore.PutResult> storedBlobs) {
+        Map<String, String> cidToUrlMap = new HashMap<>();
+        for (ParsedEmail.InlineImage image : inlineImages) {
+            String actualCid = image.getCid();
+            String mimeType = image.getMimeType();
+            try (InputStream inputStream = image.getPart().getInputStream()) {
+                ContentAddressedStore.PutResult blob = blobStore.put(inputStream);
+                storedBlobs.add(blob);
+                String blobId = blob.getId();
+                cidToUrlMap.put(actualCid, BlobReferences.reference(blobId, mimeType));
+                log.info("CID 이미지 저장 완료: CID={}, MIME_TYPE={}, 블롭 ID={} (제목: {})", actualCid, mimeType, blobId, subject);
+            } catch (IOException e) {
+                log.error("CID 이미지 (CID: {}) 저장 중 IO 오류 발생 (제목: {})", actualCid, subject, e);
+            } catch (Exception e) {
+                log.error("CID 이미지 (CID: {}) 저장 중 예기치 않은 오류 발생 (제목: {})", actualCid, subject, e);
+            }
+        }
+        return cidToUrlMap;
+    }
+
+    private void saveOtherAttachments(List<ParsedEmail.Attachment> attachments, EmailQueueIngestWriter.IngestRecord record, Set<String> processedCids,
+                                      List<AttachmentStore.StoredAttachment> storedAttachments) throws MessagingException, IOException {
+        // 큐 ID가 커밋 전이므로 메일 해시별 하위 디렉토리 사용
+        String directoryName = record.getUniqueId() != null ? record.getUniqueId() : UUID.randomUUID().toString();
+        for (ParsedEmail.Attachment parsedAttachment : attachments) {
+            // 이미 CID로 처리된 이미지는 건너뛴다.
+            if (parsedAttachment.getCid() != null && processedCids.contains(parsedAttachment.getCid())) {
+                log.debug("일반 첨부파일 저장 건너뛰기 (이미 CID로 처리됨): {}", parsedAttachment.getCid());
+                continue;
+            }
+
+            String originalFileName = parsedAttachment.getFileName();
+            String contentType = parsedAttachment.getContentType();
+
+            if (originalFileName == null || originalFileName.trim().isEmpty()) {
+                log.warn("첨부파일 이름이 없습니다. Content-Type: {}", contentType);
+                continue;
+            }
+
+            // 파일명 정제 (보안 및 경로 문제 방지)
+            String sanitizedFileName = FileNames.sanitize(originalFileName);
+
+            try (InputStream inputStream = parsedAttachment.getPart().getInputStream()) {
+                // 내용 주소 저장소에 한 번만 저장하고 메일별 경로에는 하드 링크 생성
+                AttachmentStore.StoredAttachment stored = attachmentStore.store(inputStream, directoryName, sanitizedFileName);
+                storedAttachments.add(stored);
+
+                // 원본 파일명 저장
+                record.getAttachments().add(new EmailQueueIngestWriter.AttachmentEntry(
+                        originalFileName, contentType, stored.getFilePath(), stored.getSha256(), stored.getFileSize()));
+
+                log.info("일반 첨부파일 저장 완료: {} (제목: {}, 경로: {}, SHA-256: {})", originalFileName, record.getSubject(), stored.getFilePath(), stored.getSha256());
+            } catch (IOException e) {
+                log.error("일반 첨부파일 '{}' 저장 중 IO 오류 발생 (제목: {})", originalFileName, record.getSubject(), e);
+                throw e;
+            } catch (Exception e) {
+                log.error("일반 첨부파일 '{}' 처리 중 예기치 않은 오류 발생 (제목: {})", originalFileName, record.getSubject(), e);
+                throw new MessagingException("일반 첨부파일 처리 중 오류: " + originalFileName, e);
+            }
+        }
+    }
+}
@@ -4,13 +4,17 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.samsungds.ims.mail.component.SendMailBatchProperties;
+import com.samsungds.ims.mail.component.SendRateLimiter;
 import com.samsungds.ims.mail.model.EmailQueue;
 import com.samsungds.ims.mail.model.EmailQueueRecipient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.io.Writer;
 import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -20,9 +24,16 @@ import java.util.concurrent.CompletableFuture;
 public class EmailQueueBatchAsyncService {
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final SendMailBatchProperties sendMailBatchProperties;
+    private final EmailBodyResolver emailBodyResolver;
+    private final SendRateLimiter sendRateLimiter;
+    private final RetryScheduler retryScheduler;
 
-    public EmailQueueBatchAsyncService(SendMailBatchProperties sendMailBatchProperties) {
+    public EmailQueueBatchAsyncService(SendMailBatchProperties sendMailBatchProperties, EmailBodyResolver emailBodyResolver,
+                                       SendRateLimiter sendRateLimiter, RetryScheduler retryScheduler) {
         this.sendMailBatchProperties = sendMailBatchProperties;
+        this.emailBodyResolver = emailBodyResolver;
+        this.sendRateLimiter = sendRateLimiter;
+        this.retryScheduler = retryScheduler;
     }
 
     /**
@@ -36,6 +47,10 @@ public class EmailQueueBatchAsyncService {
             objectMapper.registerModule(new JavaTimeModule());
             objectMapper.addMixIn(EmailQueue.class, EmailQueueMixin.class);
             log.info("이메일 발송 시작: {}", objectMapper.writeValueAsString(email));
+            long waitNanos = sendRateLimiter.tryAcquire(email.getSender());
+            if (waitNanos > 0) {
+                throw new SendThrottledException("발송 한도 초과", Duration.ofNanos(waitNanos));
+            }
             if (isAllowedSendKnoxEmail(email)) {
                 sendKnoxMail(email);
             } else {
@@ -45,11 +60,20 @@ public class EmailQueueBatchAsyncService {
             email.setLockedAt(null);
             email.markAsSent();
             return CompletableFuture.completedFuture(email);
+        } catch (SendThrottledException e) {
+            // 재시도 횟수를 쓰지 않고 한도가 회복되는 시점 이후로 미룸
+            log.info("이메일 ID {} 발송을 {}ms 미룹니다: {}", email.getId(), e.getRetryAfter().toMillis(), e.getMessage());
+            email.setLockedAt(null);
+            email.defer(LocalDateTime.now().plus(e.getRetryAfter()), e.getMessage());
+            return CompletableFuture.completedFuture(email);
         } catch (Exception e) {
             log.error("이메일 ID {} 발송 실패: {}", email.getId(), e.getMessage());
             email.setLocked(false);
             email.setLockedAt(null);
             email.incrementRetry(e.getMessage());
+            if (email.getStatus() == EmailQueue.EmailStatus.RETRY) {
+                email.setNextAttemptAt(retryScheduler.nextAttemptAt(email.getRetryCount()));
+            }
             return CompletableFuture.completedFuture(email);
         }
     }
@@ -77,8 +101,9 @@ public class EmailQueueBatchAsyncService {
         }
     }
 
-    private void sendKnoxMail(EmailQueue email) throws RuntimeException {
+    private void sendKnoxMail(EmailQueue email) throws Exception {
         log.info("email.id: {}", email.getId());
+        // 발송 API 구현 시 본문은 emailBodyResolver.writeBody(content, 전송 Writer)로 블롭 저장소에서 바로 스트리밍 (문자열로 모으지 않음)
         log.info("knoxApiUrl: {}", sendMailBatchProperties.getKnoxApiUrl());
         log.info("knoxApiKey: {}", sendMailBatchProperties.getKnoxApiKey());
         log.info("knoxApiSecret: {}", sendMailBatchProperties.getKnoxApiSecret());
@@ -101,7 +126,8 @@ public class EmailQueueBatchAsyncService {
             throw new Exception("50% 확률로 실패 시뮬레이션");
         }
 
-        // 발송 지연 시뮬레이션
+        // 발송 지연 시뮬레이션 (본문은 블롭 저장소에서 복원하며 스트리밍)
+        emailBodyResolver.writeBody(email.getContent(), Writer.nullWriter());
         Thread.sleep(processingTime);
 
         // 발송 성공 로그
@@ -1,22 +1,34 @@
 package com.samsungds.ims.mail.service;
 
+import com.samsungds.ims.mail.component.AdaptiveConcurrencyLimiter;
 import com.samsungds.ims.mail.component.SendMailBatchProperties;
+import com.samsungds.ims.mail.component.SendRateLimiter;
 import com.samsungds.ims.mail.dto.ProcessorStatus;
 import com.samsungds.ims.mail.model.EmailQueue;
+import com.samsungds.ims.mail.util.ConcurrencyWindow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.support.CronTrigger;
 import org.springframework.stereotype.Service;
 
 import java.net.InetAddress;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 @RequiredArgsConstructor
@@ -27,8 +39,22 @@ public class EmailQueueBatchService implements SmartLifecycle, SchedulingConfigu
     private final EmailQueueBatchAsyncService emailQueueBatchAsyncService;
     private final EmailQueueService emailQueueService;
     private final SendMailBatchProperties sendMailBatchProperties;
+    private final SendRateLimiter sendRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RetryScheduler retryScheduler;
+    private final MeterRegistry meterRegistry;
     private final String batchServiceProcessorId = generateProcessorId();
+    private final AtomicLong claimSequence = new AtomicLong();
+    private final ScheduledExecutorService dispatcherExecutor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("email-dispatcher-"));
+    // 미뤄진 발송의 깨우기 예약 전용 (디스패처 스레드는 awaitIdle 등에서 오래 대기하므로 같은 스레드에 예약하면 제시간에 실행되지 않음)
+    private final ScheduledExecutorService deferredDispatchTimer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("email-dispatch-timer-"));
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+    private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+    private final ConcurrencyWindow sendWindow = new ConcurrencyWindow(1);
+    private final Queue<EmailQueue> pendingResults = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean writingBack = new AtomicBoolean();
     private volatile boolean running = false;
+    private Timer dispatchLatency;
 
     // processorId 생성 방법
     private String generateProcessorId() {
@@ -44,6 +70,14 @@ public class EmailQueueBatchService implements SmartLifecycle, SchedulingConfigu
         }
     }
 
+    @PostConstruct
+    public void init() {
+        dispatchLatency = Timer.builder("mail.dispatch.latency")
+                .description("메일 큐 저장부터 발송 요청까지 걸린 시간 (예약/재시도 메일 제외)")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
     // SmartLifecycle 구현
     @Override
     public void start() {
@@ -57,6 +91,13 @@ public class EmailQueueBatchService implements SmartLifecycle, SchedulingConfigu
         running = false;
     }
 
+    @PreDestroy
+    public void shutdownDispatcher() {
+        running = false;
+        deferredDispatchTimer.shutdownNow();
+        dispatcherExecutor.shutdownNow();
+    }
+
     @Override
     public boolean isRunning() {
         return running;
@@ -91,6 +132,7 @@ public class EmailQueueBatchService implements SmartLifecycle, SchedulingConfigu
 
     /**
      * 대기 중인 이메일 처리 (20초마다 실행)
+     * 잠금 타임아웃/예약/재시도 상태를 정리한 뒤 디스패처를 깨웁니다. 발송은 디스패처 스레드에서 진행됩니다.
      */
     public void processEmailQueue() {
         if (!running) {
@@ -108,59 +150,230 @@ public class EmailQueueBatchService implements SmartLifecycle, SchedulingConfigu
             // 타임아웃된 이메일 잠금 해제 (장애 복구)
             emailQueueService.unlockTimedOutEmails();
 
-            // 예약된 이메일 처리
+            // 예약 시각이 지났는데 전환되지 않은 이메일 보정 (정시 전환은 ScheduledEmailScheduler)
             emailQueueService.processScheduledEmails();
 
-            // 재시도 대상 이메일 처리
+            // 재시도 시각이 지났는데 전환되지 않은 이메일 보정 (정시 전환은 RetryScheduler)
             emailQueueService.processRetryEmails();
+        } catch (Exception e) {
+            log.error("이메일 큐 처리 중 오류 발생", e);
+        }
+
+        // 처리할 이메일 선점 및 비동기 발송
+        requestDispatch();
+    }
+
+    /**
+     * 인제스트 커밋/재시도 전환 알림: 다음 스케줄을 기다리지 않고 디스패처 실행
+     */
+    @EventListener
+    public void onEmailQueued(EmailQueuedEvent event) {
+        if (event.source() != EmailQueuedEvent.Source.INGEST || sendMailBatchProperties.isDispatchOnIngest()) {
+            requestDispatch();
+        }
+    }
 
-            // 처리할 이메일 목록 조회 및 비동기 처리
-            processQueuedEmails();
+    /**
+     * 디스패처 실행 요청
+     * 이미 실행 중이면 요청만 기록하고, 실행 중인 디스패처가 큐를 비운 뒤 한 번 더 확인합니다(여러 요청은 하나로 합쳐짐).
+     */
+    public void requestDispatch() {
+        if (!running) {
+            return;
+        }
+        dispatchRequested.set(true);
+        if (dispatching.compareAndSet(false, true)) {
+            dispatcherExecutor.execute(this::runDispatcher);
+        }
+    }
 
-            log.info("이메일 큐 처리 완료");
+    private void runDispatcher() {
+        try {
+            while (running && dispatchRequested.getAndSet(false)) {
+                dispatchUntilEmpty();
+            }
         } catch (Exception e) {
-            log.error("이메일 큐 처리 중 오류 발생", e);
+            log.error("이메일 디스패처 실행 중 오류 발생", e);
+        } finally {
+            dispatching.set(false);
+        }
+        // 종료 직전에 들어온 요청 재확인
+        if (running && dispatchRequested.get() && dispatching.compareAndSet(false, true)) {
+            dispatcherExecutor.execute(this::runDispatcher);
         }
     }
 
     /**
-     * 대기 중인 이메일을 일괄 처리하고 결과 수집
+     * 발송 중인 이메일이 동시 실행 한도만큼 유지되도록 하며 큐가 빌 때까지 발송
+     * 한 건이 끝나면 그 자리만큼 바로 선점(한 번에 최대 batchSize 건)하므로 느린 발송 한 건이 다른 발송을 막지 않습니다.
+     * 한도는 {@link AdaptiveConcurrencyLimiter}가 정하며, 자동 조절이 꺼져 있으면 concurrentBatchSize입니다.
+     * 큐가 비면 진행 중인 발송이 끝나기를 기다려 결과를 요약합니다.
      */
-    private void processQueuedEmails() {
-        List<EmailQueue> allProcessedEmails = new ArrayList<>();
-        int totalEmailsProcessed = 0;
-        int batchSize = sendMailBatchProperties.getBatchSize();
-        int concurrentBatchSize = sendMailBatchProperties.getConcurrentBatchSize();
-
-        for (int batch = 0; batch < batchSize && totalEmailsProcessed < batchSize; batch += concurrentBatchSize) {
-            List<EmailQueue> emailsToProcess = emailQueueService.fetchEmailsForProcessing(concurrentBatchSize);
-
-            if (emailsToProcess.isEmpty()) {
-                log.info("더 이상 처리할 이메일이 없습니다");
-                break;
+    private void dispatchUntilEmpty() throws InterruptedException {
+        int claimLimit = Math.max(1, sendMailBatchProperties.getBatchSize());
+        ProcessingSummary summary = new ProcessingSummary();
+        int dispatched = 0;
+
+        while (running) {
+            // 빈 자리가 생길 때까지 대기한 뒤 남은 빈 자리를 확보
+            sendWindow.setLimit(concurrencyLimiter.getLimit());
+            int slots = sendWindow.acquireUpTo(claimLimit);
+            // 전역 발송 한도에 남은 수만큼만 선점 (선점 후 한도 초과로 미뤄지는 것을 줄임)
+            int claimSize = sendRateLimiter.availableGlobalPermits(slots);
+            sendWindow.release(slots - claimSize);
+            if (claimSize == 0) {
+                TimeUnit.NANOSECONDS.sleep(Math.max(sendRateLimiter.globalWaitNanos(), TimeUnit.MILLISECONDS.toNanos(1)));
+                continue;
             }
 
-            log.info("{}개의 이메일을 비동기 처리합니다", emailsToProcess.size());
+            List<EmailQueue> claimed;
+            try {
+                claimed = emailQueueService.claimEmailsForProcessing(claimSize, nextClaimToken());
+            } catch (RuntimeException e) {
+                sendWindow.release(claimSize);
+                throw e;
+            }
+            sendWindow.release(claimSize - claimed.size());
 
-            // 비동기 처리 요청 및 결과 수집
-            List<EmailQueue> processedEmails = processEmailsBatch(emailsToProcess);
+            if (claimed.isEmpty()) {
+                // 진행 중인 발송 완료 대기, 그 사이 새 메일이 들어오면 다시 선점
+                if (dispatched == 0 || awaitIdle()) {
+                    break;
+                }
+                continue;
+            }
+            for (EmailQueue email : claimed) {
+                recordDispatchLatency(email);
+                dispatch(email, summary);
+            }
+            dispatched += claimed.size();
+        }
 
-            // 처리된 이메일 결과 합치기
-            allProcessedEmails.addAll(processedEmails);
-            totalEmailsProcessed += processedEmails.size();
+        if (dispatched == 0) {
+            log.info("더 이상 처리할 이메일이 없습니다");
+            return;
+        }
 
-            // 배치 간 짧은 대기 시간 추가 (시스템 부하 감소)
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+        log.info("이메일 디스패치 완료: {}개", dispatched);
+        analyzeEmailProcessingResults(summary);
+    }
+
+    /**
+     * 진행 중인 발송이 모두 끝날 때까지 대기
+     *
+     * @return 모두 끝났으면 true, 대기 중 디스패치 요청이 들어왔으면 false
+     */
+    private boolean awaitIdle() throws InterruptedException {
+        while (!sendWindow.awaitIdle(100)) {
+            if (running && dispatchRequested.getAndSet(false)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 선점(claim)마다 다른 토큰: 프로세서 ID + 일련번호
+     */
+    private String nextClaimToken() {
+        return batchServiceProcessorId + "-" + claimSequence.incrementAndGet();
+    }
+
+    private void recordDispatchLatency(EmailQueue email) {
+        // 큐 저장 후 처음 발송되는 메일만 기록
+        if (email.getCreatedAt() != null && email.getScheduledAt() == null && email.getRetryCount() == 0) {
+            dispatchLatency.record(Duration.between(email.getCreatedAt(), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * 발송 한도로 미뤄진 메일은 nextAttemptAt에 디스패처를 다시 깨움
+     * 예약은 별도 타이머 스레드에서 실행하며, 디스패처가 실행 중이면 요청만 기록되어 awaitIdle 대기 중에도 다시 선점합니다.
+     */
+    private void scheduleDeferredDispatch(EmailQueue email) {
+        if (email.getStatus() != EmailQueue.EmailStatus.QUEUED || email.getNextAttemptAt() == null) {
+            return;
+        }
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), email.getNextAttemptAt()).toMillis());
+        try {
+            deferredDispatchTimer.schedule(this::requestDispatch, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("디스패처가 종료되어 미뤄진 발송 예약을 건너뜁니다. (이메일 ID {})", email.getId());
+        }
+    }
+
+    /**
+     * 이메일 한 건 비동기 발송, 완료되면 결과를 저장하고 자리를 반납
+     */
+    private void dispatch(EmailQueue email, ProcessingSummary summary) {
+        long startedAtNanos = System.nanoTime();
+        CompletableFuture<EmailQueue> future;
+        try {
+            future = emailQueueBatchAsyncService.processEmail(email);
+        } catch (RuntimeException e) {
+            // 발송 스레드풀이 작업을 거부한 경우: 잠금 타임아웃 후 다시 QUEUED로 복구됨
+            log.error("이메일 ID {} 발송 요청 실패: {}", email.getId(), e.getMessage());
+            concurrencyLimiter.record(startedAtNanos, true);
+            sendWindow.release(1);
+            return;
+        }
+
+        future.whenComplete((processedEmail, throwable) -> {
+            if (processedEmail == null) {
+                // 발송 작업이 예외로 끝난 경우: 재시도로 기록해 바로 잠금을 풀고 자리를 반납
+                log.error("이메일 ID {} 비동기 처리 결과 가져오기 실패", email.getId(), throwable);
+                failUnexpectedly(email, throwable);
+                concurrencyLimiter.record(startedAtNanos, true);
+                summary.record(email);
+                writeBack(email);
+                return;
+            }
+            // 발송 한도로 미뤄진 메일(QUEUED)은 하위 시스템 상태와 무관하므로 평가하지 않음
+            if (processedEmail.getStatus() != EmailQueue.EmailStatus.QUEUED) {
+                concurrencyLimiter.record(startedAtNanos, processedEmail.getStatus() != EmailQueue.EmailStatus.SENT);
             }
+            summary.record(processedEmail);
+            writeBack(processedEmail);
+        });
+    }
+
+    /**
+     * 결과 없이 끝난 발송을 발송 실패와 같이 재시도(또는 최대 재시도 초과 시 실패)로 표시
+     */
+    private void failUnexpectedly(EmailQueue email, Throwable throwable) {
+        email.setLocked(false);
+        email.setLockedAt(null);
+        email.incrementRetry(String.valueOf(throwable));
+        if (email.getStatus() == EmailQueue.EmailStatus.RETRY) {
+            email.setNextAttemptAt(retryScheduler.nextAttemptAt(email.getRetryCount()));
         }
+    }
 
-        // 모든 처리 결과 분석 및 요약
-        if (!allProcessedEmails.isEmpty()) {
-            analyzeEmailProcessingResults(allProcessedEmails);
+    /**
+     * 발송 결과를 모아서 저장한 뒤 자리를 반납
+     * 저장 중에 끝난 발송 결과는 대기열에 쌓였다가 저장 중인 스레드가 이어서 한 번에 저장합니다.
+     */
+    private void writeBack(EmailQueue processedEmail) {
+        pendingResults.add(processedEmail);
+        while (!pendingResults.isEmpty() && writingBack.compareAndSet(false, true)) {
+            List<EmailQueue> results = new ArrayList<>();
+            try {
+                EmailQueue result;
+                while ((result = pendingResults.poll()) != null) {
+                    results.add(result);
+                }
+                if (!results.isEmpty()) {
+                    saveEmailProcessingResults(results);
+                }
+            } catch (Exception e) {
+                // 저장하지 못한 행은 잠금 타임아웃 후 다시 QUEUED로 복구됨
+                log.error("이메일 처리 결과 {}건 저장 실패", results.size(), e);
+            } finally {
+                writingBack.set(false);
+            }
+            results.forEach(this::scheduleDeferredDispatch);
+            results.forEach(retryScheduler::schedule);
+            sendWindow.release(results.size());
         }
     }
 
@@ -174,134 +387,106 @@ public class EmailQueueBatchService implements SmartLifecycle, SchedulingConfigu
     /**
      * 이메일 처리 결과 분석
      */
-    private void analyzeEmailProcessingResults(List<EmailQueue> processedEmails) {
-        // 상태별 분류
-        Map<EmailQueue.EmailStatus, List<EmailQueue>> emailsByStatus = processedEmails.stream()
-                .collect(Collectors.groupingBy(EmailQueue::getStatus));
-
+    private void analyzeEmailProcessingResults(ProcessingSummary processingSummary) {
         // 상태별 통계
         StringBuilder summary = new StringBuilder("이메일 처리 결과 요약:\n");
 
-        int totalEmails = processedEmails.size();
+        long totalEmails = processingSummary.total();
         summary.append(String.format("- 총 처리 이메일: %d개\n", totalEmails));
 
         // 성공 이메일
-        List<EmailQueue> sentEmails = emailsByStatus.getOrDefault(EmailQueue.EmailStatus.SENT, Collections.emptyList());
-        if (!sentEmails.isEmpty()) {
+        long sentCount = processingSummary.count(EmailQueue.EmailStatus.SENT);
+        if (sentCount > 0) {
             summary.append(String.format("- 성공: %d개 (%.1f%%)\n",
-                    sentEmails.size(),
-                    (float) sentEmails.size() / totalEmails * 100));
+                    sentCount,
+                    (float) sentCount / totalEmails * 100));
         }
 
         // 실패 이메일
-        List<EmailQueue> failedEmails = emailsByStatus.getOrDefault(EmailQueue.EmailStatus.FAILED, Collections.emptyList());
-        if (!failedEmails.isEmpty()) {
+        long failedCount = processingSummary.count(EmailQueue.EmailStatus.FAILED);
+        if (failedCount > 0) {
             summary.append(String.format("- 실패: %d개 (%.1f%%)\n",
-                    failedEmails.size(),
-                    (float) failedEmails.size() / totalEmails * 100));
+                    failedCount,
+                    (float) failedCount / totalEmails * 100));
 
             // 상위 3개 오류 메시지 출력
-            Map<String, Long> errorMessageCounts = failedEmails.stream()
-                    .collect(Collectors.groupingBy(
-                            email -> Objects.toString(email.getErrorMessage(), "알 수 없는 오류"),
-                            Collectors.counting()
-                    ));
-
             summary.append("- 주요 오류 유형:\n");
-            errorMessageCounts.entrySet().stream()
-                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            processingSummary.failedErrorCounts.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
                     .limit(3)
                     .forEach(entry ->
-                            summary.append(String.format("  * %s (%d건)\n", entry.getKey(), entry.getValue()))
+                            summary.append(String.format("  * %s (%d건)\n", entry.getKey(), entry.getValue().sum()))
                     );
         }
 
         // 재시도 이메일
-        List<EmailQueue> retryEmails = emailsByStatus.getOrDefault(EmailQueue.EmailStatus.RETRY, Collections.emptyList());
-        if (!retryEmails.isEmpty()) {
+        long retryCount = processingSummary.count(EmailQueue.EmailStatus.RETRY);
+        if (retryCount > 0) {
             summary.append(String.format("- 재시도 예정: %d개 (%.1f%%)\n",
-                    retryEmails.size(),
-                    (float) retryEmails.size() / totalEmails * 100));
+                    retryCount,
+                    (float) retryCount / totalEmails * 100));
+        }
+
+        // 발송 한도로 미뤄진 이메일
+        long deferredCount = processingSummary.count(EmailQueue.EmailStatus.QUEUED);
+        if (deferredCount > 0) {
+            summary.append(String.format("- 발송 한도로 미룸: %d개 (%.1f%%)\n",
+                    deferredCount,
+                    (float) deferredCount / totalEmails * 100));
         }
 
         log.info(summary.toString());
     }
 
     /**
-     * 이메일 배치 처리
-     * 비동기 처리와 결과 수집
-     *
-     * @return 처리된 이메일 목록
+     * 배치 프로세서의 현재 상태 조회
      */
-    private List<EmailQueue> processEmailsBatch(List<EmailQueue> emails) {
-        if (emails.isEmpty()) {
-            return new ArrayList<>();
-        }
+    public ProcessorStatus getProcessorStatus() {
+        return ProcessorStatus.builder()
+                .processorId(batchServiceProcessorId)
+                .running(running)
+                .startedAt(LocalDateTime.now())
+                .adaptiveConcurrency(concurrencyLimiter.isAdaptive())
+                .concurrencyLimit(concurrencyLimiter.getLimit())
+                .inFlight(sendWindow.getInFlight())
+                .build();
+    }
 
-        List<CompletableFuture<EmailQueue>> futures = new ArrayList<>();
+    /**
+     * 디스패처 실행 한 번의 처리 결과 집계
+     * 발송이 끝난 엔티티는 보관하지 않고 상태별 건수와 실패 오류 메시지별 건수(최대 100종)만 셉니다.
+     */
+    private static final class ProcessingSummary {
+        private static final int MAX_ERROR_TYPES = 100;
+        private static final String OTHER_ERRORS = "기타 오류";
 
-        for (EmailQueue email : emails) {
-            // 이메일 처리 전에 먼저 잠금 획득 시도
-            EmailQueue lockedEmail = emailQueueService.tryLockEmailInNewTransaction(email, generateProcessorId());
+        private final Map<EmailQueue.EmailStatus, LongAdder> statusCounts = new EnumMap<>(EmailQueue.EmailStatus.class);
+        private final Map<String, LongAdder> failedErrorCounts = new ConcurrentHashMap<>();
 
-            if (lockedEmail != null) {
-                CompletableFuture<EmailQueue> future = emailQueueBatchAsyncService.processEmail(lockedEmail);
-                futures.add(future);
+        ProcessingSummary() {
+            // 모든 상태를 미리 채워 두어 발송 스레드에서는 맵을 바꾸지 않음
+            for (EmailQueue.EmailStatus status : EmailQueue.EmailStatus.values()) {
+                statusCounts.put(status, new LongAdder());
             }
         }
 
-        if (futures.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        // 모든 비동기 처리 완료 대기 및 결과 수집
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-
-        // 처리 결과 수집
-        List<EmailQueue> processedEmails = futures.stream()
-                .map(future -> {
-                    try {
-                        return future.get(); // 각 CompletableFuture에서 결과 가져오기
-                    } catch (Exception e) {
-                        log.error("비동기 처리 결과 가져오기 실패", e);
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-
-        // 처리 결과 요약 로깅
-        int successCount = 0;
-        int failCount = 0;
-        int retryCount = 0;
-
-        saveEmailProcessingResults(processedEmails);
-
-        for (EmailQueue email : processedEmails) {
-            if (email.getStatus() == EmailQueue.EmailStatus.SENT) {
-                successCount++;
-            } else if (email.getStatus() == EmailQueue.EmailStatus.FAILED) {
-                failCount++;
-            } else if (email.getStatus() == EmailQueue.EmailStatus.RETRY) {
-                retryCount++;
+        void record(EmailQueue email) {
+            statusCounts.get(email.getStatus()).increment();
+            if (email.getStatus() == EmailQueue.EmailStatus.FAILED) {
+                String errorMessage = Objects.toString(email.getErrorMessage(), "알 수 없는 오류");
+                if (!failedErrorCounts.containsKey(errorMessage) && failedErrorCounts.size() >= MAX_ERROR_TYPES) {
+                    errorMessage = OTHER_ERRORS;
+                }
+                failedErrorCounts.computeIfAbsent(errorMessage, key -> new LongAdder()).increment();
             }
         }
 
-        log.info("이메일 배치 처리 완료: 총 {}개 (성공: {}, 실패: {}, 재시도: {})",
-                processedEmails.size(), successCount, failCount, retryCount);
-
-        return processedEmails;
-    }
-
+        long count(EmailQueue.EmailStatus status) {
+            return statusCounts.get(status).sum();
+        }
 
-    /**
-     * 배치 프로세서의 현재 상태 조회
-     */
-    public ProcessorStatus getProcessorStatus() {
-        return ProcessorStatus.builder()
-                .processorId(batchServiceProcessorId)
-                .running(running)
-                .startedAt(LocalDateTime.now())
-                .build();
+        long total() {
+            return statusCounts.values().stream().mapToLong(LongAdder::sum).sum();
+        }
     }
-}
\ No newline at end of file
+}
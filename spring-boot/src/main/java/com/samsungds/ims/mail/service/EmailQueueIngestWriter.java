@@ -0,0 +1,495 @@
+package com.samsungds.ims.mail.service;
+
+import com.samsungds.ims.mail.component.EmailDedupIndex;
+import com.samsungds.ims.mail.component.SmtpInterceptorProperties;
+import com.samsungds.ims.mail.model.EmailQueue;
+import com.samsungds.ims.mail.model.EmailQueueRecipient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 그룹 커밋 방식의 EmailQueue 인제스트 저장기
+ * <p>
+ * 여러 SMTP 세션/인제스트 워커가 동시에 제출한 메일을 모아 N건 또는 M밀리초마다 한 트랜잭션으로 저장합니다.
+ * EmailQueue, 본문, 수신자, 첨부파일은 JDBC 배치 INSERT/UPDATE로 기록하고,
+ * 같은 uniqueId(중복 Jira 알림)는 메모리에서 병합하며 수신자 중복도 메모리에서 제거합니다.
+ * 이미 큐에 있는 uniqueId는 {@link EmailDedupIndex}로 찾아 신규 메일 대부분은 DB 조회 없이 저장합니다.
+ * 커밋할 때마다 {@link EmailQueuedEvent}를 발행합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailQueueIngestWriter {
+
+    private static final String INSERT_QUEUE_SQL =
+            "INSERT INTO email_queue (sender, subject, status, priority, retry_count, max_retries, unique_id, locked, created_at, updated_at) " +
+            "VALUES (:sender, :subject, :status, :priority, 0, :maxRetries, :uniqueId, FALSE, :now, :now)";
+    private static final String INSERT_CONTENT_SQL =
+            "INSERT INTO email_queue_contents (email_queue_id, body, body_blob_id, created_at, updated_at) VALUES (:queueId, :body, :bodyBlobId, :now, :now)";
+    private static final String UPDATE_CONTENT_SQL =
+            "UPDATE email_queue_contents SET body = :body, body_blob_id = :bodyBlobId, updated_at = :now WHERE email_queue_id = :queueId";
+    private static final String INSERT_RECIPIENT_SQL =
+            "INSERT INTO email_queue_recipients (email_queue_id, email, type, created_at, updated_at) VALUES (:queueId, :email, :type, :now, :now)";
+    private static final String INSERT_ATTACHMENT_SQL =
+            "INSERT INTO email_queue_attachment (email_queue_id, file_name, content_type, file_path, sha256, file_size) " +
+            "VALUES (:queueId, :fileName, :contentType, :filePath, :sha256, :fileSize)";
+    private static final String INSERT_BLOB_IF_ABSENT_SQL =
+            "INSERT INTO attachment_blob (sha256, file_size, ref_count, created_at, updated_at) VALUES (:sha256, :fileSize, 0, :now, :now)";
+    private static final String ADD_BLOB_REFERENCE_SQL =
+            "UPDATE attachment_blob SET ref_count = ref_count + :count, updated_at = :now WHERE sha256 = :sha256";
+    private static final String DELETE_UNREFERENCED_BLOB_SQL =
+            "DELETE FROM attachment_blob WHERE sha256 IN (:sha256s) AND ref_count = 0";
+    private static final String INSERT_BLOB_SQL =
+            "INSERT INTO attachment_blob (sha256, file_size, ref_count, created_at, updated_at) VALUES (:sha256, :fileSize, :count, :now, :now)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final SmtpInterceptorProperties smtpInterceptorProperties;
+    private final EmailDedupIndex emailDedupIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BlockingQueue<PendingRecord> pending = new LinkedBlockingQueue<>();
+    private TransactionTemplate transactionTemplate;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        writerThread = new Thread(this::runWriterLoop, "ingest-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        // 종료 시점에 남은 요청은 호출자가 재시도할 수 있도록 실패 처리
+        PendingRecord record;
+        while ((record = pending.poll()) != null) {
+            record.future.completeExceptionally(new IllegalStateException("인제스트 저장기가 종료되었습니다."));
+        }
+    }
+
+    /**
+     * 메일을 그룹 커밋 대기열에 넣고 커밋될 때까지 대기 (최대 ingestWriteTimeoutMillis)
+     *
+     * @return 저장된 EmailQueue ID
+     * @throws IngestTimeoutException 제한 시간 안에 커밋되지 않은 경우
+     */
+    public Long write(IngestRecord record) {
+        if (!running) {
+            throw new IllegalStateException("인제스트 저장기가 실행 중이 아닙니다.");
+        }
+        PendingRecord pendingRecord = new PendingRecord(record);
+        pending.add(pendingRecord);
+        long timeoutMillis = Math.max(1, smtpInterceptorProperties.getIngestWriteTimeoutMillis());
+        try {
+            return pendingRecord.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 저장기가 아직 꺼내지 않았으면 대기열에서 제거하여 저장되지 않음을 보장
+            boolean abandoned = pending.remove(pendingRecord);
+            throw new IngestTimeoutException("인제스트 저장이 " + timeoutMillis + "ms 안에 완료되지 않았습니다."
+                    + (abandoned ? "" : " (저장 중이므로 늦게 커밋될 수 있음)"), abandoned, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("인제스트 저장 대기 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("인제스트 저장 실패", e.getCause());
+        }
+    }
+
+    private void runWriterLoop() {
+        List<PendingRecord> batch = new ArrayList<>();
+        while (running) {
+            try {
+                PendingRecord first = pending.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                int batchSize = Math.max(1, smtpInterceptorProperties.getIngestBatchSize());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(smtpInterceptorProperties.getIngestFlushIntervalMillis());
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingRecord next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(record -> record.future.completeExceptionally(e));
+                return;
+            } catch (Throwable t) {
+                // 예상하지 못한 오류(Error 포함)로 저장기 스레드가 멈추지 않도록 해당 배치만 실패 처리
+                log.error("인제스트 배치 처리 중 예기치 않은 오류 발생 ({}건)", batch.size(), t);
+                batch.forEach(record -> record.future.completeExceptionally(t));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingRecord> batch) {
+        flush(batch, true);
+    }
+
+    private void flush(List<PendingRecord> batch, boolean useIndex) {
+        Map<PendingRecord, Long> queueIds;
+        try {
+            ensureBlobRows(batch);
+            queueIds = transactionTemplate.execute(status -> writeBatch(batch, useIndex));
+        } catch (Exception e) {
+            if (useIndex && e instanceof DuplicateKeyException) {
+                // 인덱스에 없는 행(다른 인스턴스 등)과 uniqueId가 겹친 경우: DB에서 다시 조회하여 병합
+                log.info("인제스트 중 uniqueId 중복 발생, 인덱스를 거치지 않고 다시 저장합니다. ({}건)", batch.size());
+                flush(batch, false);
+                return;
+            }
+            if (batch.size() == 1) {
+                log.error("인제스트 저장 실패 (제목: {})", batch.get(0).record.getSubject(), e);
+                deleteUnreferencedBlobRows(batch.get(0));
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            // 한 건의 오류가 다른 메일 저장을 막지 않도록 개별 트랜잭션으로 재시도
+            log.warn("인제스트 그룹 커밋 실패, 개별 저장으로 재시도합니다. ({}건): {}", batch.size(), e.getMessage());
+            for (PendingRecord record : batch) {
+                flush(List.of(record), useIndex);
+            }
+            return;
+        }
+
+        // 커밋 이후 단계: 실패해도 커밋된 메일을 다시 저장하지 않음
+        batch.forEach(record -> record.future.complete(queueIds.get(record)));
+        log.debug("인제스트 그룹 커밋 완료: {}건", batch.size());
+        try {
+            Map<String, Long> committed = new HashMap<>();
+            for (PendingRecord record : batch) {
+                if (record.record.getUniqueId() != null) {
+                    committed.put(record.record.getUniqueId(), queueIds.get(record));
+                }
+            }
+            emailDedupIndex.record(committed);
+        } catch (Exception e) {
+            // 인덱스에 빠진 uniqueId는 유니크 인덱스 충돌 시 DB에서 다시 조회하여 병합됨
+            log.error("중복 판별 인덱스 갱신 실패 ({}건)", batch.size(), e);
+        }
+        try {
+            // 커밋된 메일을 디스패처가 바로 선점하도록 알림
+            eventPublisher.publishEvent(new EmailQueuedEvent(EmailQueuedEvent.Source.INGEST, batch.size()));
+        } catch (Exception e) {
+            log.error("인제스트 커밋 알림 실패 ({}건), 다음 스케줄에서 발송됩니다.", batch.size(), e);
+        }
+    }
+
+    private Map<PendingRecord, Long> writeBatch(List<PendingRecord> batch, boolean useIndex) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // 1. 같은 uniqueId를 가진 메일은 하나의 큐 항목으로 병합 (uniqueId가 없으면 개별 항목)
+        Map<Object, List<PendingRecord>> groups = new LinkedHashMap<>();
+        for (PendingRecord record : batch) {
+            Object key = record.record.getUniqueId() != null ? record.record.getUniqueId() : record;
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(record);
+        }
+
+        // 2. 이미 큐에 존재하는 uniqueId 조회 (인덱스로 걸러낸 후보만 DB 조회)
+        Set<String> uniqueIds = new HashSet<>();
+        groups.keySet().forEach(key -> {
+            if (key instanceof String uniqueId) {
+                uniqueIds.add(uniqueId);
+            }
+        });
+        Map<String, Long> existingIds = emailDedupIndex.findExisting(uniqueIds, useIndex);
+
+        // 3. 신규 큐 항목 배치 INSERT
+        List<MapSqlParameterSource> newQueues = new ArrayList<>();
+        Map<Object, Long> groupQueueIds = new HashMap<>();
+        for (Map.Entry<Object, List<PendingRecord>> group : groups.entrySet()) {
+            IngestRecord first = group.getValue().get(0).record;
+            Long existingId = first.getUniqueId() != null ? existingIds.get(first.getUniqueId()) : null;
+            if (existingId != null) {
+                groupQueueIds.put(group.getKey(), existingId);
+            } else if (first.getUniqueId() != null) {
+                newQueues.add(queueParams(first, now));
+            } else {
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.update(INSERT_QUEUE_SQL, queueParams(first, now), keyHolder, new String[]{"id"});
+                groupQueueIds.put(group.getKey(), Objects.requireNonNull(keyHolder.getKey()).longValue());
+            }
+        }
+        if (!newQueues.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_QUEUE_SQL, newQueues.toArray(new MapSqlParameterSource[0]));
+            Set<String> newUniqueIds = new HashSet<>();
+            newQueues.forEach(params -> newUniqueIds.add((String) params.getValue("uniqueId")));
+            findQueueIdsByUniqueId(newUniqueIds).forEach(groupQueueIds::put);
+            log.info("새로운 메일 큐 {}건 생성됨", newQueues.size());
+        }
+
+        // 4. 기존 항목의 본문/수신자/첨부파일 조회 (각 1회)
+        Collection<Long> existingQueueIds = existingIds.values();
+        Set<Long> queuesWithContent = new HashSet<>();
+        Map<Long, Set<String>> knownRecipients = new HashMap<>();
+        Map<Long, Set<String>> knownAttachments = new HashMap<>();
+        if (!existingQueueIds.isEmpty()) {
+            MapSqlParameterSource ids = new MapSqlParameterSource("ids", existingQueueIds);
+            queuesWithContent.addAll(jdbcTemplate.queryForList(
+                    "SELECT email_queue_id FROM email_queue_contents WHERE email_queue_id IN (:ids)", ids, Long.class));
+            jdbcTemplate.query("SELECT email_queue_id, email FROM email_queue_recipients WHERE email_queue_id IN (:ids)", ids,
+                    rs -> {
+                        knownRecipients.computeIfAbsent(rs.getLong(1), k -> new HashSet<>()).add(rs.getString(2));
+                    });
+            jdbcTemplate.query("SELECT email_queue_id, file_path FROM email_queue_attachment WHERE email_queue_id IN (:ids)", ids,
+                    rs -> {
+                        knownAttachments.computeIfAbsent(rs.getLong(1), k -> new HashSet<>()).add(rs.getString(2));
+                    });
+        }
+
+        // 5. 본문, 수신자(메모리 중복 제거), 첨부파일 배치 기록
+        List<MapSqlParameterSource> contentInserts = new ArrayList<>();
+        List<MapSqlParameterSource> contentUpdates = new ArrayList<>();
+        List<MapSqlParameterSource> recipientInserts = new ArrayList<>();
+        List<MapSqlParameterSource> attachmentInserts = new ArrayList<>();
+        Map<PendingRecord, Long> result = new HashMap<>();
+
+        for (Map.Entry<Object, List<PendingRecord>> group : groups.entrySet()) {
+            Long queueId = groupQueueIds.get(group.getKey());
+            List<PendingRecord> records = group.getValue();
+            Set<String> recipients = knownRecipients.computeIfAbsent(queueId, k -> new HashSet<>());
+            Set<String> attachments = knownAttachments.computeIfAbsent(queueId, k -> new HashSet<>());
+
+            // 중복 메일의 본문은 마지막으로 수신한 내용으로 갱신
+            IngestRecord latest = records.get(records.size() - 1).record;
+            MapSqlParameterSource contentParams = new MapSqlParameterSource()
+                    .addValue("queueId", queueId)
+                    .addValue("body", latest.getBody())
+                    .addValue("bodyBlobId", latest.getBodyBlobId())
+                    .addValue("now", now);
+            if (queuesWithContent.add(queueId)) {
+                contentInserts.add(contentParams);
+            } else {
+                contentUpdates.add(contentParams);
+            }
+
+            for (PendingRecord pendingRecord : records) {
+                IngestRecord record = pendingRecord.record;
+                for (RecipientEntry recipient : record.getRecipients()) {
+                    if (recipients.add(recipient.getEmail())) {
+                        recipientInserts.add(new MapSqlParameterSource()
+                                .addValue("queueId", queueId)
+                                .addValue("email", recipient.getEmail())
+                                .addValue("type", recipient.getType().name())
+                                .addValue("now", now));
+                    }
+                }
+                for (AttachmentEntry attachment : record.getAttachments()) {
+                    if (attachments.add(attachment.getFilePath())) {
+                        attachmentInserts.add(new MapSqlParameterSource()
+                                .addValue("queueId", queueId)
+                                .addValue("fileName", attachment.getFileName())
+                                .addValue("contentType", attachment.getContentType())
+                                .addValue("filePath", attachment.getFilePath())
+                                .addValue("sha256", attachment.getSha256())
+                                .addValue("fileSize", attachment.getFileSize()));
+                    }
+                }
+                result.put(pendingRecord, queueId);
+            }
+        }
+
+        batchUpdate(INSERT_CONTENT_SQL, contentInserts);
+        batchUpdate(UPDATE_CONTENT_SQL, contentUpdates);
+        batchUpdate(INSERT_RECIPIENT_SQL, recipientInserts);
+        batchUpdate(INSERT_ATTACHMENT_SQL, attachmentInserts);
+        addBlobReferences(attachmentInserts, now);
+
+        log.info("인제스트 배치 저장: 메일 {}건, 큐 항목 {}건 (신규 {}), 수신자 {}건, 첨부파일 {}건",
+                batch.size(), groups.size(), groups.size() - existingIds.size(), recipientInserts.size(), attachmentInserts.size());
+        return result;
+    }
+
+    // 처음 보는 원본의 attachment_blob 행을 참조 수 0으로 미리 생성 (트랜잭션 밖에서 한 건씩 자동 커밋)
+    // 다른 트랜잭션/인스턴스가 같은 원본을 먼저 만들면 중복 키 오류만 무시하므로 DB 종류와 관계없이 메일 저장 트랜잭션은 영향을 받지 않음
+    // 메일을 끝내 저장하지 못하면 참조 수 0으로 남은 행은 deleteUnreferencedBlobRows가 삭제
+    private void ensureBlobRows(List<PendingRecord> batch) {
+        Map<String, Long> fileSizes = new LinkedHashMap<>();
+        for (PendingRecord record : batch) {
+            for (AttachmentEntry attachment : record.record.getAttachments()) {
+                if (attachment.getSha256() != null) {
+                    fileSizes.putIfAbsent(attachment.getSha256(), attachment.getFileSize());
+                }
+            }
+        }
+        if (fileSizes.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList("SELECT sha256 FROM attachment_blob WHERE sha256 IN (:sha256s)",
+                new MapSqlParameterSource("sha256s", fileSizes.keySet()), String.class));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        fileSizes.forEach((sha256, fileSize) -> {
+            if (existing.contains(sha256)) {
+                return;
+            }
+            try {
+                jdbcTemplate.update(INSERT_BLOB_IF_ABSENT_SQL, new MapSqlParameterSource()
+                        .addValue("sha256", sha256)
+                        .addValue("fileSize", fileSize)
+                        .addValue("now", now));
+            } catch (DuplicateKeyException e) {
+                log.debug("첨부파일 원본 {}은 다른 트랜잭션에서 먼저 생성되었습니다.", sha256);
+            }
+        });
+    }
+
+    // 저장하지 못한 메일의 원본 파일은 호출자가 정리하므로, ensureBlobRows가 미리 커밋한 행 중 참조 수 0인 행도 삭제
+    // 같은 원본을 저장 중인 다른 트랜잭션은 참조 수 증가 대상 행이 없으면 직접 생성하므로 영향을 받지 않음
+    private void deleteUnreferencedBlobRows(PendingRecord record) {
+        Set<String> sha256s = new HashSet<>();
+        for (AttachmentEntry attachment : record.record.getAttachments()) {
+            if (attachment.getSha256() != null) {
+                sha256s.add(attachment.getSha256());
+            }
+        }
+        if (sha256s.isEmpty()) {
+            return;
+        }
+        try {
+            int deleted = jdbcTemplate.update(DELETE_UNREFERENCED_BLOB_SQL, new MapSqlParameterSource("sha256s", sha256s));
+            log.debug("저장하지 못한 메일의 첨부파일 원본 행 {}개 삭제", deleted);
+        } catch (Exception e) {
+            log.warn("저장하지 못한 메일의 첨부파일 원본 행 삭제 실패: {}", sha256s, e);
+        }
+    }
+
+    // 새로 추가된 첨부파일 행만큼 원본 참조 수 증가 (행은 ensureBlobRows에서 미리 생성)
+    private void addBlobReferences(List<MapSqlParameterSource> attachmentInserts, Timestamp now) {
+        Map<String, MapSqlParameterSource> blobs = new LinkedHashMap<>();
+        for (MapSqlParameterSource attachment : attachmentInserts) {
+            String sha256 = (String) attachment.getValue("sha256");
+            if (sha256 == null) {
+                continue;
+            }
+            MapSqlParameterSource blob = blobs.computeIfAbsent(sha256, k -> new MapSqlParameterSource()
+                    .addValue("sha256", sha256)
+                    .addValue("fileSize", attachment.getValue("fileSize"))
+                    .addValue("count", 0L)
+                    .addValue("now", now));
+            blob.addValue("count", (Long) blob.getValue("count") + 1);
+        }
+        if (blobs.isEmpty()) {
+            return;
+        }
+
+        List<MapSqlParameterSource> params = new ArrayList<>(blobs.values());
+        int[] counts = jdbcTemplate.batchUpdate(ADD_BLOB_REFERENCE_SQL, params.toArray(new MapSqlParameterSource[0]));
+        List<MapSqlParameterSource> missing = new ArrayList<>();
+        for (int i = 0; i < params.size(); i++) {
+            // 미리 만든 행이 그 사이 이력 삭제(참조 수 0인 원본 정리)로 지워진 경우에만 이 트랜잭션에서 생성
+            if (i < counts.length && counts[i] == 0) {
+                missing.add(params.get(i));
+            }
+        }
+        batchUpdate(INSERT_BLOB_SQL, missing);
+    }
+
+    private Map<String, Long> findQueueIdsByUniqueId(Set<String> uniqueIds) {
+        Map<String, Long> ids = new HashMap<>();
+        if (uniqueIds.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query("SELECT unique_id, id FROM email_queue WHERE unique_id IN (:uniqueIds)",
+                new MapSqlParameterSource("uniqueIds", uniqueIds),
+                rs -> {
+                    ids.putIfAbsent(rs.getString(1), rs.getLong(2));
+                });
+        return ids;
+    }
+
+    private MapSqlParameterSource queueParams(IngestRecord record, Timestamp now) {
+        EmailQueue defaults = new EmailQueue();
+        return new MapSqlParameterSource()
+                .addValue("sender", record.getSender())
+                .addValue("subject", record.getSubject())
+                .addValue("status", EmailQueue.EmailStatus.QUEUED.name())
+                .addValue("priority", defaults.getPriority())
+                .addValue("maxRetries", defaults.getMaxRetries())
+                .addValue("uniqueId", record.getUniqueId())
+                .addValue("now", now);
+    }
+
+    private void batchUpdate(String sql, List<MapSqlParameterSource> params) {
+        if (!params.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, params.toArray(new MapSqlParameterSource[0]));
+        }
+    }
+
+    private static final class PendingRecord {
+        private final IngestRecord record;
+        private final CompletableFuture<Long> future = new CompletableFuture<>();
+
+        private PendingRecord(IngestRecord record) {
+            this.record = record;
+        }
+    }
+
+    /**
+     * 저장할 메일 한 건 (파싱 및 첨부파일 기록이 끝난 상태)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class IngestRecord {
+        private final String uniqueId;
+        private final String sender;
+        private final String subject;
+        private final String body;
+        private final String bodyBlobId;    // 본문을 블롭 저장소에 둔 경우 (body는 null)
+        private final List<RecipientEntry> recipients = new ArrayList<>();
+        private final List<AttachmentEntry> attachments = new ArrayList<>();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class RecipientEntry {
+        private final String email;
+        private final EmailQueueRecipient.RecipientType type;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class AttachmentEntry {
+        private final String fileName;
+        private final String contentType;
+        private final String filePath;
+        private final String sha256;
+        private final long fileSize;
+    }
+}
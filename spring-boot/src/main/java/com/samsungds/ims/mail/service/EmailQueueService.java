@@ -8,13 +8,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 이메일 큐 처리에 필요한 트랜잭션 메서드들을 제공하는 서비스
@@ -24,42 +32,48 @@ import java.util.List;
 @RequiredArgsConstructor
 @Slf4j
 public class EmailQueueService {
+    private static final int ERROR_MESSAGE_MAX_LENGTH = 2000;
+    private static final String UPDATE_SENT_SQL =
+            "UPDATE email_queue SET status = :status, sent_at = :sentAt, locked = FALSE, locked_at = NULL, updated_at = :now " +
+            "WHERE id = :id AND processor_id = :processorId";
+    private static final String UPDATE_FAILED_SQL =
+            "UPDATE email_queue SET status = :status, retry_count = :retryCount, last_retry_at = :lastRetryAt, next_attempt_at = :nextAttemptAt, " +
+            "error_message = :errorMessage, locked = FALSE, locked_at = NULL, updated_at = :now WHERE id = :id AND processor_id = :processorId";
+    private static final String UPDATE_DEFERRED_SQL =
+            "UPDATE email_queue SET status = :status, next_attempt_at = :nextAttemptAt, error_message = :errorMessage, " +
+            "locked = FALSE, locked_at = NULL, updated_at = :now WHERE id = :id AND processor_id = :processorId";
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE email_queue SET status = :status, locked = FALSE, locked_at = NULL, updated_at = :now " +
+            "WHERE id = :id AND processor_id = :processorId";
+
     private final EmailQueueRepository emailQueueRepository;
     private final SendMailBatchProperties sendMailBatchProperties;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
 
     /**
-     * 처리할 이메일 목록을 DB에서 조회
+     * 처리할 이메일을 최대 limit 건 선점(claim)하여 반환
+     * 건수 제한과 정렬은 후보(id/priority) 조회 쿼리에서 처리하고, 후보를 한 번의 UPDATE로 잠근 뒤
+     * 후보 id 중 claimToken으로 잠근 행만 다시 조회합니다. 여러 인스턴스가 같은 DB를 사용해도 한 행은 한 곳에서만 선점됩니다.
+     *
+     * @param claimToken 이번 선점을 식별하는 값 (processorId 컬럼에 기록, 선점마다 달라야 함)
      */
-    @Transactional(readOnly = true)
-    public List<EmailQueue> fetchEmailsForProcessing(int concurrentBatchSize) {
-        return emailQueueRepository.findByStatusOrderByPriorityAscCreatedAtAsc(EmailQueue.EmailStatus.QUEUED)
+    @Transactional
+    public List<EmailQueue> claimEmailsForProcessing(int limit, String claimToken) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = emailQueueRepository.findClaimCandidates(EmailQueue.EmailStatus.QUEUED, now, PageRequest.of(0, limit))
                 .stream()
-                .limit(concurrentBatchSize)
+                .map(EmailQueueRepository.ClaimCandidate::getId)
                 .toList();
-    }
-
-    /**
-     * 별도 트랜잭션에서 이메일 잠금 획득 시도
-     */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public EmailQueue tryLockEmailInNewTransaction(EmailQueue email, String processorId) {
-        try {
-            int updated = emailQueueRepository.lockEmailForProcessing(
-                    email.getId(),
-                    processorId,
-                    LocalDateTime.now()
-            );
-
-            if (updated > 0) {
-                // 잠금 획득 성공 시 최신 상태로 조회
-                return emailQueueRepository.findById(email.getId()).orElse(null);
-            }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
 
-            return null;
-        } catch (Exception e) {
-            log.warn("이메일 ID {}에 대한 잠금 획득 실패: {}", email.getId(), e.getMessage());
-            return null;
+        int claimed = emailQueueRepository.claimEmails(ids, claimToken, now);
+        if (claimed == 0) {
+            log.debug("후보 {}건이 모두 다른 프로세서에 선점되었습니다", ids.size());
+            return List.of();
         }
+        return emailQueueRepository.findClaimed(ids, claimToken);
     }
 
     /**
@@ -73,75 +87,90 @@ public class EmailQueueService {
     }
 
     /**
-     * 예약된 이메일 처리
+     * 예약 시각이 지난 이메일을 한 번의 UPDATE로 발송 대기로 전환
+     * 예약 메일은 {@link ScheduledEmailScheduler}가 시각에 맞춰 전환하며, 이 메서드는 시작 시점에 밀린 건과 전환하지 못한 건을 보정합니다.
+     *
+     * @return 전환된 건수
      */
     @Transactional
-    public void processScheduledEmails() {
-        LocalDateTime now = LocalDateTime.now();
-        List<EmailQueue> scheduledEmails = emailQueueRepository.findScheduledEmailsDueBefore(now);
-        log.info("{}개의 예약 이메일이 발송 예정입니다", scheduledEmails.size());
-
-        if (!scheduledEmails.isEmpty()) {
-            for (EmailQueue emailQueue : scheduledEmails) {
-                emailQueue.setStatus(EmailQueue.EmailStatus.QUEUED);
-                emailQueueRepository.save(emailQueue);
-            }
-        }
+    public int processScheduledEmails() {
+        int promoted = emailQueueRepository.promoteDueScheduled(LocalDateTime.now());
+        log.info("{}개의 예약 이메일이 발송 예정입니다", promoted);
+        return promoted;
     }
 
     /**
-     * 처리된 이메일 상태 업데이트 - 선택적 필드만 업데이트
+     * 처리된 이메일 상태 업데이트 - 결과(SENT/RETRY/FAILED/미룸)별로 바뀐 컬럼만 JDBC 배치 UPDATE
+     * 엔티티를 조회하지 않으며, 선점한 프로세서(processor_id)가 같은 행만 갱신합니다.
+     * 잠금 타임아웃 후 다른 프로세서가 다시 선점한 행은 건너뜁니다.
+     *
+     * @return 갱신된 행 수
      */
     @Transactional
-    public void saveProcessedEmails(List<EmailQueue> processedEmails) {
+    public int saveProcessedEmails(List<EmailQueue> processedEmails) {
         if (processedEmails.isEmpty()) {
-            return;
+            return 0;
         }
 
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<EmailQueue.EmailStatus, List<MapSqlParameterSource>> groups = new EnumMap<>(EmailQueue.EmailStatus.class);
         for (EmailQueue email : processedEmails) {
-            EmailQueue existingEmail = emailQueueRepository.findById(email.getId())
-                    .orElse(null);
-
-            if (existingEmail == null) {
-                log.warn("ID {}인 이메일을 찾을 수 없습니다. 상태 업데이트를 건너뜁니다.", email.getId());
-                continue;
-            }
+            groups.computeIfAbsent(email.getStatus(), status -> new ArrayList<>()).add(new MapSqlParameterSource()
+                    .addValue("id", email.getId())
+                    .addValue("processorId", email.getProcessorId())
+                    .addValue("status", email.getStatus().name())
+                    .addValue("sentAt", toTimestamp(email.getSentAt()))
+                    .addValue("retryCount", email.getRetryCount())
+                    .addValue("lastRetryAt", toTimestamp(email.getLastRetryAt()))
+                    .addValue("nextAttemptAt", toTimestamp(email.getNextAttemptAt()))
+                    .addValue("errorMessage", truncate(email.getErrorMessage()))
+                    .addValue("now", now));
+        }
 
-            // 필요한 필드만 선택적으로 업데이트
-            existingEmail.setStatus(email.getStatus());
-            existingEmail.setRetryCount(email.getRetryCount());
-            existingEmail.setLastRetryAt(email.getLastRetryAt());
-            existingEmail.setLocked(email.isLocked());
-            existingEmail.setProcessorId(email.getProcessorId());
-
-            if (email.getStatus() == EmailQueue.EmailStatus.SENT) {
-                existingEmail.setSentAt(email.getSentAt());
-            } else if (email.getStatus() == EmailQueue.EmailStatus.FAILED) {
-                existingEmail.setErrorMessage(email.getErrorMessage());
+        int updated = 0;
+        for (Map.Entry<EmailQueue.EmailStatus, List<MapSqlParameterSource>> group : groups.entrySet()) {
+            String sql = switch (group.getKey()) {
+                case SENT -> UPDATE_SENT_SQL;
+                case RETRY, FAILED -> UPDATE_FAILED_SQL;
+                case QUEUED -> UPDATE_DEFERRED_SQL;
+                default -> UPDATE_STATUS_SQL;
+            };
+            for (int count : jdbcTemplate.batchUpdate(sql, group.getValue().toArray(new MapSqlParameterSource[0]))) {
+                // 드라이버가 건수를 모르면 SUCCESS_NO_INFO(-2)
+                updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
             }
+        }
 
-            // 변경된 엔티티 저장
-            emailQueueRepository.save(existingEmail);
+        if (updated < processedEmails.size()) {
+            log.warn("{}개 중 {}개의 이메일은 다른 프로세서가 선점하여 상태 업데이트를 건너뜁니다.",
+                    processedEmails.size(), processedEmails.size() - updated);
         }
+        log.info("{}개의 이메일 상태가 성공적으로 업데이트되었습니다.", updated);
+        return updated;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
 
-        log.info("{}개의 이메일 상태가 성공적으로 업데이트되었습니다.", processedEmails.size());
+    private static String truncate(String errorMessage) {
+        return errorMessage != null && errorMessage.length() > ERROR_MESSAGE_MAX_LENGTH
+                ? errorMessage.substring(0, ERROR_MESSAGE_MAX_LENGTH) : errorMessage;
     }
 
     /**
-     * 재시도 대상 이메일 처리
+     * 재시도 시각이 지난 이메일을 한 번의 UPDATE로 발송 대기로 전환
+     * 재시도는 {@link RetryScheduler}가 시각에 맞춰 전환하며, 이 메서드는 다른 인스턴스에서 실패했거나 전환하지 못한 건을 보정합니다.
+     *
+     * @return 전환된 건수
      */
     @Transactional
-    public void processRetryEmails() {
-        LocalDateTime retryThreshold = LocalDateTime.now().minusMinutes(sendMailBatchProperties.getRetryDelayMinutes());
-        List<EmailQueue> retryEmails = emailQueueRepository.findEmailsForRetry(retryThreshold);
-        log.info("{}개의 이메일이 재시도 대상입니다", retryEmails.size());
-
-        if (!retryEmails.isEmpty()) {
-            for (EmailQueue emailQueue : retryEmails) {
-                emailQueue.setStatus(EmailQueue.EmailStatus.QUEUED);
-                emailQueueRepository.save(emailQueue);
-            }
-        }
+    public int processRetryEmails() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime retryThreshold = now.minusMinutes(sendMailBatchProperties.getRetryDelayMinutes());
+        int promoted = emailQueueRepository.promoteDueRetries(now, retryThreshold);
+        log.info("{}개의 이메일이 재시도 대상입니다", promoted);
+        return promoted;
     }
 
     /**
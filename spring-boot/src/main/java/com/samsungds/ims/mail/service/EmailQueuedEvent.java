@@ -0,0 +1,16 @@
+package com.samsungds.ims.mail.service;
+
+/**
+ * 메일이 발송 대기(QUEUED) 상태가 되었음을 알리는 이벤트
+ *
+ * @param source 대기 상태가 된 경로
+ * @param count  대기 상태가 된 메일 수 (인제스트는 uniqueId 병합 전)
+ */
+public record EmailQueuedEvent(Source source, int count) {
+
+    public enum Source {
+        INGEST,     // 인제스트 그룹 커밋
+        RETRY,      // 재시도 대기 시간 경과
+        SCHEDULED   // 예약 시각 도래
+    }
+}
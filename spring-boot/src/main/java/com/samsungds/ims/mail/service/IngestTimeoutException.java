@@ -0,0 +1,20 @@
+package com.samsungds.ims.mail.service;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 인제스트 저장기가 제한 시간 안에 커밋하지 못함
+ * abandoned가 true이면 저장기가 꺼내기 전에 대기열에서 제거되어 저장되지 않으며,
+ * false이면 이미 배치에 포함되어 늦게라도 커밋될 수 있습니다.
+ */
+@Getter
+public class IngestTimeoutException extends RuntimeException {
+    private final boolean abandoned;
+
+    public IngestTimeoutException(String message, boolean abandoned, TimeoutException cause) {
+        super(message, cause);
+        this.abandoned = abandoned;
+    }
+}
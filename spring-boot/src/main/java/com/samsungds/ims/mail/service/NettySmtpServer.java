@@ -0,0 +1,181 @@
+package com.samsungds.ims.mail.service;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.subethamail.smtp.MessageHandlerFactory;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Netty 이벤트 루프 기반 SMTP 리스너
+ * <p>
+ * SubEthaSMTP의 {@link MessageHandlerFactory}/{@code MessageHandler} 계약을 그대로 사용하며,
+ * 연결마다 스레드를 두지 않고 소수의 이벤트 루프 스레드가 모든 연결의 명령을 처리합니다.
+ * EHLO에서 PIPELINING, 8BITMIME, SIZE를 광고합니다.
+ * <p>
+ * 차단될 수 있는 핸들러 호출(MAIL의 핸들러 생성/연결 허용 판단, DATA 처리)만 handlerExecutor에서 실행합니다.
+ * DATA는 수신하는 대로 점 제거(dot-unstuffing)하여 핸들러의 입력 스트림으로 전달하며,
+ * 핸들러가 읽지 못한 데이터가 쌓이면 해당 연결의 읽기를 멈춰 메모리 사용량을 제한합니다.
+ * SubEthaSMTP와 마찬가지로 서버 중지 시 handlerExecutor도 종료합니다.
+ */
+@Slf4j
+@Getter
+@Setter
+public class NettySmtpServer {
+    private static final SessionListener NO_LISTENER = new SessionListener() {
+    };
+
+    private final MessageHandlerFactory messageHandlerFactory;
+    private final ExecutorService handlerExecutor;
+
+    private int port = 25;
+    private int maxConnections = 1000;
+    private int connectionTimeout = 60000;     // 밀리초, 명령/DATA 읽기 제한 시간
+    private int maxMessageSize = 0;            // 0이면 SIZE 광고 시 제한 없음
+    private int backlog = 50;
+    private String hostName;
+    private String softwareName = "IMS Mail Netty SMTP";
+    private SessionListener sessionListener = NO_LISTENER;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final AtomicInteger connections = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private EventLoopGroup bossGroup;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private EventLoopGroup workerGroup;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Channel serverChannel;
+
+    public NettySmtpServer(MessageHandlerFactory messageHandlerFactory, ExecutorService handlerExecutor) {
+        this.messageHandlerFactory = messageHandlerFactory;
+        this.handlerExecutor = handlerExecutor;
+    }
+
+    public synchronized void start() {
+        if (serverChannel != null) {
+            throw new IllegalStateException("Netty SMTP 서버가 이미 시작되었습니다.");
+        }
+        if (hostName == null) {
+            hostName = resolveHostName();
+        }
+        bossGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("smtp-netty-boss"));
+        workerGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("smtp-netty-io"));
+        try {
+            ServerBootstrap bootstrap = new ServerBootstrap()
+                    .group(bossGroup, workerGroup)
+                    .channel(NioServerSocketChannel.class)
+                    .option(ChannelOption.SO_BACKLOG, backlog)
+                    .childOption(ChannelOption.TCP_NODELAY, true)
+                    .childHandler(new ChannelInitializer<SocketChannel>() {
+                        @Override
+                        protected void initChannel(SocketChannel channel) {
+                            channel.pipeline()
+                                    .addLast(new IdleStateHandler(connectionTimeout, 0, 0, TimeUnit.MILLISECONDS))
+                                    .addLast(new NettySmtpSession(NettySmtpServer.this));
+                        }
+                    });
+            serverChannel = bootstrap.bind(new InetSocketAddress(port)).syncUninterruptibly().channel();
+            log.info("Netty SMTP 서버 시작: {}", serverChannel.localAddress());
+        } catch (RuntimeException e) {
+            shutdownGroups();
+            throw e;
+        }
+    }
+
+    public synchronized void stop() {
+        if (serverChannel == null) {
+            return;
+        }
+        serverChannel.close().syncUninterruptibly();
+        serverChannel = null;
+        shutdownGroups();
+        handlerExecutor.shutdown();
+        try {
+            if (!handlerExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                handlerExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            handlerExecutor.shutdownNow();
+        }
+        log.info("Netty SMTP 서버 중지");
+    }
+
+    public synchronized boolean isRunning() {
+        return serverChannel != null && serverChannel.isActive();
+    }
+
+    /**
+     * 실제로 바인드된 포트 (port가 0이면 임의 포트)
+     */
+    public synchronized int getBoundPort() {
+        return serverChannel != null ? ((InetSocketAddress) serverChannel.localAddress()).getPort() : -1;
+    }
+
+    int getConnectionCount() {
+        return connections.get();
+    }
+
+    boolean tryOpenConnection() {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void connectionClosed() {
+        connections.decrementAndGet();
+    }
+
+    private void shutdownGroups() {
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully(0, 2, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+        if (workerGroup != null) {
+            workerGroup.shutdownGracefully(0, 2, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+        bossGroup = null;
+        workerGroup = null;
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getCanonicalHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+
+    /**
+     * 연결 수/세션 시간 기록용 콜백 (이벤트 루프 스레드에서 호출되므로 차단하지 않아야 함)
+     */
+    public interface SessionListener {
+        default void sessionOpened() {
+        }
+
+        default void sessionClosed(long durationNanos) {
+        }
+    }
+}
@@ -0,0 +1,741 @@
+package com.samsungds.ims.mail.service;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.timeout.IdleStateEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.subethamail.smtp.AuthenticationHandler;
+import org.subethamail.smtp.DropConnectionException;
+import org.subethamail.smtp.MessageContext;
+import org.subethamail.smtp.MessageHandler;
+import org.subethamail.smtp.RejectException;
+import org.subethamail.smtp.TooMuchDataException;
+import org.subethamail.smtp.server.SMTPServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.cert.Certificate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Netty SMTP 연결 하나의 명령 처리 (이벤트 루프 스레드에서만 상태를 변경)
+ * <p>
+ * 한 번에 읽은 명령들의 응답은 모아서 한 번에 전송하므로 PIPELINING 클라이언트의 왕복 횟수가 줄어듭니다.
+ * 핸들러 호출을 기다리는 동안(AWAITING_REPLY) 뒤따라 도착한 명령은 버퍼에 남겨 두었다가 응답 후 이어서 처리하며,
+ * 남겨 둔 입력이 MAX_PENDING_INPUT을 넘으면 응답할 때까지 읽기를 멈춥니다.
+ */
+@Slf4j
+final class NettySmtpSession extends ChannelInboundHandlerAdapter implements MessageContext {
+    private static final int MAX_COMMAND_LINE_LENGTH = 4096;
+    // 핸들러가 아직 읽지 않은 DATA가 이 크기를 넘으면 읽기를 멈추고, 아래로 내려가면 다시 읽음
+    private static final long DATA_HIGH_WATER_MARK = 1024 * 1024;
+    private static final long DATA_LOW_WATER_MARK = 256 * 1024;
+    // 핸들러 응답을 기다리는 동안 버퍼에 쌓아 둘 입력 크기 상한 (넘으면 응답할 때까지 읽기 중지)
+    private static final int MAX_PENDING_INPUT = 64 * 1024;
+
+    private static final String REPLY_OK = "250 Ok";
+    private static final String REPLY_FAILURE = "421 4.3.0 Mail system failure, closing transmission channel";
+
+    private enum State {COMMAND, DATA, AWAITING_REPLY, CLOSED}
+
+    // DATA 점 제거 상태
+    private static final int LINE_START = 0;
+    private static final int IN_LINE = 1;
+    private static final int AFTER_CR = 2;
+    private static final int AFTER_DOT = 3;
+    private static final int AFTER_DOT_CR = 4;
+
+    private final NettySmtpServer server;
+    private ChannelHandlerContext ctx;
+    private ByteBuf buffer;
+    private ReadGate readGate;
+    private State state = State.COMMAND;
+    private boolean counted;
+    private boolean discardingLine;
+    private long openedAt;
+    private String helo;
+
+    private MessageHandler messageHandler;
+    private int recipientCount;
+
+    private DataPipe pipe;
+    private int dataState;
+    private boolean dataTerminated;
+    private String dataReply;
+    private boolean dataFailed;
+    private boolean dataInFlight;
+    private boolean processing;
+
+    NettySmtpSession(NettySmtpServer server) {
+        this.server = server;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+        this.buffer = ctx.alloc().buffer(256);
+        this.readGate = new ReadGate(ctx.channel());
+        this.openedAt = System.nanoTime();
+        if (!server.tryOpenConnection()) {
+            state = State.CLOSED;
+            log.debug("최대 연결 수 초과로 연결 거부: {}", ctx.channel().remoteAddress());
+            ctx.writeAndFlush(line("421 Too many connections, try again later"))
+                    .addListener(ChannelFutureListener.CLOSE);
+            return;
+        }
+        counted = true;
+        server.getSessionListener().sessionOpened();
+        ctx.writeAndFlush(line("220 " + server.getHostName() + " ESMTP " + server.getSoftwareName()));
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        ByteBuf in = (ByteBuf) msg;
+        try {
+            if (state != State.CLOSED) {
+                buffer.writeBytes(in);
+            }
+        } finally {
+            in.release();
+        }
+        process();
+        updateReplyPause();
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        ctx.flush();
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent) {
+            // 핸들러 처리 대기 중에는 클라이언트가 응답을 기다리는 것이므로 제한 시간을 적용하지 않음
+            if (state == State.COMMAND || state == State.DATA) {
+                log.debug("SMTP 연결 제한 시간 초과: {}", ctx.channel().remoteAddress());
+                closeWith("421 4.4.2 Timeout waiting for data from client.");
+            }
+            return;
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        state = State.CLOSED;
+        if (pipe != null) {
+            pipe.fail(new IOException("SMTP 연결이 DATA 수신 중에 종료되었습니다."));
+        }
+        // DATA 처리 중이면 핸들러 종료(done)는 처리 완료 후 onDataHandled에서 호출
+        if (!dataInFlight) {
+            endTransaction();
+        }
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+        }
+        if (counted) {
+            counted = false;
+            server.connectionClosed();
+            server.getSessionListener().sessionClosed(System.nanoTime() - openedAt);
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        log.debug("SMTP 연결 오류: {} - {}", ctx.channel().remoteAddress(), cause.toString());
+        ctx.close();
+    }
+
+    private void process() {
+        // 핸들러 응답을 DATA 수신 중에 바로 처리한 경우(resume) 바깥 루프가 이어서 처리
+        if (processing) {
+            return;
+        }
+        processing = true;
+        try {
+            processBuffer();
+        } finally {
+            processing = false;
+        }
+    }
+
+    private void processBuffer() {
+        while (buffer != null && buffer.isReadable()) {
+            if (state == State.COMMAND) {
+                if (!processCommandLine()) {
+                    break;
+                }
+            } else if (state == State.DATA) {
+                processData();
+            } else {
+                break;
+            }
+        }
+        if (buffer != null) {
+            buffer.discardSomeReadBytes();
+        }
+    }
+
+    private boolean processCommandLine() {
+        int lf = buffer.indexOf(buffer.readerIndex(), buffer.writerIndex(), (byte) '\n');
+        if (lf < 0) {
+            if (buffer.readableBytes() > MAX_COMMAND_LINE_LENGTH) {
+                discardingLine = true;
+                buffer.skipBytes(buffer.readableBytes());
+            }
+            return false;
+        }
+        int end = lf > buffer.readerIndex() && buffer.getByte(lf - 1) == '\r' ? lf - 1 : lf;
+        String commandLine = buffer.toString(buffer.readerIndex(), end - buffer.readerIndex(), StandardCharsets.UTF_8);
+        buffer.readerIndex(lf + 1);
+        if (discardingLine || commandLine.length() > MAX_COMMAND_LINE_LENGTH) {
+            discardingLine = false;
+            reply("500 5.5.2 Line too long");
+            return true;
+        }
+        handleCommand(commandLine);
+        return true;
+    }
+
+    private void handleCommand(String commandLine) {
+        int space = commandLine.indexOf(' ');
+        String verb = (space < 0 ? commandLine : commandLine.substring(0, space)).toUpperCase(Locale.ROOT);
+        String argument = space < 0 ? "" : commandLine.substring(space + 1).trim();
+
+        switch (verb) {
+            case "EHLO" -> ehlo(argument);
+            case "HELO" -> helo(argument);
+            case "MAIL" -> mail(argument);
+            case "RCPT" -> rcpt(argument);
+            case "DATA" -> data();
+            case "RSET" -> {
+                endTransaction();
+                reply(REPLY_OK);
+            }
+            case "NOOP" -> reply(REPLY_OK);
+            case "VRFY" -> reply("252 Cannot VRFY user; try RCPT to attempt delivery");
+            case "QUIT" -> closeWith("221 Bye");
+            default -> reply("500 Error: command not implemented");
+        }
+    }
+
+    private void ehlo(String argument) {
+        if (argument.isEmpty()) {
+            reply("501 Syntax: EHLO hostname");
+            return;
+        }
+        helo = argument;
+        endTransaction();
+        reply("250-" + server.getHostName());
+        reply("250-8BITMIME");
+        reply("250-PIPELINING");
+        reply(server.getMaxMessageSize() > 0 ? "250 SIZE " + server.getMaxMessageSize() : "250 Ok");
+    }
+
+    private void helo(String argument) {
+        if (argument.isEmpty()) {
+            reply("501 Syntax: HELO <hostname>");
+            return;
+        }
+        helo = argument;
+        endTransaction();
+        reply("250 " + server.getHostName());
+    }
+
+    private void mail(String argument) {
+        if (helo == null) {
+            reply("503 5.5.1 Error: send HELO/EHLO first");
+            return;
+        }
+        if (messageHandler != null) {
+            reply("503 5.5.1 Sender already specified.");
+            return;
+        }
+        if (!argument.regionMatches(true, 0, "FROM:", 0, 5)) {
+            reply("501 Syntax: MAIL FROM: <address>");
+            return;
+        }
+        String[] parsed = parsePath(argument.substring(5));
+        if (parsed == null) {
+            reply("501 Syntax: MAIL FROM: <address>");
+            return;
+        }
+        String from = parsed[0];
+        for (String parameter : parsed[1].split(" ")) {
+            if (parameter.regionMatches(true, 0, "SIZE=", 0, 5) && server.getMaxMessageSize() > 0) {
+                try {
+                    if (Long.parseLong(parameter.substring(5)) > server.getMaxMessageSize()) {
+                        reply("552 5.3.4 Message size exceeds fixed limit");
+                        return;
+                    }
+                } catch (NumberFormatException e) {
+                    reply("501 Syntax: MAIL FROM: <address> [SIZE=<size>]");
+                    return;
+                }
+            }
+            // BODY=7BIT/8BITMIME은 바이트를 그대로 전달하므로 별도 처리 없음
+        }
+
+        // 핸들러 생성 시 연결 허용 판단(역방향 DNS 조회 포함)이 차단될 수 있으므로 이벤트 루프 밖에서 실행
+        state = State.AWAITING_REPLY;
+        submit(() -> {
+            MessageHandler created;
+            try {
+                created = server.getMessageHandlerFactory().create(this);
+            } catch (SecurityException e) {
+                onHandlerReply(null, "554 5.7.1 Access denied", false, true);
+                return;
+            } catch (RuntimeException e) {
+                log.error("SMTP 메시지 핸들러 생성 중 오류 발생", e);
+                onHandlerReply(null, REPLY_FAILURE, false, true);
+                return;
+            }
+            try {
+                created.from(from);
+                onHandlerReply(created, REPLY_OK, true, false);
+            } catch (DropConnectionException e) {
+                onHandlerReply(created, e.getErrorResponse(), false, true);
+            } catch (RejectException e) {
+                onHandlerReply(created, e.getErrorResponse(), false, false);
+            } catch (RuntimeException e) {
+                log.error("SMTP MAIL FROM 처리 중 오류 발생", e);
+                onHandlerReply(created, REPLY_FAILURE, false, true);
+            }
+        });
+    }
+
+    private void onHandlerReply(MessageHandler created, String response, boolean accepted, boolean close) {
+        ctx.executor().execute(() -> {
+            if (state == State.CLOSED) {
+                done(created);
+                return;
+            }
+            if (accepted) {
+                messageHandler = created;
+            } else {
+                done(created);
+            }
+            resume(response, close);
+        });
+    }
+
+    private void rcpt(String argument) {
+        if (messageHandler == null) {
+            reply("503 5.5.1 Error: need MAIL command");
+            return;
+        }
+        if (!argument.regionMatches(true, 0, "TO:", 0, 3)) {
+            reply("501 Syntax: RCPT TO: <address>");
+            return;
+        }
+        String[] parsed = parsePath(argument.substring(3));
+        if (parsed == null || parsed[0].isEmpty()) {
+            reply("501 Syntax: RCPT TO: <address>");
+            return;
+        }
+        try {
+            messageHandler.recipient(parsed[0]);
+            recipientCount++;
+            reply(REPLY_OK);
+        } catch (DropConnectionException e) {
+            closeWith(e.getErrorResponse());
+        } catch (RejectException e) {
+            reply(e.getErrorResponse());
+        }
+    }
+
+    private void data() {
+        if (messageHandler == null) {
+            reply("503 5.5.1 Error: need MAIL command");
+            return;
+        }
+        if (recipientCount == 0) {
+            reply("503 Error: need RCPT command");
+            return;
+        }
+        reply("354 End data with <CR><LF>.<CR><LF>");
+        ctx.flush();
+
+        DataPipe dataPipe = new DataPipe(readGate);
+        MessageHandler handler = messageHandler;
+        pipe = dataPipe;
+        dataState = LINE_START;
+        dataTerminated = false;
+        dataReply = null;
+        dataFailed = false;
+        dataInFlight = true;
+        state = State.DATA;
+
+        submit(() -> {
+            String response;
+            boolean close = false;
+            try {
+                handler.data(dataPipe);
+                response = REPLY_OK;
+            } catch (DropConnectionException e) {
+                response = e.getErrorResponse();
+                close = true;
+            } catch (RejectException e) {
+                response = e.getErrorResponse();
+            } catch (TooMuchDataException e) {
+                response = "552 5.3.4 Too much mail data";
+            } catch (Exception e) {
+                if (dataPipe.failure == null) {
+                    log.error("SMTP DATA 처리 중 오류 발생", e);
+                }
+                response = REPLY_FAILURE;
+                close = true;
+            } finally {
+                // 핸들러가 읽지 않은 나머지 DATA는 종료 표시까지 버림
+                dataPipe.abandon();
+            }
+            String finalResponse = response;
+            boolean finalClose = close;
+            ctx.executor().execute(() -> onDataHandled(finalResponse, finalClose));
+        });
+    }
+
+    private void processData() {
+        int start = buffer.readerIndex();
+        int end = buffer.writerIndex();
+        // 이전 읽기가 "줄 머리 점 + CR"에서 끝났으면 보류한 CR을 함께 쓸 수 있으므로 한 바이트 더 확보
+        byte[] out = new byte[end - start + (dataState == AFTER_DOT_CR ? 1 : 0)];
+        int length = 0;
+        int index = start;
+        boolean terminated = false;
+        int ds = dataState;
+
+        while (index < end && !terminated) {
+            byte b = buffer.getByte(index++);
+            switch (ds) {
+                case LINE_START -> {
+                    if (b == '.') {
+                        ds = AFTER_DOT;
+                    } else {
+                        out[length++] = b;
+                        ds = b == '\r' ? AFTER_CR : b == '\n' ? LINE_START : IN_LINE;
+                    }
+                }
+                case AFTER_DOT -> {
+                    if (b == '\r') {
+                        ds = AFTER_DOT_CR;
+                    } else if (b == '\n') {
+                        terminated = true;
+                    } else {
+                        // 줄 머리의 점 하나는 제거 (dot-stuffing)
+                        out[length++] = b;
+                        ds = IN_LINE;
+                    }
+                }
+                case AFTER_DOT_CR -> {
+                    if (b == '\n') {
+                        terminated = true;
+                    } else {
+                        out[length++] = '\r';
+                        out[length++] = b;
+                        ds = b == '\r' ? AFTER_CR : IN_LINE;
+                    }
+                }
+                default -> {
+                    out[length++] = b;
+                    // CRLF 또는 LF만으로 끝난 줄 다음은 줄 머리
+                    ds = b == '\r' ? AFTER_CR : b == '\n' ? LINE_START : IN_LINE;
+                }
+            }
+        }
+        dataState = ds;
+        buffer.readerIndex(index);
+        if (length > 0) {
+            pipe.offer(length == out.length ? out : Arrays.copyOf(out, length));
+        }
+        if (terminated) {
+            pipe.finish();
+            dataTerminated = true;
+            state = State.AWAITING_REPLY;
+            completeDataIfReady();
+        }
+    }
+
+    private void onDataHandled(String response, boolean close) {
+        dataInFlight = false;
+        if (state == State.CLOSED) {
+            pipe = null;
+            endTransaction();
+            return;
+        }
+        dataReply = response;
+        dataFailed = close;
+        if (close) {
+            // 연결을 끊을 오류는 종료 표시를 기다리지 않고 바로 응답
+            pipe = null;
+            endTransaction();
+            closeWith(response);
+            ctx.flush();
+            return;
+        }
+        completeDataIfReady();
+    }
+
+    private void completeDataIfReady() {
+        if (!dataTerminated || dataReply == null || dataFailed) {
+            return;
+        }
+        String response = dataReply;
+        pipe = null;
+        dataReply = null;
+        endTransaction();
+        resume(response, false);
+    }
+
+    /**
+     * 핸들러 호출 대기 후 응답을 보내고 버퍼에 남은 명령 처리를 이어감
+     */
+    private void resume(String response, boolean close) {
+        if (close) {
+            closeWith(response);
+            ctx.flush();
+            return;
+        }
+        state = State.COMMAND;
+        reply(response);
+        process();
+        updateReplyPause();
+        ctx.flush();
+    }
+
+    /**
+     * 핸들러 응답을 기다리는 동안 남겨 둔 입력이 상한을 넘으면 읽기를 멈추고, 응답 후 다시 읽음
+     */
+    private void updateReplyPause() {
+        if (state == State.AWAITING_REPLY && buffer != null && buffer.readableBytes() > MAX_PENDING_INPUT) {
+            readGate.pause(ReadGate.AWAITING_REPLY);
+        } else {
+            readGate.resume(ReadGate.AWAITING_REPLY);
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            server.getHandlerExecutor().execute(task);
+        } catch (RejectedExecutionException e) {
+            // 서버 중지 중
+            closeWith(REPLY_FAILURE);
+        }
+    }
+
+    private void endTransaction() {
+        MessageHandler handler = messageHandler;
+        messageHandler = null;
+        recipientCount = 0;
+        done(handler);
+    }
+
+    private static void done(MessageHandler handler) {
+        if (handler == null) {
+            return;
+        }
+        try {
+            handler.done();
+        } catch (RuntimeException e) {
+            log.warn("SMTP 메시지 핸들러 종료 중 오류 발생: {}", e.toString());
+        }
+    }
+
+    private void reply(String response) {
+        ctx.write(line(response));
+    }
+
+    private void closeWith(String response) {
+        state = State.CLOSED;
+        ctx.writeAndFlush(line(response)).addListener(ChannelFutureListener.CLOSE);
+    }
+
+    private ByteBuf line(String response) {
+        byte[] bytes = (response + "\r\n").getBytes(StandardCharsets.US_ASCII);
+        return ctx.alloc().buffer(bytes.length).writeBytes(bytes);
+    }
+
+    /**
+     * {@code <address> [파라미터...]} 또는 {@code address [파라미터...]} 해석, 형식이 잘못되면 null
+     */
+    private static String[] parsePath(String path) {
+        String trimmed = path.trim();
+        if (trimmed.startsWith("<")) {
+            int close = trimmed.indexOf('>');
+            if (close < 0) {
+                return null;
+            }
+            return new String[]{trimmed.substring(1, close).trim(), trimmed.substring(close + 1).trim()};
+        }
+        int space = trimmed.indexOf(' ');
+        return space < 0
+                ? new String[]{trimmed, ""}
+                : new String[]{trimmed.substring(0, space), trimmed.substring(space + 1).trim()};
+    }
+
+    @Override
+    public SMTPServer getSMTPServer() {
+        return null;
+    }
+
+    @Override
+    public SocketAddress getRemoteAddress() {
+        return ctx.channel().remoteAddress();
+    }
+
+    @Override
+    public AuthenticationHandler getAuthenticationHandler() {
+        return null;
+    }
+
+    @Override
+    public String getHelo() {
+        return helo;
+    }
+
+    @Override
+    public Certificate[] getTlsPeerCertificates() {
+        return null;
+    }
+
+    /**
+     * 이벤트 루프가 넣은 DATA 조각을 핸들러 스레드가 읽는 입력 스트림
+     */
+    private static final class DataPipe extends InputStream {
+        private static final byte[] END = new byte[0];
+
+        private final BlockingQueue<byte[]> chunks = new LinkedBlockingQueue<>();
+        private final ReadGate readGate;
+        // 읽기 중지/재개 판단은 두 스레드가 같은 잠금 아래에서 해야 재개 신호를 놓치지 않음
+        private long pendingBytes;
+        private boolean abandoned;
+        private volatile IOException failure;
+        private byte[] current;
+        private int offset;
+
+        private DataPipe(ReadGate readGate) {
+            this.readGate = readGate;
+        }
+
+        synchronized void offer(byte[] chunk) {
+            if (abandoned) {
+                return;
+            }
+            chunks.add(chunk);
+            pendingBytes += chunk.length;
+            if (pendingBytes > DATA_HIGH_WATER_MARK) {
+                readGate.pause(ReadGate.DATA_BACKLOG);
+            }
+        }
+
+        void finish() {
+            chunks.add(END);
+        }
+
+        void fail(IOException cause) {
+            failure = cause;
+            chunks.add(END);
+        }
+
+        synchronized void abandon() {
+            abandoned = true;
+            chunks.clear();
+            pendingBytes = 0;
+            readGate.resume(ReadGate.DATA_BACKLOG);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] target, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (current == null || offset == current.length) {
+                if (current == END) {
+                    return -1;
+                }
+                byte[] next;
+                try {
+                    next = chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("DATA 수신 대기 중 인터럽트");
+                }
+                if (next == END) {
+                    current = END;
+                    if (failure != null) {
+                        throw failure;
+                    }
+                    return -1;
+                }
+                synchronized (this) {
+                    pendingBytes -= next.length;
+                    if (pendingBytes < DATA_LOW_WATER_MARK) {
+                        readGate.resume(ReadGate.DATA_BACKLOG);
+                    }
+                }
+                current = next;
+                offset = 0;
+            }
+            int count = Math.min(len, current.length - offset);
+            System.arraycopy(current, offset, target, off, count);
+            offset += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return current != null && current != END ? current.length - offset : 0;
+        }
+    }
+
+    /**
+     * 채널 읽기 중지/재개를 한 곳에서 관리 (DATA 파이프 적체와 핸들러 응답 대기 중 어느 하나라도 멈춤을 요청하면 멈춤)
+     * DATA 파이프는 핸들러 스레드에서도 호출하므로 잠금 아래에서 판단합니다.
+     */
+    private static final class ReadGate {
+        static final int DATA_BACKLOG = 1;
+        static final int AWAITING_REPLY = 2;
+
+        private final Channel channel;
+        private int reasons;
+
+        private ReadGate(Channel channel) {
+            this.channel = channel;
+        }
+
+        synchronized void pause(int reason) {
+            if (reasons == 0) {
+                channel.config().setAutoRead(false);
+            }
+            reasons |= reason;
+        }
+
+        synchronized void resume(int reason) {
+            if ((reasons & reason) == 0) {
+                return;
+            }
+            reasons &= ~reason;
+            if (reasons == 0) {
+                channel.config().setAutoRead(true);
+            }
+        }
+    }
+}
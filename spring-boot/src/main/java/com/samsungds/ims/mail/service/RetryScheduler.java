@@ -0,0 +1,153 @@
+package com.samsungds.ims.mail.service;
+
+import com.samsungds.ims.mail.component.SendMailBatchProperties;
+import com.samsungds.ims.mail.model.EmailQueue;
+import com.samsungds.ims.mail.repository.EmailQueueRepository;
+import com.samsungds.ims.mail.util.TimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재시도 스케줄러
+ * <p>
+ * 재시도 간격은 retryDelayMinutes에서 시작해 재시도마다 2배(retryMaxDelayMinutes까지)이며, retryJitterRatio만큼 임의로 줄여
+ * 장애 중 실패한 메일들이 같은 시각에 한꺼번에 재시도되지 않도록 합니다. 계산한 시각은 nextAttemptAt에 저장됩니다.
+ * <p>
+ * 재시도 대기 메일은 {@link TimingWheel}에 두었다가 시각이 되면 한 번의 UPDATE로 발송 대기로 전환하고
+ * {@link EmailQueuedEvent}로 디스패처를 깨웁니다. 휠은 시작할 때 DB에서 휠 범위 안의 재시도 대기 메일만 페이지 단위로 다시 채우며,
+ * 범위 밖의 메일은 시각이 되면 보정에서 전환됩니다.
+ * 전환하지 못한 건은 스케줄 주기의 {@link EmailQueueService#processRetryEmails()}가 보정합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RetryScheduler {
+    private static final long TICK_MILLIS = 100;
+    private static final int PROMOTE_CHUNK_SIZE = 1000;
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final EmailQueueRepository emailQueueRepository;
+    private final SendMailBatchProperties sendMailBatchProperties;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final TimingWheel wheel = new TimingWheel(TICK_MILLIS, System.currentTimeMillis());
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("retry-wheel-"));
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("mail.retry.scheduled", wheel, TimingWheel::size)
+                .description("재시도 타이밍 휠에 대기 중인 메일 수").register(meterRegistry);
+    }
+
+    /**
+     * DB의 재시도 대기 메일로 휠을 채운 뒤 시각 확인 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        LocalDateTime until = LocalDateTime.now().plus(Duration.ofMillis(wheel.getRangeMillis()));
+        long afterId = 0;
+        int loaded = 0;
+        List<EmailQueueRepository.RetrySchedule> schedules;
+        do {
+            schedules = emailQueueRepository.findRetrySchedules(afterId, until, PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (EmailQueueRepository.RetrySchedule schedule : schedules) {
+                LocalDateTime nextAttemptAt = schedule.getNextAttemptAt();
+                if (nextAttemptAt == null) {
+                    // nextAttemptAt이 없는 이전 데이터: 고정 간격 기준
+                    nextAttemptAt = schedule.getLastRetryAt() != null
+                            ? schedule.getLastRetryAt().plusMinutes(sendMailBatchProperties.getRetryDelayMinutes())
+                            : LocalDateTime.now();
+                }
+                wheel.add(schedule.getId(), toEpochMillis(nextAttemptAt));
+                afterId = schedule.getId();
+            }
+            loaded += schedules.size();
+        } while (schedules.size() == LOAD_PAGE_SIZE);
+        log.info("재시도 대기 이메일 {}개를 타이밍 휠에 복원했습니다", loaded);
+        ticker.scheduleWithFixedDelay(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * retryCount번째 재시도 시각 (지수 백오프 + 지터)
+     */
+    public LocalDateTime nextAttemptAt(int retryCount) {
+        long baseMillis = TimeUnit.MINUTES.toMillis(Math.max(0, sendMailBatchProperties.getRetryDelayMinutes()));
+        long maxMillis = Math.max(baseMillis, TimeUnit.MINUTES.toMillis(sendMailBatchProperties.getRetryMaxDelayMinutes()));
+        int exponent = Math.min(Math.max(0, retryCount - 1), 62);
+        long delayMillis = baseMillis > (maxMillis >> exponent) ? maxMillis : baseMillis << exponent;
+        double jitterRatio = Math.min(1, Math.max(0, sendMailBatchProperties.getRetryJitterRatio()));
+        delayMillis -= (long) (delayMillis * jitterRatio * ThreadLocalRandom.current().nextDouble());
+        return LocalDateTime.now().plus(Duration.ofMillis(delayMillis));
+    }
+
+    /**
+     * 저장된 발송 결과가 재시도 대기이면 nextAttemptAt에 전환되도록 등록
+     */
+    public void schedule(EmailQueue email) {
+        if (email.getStatus() != EmailQueue.EmailStatus.RETRY || email.getNextAttemptAt() == null) {
+            return;
+        }
+        wheel.add(email.getId(), toEpochMillis(email.getNextAttemptAt()));
+    }
+
+    private void tick() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int promoted = 0;
+            for (int from = 0; from < due.size(); from += PROMOTE_CHUNK_SIZE) {
+                List<Long> chunk = due.subList(from, Math.min(from + PROMOTE_CHUNK_SIZE, due.size()));
+                Integer updated = transactionTemplate.execute(status -> emailQueueRepository.promoteRetries(chunk, now));
+                promoted += updated != null ? updated : 0;
+            }
+            if (promoted > 0) {
+                log.info("재시도 시각이 된 이메일 {}개를 발송 대기로 전환했습니다", promoted);
+                eventPublisher.publishEvent(new EmailQueuedEvent(EmailQueuedEvent.Source.RETRY, promoted));
+            }
+        } catch (Exception e) {
+            // 전환하지 못한 건은 스케줄 주기의 재시도 보정에서 처리됨
+            log.error("재시도 이메일 {}개 전환 실패", due.size(), e);
+        }
+    }
+
+    /**
+     * 밀리초 미만은 올림 (DB의 nextAttemptAt보다 먼저 전환을 시도하지 않도록)
+     */
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        Instant instant = dateTime.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.toEpochMilli() + (instant.getNano() % 1_000_000 != 0 ? 1 : 0);
+    }
+}
@@ -0,0 +1,285 @@
+package com.samsungds.ims.mail.service;
+
+import com.samsungds.ims.mail.component.SendMailBatchProperties;
+import com.samsungds.ims.mail.model.EmailQueue;
+import com.samsungds.ims.mail.repository.EmailQueueRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 예약 발송 스케줄러
+ * <p>
+ * 앞으로 scheduleWindowSeconds 안에 발송할 예약 메일을 최대 scheduleMaxLoaded 건까지 메모리에 두고,
+ * 가장 이른 scheduledAt까지 기다렸다가 시각이 된 메일을 한 번의 UPDATE로 발송 대기로 전환한 뒤
+ * {@link EmailQueuedEvent}로 디스패처를 깨웁니다.
+ * <p>
+ * 예약 메일은 1초마다 읽기 범위(지금부터 scheduleWindowSeconds)에서 이른 순으로 scheduleMaxLoaded 건까지만 조회하므로(status, scheduledAt 인덱스)
+ * 먼 미래의 예약 메일이 많아도 메모리에는 한도만큼만 올라오며, 한도를 넘으면 가장 늦은 메일부터 버립니다.
+ * API로 예약된 메일은 다음 읽기를 기다리지 않도록 {@link #schedule(EmailQueue)}로 바로 등록하며,
+ * 전환하지 못한 건은 스케줄 주기의 {@link EmailQueueService#processScheduledEmails()}가 보정합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduledEmailScheduler {
+    private static final long LOAD_INTERVAL_MILLIS = 1000;
+    private static final int PROMOTE_CHUNK_SIZE = 1000;
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::scheduledAt).thenComparingLong(Entry::id);
+
+    private final EmailQueueRepository emailQueueRepository;
+    private final EmailQueueService emailQueueService;
+    private final SendMailBatchProperties sendMailBatchProperties;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final TreeSet<Entry> entries = new TreeSet<>(ORDER);
+    private final Map<Long, Entry> entriesById = new HashMap<>();
+    private Clock clock = Clock.systemDefaultZone();
+    private TransactionTemplate transactionTemplate;
+    private Timer firingLateness;
+    private Thread schedulerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("mail.schedule.loaded", this, ScheduledEmailScheduler::getLoadedCount)
+                .description("메모리에 올린 예약 메일 수").register(meterRegistry);
+        firingLateness = Timer.builder("mail.schedule.lateness")
+                .description("예약 시각부터 발송 대기로 전환되기까지 걸린 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이미 시각이 지난 예약 메일을 전환한 뒤 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int promoted = emailQueueService.processScheduledEmails();
+        if (promoted > 0) {
+            eventPublisher.publishEvent(new EmailQueuedEvent(EmailQueuedEvent.Source.SCHEDULED, promoted));
+        }
+        running = true;
+        schedulerThread = new Thread(this::runSchedulerLoop, "scheduled-mail");
+        schedulerThread.setDaemon(true);
+        schedulerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (schedulerThread != null) {
+            schedulerThread.interrupt();
+        }
+    }
+
+    /**
+     * 새로 예약된 메일 등록 (읽기 범위 안이면 바로 메모리에 올림, 범위 밖이면 시각이 가까워질 때 읽음)
+     */
+    public void schedule(EmailQueue email) {
+        if (email.getStatus() != EmailQueue.EmailStatus.SCHEDULED || email.getScheduledAt() == null || email.getId() == null) {
+            return;
+        }
+        LocalDateTime horizon = LocalDateTime.now(clock).plusSeconds(sendMailBatchProperties.getScheduleWindowSeconds());
+        if (email.getScheduledAt().isAfter(horizon)) {
+            return;
+        }
+        lock.lock();
+        try {
+            add(email.getId(), email.getScheduledAt());
+            trim();
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLoadedCount() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 예약 시각과 대기 시간 기준 시계 (테스트용, {@link #start()} 전에 지정)
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * 기다리지 않고 지금 시각이 된 메일만 전환
+     *
+     * @return 전환된 건수
+     */
+    int promoteDue() {
+        List<Entry> due;
+        lock.lock();
+        try {
+            due = takeDue(clock.millis());
+        } finally {
+            lock.unlock();
+        }
+        return due.isEmpty() ? 0 : promote(due);
+    }
+
+    private void runSchedulerLoop() {
+        long nextLoadAt = 0;
+        boolean loadedFull = false;
+        while (running) {
+            try {
+                // 한도만큼 읽었으면(뒤에 더 있음) 절반이 전환되는 즉시 다시 읽음
+                if (clock.millis() >= nextLoadAt
+                        || (loadedFull && getLoadedCount() <= sendMailBatchProperties.getScheduleMaxLoaded() / 2)) {
+                    loadedFull = load();
+                    nextLoadAt = clock.millis() + LOAD_INTERVAL_MILLIS;
+                }
+                List<Entry> due = awaitDue(nextLoadAt);
+                if (!due.isEmpty()) {
+                    promote(due);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // 전환하지 못한 건은 스케줄 주기의 예약 메일 보정에서 처리됨
+                log.error("예약 메일 처리 중 오류 발생", e);
+                nextLoadAt = clock.millis() + LOAD_INTERVAL_MILLIS;
+            }
+        }
+    }
+
+    /**
+     * 읽기 범위 안의 예약 메일을 이른 순으로 최대 scheduleMaxLoaded 건 읽어 합침 (이미 올린 메일은 그대로)
+     *
+     * @return 한도만큼 읽었으면 true
+     */
+    boolean load() {
+        int maxLoaded = Math.max(1, sendMailBatchProperties.getScheduleMaxLoaded());
+        LocalDateTime until = LocalDateTime.now(clock).plusSeconds(sendMailBatchProperties.getScheduleWindowSeconds());
+        List<EmailQueueRepository.ScheduledCandidate> candidates =
+                emailQueueRepository.findScheduledCandidates(until, PageRequest.of(0, maxLoaded));
+
+        lock.lock();
+        try {
+            for (EmailQueueRepository.ScheduledCandidate candidate : candidates) {
+                add(candidate.getId(), candidate.getScheduledAt());
+            }
+            trim();
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        return candidates.size() >= maxLoaded;
+    }
+
+    /**
+     * 가장 이른 예약 시각 또는 다음 읽기 시각까지 대기한 뒤 시각이 된 메일을 꺼냄
+     */
+    private List<Entry> awaitDue(long nextLoadAt) throws InterruptedException {
+        lock.lock();
+        try {
+            long now = clock.millis();
+            long wakeAt = entries.isEmpty() ? nextLoadAt : Math.min(nextLoadAt, entries.first().dueMillis());
+            if (wakeAt > now) {
+                changed.await(wakeAt - now, TimeUnit.MILLISECONDS);
+                now = clock.millis();
+            }
+            return takeDue(now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Entry> takeDue(long now) {
+        List<Entry> due = new ArrayList<>();
+        while (!entries.isEmpty() && entries.first().dueMillis() <= now) {
+            Entry entry = entries.pollFirst();
+            entriesById.remove(entry.id());
+            due.add(entry);
+        }
+        return due;
+    }
+
+    private int promote(List<Entry> due) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int promoted = 0;
+        for (int from = 0; from < due.size(); from += PROMOTE_CHUNK_SIZE) {
+            List<Long> ids = due.subList(from, Math.min(from + PROMOTE_CHUNK_SIZE, due.size())).stream().map(Entry::id).toList();
+            Integer updated = transactionTemplate.execute(status -> emailQueueRepository.promoteScheduled(ids, now));
+            promoted += updated != null ? updated : 0;
+        }
+        if (promoted > 0) {
+            due.forEach(entry -> firingLateness.record(Duration.between(entry.scheduledAt(), now)));
+            log.info("예약 시각이 된 이메일 {}개를 발송 대기로 전환했습니다", promoted);
+            eventPublisher.publishEvent(new EmailQueuedEvent(EmailQueuedEvent.Source.SCHEDULED, promoted));
+        }
+        return promoted;
+    }
+
+    /**
+     * 한도를 넘으면 가장 늦은 메일부터 버림 (다음 읽기에서 앞쪽 scheduleMaxLoaded 건 안에 들면 다시 올라옴)
+     */
+    private void trim() {
+        int maxLoaded = Math.max(1, sendMailBatchProperties.getScheduleMaxLoaded());
+        while (entries.size() > maxLoaded) {
+            entriesById.remove(entries.pollLast().id());
+        }
+    }
+
+    /**
+     * id당 하나만 유지 (예약 시각이 바뀌었으면 새 시각으로 교체)
+     */
+    private void add(long id, LocalDateTime scheduledAt) {
+        Entry entry = new Entry(id, scheduledAt, toEpochMillis(scheduledAt));
+        Entry previous = entriesById.put(id, entry);
+        if (previous != null) {
+            entries.remove(previous);
+        }
+        entries.add(entry);
+    }
+
+    /**
+     * 밀리초 미만은 올림 (DB의 scheduledAt보다 먼저 전환을 시도하지 않도록)
+     */
+    private long toEpochMillis(LocalDateTime dateTime) {
+        Instant instant = dateTime.atZone(clock.getZone()).toInstant();
+        return instant.toEpochMilli() + (instant.getNano() % 1_000_000 != 0 ? 1 : 0);
+    }
+
+    private record Entry(long id, LocalDateTime scheduledAt, long dueMillis) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.samsungds.ims.mail.service;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 발송률 제한(전역/발신자별 토큰 버킷, Knox API 한도 초과 응답)으로 지금 발송할 수 없음
+ * 재시도 횟수를 늘리지 않고 retryAfter 뒤로 발송을 미룹니다.
+ */
+@Getter
+public class SendThrottledException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public SendThrottledException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
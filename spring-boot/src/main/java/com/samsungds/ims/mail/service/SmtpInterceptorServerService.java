@@ -2,21 +2,49 @@ package com.samsungds.ims.mail.service;
 
 import com.samsungds.ims.mail.component.SmtpInterceptorProperties;
 import com.samsungds.ims.mail.component.SmtpMessageHandlerFactory;
+import com.samsungds.ims.mail.util.VirtualThreads;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.subethamail.smtp.server.SMTPServer;
 
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SMTP 서버 시작/중지
+ * <p>
+ * 설정(listener)에 따라 SubEthaSMTP(연결마다 세션 스레드) 또는 Netty 이벤트 루프 리스너를 사용합니다.
+ * SubEthaSMTP의 세션, Netty 리스너의 핸들러 호출은 서버 시작 시 만든 ExecutorService에서 실행되며, 설정에 따라 플랫폼 스레드 풀 또는
+ * 가상 스레드(JDK 21 이상)를 사용합니다. 동시 연결 수, 연결별 읽기 제한 시간, 최대 메시지 크기를 설정으로 제한하고
+ * 현재 연결 수(mail.smtp.connections.active)와 세션 유지 시간(mail.smtp.session.duration)을 기록합니다.
+ */
 @Service
 @Slf4j
 public class SmtpInterceptorServerService {
     private final SmtpMessageHandlerFactory messageHandlerFactory;
     private final SmtpInterceptorProperties smtpInterceptorProperties;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final Timer sessionTimer;
     private SMTPServer smtpServer;
+    private NettySmtpServer nettySmtpServer;
     private boolean running = false;
 
-    public SmtpInterceptorServerService(SmtpMessageHandlerFactory messageHandlerFactory, SmtpInterceptorProperties smtpInterceptorProperties) {
+    public SmtpInterceptorServerService(SmtpMessageHandlerFactory messageHandlerFactory, SmtpInterceptorProperties smtpInterceptorProperties,
+                                        MeterRegistry meterRegistry) {
         this.messageHandlerFactory = messageHandlerFactory;
         this.smtpInterceptorProperties = smtpInterceptorProperties;
+        Gauge.builder("mail.smtp.connections.active", activeSessions, AtomicInteger::get)
+                .description("현재 처리 중인 SMTP 연결 수").register(meterRegistry);
+        this.sessionTimer = Timer.builder("mail.smtp.session.duration")
+                .description("SMTP 연결 수립부터 종료까지의 시간").register(meterRegistry);
     }
 
     public synchronized void startSmtpServer() {
@@ -27,20 +55,30 @@ public class SmtpInterceptorServerService {
 
         try {
             int port = smtpInterceptorProperties.getPort();
-            smtpServer = new SMTPServer(messageHandlerFactory);
-            smtpServer.setPort(port);
-            smtpServer.start();
+            // 실행기는 서버 중지 시 함께 종료되므로 시작할 때마다 새로 생성
+            if (smtpInterceptorProperties.getListener() == SmtpInterceptorProperties.SmtpListener.NETTY) {
+                nettySmtpServer = new NettySmtpServer(messageHandlerFactory, createSessionExecutor("smtp-handler-"));
+                nettySmtpServer.setPort(port);
+                nettySmtpServer.setMaxMessageSize(smtpInterceptorProperties.getMaxMessageSize());
+                nettySmtpServer.setMaxConnections(smtpInterceptorProperties.getMaxConnections());
+                nettySmtpServer.setConnectionTimeout(smtpInterceptorProperties.getConnectionTimeoutMillis());
+                nettySmtpServer.setSessionListener(new MeteredSessionListener());
+                nettySmtpServer.start();
+            } else {
+                smtpServer = new SMTPServer(messageHandlerFactory, null, new MeteredSessionExecutor(createSessionExecutor("smtp-session-")));
+                smtpServer.setPort(port);
+                smtpServer.setMaxMessageSize(smtpInterceptorProperties.getMaxMessageSize());
+                smtpServer.setMaxConnections(smtpInterceptorProperties.getMaxConnections());
+                smtpServer.setConnectionTimeout(smtpInterceptorProperties.getConnectionTimeoutMillis());
+                smtpServer.start();
+            }
             running = true;
-            log.info("SMTP 서버가 시작되었습니다. (포트: {})", port);
+            log.info("SMTP 서버가 시작되었습니다. (리스너: {}, 포트: {}, 최대 연결: {}, 연결 제한 시간: {}ms)",
+                    smtpInterceptorProperties.getListener(), port, smtpInterceptorProperties.getMaxConnections(),
+                    smtpInterceptorProperties.getConnectionTimeoutMillis());
         } catch (Exception e) {
             log.error("SMTP 서버 시작 중 오류 발생", e);
-            if (smtpServer != null) {
-                try {
-                    smtpServer.stop();
-                } catch (Exception ex) {
-                    log.error("SMTP 서버 정리 중 오류 발생", ex);
-                }
-            }
+            stopServers();
             running = false;
         }
 
@@ -52,21 +90,117 @@ public class SmtpInterceptorServerService {
             return;
         }
 
+        try {
+            stopServers();
+        } finally {
+            running = false;
+            log.info("SMTP 서버가 종료되었습니다.");
+        }
+
+    }
+
+    public boolean isRunning() {
+        SMTPServer subEthaServer = smtpServer;
+        NettySmtpServer nettyServer = nettySmtpServer;
+        return (subEthaServer != null && subEthaServer.isRunning()) || (nettyServer != null && nettyServer.isRunning());
+    }
+
+    public int getActiveConnections() {
+        return activeSessions.get();
+    }
+
+    private void stopServers() {
         try {
             if (smtpServer != null) {
                 smtpServer.stop();
-                smtpServer = null;
+            }
+            if (nettySmtpServer != null) {
+                nettySmtpServer.stop();
             }
         } catch (Exception e) {
             log.error("SMTP 서버 종료 중 오류 발생", e);
         } finally {
-            running = false;
-            log.info("SMTP 서버가 종료되었습니다.");
+            smtpServer = null;
+            nettySmtpServer = null;
         }
+    }
 
+    private ExecutorService createSessionExecutor(String threadNamePrefix) {
+        if (smtpInterceptorProperties.isVirtualThreadSessions()) {
+            ExecutorService virtualExecutor = VirtualThreads.newThreadPerTaskExecutor(threadNamePrefix).orElse(null);
+            if (virtualExecutor != null) {
+                log.info("SMTP 세션을 가상 스레드로 실행합니다.");
+                return virtualExecutor;
+            }
+            log.warn("현재 JDK({})는 가상 스레드를 지원하지 않아 플랫폼 스레드로 SMTP 세션을 실행합니다.", Runtime.version());
+        }
+        // 동시 연결 수는 각 서버가 maxConnections로 제한
+        return Executors.newCachedThreadPool(new CustomizableThreadFactory(threadNamePrefix));
     }
 
-    public boolean isRunning() {
-        return smtpServer != null && smtpServer.isRunning();
+    /**
+     * Netty 리스너의 연결 수와 세션 시간 기록
+     */
+    private final class MeteredSessionListener implements NettySmtpServer.SessionListener {
+        @Override
+        public void sessionOpened() {
+            activeSessions.incrementAndGet();
+        }
+
+        @Override
+        public void sessionClosed(long durationNanos) {
+            sessionTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * SMTP 세션 하나(Session.run)를 작업 하나로 보고 연결 수와 세션 시간을 기록하는 실행기
+     */
+    private final class MeteredSessionExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+
+        private MeteredSessionExecutor(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable session) {
+            delegate.execute(() -> {
+                activeSessions.incrementAndGet();
+                Timer.Sample sample = Timer.start();
+                try {
+                    session.run();
+                } finally {
+                    sample.stop(sessionTimer);
+                    activeSessions.decrementAndGet();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
     }
 }
\ No newline at end of file
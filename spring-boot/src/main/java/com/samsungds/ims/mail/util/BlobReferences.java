@@ -0,0 +1,181 @@
+package com.samsungds.ims.mail.util;
+
+import java.io.*;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * HTML 본문 안의 블롭 참조 생성 및 해석
+ * <p>
+ * 인라인 이미지는 {@code /api/blobs/<블롭 ID>?type=<MIME 타입>} 형식의 URL로 본문에 남습니다.
+ * 화면에서는 이 URL로 이미지를 조회하고, 발송 시에는 {@link #resolve}가 본문을 스트리밍하면서
+ * 참조를 {@code data:<MIME 타입>;base64,...} URI로 바꿔 씁니다. 이미지 데이터는 메모리에 모으지 않고 바로 인코딩됩니다.
+ */
+public final class BlobReferences {
+    public static final String PREFIX = "/api/blobs/";
+    private static final String TYPE_PARAM = "?type=";
+    private static final int BLOB_ID_LENGTH = 64;
+    private static final int MAX_TYPE_LENGTH = 128;
+    private static final int[] PREFIX_FAILURE = failureTable(PREFIX);
+
+    private BlobReferences() {
+    }
+
+    public static String reference(String blobId, String mimeType) {
+        return PREFIX + blobId + TYPE_PARAM + URLEncoder.encode(mimeType, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 블롭 데이터를 여는 함수
+     */
+    @FunctionalInterface
+    public interface BlobOpener {
+        /**
+         * @return 블롭이 없으면 null
+         */
+        InputStream open(String blobId) throws IOException;
+    }
+
+    /**
+     * 본문을 복사하면서 블롭 참조를 data URI로 치환
+     */
+    public static void resolve(Reader source, Writer out, BlobOpener opener) throws IOException {
+        PushbackReader in = new PushbackReader(source instanceof BufferedReader ? source : new BufferedReader(source), 1);
+        int matched = 0;
+        int c;
+        while ((c = in.read()) != -1) {
+            while (matched > 0 && c != PREFIX.charAt(matched)) {
+                // 일치한 접두사 중 다시 시작할 수 있는 부분만 남기고 출력
+                int fallback = PREFIX_FAILURE[matched - 1];
+                out.write(PREFIX, 0, matched - fallback);
+                matched = fallback;
+            }
+            if (c != PREFIX.charAt(matched)) {
+                out.write(c);
+                continue;
+            }
+            matched++;
+            if (matched == PREFIX.length()) {
+                resolveReference(in, out, opener);
+                matched = 0;
+            }
+        }
+        out.write(PREFIX, 0, matched);
+    }
+
+    // 접두사 이후: <블롭 ID 64자>?type=<MIME 타입>
+    private static void resolveReference(PushbackReader in, Writer out, BlobOpener opener) throws IOException {
+        StringBuilder consumed = new StringBuilder(BLOB_ID_LENGTH + TYPE_PARAM.length() + 32);
+        for (int i = 0; i < BLOB_ID_LENGTH; i++) {
+            int c = in.read();
+            if (!isHex(c)) {
+                unread(in, c);
+                out.write(PREFIX);
+                out.append(consumed);
+                return;
+            }
+            consumed.append((char) c);
+        }
+        String blobId = consumed.toString();
+        for (int i = 0; i < TYPE_PARAM.length(); i++) {
+            int c = in.read();
+            if (c != TYPE_PARAM.charAt(i)) {
+                unread(in, c);
+                out.write(PREFIX);
+                out.append(consumed);
+                return;
+            }
+            consumed.append((char) c);
+        }
+        StringBuilder type = new StringBuilder(32);
+        int c;
+        while ((c = in.read()) != -1 && isTypeChar(c) && type.length() < MAX_TYPE_LENGTH) {
+            type.append((char) c);
+        }
+        unread(in, c);
+        consumed.append(type);
+
+        String mimeType = URLDecoder.decode(type.toString(), StandardCharsets.UTF_8);
+        InputStream blob = mimeType.isEmpty() ? null : opener.open(blobId);
+        if (blob == null) {
+            out.write(PREFIX);
+            out.append(consumed);
+            return;
+        }
+        try (blob) {
+            out.write("data:");
+            out.write(mimeType);
+            out.write(";base64,");
+            OutputStream encoder = Base64.getEncoder().wrap(new AsciiWriterOutputStream(out));
+            blob.transferTo(encoder);
+            encoder.close();
+        }
+    }
+
+    private static void unread(PushbackReader in, int c) throws IOException {
+        if (c != -1) {
+            in.unread(c);
+        }
+    }
+
+    private static boolean isHex(int c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+    }
+
+    private static boolean isTypeChar(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '%' || c == '.' || c == '+' || c == '-' || c == '_';
+    }
+
+    // KMP 실패 함수
+    private static int[] failureTable(String pattern) {
+        int[] failure = new int[pattern.length()];
+        for (int i = 1, k = 0; i < pattern.length(); i++) {
+            while (k > 0 && pattern.charAt(i) != pattern.charAt(k)) {
+                k = failure[k - 1];
+            }
+            if (pattern.charAt(i) == pattern.charAt(k)) {
+                k++;
+            }
+            failure[i] = k;
+        }
+        return failure;
+    }
+
+    /**
+     * Base64 인코더 출력(ASCII)을 Writer로 전달, close 시 Writer는 닫지 않음
+     */
+    private static final class AsciiWriterOutputStream extends OutputStream {
+        private final Writer out;
+        private final char[] chars = new char[1024];
+
+        private AsciiWriterOutputStream(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = Math.min(len, chars.length);
+                for (int i = 0; i < n; i++) {
+                    chars[i] = (char) b[off + i];
+                }
+                out.write(chars, 0, n);
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void close() {
+            // Writer는 호출자가 관리
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.samsungds.ims.mail.util;
+
+/**
+ * 문자열 키용 블룸 필터
+ * <p>
+ * {@link #mightContain}이 false이면 해당 키는 추가된 적이 없음이 보장되고, true이면 오탐 확률(fpp)만큼 틀릴 수 있습니다.
+ * 키가 16진수 해시(SHA-256 등)이면 앞 32자리를 두 개의 64비트 해시로 그대로 사용하고,
+ * 그 외의 키는 문자열 해시를 섞어 사용합니다(Kirsch-Mitzenmacher 이중 해싱). 조회와 추가는 객체를 할당하지 않습니다.
+ * 동기화하지 않으므로 여러 스레드에서 사용할 때는 호출자가 동기화해야 합니다.
+ */
+public final class BloomFilter {
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long expectedInsertions;
+    private long insertions;
+
+    /**
+     * @param expectedInsertions 예상 키 수
+     * @param fpp                예상 키 수만큼 추가했을 때의 오탐 확률 (0 &lt; fpp &lt; 1)
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("잘못된 블룸 필터 설정: expectedInsertions=" + expectedInsertions + ", fpp=" + fpp);
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) >>> 6))];
+        this.bitCount = (long) bits.length << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    public void put(String key) {
+        long h1 = hash1(key);
+        long h2 = hash2(key, h1);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+        insertions++;
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash1(key);
+        long h2 = hash2(key, h1);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 추가된 키 수 (중복 포함)
+     */
+    public long getInsertions() {
+        return insertions;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * 예상 키 수를 넘어 오탐 확률이 설계값보다 커졌는지 여부
+     */
+    public boolean isSaturated() {
+        return insertions > expectedInsertions;
+    }
+
+    private static long hash1(String key) {
+        long parsed = parseHex(key, 0);
+        return parsed != -1 ? parsed : mix(key.hashCode() * 0x9E3779B97F4A7C15L + key.length());
+    }
+
+    private static long hash2(String key, long h1) {
+        long parsed = parseHex(key, 16);
+        // 두 번째 해시가 0이면 모든 인덱스가 같아지므로 홀수로 보정
+        return (parsed != -1 ? parsed : mix(h1 ^ 0xC2B2AE3D27D4EB4FL)) | 1L;
+    }
+
+    // key[offset, offset+16)을 16진수로 해석, 16진수가 아니면 -1
+    private static long parseHex(String key, int offset) {
+        if (key.length() < offset + 16) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = offset; i < offset + 16; i++) {
+            int digit = Character.digit(key.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        // 우연히 -1인 해시 값은 문자열 해시 경로로 처리
+        return value;
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb34fe1a85ec3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
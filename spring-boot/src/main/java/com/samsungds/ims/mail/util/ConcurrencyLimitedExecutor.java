@@ -0,0 +1,95 @@
+package com.samsungds.ims.mail.util;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 동시 실행 수를 스레드 수 대신 세마포어로 제한하는 실행기
+ * <p>
+ * 작업마다 스레드를 만드는 실행기(가상 스레드 등)에 작업을 넘기며, 실행 중인 작업이 limit 개이면
+ * acquireTimeoutMillis 동안 빈 자리를 기다린 뒤 {@link RejectedExecutionException}으로 거부합니다.
+ */
+public class ConcurrencyLimitedExecutor implements Executor {
+    private static final long SHUTDOWN_AWAIT_SECONDS = 60;
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int limit;
+    private final long acquireTimeoutMillis;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public ConcurrencyLimitedExecutor(ExecutorService delegate, int limit, long acquireTimeoutMillis) {
+        this.delegate = delegate;
+        this.limit = Math.max(1, limit);
+        this.permits = new Semaphore(this.limit);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        boolean acquired;
+        waiting.incrementAndGet();
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new RejectedExecutionException("동시 실행 제한(" + limit + ")을 초과하여 작업을 거부합니다.");
+        }
+
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getActiveCount() {
+        return limit - permits.availablePermits();
+    }
+
+    /**
+     * 빈 자리를 기다리고 있는 호출 수
+     */
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 새 작업을 받지 않고 실행 중인 작업이 끝나기를 최대 60초 기다림
+     */
+    public void shutdown() {
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(SHUTDOWN_AWAIT_SECONDS, TimeUnit.SECONDS)) {
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            delegate.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.samsungds.ims.mail.util;
+
+/**
+ * 한도를 실행 중에 바꿀 수 있는 동시 실행 창
+ * <p>
+ * 진행 중인 작업 수가 limit보다 작을 때만 자리를 내주며, 한도를 줄이면 진행 중인 작업이 끝나 한도 아래로 내려갈 때까지 새 자리를 내주지 않습니다.
+ */
+public final class ConcurrencyWindow {
+    private int limit;
+    private int inFlight;
+
+    public ConcurrencyWindow(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    public synchronized void setLimit(int limit) {
+        this.limit = Math.max(1, limit);
+        notifyAll();
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * 빈 자리가 생길 때까지 기다린 뒤 최대 max 개의 자리를 확보
+     *
+     * @return 확보한 자리 수 (1 이상)
+     */
+    public synchronized int acquireUpTo(int max) throws InterruptedException {
+        while (inFlight >= limit) {
+            wait();
+        }
+        int acquired = Math.max(1, Math.min(max, limit - inFlight));
+        inFlight += acquired;
+        return acquired;
+    }
+
+    public synchronized void release(int count) {
+        if (count <= 0) {
+            return;
+        }
+        inFlight = Math.max(0, inFlight - count);
+        notifyAll();
+    }
+
+    /**
+     * 진행 중인 작업이 모두 끝날 때까지 최대 timeoutMillis 동안 대기
+     *
+     * @return 모두 끝났으면 true
+     */
+    public synchronized boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (inFlight > 0) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,168 @@
+package com.samsungds.ims.mail.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * SHA-256 해시를 키로 파일을 저장하는 내용 주소(content-addressed) 디렉토리
+ * <p>
+ * 임시 파일에 기록하면서 해시를 계산한 뒤, 같은 내용이 없을 때만 {@code objects/<해시 앞 2자리>/<해시>}로 원자적으로 이동합니다.
+ * 이미 있는 내용이면 임시 파일을 버리므로 같은 내용은 한 번만 저장됩니다.
+ * <p>
+ * {@link #put}은 저장한 객체를 {@link PinRegistry}에 표시하며, 호출자는 참조를 커밋하면 {@link #release},
+ * 실패하면 {@link #discard}로 해제해야 합니다. 표시된 객체는 {@link #deleteIfUnpinned}로 삭제되지 않습니다.
+ */
+public class ContentAddressedStore {
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-f]{64}");
+    private static final String OBJECTS_DIR = "objects";
+    private static final String TEMP_DIR = "tmp";
+
+    private final Path objectsDir;
+    private final Path tempDir;
+    private final PinRegistry<String> pins = new PinRegistry<>();
+
+    public ContentAddressedStore(Path root) throws IOException {
+        this.objectsDir = root.resolve(OBJECTS_DIR);
+        this.tempDir = root.resolve(TEMP_DIR);
+        Files.createDirectories(objectsDir);
+        Files.createDirectories(tempDir);
+    }
+
+    /**
+     * 스트림 내용을 저장하고 객체를 표시 (존재 확인 전에 표시하므로 그 사이 삭제되지 않음)
+     */
+    public PutResult put(InputStream data) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "object-", ".tmp");
+        try {
+            MessageDigest digest = newDigest();
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                size = data.transferTo(out);
+            }
+            String id = HexFormat.of().formatHex(digest.digest());
+            pins.pin(id);
+            try {
+                return new PutResult(id, size, publish(temp, resolve(id)));
+            } catch (IOException | RuntimeException e) {
+                pins.unpin(id);
+                throw e;
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 참조가 커밋된 객체의 표시 해제
+     */
+    public void release(PutResult result) {
+        pins.unpin(result.getId());
+    }
+
+    /**
+     * 참조를 저장하지 못한 객체의 표시를 해제하고, 이 호출자가 새로 만들었으며 그동안 다른 쪽이 사용하지 않았으면 삭제
+     */
+    public void discard(PutResult result) {
+        if (!result.isCreated()) {
+            pins.unpin(result.getId());
+            return;
+        }
+        pins.unpinAndRunIfExclusive(result.getId(), () -> deleteUnchecked(resolve(result.getId())));
+    }
+
+    /**
+     * 저장 중인 쪽이 없을 때만 객체 삭제 (참조 수가 0이 된 원본 정리용)
+     *
+     * @return 삭제를 시도했으면 true
+     */
+    public boolean deleteIfUnpinned(String id) {
+        return pins.runIfUnpinned(id, () -> deleteUnchecked(resolve(id)));
+    }
+
+    // 같은 내용이 없으면 임시 파일을 객체 경로로 이동, 새로 만들었으면 true
+    private boolean publish(Path temp, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 다른 스레드가 같은 내용을 먼저 저장함
+            return false;
+        }
+        return true;
+    }
+
+    public InputStream open(String id) throws IOException {
+        return Files.newInputStream(resolve(id));
+    }
+
+    public boolean exists(String id) {
+        return isValidId(id) && Files.exists(resolve(id));
+    }
+
+    public long size(String id) throws IOException {
+        return Files.size(resolve(id));
+    }
+
+    public boolean delete(String id) throws IOException {
+        return Files.deleteIfExists(resolve(id));
+    }
+
+    public Path resolve(String id) {
+        if (!isValidId(id)) {
+            throw new IllegalArgumentException("잘못된 객체 ID: " + id);
+        }
+        return objectsDir.resolve(id.substring(0, 2)).resolve(id);
+    }
+
+    /**
+     * 경로가 이 저장소의 원본 파일인지 확인
+     */
+    public boolean isObjectPath(Path path) {
+        return path.toAbsolutePath().normalize().startsWith(objectsDir.toAbsolutePath().normalize());
+    }
+
+    public static boolean isValidId(String id) {
+        return id != null && OBJECT_ID.matcher(id).matches();
+    }
+
+    private static void deleteUnchecked(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 저장 결과
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class PutResult {
+        private final String id;
+        private final long size;
+        private final boolean created;  // false이면 이미 같은 내용이 저장되어 있었음
+    }
+}
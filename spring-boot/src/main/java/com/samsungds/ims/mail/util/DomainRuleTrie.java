@@ -0,0 +1,223 @@
+package com.samsungds.ims.mail.util;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이메일 도메인 허용/차단 규칙을 라벨 역순으로 구성한 해시 트라이
+ * <p>
+ * "partner.samsung.com" 규칙은 com → samsung → partner 순서의 노드가 됩니다.
+ * 조회는 주소의 도메인 부분을 오른쪽 라벨부터 따라 내려가며 가장 긴(가장 구체적인) 규칙을 적용하므로
+ * 라벨 수에 비례하는 시간이 걸리고, 부분 문자열을 만들지 않아 객체를 할당하지 않습니다.
+ * 라벨 단위로 비교하므로 "samsung.com" 규칙은 "evilsamsung.com"과 일치하지 않습니다.
+ * <p>
+ * 규칙 형식: "samsung.com"은 해당 도메인과 모든 하위 도메인, "=samsung.com"은 해당 도메인만 적용합니다.
+ * 같은 도메인에 허용과 차단 규칙이 모두 있으면 차단이 우선합니다.
+ * 구성이 끝난 인스턴스는 변경되지 않으므로 여러 스레드에서 동시에 조회할 수 있습니다.
+ */
+public final class DomainRuleTrie {
+    public static final String EXACT_PREFIX = "=";
+
+    private final Node root;
+    private final int ruleCount;
+
+    private DomainRuleTrie(Node root, int ruleCount) {
+        this.root = root;
+        this.ruleCount = ruleCount;
+    }
+
+    public static DomainRuleTrie compile(List<String> allowRules, List<String> denyRules) {
+        BuildNode buildRoot = new BuildNode();
+        int count = 0;
+        for (String rule : allowRules) {
+            count += addRule(buildRoot, rule, Verdict.ALLOW) ? 1 : 0;
+        }
+        for (String rule : denyRules) {
+            count += addRule(buildRoot, rule, Verdict.DENY) ? 1 : 0;
+        }
+        return new DomainRuleTrie(buildRoot.freeze(), count);
+    }
+
+    /**
+     * 이메일 주소(또는 도메인)에 적용되는 규칙 조회
+     *
+     * @return 일치하는 규칙이 없으면 {@link Verdict#NONE}
+     */
+    public Verdict lookup(String address) {
+        if (address == null) {
+            return Verdict.NONE;
+        }
+        int end = address.length();
+        // "<user@domain>" 형식과 FQDN 끝의 점 허용
+        while (end > 0 && (address.charAt(end - 1) == '>' || address.charAt(end - 1) == '.')) {
+            end--;
+        }
+        int start = address.lastIndexOf('@', end - 1) + 1;
+        if (start >= end) {
+            return Verdict.NONE;
+        }
+
+        Verdict best = Verdict.NONE;
+        Node node = root;
+        int labelEnd = end;
+        while (labelEnd > start) {
+            int dot = address.lastIndexOf('.', labelEnd - 1);
+            int labelStart = Math.max(dot + 1, start);
+            node = node.child(address, labelStart, labelEnd);
+            if (node == null) {
+                return best;
+            }
+            if (labelStart == start) {
+                // 도메인 전체가 일치: 해당 도메인 전용 규칙이 가장 구체적
+                return node.exact != Verdict.NONE ? node.exact : (node.subtree != Verdict.NONE ? node.subtree : best);
+            }
+            if (node.subtree != Verdict.NONE) {
+                best = node.subtree;
+            }
+            labelEnd = dot;
+        }
+        return best;
+    }
+
+    public boolean isAllowed(String address) {
+        return lookup(address) == Verdict.ALLOW;
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    private static boolean addRule(BuildNode root, String rule, Verdict verdict) {
+        if (rule == null) {
+            return false;
+        }
+        String value = foldCase(rule.trim());
+        boolean exact = value.startsWith(EXACT_PREFIX);
+        if (exact) {
+            value = value.substring(EXACT_PREFIX.length()).trim();
+        }
+        // "@samsung.com", ".samsung.com" 형식도 허용
+        while (value.startsWith("@") || value.startsWith(".")) {
+            value = value.substring(1);
+        }
+        while (value.endsWith(".")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        if (value.isEmpty()) {
+            return false;
+        }
+
+        String[] labels = value.split("\\.");
+        BuildNode node = root;
+        for (int i = labels.length - 1; i >= 0; i--) {
+            if (labels[i].isEmpty()) {
+                return false;
+            }
+            node = node.children.computeIfAbsent(labels[i], k -> new BuildNode());
+        }
+        if (exact) {
+            node.exact = Verdict.stronger(node.exact, verdict);
+        } else {
+            node.subtree = Verdict.stronger(node.subtree, verdict);
+        }
+        return true;
+    }
+
+    // 대소문자 무시 해시 (할당 없음)
+    // 라벨 비교(String.regionMatches(true, ...))와 같은 문자 단위 변환을 사용하므로 같다고 판단되는 라벨은 해시도 같음
+    private static int hash(String source, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + fold(source.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    // 규칙 라벨 정규화: 문자 단위로 변환하여 길이가 바뀌지 않음 (String.toLowerCase는 로캘/문자에 따라 길이가 바뀔 수 있음)
+    private static String foldCase(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    public enum Verdict {
+        NONE,
+        ALLOW,
+        DENY;
+
+        private static Verdict stronger(Verdict current, Verdict candidate) {
+            return current == DENY || candidate == DENY ? DENY : candidate;
+        }
+    }
+
+    /**
+     * 조회용 노드: 자식 라벨을 개방 주소법 해시 테이블로 보관
+     */
+    private static final class Node {
+        private final String[] labels;
+        private final Node[] children;
+        private final int mask;
+        private final Verdict subtree;
+        private final Verdict exact;
+
+        private Node(String[] labels, Node[] children, Verdict subtree, Verdict exact) {
+            this.labels = labels;
+            this.children = children;
+            this.mask = labels.length - 1;
+            this.subtree = subtree;
+            this.exact = exact;
+        }
+
+        private Node child(String source, int start, int end) {
+            if (labels.length == 0) {
+                return null;
+            }
+            int length = end - start;
+            for (int i = hash(source, start, end) & mask; ; i = (i + 1) & mask) {
+                String label = labels[i];
+                if (label == null) {
+                    return null;
+                }
+                if (label.length() == length && label.regionMatches(true, 0, source, start, length)) {
+                    return children[i];
+                }
+            }
+        }
+    }
+
+    private static final class BuildNode {
+        private final Map<String, BuildNode> children = new LinkedHashMap<>();
+        private Verdict subtree = Verdict.NONE;
+        private Verdict exact = Verdict.NONE;
+
+        private Node freeze() {
+            if (children.isEmpty()) {
+                return new Node(new String[0], new Node[0], subtree, exact);
+            }
+            // 적재율 0.5 이하의 2의 거듭제곱 크기
+            int capacity = Integer.highestOneBit(Math.max(2, children.size() * 2 - 1)) << 1;
+            String[] labels = new String[capacity];
+            Node[] nodes = new Node[capacity];
+            for (Map.Entry<String, BuildNode> entry : children.entrySet()) {
+                String label = entry.getKey();
+                int i = hash(label, 0, label.length()) & (capacity - 1);
+                while (labels[i] != null) {
+                    i = (i + 1) & (capacity - 1);
+                }
+                labels[i] = label;
+                nodes[i] = entry.getValue().freeze();
+            }
+            return new Node(labels, nodes, subtree, exact);
+        }
+    }
+}
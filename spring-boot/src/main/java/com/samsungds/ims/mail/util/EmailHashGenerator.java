@@ -1,11 +1,19 @@
 package com.samsungds.ims.mail.util;
 
-import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
 
+/**
+ * 메일 본문 중복 판별용 SHA-256 해시 생성기
+ * <p>
+ * 본문 전체를 UTF-8 바이트 배열로 복사하지 않고 고정 크기 버퍼 단위로 인코딩하면서 다이제스트를 갱신합니다.
+ * MessageDigest와 버퍼는 스레드별로 재사용하며 결과는 {@code body.getBytes(UTF_8)}의 해시와 같습니다.
+ */
 public class EmailHashGenerator {
+    private static final int BUFFER_SIZE = 8192;
+    private static final HexFormat HEX = HexFormat.of();
+    private static final ThreadLocal<Hasher> HASHER = ThreadLocal.withInitial(Hasher::new);
 
     /**
      * 주어진 문자열(메일 본문)로부터 SHA-256 해시 값을 생성합니다.
@@ -13,54 +21,71 @@ public class EmailHashGenerator {
      * @param emailBody 해시 값을 생성할 메일 본문 문자열
      * @return 생성된 SHA-256 해시 값 (16진수 문자열), 또는 입력이 null이면 null
      */
-    public static String generateSha256Hash(String emailBody) {
+    public static String generateSha256Hash(CharSequence emailBody) {
         if (emailBody == null) {
             return null;
         }
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] encodedhash = digest.digest(
-                    emailBody.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(encodedhash);
-        } catch (NoSuchAlgorithmException e) {
-            // SHA-256은 표준 알고리즘이므로 이 예외는 거의 발생하지 않습니다.
-            // 실제 애플리케이션에서는 적절한 로깅 및 예외 처리가 필요합니다.
-            // 여기서는 간단히 RuntimeException으로 처리합니다.
-            throw new RuntimeException("SHA-256 알고리즘을 찾을 수 없습니다.", e);
-        }
+        return HEX.formatHex(HASHER.get().digest(emailBody));
     }
 
     /**
-     * 바이트 배열을 16진수 문자열로 변환합니다.
-     *
-     * @param hash 변환할 바이트 배열
-     * @return 16진수 문자열
+     * 스레드별로 재사용하는 다이제스트와 인코딩 버퍼
      */
-    private static String bytesToHex(byte[] hash) {
-        // Java 17 이상인 경우 HexFormat 사용
-        if (isJava17OrLater()) {
-            return HexFormat.of().formatHex(hash);
-        } else {
-            // 이전 Java 버전의 경우 수동 변환
-            StringBuilder hexString = new StringBuilder(2 * hash.length);
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
+    private static final class Hasher {
+        private final MessageDigest digest;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private Hasher() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                // SHA-256은 모든 JDK가 제공해야 하는 표준 알고리즘
+                throw new IllegalStateException("SHA-256 알고리즘을 찾을 수 없습니다.", e);
             }
-            return hexString.toString();
         }
-    }
 
-    private static boolean isJava17OrLater() {
-        try {
-            // HexFormat 클래스가 있는지 확인하여 Java 17 이상인지 간접적으로 판단
-            Class.forName("java.util.HexFormat");
-            return true;
-        } catch (ClassNotFoundException e) {
-            return false;
+        // UTF-8로 직접 인코딩 (CharsetEncoder는 CharBuffer 경유로 느림), 짝이 없는 서로게이트는 String.getBytes(UTF_8)와 같이 '?'
+        private byte[] digest(CharSequence text) {
+            digest.reset();
+            byte[] out = buffer;
+            int position = 0;
+            int length = text.length();
+            int i = 0;
+            while (i < length) {
+                if (position > BUFFER_SIZE - 4) {
+                    digest.update(out, 0, position);
+                    position = 0;
+                }
+                char c = text.charAt(i++);
+                if (c < 0x80) {
+                    out[position++] = (byte) c;
+                    // ASCII가 이어지는 동안은 버퍼 끝까지 바로 복사
+                    int limit = Math.min(length, i + BUFFER_SIZE - position);
+                    while (i < limit && (c = text.charAt(i)) < 0x80) {
+                        out[position++] = (byte) c;
+                        i++;
+                    }
+                } else if (c < 0x800) {
+                    out[position++] = (byte) (0xC0 | (c >> 6));
+                    out[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i < length && Character.isLowSurrogate(text.charAt(i))) {
+                        int codePoint = Character.toCodePoint(c, text.charAt(i++));
+                        out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                        out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                        out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                        out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                    } else {
+                        out[position++] = '?';
+                    }
+                } else {
+                    out[position++] = (byte) (0xE0 | (c >> 12));
+                    out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    out[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            digest.update(out, 0, position);
+            return digest.digest();
         }
     }
 
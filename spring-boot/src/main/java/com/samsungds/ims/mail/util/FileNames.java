@@ -0,0 +1,43 @@
+package com.samsungds.ims.mail.util;
+
+/**
+ * 첨부파일 이름 정제
+ * <p>
+ * 영문/숫자/{@code . - _}/한글(자모, 완성형) 외의 문자는 '_'로 바꾸고 200자로 자릅니다.
+ * 정규식({@code [^a-zA-Z0-9.\-_ㄱ-ㅎㅏ-ㅣ가-힣]})과 결과가 같으며, 코드 포인트 단위로 바꾸므로 서로게이트 쌍(이모지 등)도 '_' 하나가 됩니다.
+ */
+public final class FileNames {
+    private static final int MAX_LENGTH = 200;
+
+    private FileNames() {
+    }
+
+    public static String sanitize(String fileName) {
+        StringBuilder sanitized = null;
+        int length = fileName.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = fileName.codePointAt(i);
+            int next = i + Character.charCount(codePoint);
+            if (isAllowed(codePoint)) {
+                if (sanitized != null) {
+                    sanitized.appendCodePoint(codePoint);
+                }
+            } else {
+                if (sanitized == null) {
+                    // 처음 바꿀 문자가 나올 때까지는 복사하지 않음
+                    sanitized = new StringBuilder(length).append(fileName, 0, i);
+                }
+                sanitized.append('_');
+            }
+            i = next;
+        }
+        String result = sanitized != null ? sanitized.toString() : fileName;
+        return result.length() > MAX_LENGTH ? result.substring(0, MAX_LENGTH) : result;
+    }
+
+    private static boolean isAllowed(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '-' || c == '_'
+                || (c >= 'ㄱ' && c <= 'ㅎ') || (c >= 'ㅏ' && c <= 'ㅣ') || (c >= '가' && c <= '힣');
+    }
+}
@@ -0,0 +1,106 @@
+package com.samsungds.ims.mail.util;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.regex.Pattern;
+
+/**
+ * IP 주소 / CIDR 접두사 이진 트라이
+ * <p>
+ * "10.0.0.0/8", "12.127.176.145", "fd00::/8" 형식의 규칙을 비트 단위 트라이로 구성하여
+ * 주소 길이(32/128비트)에 비례하는 시간에 일치 여부를 판단합니다. IPv4와 IPv6는 별도 트리로 관리합니다.
+ * 구성이 끝난 뒤에는 읽기 전용으로 사용하며, 여러 스레드에서 동시에 조회할 수 있습니다.
+ */
+public class IpPrefixTrie {
+    private static final Pattern IPV4_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    private final Node ipv4Root = new Node();
+    private final Node ipv6Root = new Node();
+    private int size;
+
+    /**
+     * IP 또는 CIDR 규칙 추가
+     *
+     * @return IP 리터럴/CIDR 형식이 아니면 false (호스트명 등)
+     */
+    public boolean add(String rule) {
+        String value = rule.trim();
+        int slash = value.indexOf('/');
+        String address = slash >= 0 ? value.substring(0, slash) : value;
+        if (!isIpLiteral(address)) {
+            return false;
+        }
+
+        byte[] bytes;
+        try {
+            // 리터럴이므로 DNS 조회가 발생하지 않음
+            bytes = InetAddress.getByName(address).getAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+
+        int maxBits = bytes.length * 8;
+        int prefixLength = maxBits;
+        if (slash >= 0) {
+            try {
+                prefixLength = Integer.parseInt(value.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            if (prefixLength < 0 || prefixLength > maxBits) {
+                return false;
+            }
+        }
+
+        Node node = bytes.length == 4 ? ipv4Root : ipv6Root;
+        for (int i = 0; i < prefixLength && !node.terminal; i++) {
+            int bit = bit(bytes, i);
+            if (node.children[bit] == null) {
+                node.children[bit] = new Node();
+            }
+            node = node.children[bit];
+        }
+        node.terminal = true;
+        size++;
+        return true;
+    }
+
+    public boolean matches(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        Node node = bytes.length == 4 ? ipv4Root : ipv6Root;
+        int maxBits = bytes.length * 8;
+        for (int i = 0; ; i++) {
+            if (node.terminal) {
+                return true;
+            }
+            if (i == maxBits) {
+                return false;
+            }
+            node = node.children[bit(bytes, i)];
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public static boolean isIpLiteral(String value) {
+        return IPV4_LITERAL.matcher(value).matches() || value.indexOf(':') >= 0;
+    }
+
+    private static int bit(byte[] bytes, int index) {
+        return (bytes[index >>> 3] >>> (7 - (index & 7))) & 1;
+    }
+
+    private static final class Node {
+        private final Node[] children = new Node[2];
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,375 @@
+package com.samsungds.ims.mail.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Jira 알림 HTML 본문을 DOM 없이 한 번 훑는 스트리밍 토크나이저
+ * <p>
+ * 한 번의 순회에서 두 가지를 처리합니다.
+ * <ul>
+ *     <li>{@code #header-pattern} 요소 안의 첫 번째 {@code a.user-hover} 링크의 {@code rel} 값(Jira 사용자명) 추출</li>
+ *     <li>{@code <img src="cid:...">}의 src 값을 치환 맵의 URL로 교체</li>
+ * </ul>
+ * 태그와 속성 위치만 찾고 나머지 문자열은 원본 그대로 복사하므로 마크업이 바뀌지 않습니다.
+ * 치환할 항목이 없으면 출력 문자열을 만들지 않고 발신자를 찾는 즉시 종료합니다.
+ * <p>
+ * 주석, 선언(&lt;!...&gt;), script/style 등 원시 텍스트 요소의 내용은 태그로 해석하지 않습니다.
+ * 요소의 범위는 시작/종료 태그의 짝으로만 판단하며, 생략된 종료 태그를 보정하지는 않습니다.
+ */
+public final class JiraHtmlScanner {
+    public static final String HEADER_ID = "header-pattern";
+    public static final String USER_HOVER_CLASS = "user-hover";
+    private static final String CID_SCHEME = "cid:";
+
+    private static final Set<String> RAW_TEXT_ELEMENTS = Set.of("script", "style", "textarea", "title", "xmp", "iframe", "noembed", "noframes", "plaintext");
+    private static final Set<String> VOID_ELEMENTS = Set.of("area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "source", "track", "wbr");
+
+    private final String html;
+    private final Map<String, String> cidReplacements;
+    private final StringBuilder out;
+
+    private int pos;
+    private int flushed;
+    private String senderUserName;
+
+    // #header-pattern 요소 추적 (태그 이름과 같은 이름의 중첩 깊이)
+    private String headerTag;
+    private int headerDepth;
+
+    // 현재 태그의 관심 속성 위치 [시작, 끝), 없으면 -1
+    private int idStart, idEnd, classStart, classEnd, relStart, relEnd, srcStart, srcEnd;
+    private boolean srcQuoted;
+
+    private JiraHtmlScanner(String html, Map<String, String> cidReplacements) {
+        this.html = html;
+        this.cidReplacements = cidReplacements;
+        this.out = cidReplacements.isEmpty() ? null : new StringBuilder(html.length() + cidReplacements.size() * 64);
+    }
+
+    /**
+     * 본문을 훑어 발신자 사용자명을 찾고 CID 이미지 경로를 치환
+     *
+     * @param cidReplacements CID(접두사 "cid:" 제외) → 새 src 값
+     */
+    public static Result scan(String html, Map<String, String> cidReplacements) {
+        if (html == null) {
+            return new Result(null, null);
+        }
+        JiraHtmlScanner scanner = new JiraHtmlScanner(html, cidReplacements);
+        scanner.run();
+        if (scanner.out == null) {
+            return new Result(scanner.senderUserName, html);
+        }
+        scanner.out.append(html, scanner.flushed, html.length());
+        return new Result(scanner.senderUserName, scanner.out.toString());
+    }
+
+    /**
+     * {@code #header-pattern a.user-hover}의 rel 값만 추출
+     *
+     * @return 일치하는 링크가 없으면 null
+     */
+    public static String findSenderUserName(String html) {
+        return scan(html, Map.of()).getSenderUserName();
+    }
+
+    private void run() {
+        int length = html.length();
+        while (pos < length) {
+            int lt = html.indexOf('<', pos);
+            if (lt < 0 || lt + 1 >= length) {
+                return;
+            }
+            pos = lt + 1;
+            char c = html.charAt(pos);
+            if (c == '!') {
+                pos = html.startsWith("--", pos + 1) ? skipPast("-->", pos + 3) : skipPast(">", pos);
+            } else if (c == '?') {
+                pos = skipPast(">", pos);
+            } else if (c == '/') {
+                endTag();
+            } else if (isAsciiLetter(c)) {
+                startTag();
+                if (out == null && senderUserName != null) {
+                    return;
+                }
+            }
+            // 그 외의 '<'는 텍스트
+        }
+    }
+
+    private void startTag() {
+        int nameStart = pos;
+        int length = html.length();
+        while (pos < length && !isTagNameEnd(html.charAt(pos))) {
+            pos++;
+        }
+        String name = html.substring(nameStart, pos).toLowerCase(Locale.ROOT);
+
+        idStart = classStart = relStart = srcStart = -1;
+        boolean selfClosing = false;
+        while (pos < length) {
+            char c = html.charAt(pos);
+            if (c == '>') {
+                pos++;
+                break;
+            }
+            if (isWhitespace(c) || c == '/') {
+                selfClosing = c == '/';
+                pos++;
+                continue;
+            }
+            selfClosing = false;
+            attribute();
+        }
+
+        boolean hasContent = !selfClosing && !VOID_ELEMENTS.contains(name);
+        if (senderUserName == null) {
+            matchSender(name, hasContent);
+        }
+        if (srcStart >= 0 && out != null && name.equals("img")) {
+            replaceCid();
+        }
+        if (hasContent && RAW_TEXT_ELEMENTS.contains(name)) {
+            skipRawText(name);
+        }
+    }
+
+    private void attribute() {
+        int length = html.length();
+        int nameStart = pos;
+        while (pos < length && !isAttributeNameEnd(html.charAt(pos))) {
+            pos++;
+        }
+        int nameEnd = pos;
+        while (pos < length && isWhitespace(html.charAt(pos))) {
+            pos++;
+        }
+        if (pos >= length || html.charAt(pos) != '=') {
+            return; // 값 없는 속성
+        }
+        pos++;
+        while (pos < length && isWhitespace(html.charAt(pos))) {
+            pos++;
+        }
+        if (pos >= length) {
+            return;
+        }
+
+        int valueStart;
+        int valueEnd;
+        char quote = html.charAt(pos);
+        boolean quoted = quote == '"' || quote == '\'';
+        if (quoted) {
+            valueStart = pos + 1;
+            int close = html.indexOf(quote, valueStart);
+            valueEnd = close < 0 ? length : close;
+            pos = close < 0 ? length : close + 1;
+        } else {
+            valueStart = pos;
+            while (pos < length && !isWhitespace(html.charAt(pos)) && html.charAt(pos) != '>') {
+                pos++;
+            }
+            valueEnd = pos;
+        }
+
+        // 같은 이름의 속성이 여러 번 나오면 첫 번째 값 사용
+        int nameLength = nameEnd - nameStart;
+        if (nameLength == 2 && idStart < 0 && html.regionMatches(true, nameStart, "id", 0, 2)) {
+            idStart = valueStart;
+            idEnd = valueEnd;
+        } else if (nameLength == 5 && classStart < 0 && html.regionMatches(true, nameStart, "class", 0, 5)) {
+            classStart = valueStart;
+            classEnd = valueEnd;
+        } else if (nameLength == 3 && relStart < 0 && html.regionMatches(true, nameStart, "rel", 0, 3)) {
+            relStart = valueStart;
+            relEnd = valueEnd;
+        } else if (nameLength == 3 && srcStart < 0 && html.regionMatches(true, nameStart, "src", 0, 3)) {
+            srcStart = valueStart;
+            srcEnd = valueEnd;
+            srcQuoted = quoted;
+        }
+    }
+
+    private void matchSender(String name, boolean hasContent) {
+        if (headerTag == null) {
+            if (hasContent && idStart >= 0 && HEADER_ID.equals(decode(idStart, idEnd))) {
+                headerTag = name;
+                headerDepth = 1;
+            }
+            return;
+        }
+        if (name.equals("a") && classStart >= 0 && hasClass(classStart, classEnd)) {
+            senderUserName = relStart >= 0 ? decode(relStart, relEnd) : "";
+            return;
+        }
+        if (hasContent && name.equals(headerTag)) {
+            headerDepth++;
+        }
+    }
+
+    private void endTag() {
+        int nameStart = ++pos;
+        int length = html.length();
+        while (pos < length && !isTagNameEnd(html.charAt(pos))) {
+            pos++;
+        }
+        if (headerTag != null && senderUserName == null
+                && pos - nameStart == headerTag.length() && html.regionMatches(true, nameStart, headerTag, 0, headerTag.length())
+                && --headerDepth == 0) {
+            headerTag = null;
+        }
+        pos = skipPast(">", pos);
+    }
+
+    private void replaceCid() {
+        if (srcEnd - srcStart <= CID_SCHEME.length() || !html.regionMatches(true, srcStart, CID_SCHEME, 0, CID_SCHEME.length())) {
+            return;
+        }
+        String replacement = cidReplacements.get(decode(srcStart + CID_SCHEME.length(), srcEnd));
+        if (replacement == null) {
+            return;
+        }
+        out.append(html, flushed, srcStart);
+        if (srcQuoted) {
+            out.append(replacement);
+        } else {
+            out.append('"').append(replacement).append('"');
+        }
+        flushed = srcEnd;
+    }
+
+    // class 속성의 공백 구분 토큰 중 user-hover가 있는지 확인 (대소문자 무시, 문자 참조가 있으면 해석한 값으로 확인)
+    private boolean hasClass(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (html.charAt(i) == '&') {
+                String value = decode(start, end);
+                return hasClass(value, 0, value.length());
+            }
+        }
+        return hasClass(html, start, end);
+    }
+
+    private static boolean hasClass(String text, int start, int end) {
+        int i = start;
+        while (i < end) {
+            while (i < end && isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int tokenStart = i;
+            while (i < end && !isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i - tokenStart == USER_HOVER_CLASS.length()
+                    && text.regionMatches(true, tokenStart, USER_HOVER_CLASS, 0, USER_HOVER_CLASS.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void skipRawText(String name) {
+        int length = html.length();
+        while (pos < length) {
+            int lt = html.indexOf("</", pos);
+            if (lt < 0) {
+                pos = length;
+                return;
+            }
+            int nameEnd = lt + 2 + name.length();
+            if (html.regionMatches(true, lt + 2, name, 0, name.length()) && (nameEnd >= length || isTagNameEnd(html.charAt(nameEnd)))) {
+                pos = lt;
+                return;
+            }
+            pos = lt + 2;
+        }
+    }
+
+    private int skipPast(String terminator, int from) {
+        int index = html.indexOf(terminator, from);
+        return index < 0 ? html.length() : index + terminator.length();
+    }
+
+    // 속성 값의 문자 참조 해석 (자주 쓰이는 이름 참조와 숫자 참조만 지원)
+    private String decode(int start, int end) {
+        int amp = start;
+        while (amp < end && html.charAt(amp) != '&') {
+            amp++;
+        }
+        if (amp == end) {
+            return html.substring(start, end);
+        }
+        StringBuilder value = new StringBuilder(end - start);
+        int i = start;
+        while (i < end) {
+            char c = html.charAt(i);
+            int semicolon = c == '&' ? html.indexOf(';', i) : -1;
+            if (semicolon < 0 || semicolon >= end || semicolon - i > 10) {
+                value.append(c);
+                i++;
+                continue;
+            }
+            int codePoint = characterReference(html.substring(i + 1, semicolon));
+            if (codePoint < 0) {
+                value.append(c);
+                i++;
+                continue;
+            }
+            value.appendCodePoint(codePoint);
+            i = semicolon + 1;
+        }
+        return value.toString();
+    }
+
+    private static int characterReference(String entity) {
+        if (entity.startsWith("#")) {
+            try {
+                boolean hex = entity.length() > 1 && (entity.charAt(1) == 'x' || entity.charAt(1) == 'X');
+                int codePoint = Integer.parseInt(entity.substring(hex ? 2 : 1), hex ? 16 : 10);
+                return Character.isValidCodePoint(codePoint) ? codePoint : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        return switch (entity) {
+            case "amp" -> '&';
+            case "lt" -> '<';
+            case "gt" -> '>';
+            case "quot" -> '"';
+            case "apos" -> '\'';
+            case "nbsp" -> ' ';
+            default -> -1;
+        };
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+
+    private static boolean isTagNameEnd(char c) {
+        return isWhitespace(c) || c == '/' || c == '>';
+    }
+
+    private static boolean isAttributeNameEnd(char c) {
+        return isWhitespace(c) || c == '/' || c == '>' || c == '=';
+    }
+
+    /**
+     * 스캔 결과
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Result {
+        private final String senderUserName;   // 일치하는 링크가 없으면 null
+        private final String html;             // 치환할 CID가 없으면 원본 그대로
+    }
+}
@@ -0,0 +1,105 @@
+package com.samsungds.ims.mail.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.Part;
+import java.io.IOException;
+
+/**
+ * MIME 트리를 한 번만 순회하여 {@link ParsedEmail}을 생성합니다.
+ * <p>
+ * 각 멀티파트는 한 번만 디코딩되며, 본문(text/html, text/plain), CID 이미지, 첨부파일을
+ * 같은 순회에서 수집합니다. text/plain 본문은 HTML 본문이 없을 때만 디코딩합니다.
+ */
+@Slf4j
+public final class MimeMessageParser {
+
+    private static final String MIME_TEXT_PLAIN = "text/plain";
+    private static final String MIME_TEXT_HTML = "text/html";
+    private static final String MIME_MULTIPART_ANY = "multipart/*";
+
+    private MimeMessageParser() {
+    }
+
+    public static ParsedEmail parse(Part message) throws MessagingException, IOException {
+        ParsedEmail parsed = new ParsedEmail();
+        Part[] textPart = new Part[1];
+        visit(message, true, parsed, textPart);
+
+        if (parsed.getHtmlBody() == null && textPart[0] != null) {
+            parsed.setTextBody((String) textPart[0].getContent());
+        }
+        return parsed;
+    }
+
+    private static void visit(Part part, boolean bodyCandidate, ParsedEmail parsed, Part[] textPart) throws MessagingException, IOException {
+        String disposition = part.getDisposition();
+        // 명시적으로 첨부파일인 경우, 하위 파트 포함 본문으로 간주하지 않음
+        boolean body = bodyCandidate && !Part.ATTACHMENT.equalsIgnoreCase(disposition);
+
+        if (part.isMimeType(MIME_MULTIPART_ANY)) {
+            Multipart multipart = (Multipart) part.getContent();
+            for (int i = 0; i < multipart.getCount(); i++) {
+                visit(multipart.getBodyPart(i), body, parsed, textPart);
+            }
+            return;
+        }
+
+        if (body) {
+            if (part.isMimeType(MIME_TEXT_HTML)) {
+                if (parsed.getHtmlBody() == null) {
+                    parsed.setHtmlBody((String) part.getContent());
+                }
+            } else if (part.isMimeType(MIME_TEXT_PLAIN) && textPart[0] == null) {
+                textPart[0] = part;
+            }
+        }
+
+        String cid = getContentId(part);
+        if (cid != null && !parsed.getInlineImages().containsKey(cid)) {
+            String mimeType = getBaseMimeType(part.getContentType());
+            if (mimeType != null && mimeType.startsWith("image/")) {
+                parsed.addInlineImage(new ParsedEmail.InlineImage(cid, mimeType, part));
+            } else {
+                log.warn("CID '{}'는 이미지 타입이 아닙니다 ({}). 건너뜁니다.", cid, mimeType);
+            }
+        }
+
+        if (isActualAttachment(part, disposition)) {
+            parsed.addAttachment(new ParsedEmail.Attachment(part.getFileName(), part.getContentType(), cid, part));
+        }
+    }
+
+    private static boolean isActualAttachment(Part part, String disposition) throws MessagingException {
+        if (Part.ATTACHMENT.equalsIgnoreCase(disposition)) {
+            return true;
+        }
+        if (!Part.INLINE.equalsIgnoreCase(disposition)) {
+            return false;
+        }
+        String fileName = part.getFileName();
+        return fileName != null && !fileName.trim().isEmpty();
+    }
+
+    private static String getContentId(Part part) throws MessagingException {
+        String[] cids = part.getHeader("Content-ID");
+        if (cids == null || cids.length == 0) {
+            return null;
+        }
+        String cid = cids[0].trim();
+        if (cid.startsWith("<") && cid.endsWith(">")) {
+            cid = cid.substring(1, cid.length() - 1);
+        }
+        return cid;
+    }
+
+    // ContentType에서 charset과 같은 부가 정보를 제거하고 순수 MIME 타입만 추출 (예: "image/png; charset=UTF-8" -> "image/png")
+    private static String getBaseMimeType(String contentType) {
+        if (contentType != null && contentType.contains(";")) {
+            return contentType.substring(0, contentType.indexOf(";")).trim();
+        }
+        return contentType;
+    }
+}
@@ -0,0 +1,71 @@
+package com.samsungds.ims.mail.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.mail.Part;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link MimeMessageParser}가 MIME 트리를 한 번 순회하여 만든 파싱 결과.
+ * 본문, CID 인라인 이미지, 일반 첨부파일을 담으며 이후 처리 단계는 모두 이 모델만 참조합니다.
+ * 이미지/첨부파일은 {@link Part} 참조만 보관하므로 실제 데이터는 필요한 시점에 스트림으로 읽습니다.
+ */
+@Getter
+public class ParsedEmail {
+    private String htmlBody;
+    private String textBody;
+    private final Map<String, InlineImage> inlineImages = new LinkedHashMap<>();
+    private final List<Attachment> attachments = new ArrayList<>();
+
+    void setHtmlBody(String htmlBody) {
+        this.htmlBody = htmlBody;
+    }
+
+    void setTextBody(String textBody) {
+        this.textBody = textBody;
+    }
+
+    void addInlineImage(InlineImage inlineImage) {
+        inlineImages.putIfAbsent(inlineImage.getCid(), inlineImage);
+    }
+
+    void addAttachment(Attachment attachment) {
+        attachments.add(attachment);
+    }
+
+    public Map<String, InlineImage> getInlineImages() {
+        return Collections.unmodifiableMap(inlineImages);
+    }
+
+    public List<Attachment> getAttachments() {
+        return Collections.unmodifiableList(attachments);
+    }
+
+    /**
+     * Content-ID로 참조되는 인라인 이미지
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class InlineImage {
+        private final String cid;
+        private final String mimeType;
+        private final Part part;
+    }
+
+    /**
+     * 실제 첨부파일 (Content-Disposition: attachment 또는 파일명이 있는 inline)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Attachment {
+        private final String fileName;
+        private final String contentType;
+        private final String cid;
+        private final Part part;
+    }
+}
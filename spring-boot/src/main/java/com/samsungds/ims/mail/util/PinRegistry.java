@@ -0,0 +1,90 @@
+package com.samsungds.ims.mail.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 저장 중(아직 커밋되지 않은) 파일을 프로세스 안에서 표시하는 참조 표
+ * <p>
+ * 파일을 만들거나 재사용하는 쪽은 먼저 키를 표시(pin)하고, 커밋 또는 실패 후 해제합니다.
+ * 표시된 키의 파일은 삭제하지 않으며, 실패한 쪽이 자신이 만든 파일을 되돌릴 때는
+ * 표시한 동안 다른 쪽이 같은 키를 표시한 적이 없는 경우에만 삭제합니다.
+ * 표시와 삭제는 키 단위로 원자적으로 수행되므로 삭제 직후 같은 키를 표시한 쪽은 파일이 없음을 보게 됩니다.
+ */
+public class PinRegistry<K> {
+    private final ConcurrentHashMap<K, Pin> pins = new ConcurrentHashMap<>();
+
+    public void pin(K key) {
+        pins.compute(key, (k, pin) -> {
+            if (pin == null) {
+                return new Pin();
+            }
+            pin.holders++;
+            pin.shared = true;
+            return pin;
+        });
+    }
+
+    public void unpin(K key) {
+        pins.computeIfPresent(key, (k, pin) -> --pin.holders > 0 ? pin : null);
+    }
+
+    /**
+     * 표시를 해제하고, 표시한 동안 다른 쪽이 같은 키를 표시한 적이 없으면 삭제 작업 실행
+     *
+     * @return 삭제 작업을 실행했으면 true
+     */
+    public boolean unpinAndRunIfExclusive(K key, Runnable delete) {
+        boolean[] ran = new boolean[1];
+        RuntimeException[] failure = new RuntimeException[1];
+        pins.computeIfPresent(key, (k, pin) -> {
+            if (--pin.holders > 0) {
+                return pin;
+            }
+            if (!pin.shared) {
+                ran[0] = true;
+                failure[0] = run(delete);
+            }
+            return null;
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return ran[0];
+    }
+
+    /**
+     * 표시한 쪽이 없을 때만 삭제 작업 실행 (참조 수로 정리할 때 사용)
+     *
+     * @return 삭제 작업을 실행했으면 true
+     */
+    public boolean runIfUnpinned(K key, Runnable delete) {
+        boolean[] ran = new boolean[1];
+        RuntimeException[] failure = new RuntimeException[1];
+        pins.compute(key, (k, pin) -> {
+            if (pin == null) {
+                ran[0] = true;
+                failure[0] = run(delete);
+            }
+            return pin;
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return ran[0];
+    }
+
+    // 삭제가 실패해도 표시는 해제되도록 예외는 compute 밖에서 던짐
+    private static RuntimeException run(Runnable delete) {
+        try {
+            delete.run();
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static final class Pin {
+        private int holders = 1;
+        private boolean shared;
+    }
+}
@@ -0,0 +1,165 @@
+package com.samsungds.ims.mail.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.subethamail.smtp.TooMuchDataException;
+
+import javax.mail.util.SharedByteArrayInputStream;
+import javax.mail.util.SharedFileInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * SMTP DATA 스트림을 메모리 또는 임시 파일로 스풀링합니다.
+ * <p>
+ * 임계값(threshold) 이하의 메시지는 힙에 보관하고, 그 이상이면 임시 파일로 옮겨 기록합니다.
+ * 파싱은 {@link SharedByteArrayInputStream} 또는 {@link SharedFileInputStream} 위에서 이루어지므로
+ * {@code MimeMessage}가 본문과 첨부파일을 다시 힙으로 복사하지 않습니다.
+ * 최대 크기를 넘으면 남은 데이터를 버리고 {@link TooMuchDataException}을 던집니다.
+ */
+@Slf4j
+public class SpooledMessage implements Closeable {
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private final byte[] memoryData;
+    private final int memoryLength;
+    private final Path file;
+    private final long size;
+    private SharedFileInputStream fileStream;
+
+    private SpooledMessage(byte[] memoryData, int memoryLength, Path file, long size) {
+        this.memoryData = memoryData;
+        this.memoryLength = memoryLength;
+        this.file = file;
+        this.size = size;
+    }
+
+    /**
+     * 입력 스트림을 끝까지 읽어 스풀링합니다.
+     *
+     * @param data      SMTP DATA 스트림
+     * @param threshold 힙에 보관할 최대 바이트 수 (초과 시 파일로 전환)
+     * @param maxSize   허용되는 최대 메시지 크기 (0 이하이면 제한 없음)
+     * @param spoolDir  임시 파일을 생성할 디렉토리
+     * @throws TooMuchDataException 메시지가 maxSize를 초과한 경우 (입력은 끝까지 소비됨)
+     */
+    public static SpooledMessage spool(InputStream data, int threshold, long maxSize, Path spoolDir) throws IOException {
+        ByteArrayOutputStream memory = new ByteArrayOutputStream(Math.min(Math.max(threshold, 0), COPY_BUFFER_SIZE * 4));
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long total = 0;
+        Path file = null;
+        OutputStream out = memory;
+
+        try {
+            int read;
+            while ((read = data.read(buffer)) != -1) {
+                total += read;
+                if (maxSize > 0 && total > maxSize) {
+                    drain(data, buffer);
+                    throw new TooMuchDataException("메시지 크기가 허용된 최대 크기(" + maxSize + " bytes)를 초과했습니다.");
+                }
+                if (file == null && total > threshold) {
+                    Files.createDirectories(spoolDir);
+                    file = Files.createTempFile(spoolDir, "smtp-", ".eml");
+                    out = Files.newOutputStream(file);
+                    memory.writeTo(out);
+                    memory = null;
+                }
+                out.write(buffer, 0, read);
+            }
+            out.close();
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(out);
+            deleteQuietly(file);
+            throw e;
+        }
+
+        if (file != null) {
+            log.debug("SMTP 메시지를 임시 파일로 스풀링했습니다: {} ({} bytes)", file, total);
+            return new SpooledMessage(null, 0, file, total);
+        }
+        return new SpooledMessage(memory.toByteArray(), memory.size(), null, total);
+    }
+
+    /**
+     * 입력 스트림을 출력 스트림으로 복사하되 최대 크기를 넘으면 남은 데이터를 버리고 예외를 던집니다.
+     *
+     * @return 복사한 바이트 수
+     * @throws TooMuchDataException 메시지가 maxSize를 초과한 경우 (입력은 끝까지 소비됨)
+     */
+    public static long copyBounded(InputStream data, OutputStream out, long maxSize) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = data.read(buffer)) != -1) {
+            total += read;
+            if (maxSize > 0 && total > maxSize) {
+                drain(data, buffer);
+                throw new TooMuchDataException("메시지 크기가 허용된 최대 크기(" + maxSize + " bytes)를 초과했습니다.");
+            }
+            out.write(buffer, 0, read);
+        }
+        return total;
+    }
+
+    /**
+     * 스풀된 메시지를 읽는 공유 스트림을 반환합니다.
+     * 반환된 스트림의 {@code newStream()}은 데이터를 복사하지 않고 같은 버퍼/파일을 참조합니다.
+     */
+    public synchronized InputStream newSharedStream() throws IOException {
+        if (file == null) {
+            return new SharedByteArrayInputStream(memoryData, 0, memoryLength);
+        }
+        if (fileStream == null) {
+            fileStream = new SharedFileInputStream(file.toFile());
+        }
+        return fileStream.newStream(0, -1);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public boolean isSpooledToFile() {
+        return file != null;
+    }
+
+    @Override
+    public synchronized void close() {
+        closeQuietly(fileStream);
+        fileStream = null;
+        deleteQuietly(file);
+    }
+
+    private static void drain(InputStream data, byte[] buffer) throws IOException {
+        //noinspection StatementWithEmptyBody
+        while (data.read(buffer) != -1) {
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.debug("스트림 닫기 실패: {}", e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("스풀 파일 삭제 실패: {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.samsungds.ims.mail.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 계층형 타이밍 휠 (id별 만료 시각 관리)
+ * <p>
+ * 단계마다 64칸이며, 0단계 한 칸은 tickMillis, 그 위 단계 한 칸은 아래 단계 한 바퀴입니다(4단계, tickMillis가 100ms이면 약 19일).
+ * 등록과 만료 처리는 항목 수와 관계없이 상수 시간이며, 아래 단계가 한 바퀴 돌 때마다 위 단계의 한 칸을 아래 단계로 내려 배치합니다.
+ * 범위를 넘는 항목은 가장 먼 칸에 두었다가 내려올 때 다시 배치합니다.
+ * id당 하나만 유지하며 다시 등록하면 새 시각으로 바뀝니다. 취소하거나 바뀐 이전 항목은 칸을 처리할 때 버립니다.
+ */
+public final class TimingWheel {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELTA = (1L << (BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final List<Entry>[][] wheels;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final List<Entry> expired = new ArrayList<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("잘못된 타이밍 휠 설정: tickMillis=" + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.wheels = new List[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new ArrayList<>();
+            }
+        }
+    }
+
+    /**
+     * deadlineMillis에 만료되도록 등록 (이미 지난 시각이면 다음 {@link #advance}에서 바로 만료, 이미 등록된 id는 시각 변경)
+     */
+    public synchronized void add(long id, long deadlineMillis) {
+        // 만료 시각이 속한 칸이 지나야 만료되도록 올림
+        long tick = (deadlineMillis + tickMillis - 1) / tickMillis;
+        Entry entry = new Entry(id, tick);
+        entries.put(id, entry);
+        place(entry);
+    }
+
+    /**
+     * 등록 취소
+     *
+     * @return 만료 전이라 취소했으면 true
+     */
+    public synchronized boolean remove(long id) {
+        return entries.remove(id) != null;
+    }
+
+    /**
+     * nowMillis까지 시간을 진행하고 만료된 id 반환
+     */
+    public synchronized List<Long> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            List<Entry> slot = wheels[0][(int) (currentTick & MASK)];
+            if (!slot.isEmpty()) {
+                List<Entry> entries = new ArrayList<>(slot);
+                slot.clear();
+                entries.forEach(this::place);
+            }
+        }
+        if (expired.isEmpty()) {
+            return List.of();
+        }
+        List<Long> due = new ArrayList<>(expired.size());
+        for (Entry entry : expired) {
+            if (entries.remove(entry.id, entry)) {
+                due.add(entry.id);
+            }
+        }
+        expired.clear();
+        return due;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 가장 먼 칸까지의 시간 (이보다 먼 항목은 가장 먼 칸에 두었다가 다시 배치)
+     */
+    public long getRangeMillis() {
+        return MAX_DELTA * tickMillis;
+    }
+
+    /**
+     * 아래 단계가 한 바퀴 돌았으면 위 단계의 현재 칸을 아래로 내려 다시 배치
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            List<Entry> slot = wheels[level][(int) ((currentTick >>> shift) & MASK)];
+            if (!slot.isEmpty()) {
+                List<Entry> entries = new ArrayList<>(slot);
+                slot.clear();
+                entries.forEach(this::place);
+            }
+        }
+    }
+
+    private void place(Entry entry) {
+        if (entries.get(entry.id) != entry) {
+            // 취소되었거나 다시 등록된 이전 항목
+            return;
+        }
+        long delta = entry.tick - currentTick;
+        if (delta <= 0) {
+            expired.add(entry);
+            return;
+        }
+        long placedTick = currentTick + Math.min(delta, MAX_DELTA);
+        for (int level = 0; level < LEVELS; level++) {
+            if (placedTick - currentTick < (1L << (BITS * (level + 1)))) {
+                wheels[level][(int) ((placedTick >>> (BITS * level)) & MASK)].add(entry);
+                return;
+            }
+        }
+    }
+
+    private record Entry(long id, long tick) {
+    }
+}
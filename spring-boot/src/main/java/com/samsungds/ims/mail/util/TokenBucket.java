@@ -0,0 +1,74 @@
+package com.samsungds.ims.mail.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 토큰 버킷 발송률 제한기
+ * <p>
+ * 초당 ratePerSecond 개씩 토큰이 채워지며 최대 burst 개까지 쌓입니다. 토큰은 사용할 때 경과 시간만큼 한꺼번에 채우므로 별도 스레드가 필요 없습니다.
+ * 처음에는 가득 찬 상태로 시작합니다.
+ */
+public final class TokenBucket {
+    private final double tokensPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock 경과 시간 기준 시계 ({@link System#nanoTime()}과 같은 단위)
+     */
+    public TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("잘못된 토큰 버킷 설정: ratePerSecond=" + ratePerSecond);
+        }
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 사용하지 않은 토큰 반납 (다른 제한에 걸려 발송하지 않은 경우)
+     */
+    public synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    /**
+     * 지금 사용할 수 있는 토큰 수 (최대 max)
+     */
+    public synchronized int available(int max) {
+        refill();
+        return (int) Math.min(max, Math.floor(tokens));
+    }
+
+    /**
+     * 다음 토큰을 사용할 수 있을 때까지 남은 시간 (지금 사용할 수 있으면 0)
+     */
+    public synchronized long nanosUntilAvailable() {
+        refill();
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+}
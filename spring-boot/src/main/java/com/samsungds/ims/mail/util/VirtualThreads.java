@@ -0,0 +1,53 @@
+package com.samsungds.ims.mail.util;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 가상 스레드(JDK 21 이상) 지원 확인 및 생성
+ * <p>
+ * 빌드는 Java 17 기준이므로 JDK 21 API는 리플렉션으로 호출합니다.
+ * 실행 중인 JDK가 가상 스레드를 지원하지 않으면 빈 값을 반환하므로 호출자가 플랫폼 스레드로 대체합니다.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return factory("probe-").isPresent();
+    }
+
+    /**
+     * 이름이 {@code prefix + 순번}인 가상 스레드 팩토리
+     */
+    public static Optional<ThreadFactory> factory(String prefix) {
+        try {
+            // Thread.ofVirtual().name(prefix, 0).factory()
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return Optional.of((ThreadFactory) builderType.getMethod("factory").invoke(builder));
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            // JDK 19/20에서 preview 기능이 꺼져 있으면 UnsupportedOperationException
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 작업마다 새 가상 스레드를 만드는 ExecutorService
+     */
+    public static Optional<ExecutorService> newThreadPerTaskExecutor(String prefix) {
+        return factory(prefix).map(threadFactory -> {
+            try {
+                Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                return (ExecutorService) method.invoke(null, threadFactory);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,151 @@
+package com.samsungds.ims.mail.component;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST_MILLIS = 10;
+    private static final long SLOW_MILLIS = 200;
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private SendMailBatchProperties properties;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SendMailBatchProperties();
+        properties.setAdaptiveConcurrency(true);
+        properties.setConcurrentBatchSize(4);
+        properties.setMinConcurrency(2);
+        properties.setMaxConcurrency(6);
+        properties.setTargetLatencyMillis(100);
+        properties.setMaxErrorRate(0.5);
+        properties.setBackoffRatio(0.5);
+        limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+        limiter.setNanoClock(now::get);
+        limiter.init();
+    }
+
+    @Test
+    void increasesByOnePerWindowUpToMax() {
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        recordWindow(FAST_MILLIS, 0);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        recordWindow(FAST_MILLIS, 0);
+        assertThat(limiter.getLimit()).isEqualTo(6);
+        recordWindow(FAST_MILLIS, 0);
+        assertThat(limiter.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void evaluatesOnlyAfterLimitSamples() {
+        for (int i = 0; i < 3; i++) {
+            sample(FAST_MILLIS, false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        sample(FAST_MILLIS, false);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void decreasesOnSlowAverageLatency() {
+        // 평균 (10 + 10 + 10 + 400) / 4 = 107ms > 100ms
+        sample(FAST_MILLIS, false);
+        sample(FAST_MILLIS, false);
+        sample(FAST_MILLIS, false);
+        sample(400, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void decreasesOnErrorRateAboveMaxButNotAtMax() {
+        recordWindow(FAST_MILLIS, 2);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        recordWindow(FAST_MILLIS, 3);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void clampsDecreaseToMin() {
+        recordWindow(SLOW_MILLIS, 0);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        recordWindow(SLOW_MILLIS, 2);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void ignoresSamplesStartedBeforeDecrease() {
+        long startedBeforeDecrease = now.get();
+        recordWindow(SLOW_MILLIS, 0);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        // 줄이기 전에 시작된 느린 발송 결과는 다음 평가에 들어가지 않음
+        for (int i = 0; i < 4; i++) {
+            limiter.record(startedBeforeDecrease, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        recordWindow(FAST_MILLIS, 0);
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void followsTrajectoryUnderChangingLoad() {
+        recordWindow(FAST_MILLIS, 0);   // 4 → 5
+        recordWindow(FAST_MILLIS, 0);   // 5 → 6
+        recordWindow(SLOW_MILLIS, 0);   // 6 → 3
+        recordWindow(FAST_MILLIS, 0);   // 3 → 4
+        recordWindow(FAST_MILLIS, 3);   // 오류율 0.75: 4 → 2
+        recordWindow(FAST_MILLIS, 1);   // 오류율 0.5: 2 → 3
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void resetRestoresClampedBatchSize() {
+        recordWindow(FAST_MILLIS, 0);
+        properties.setConcurrentBatchSize(100);
+        limiter.reset();
+
+        assertThat(limiter.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void usesBatchSizeWhenNotAdaptive() {
+        properties.setAdaptiveConcurrency(false);
+        properties.setConcurrentBatchSize(9);
+
+        recordWindow(SLOW_MILLIS, 4);
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        properties.setAdaptiveConcurrency(true);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    /**
+     * 현재 한도만큼 발송 결과를 기록 (앞쪽 failures 건은 실패)
+     */
+    private void recordWindow(long latencyMillis, int failures) {
+        int samples = limiter.getLimit();
+        for (int i = 0; i < samples; i++) {
+            sample(latencyMillis, i < failures);
+        }
+    }
+
+    private void sample(long latencyMillis, boolean failed) {
+        long startedAt = now.get();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        limiter.record(startedAt, failed);
+    }
+}
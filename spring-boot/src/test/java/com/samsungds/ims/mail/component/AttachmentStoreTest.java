@@ -0,0 +1,102 @@
+package com.samsungds.ims.mail.component;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttachmentStoreTest {
+    @TempDir
+    Path root;
+
+    private AttachmentStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SmtpInterceptorProperties properties = new SmtpInterceptorProperties();
+        properties.setAttachmentPath(root.toString());
+        store = new AttachmentStore(properties, null, null, new SimpleMeterRegistry());
+        store.init();
+    }
+
+    @Test
+    void keepsEarlierContentWhenSameMailSendsSameFileNameWithNewContent() throws IOException {
+        AttachmentStore.StoredAttachment first = store.store(stream("version 1"), "mail-hash", "report.txt");
+        AttachmentStore.StoredAttachment second = store.store(stream("version 2"), "mail-hash", "report.txt");
+
+        assertThat(second.getFilePath()).isNotEqualTo(first.getFilePath());
+        assertThat(Files.readString(Paths.get(first.getFilePath()))).isEqualTo("version 1");
+        assertThat(Files.readString(Paths.get(second.getFilePath()))).isEqualTo("version 2");
+        assertThat(Paths.get(first.getFilePath()).getFileName().toString())
+                .isEqualTo(first.getSha256().substring(0, 16) + "-report.txt");
+    }
+
+    @Test
+    void reusesExistingLinkForSameContent() throws IOException {
+        AttachmentStore.StoredAttachment first = store.store(stream("same"), "mail-hash", "report.txt");
+        Object fileKey = Files.readAttributes(Paths.get(first.getFilePath()), BasicFileAttributes.class).fileKey();
+
+        AttachmentStore.StoredAttachment second = store.store(stream("same"), "mail-hash", "report.txt");
+
+        assertThat(second.getFilePath()).isEqualTo(first.getFilePath());
+        assertThat(second.getSha256()).isEqualTo(first.getSha256());
+        assertThat(Files.readAttributes(Paths.get(second.getFilePath()), BasicFileAttributes.class).fileKey())
+                .isEqualTo(fileKey);
+    }
+
+    @Test
+    void discardDeletesNewlyCreatedLinkAndObject() throws IOException {
+        AttachmentStore.StoredAttachment stored = store.store(stream("orphan"), "mail-hash", "report.txt");
+        Path object = objectPath(stored.getSha256());
+
+        store.discard(List.of(stored));
+
+        assertThat(Paths.get(stored.getFilePath())).doesNotExist();
+        assertThat(object).doesNotExist();
+    }
+
+    @Test
+    void discardKeepsFilesReusedByAnotherPendingMail() throws IOException {
+        AttachmentStore.StoredAttachment failed = store.store(stream("shared"), "mail-hash", "report.txt");
+        // 실패한 메일이 정리하기 전에 다른 메일이 같은 원본과 링크를 사용
+        AttachmentStore.StoredAttachment other = store.store(stream("shared"), "mail-hash", "report.txt");
+
+        store.discard(List.of(failed));
+        store.keep(List.of(other));
+
+        assertThat(Files.readString(Paths.get(other.getFilePath()))).isEqualTo("shared");
+        assertThat(objectPath(other.getSha256())).exists();
+    }
+
+    @Test
+    void discardKeepsExistingFilesAndRemovesOnlyNewLink() throws IOException {
+        AttachmentStore.StoredAttachment committed = store.store(stream("shared"), "mail-1", "report.txt");
+        store.keep(List.of(committed));
+
+        AttachmentStore.StoredAttachment failed = store.store(stream("shared"), "mail-2", "report.txt");
+        store.discard(List.of(failed));
+
+        assertThat(Paths.get(failed.getFilePath())).doesNotExist();
+        assertThat(Files.readString(Paths.get(committed.getFilePath()))).isEqualTo("shared");
+        assertThat(objectPath(committed.getSha256())).exists();
+    }
+
+    private Path objectPath(String sha256) {
+        return root.resolve("objects").resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private static ByteArrayInputStream stream(String data) {
+        return new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8));
+    }
+}
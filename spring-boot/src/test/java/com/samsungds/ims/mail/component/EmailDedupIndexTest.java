@@ -0,0 +1,131 @@
+package com.samsungds.ims.mail.component;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailDedupIndexTest {
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailDedupIndex index;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:dedup-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE email_queue (id BIGINT PRIMARY KEY, unique_id VARCHAR(255))");
+        insert(1, "existing-1");
+
+        SmtpInterceptorProperties properties = new SmtpInterceptorProperties();
+        properties.setDedupBloomExpectedInsertions(1000);
+        properties.setDedupRecentCacheSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        index = new EmailDedupIndex(jdbcTemplate, properties, meterRegistry);
+        index.init();
+    }
+
+    @Test
+    void findsRowsLoadedAtStartup() {
+        Map<String, Long> existing = index.findExisting(Set.of("existing-1", "new-1"), true);
+
+        assertThat(existing).containsExactly(Map.entry("existing-1", 1L));
+        assertThat(lookupCount("database")).isEqualTo(1);
+        assertThat(lookupCount("absent")).isEqualTo(1);
+    }
+
+    @Test
+    void skipsDatabaseForUnseenIds() {
+        assertThat(index.findExisting(Set.of("new-1", "new-2", "new-3"), true)).isEmpty();
+
+        assertThat(lookupCount("absent")).isEqualTo(3);
+        assertThat(lookupCount("database")).isZero();
+    }
+
+    @Test
+    void findsRecordedIdFromRecentMap() {
+        insert(2, "recorded-2");
+        index.record(Map.of("recorded-2", 2L));
+
+        assertThat(index.findExisting(Set.of("recorded-2"), true)).containsExactly(Map.entry("recorded-2", 2L));
+        assertThat(lookupCount("recent")).isEqualTo(1);
+        assertThat(lookupCount("database")).isZero();
+    }
+
+    @Test
+    void staleRecentIdFallsThroughToDatabase() {
+        // 최근 맵에는 큐 ID 2로 남아 있지만 행은 이력으로 이동되고 같은 uniqueId가 ID 3으로 다시 저장됨
+        index.record(Map.of("moved", 2L));
+        insert(3, "moved");
+
+        assertThat(index.findExisting(Set.of("moved"), true)).containsExactly(Map.entry("moved", 3L));
+        assertThat(lookupCount("recent")).isZero();
+        assertThat(lookupCount("database")).isEqualTo(1);
+    }
+
+    @Test
+    void staleRecentIdWithoutRowIsNew() {
+        index.record(Map.of("deleted", 2L));
+
+        assertThat(index.findExisting(Set.of("deleted"), true)).isEmpty();
+        assertThat(lookupCount("database")).isEqualTo(1);
+    }
+
+    @Test
+    void evictedRecentIdStaysInBloomFilter() {
+        insert(2, "a");
+        insert(3, "b");
+        insert(4, "c");
+        index.record(Map.of("a", 2L));
+        index.record(Map.of("b", 3L));
+        index.record(Map.of("c", 4L));
+
+        // 최근 맵 크기가 2이므로 a는 밀려났지만 블룸 필터를 거쳐 DB에서 찾음
+        assertThat(index.findExisting(Set.of("a"), true)).containsExactly(Map.entry("a", 2L));
+        assertThat(lookupCount("database")).isEqualTo(1);
+    }
+
+    @Test
+    void bypassesIndexWhenRequested() {
+        index.record(Map.of("moved", 2L));
+        insert(3, "moved");
+
+        assertThat(index.findExisting(Set.of("moved", "new-1"), false)).containsExactly(Map.entry("moved", 3L));
+        assertThat(lookupCount("database")).isEqualTo(2);
+        assertThat(lookupCount("recent")).isZero();
+    }
+
+    @Test
+    void rebuildsWhenSaturated() {
+        SmtpInterceptorProperties properties = new SmtpInterceptorProperties();
+        properties.setDedupBloomExpectedInsertions(2);
+        EmailDedupIndex small = new EmailDedupIndex(jdbcTemplate, properties, new SimpleMeterRegistry());
+        small.init();
+        for (int i = 10; i < 15; i++) {
+            insert(i, "bulk-" + i);
+            small.record(Map.of("bulk-" + i, (long) i));
+        }
+
+        for (int i = 10; i < 15; i++) {
+            assertThat(small.findExisting(Set.of("bulk-" + i), true)).containsEntry("bulk-" + i, (long) i);
+        }
+    }
+
+    private void insert(long id, String uniqueId) {
+        jdbcTemplate.update("INSERT INTO email_queue (id, unique_id) VALUES (:id, :uniqueId)",
+                new MapSqlParameterSource("id", id).addValue("uniqueId", uniqueId));
+    }
+
+    private double lookupCount(String result) {
+        return meterRegistry.get("mail.ingest.dedup.lookup").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,90 @@
+package com.samsungds.ims.mail.component;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailQueueUniqueIndexTest {
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private EmailQueueUniqueIndex uniqueIndex;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:unique-index-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        execute("CREATE TABLE email_queue (id BIGINT PRIMARY KEY, unique_id VARCHAR(255))");
+        execute("CREATE TABLE email_queue_contents (id BIGINT PRIMARY KEY, email_queue_id BIGINT, body VARCHAR(255))");
+        execute("CREATE TABLE email_queue_recipients (id BIGINT PRIMARY KEY, email_queue_id BIGINT, email VARCHAR(255))");
+        execute("CREATE TABLE email_queue_attachment (id BIGINT PRIMARY KEY, email_queue_id BIGINT, file_path VARCHAR(255), sha256 VARCHAR(64))");
+        execute("CREATE TABLE attachment_blob (sha256 VARCHAR(64) PRIMARY KEY, ref_count BIGINT)");
+        uniqueIndex = new EmailQueueUniqueIndex(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void mergesDuplicatesIntoOldestRowAndCreatesIndex() {
+        execute("INSERT INTO email_queue VALUES (1, 'mail-1'), (2, 'mail-1'), (3, 'mail-1'), (4, 'mail-2'), (5, NULL), (6, NULL)");
+        execute("INSERT INTO email_queue_contents VALUES (1, 2, 'second'), (2, 3, 'third'), (3, 4, 'other')");
+        execute("INSERT INTO email_queue_recipients VALUES (1, 1, 'a@samsung.com'), (2, 2, 'a@samsung.com'), (3, 2, 'b@samsung.com'), (4, 3, 'c@samsung.com')");
+        execute("INSERT INTO email_queue_attachment VALUES (1, 1, '/att/mail-1/x.pdf', 'x'), (2, 2, '/att/mail-1/x.pdf', 'x'), (3, 3, '/att/mail-1/y.pdf', 'y')");
+        execute("INSERT INTO attachment_blob VALUES ('x', 2), ('y', 1)");
+
+        uniqueIndex.init();
+
+        assertThat(uniqueIndex.exists()).isTrue();
+        assertThat(longs("SELECT id FROM email_queue ORDER BY id")).containsExactly(1L, 4L, 5L, 6L);
+        assertThat(strings("SELECT email FROM email_queue_recipients WHERE email_queue_id = 1 ORDER BY email"))
+                .containsExactly("a@samsung.com", "b@samsung.com", "c@samsung.com");
+        assertThat(strings("SELECT file_path FROM email_queue_attachment WHERE email_queue_id = 1 ORDER BY file_path"))
+                .containsExactly("/att/mail-1/x.pdf", "/att/mail-1/y.pdf");
+        assertThat(longs("SELECT ref_count FROM attachment_blob ORDER BY sha256")).containsExactly(1L, 1L);
+        // 남긴 행에 본문이 없으면 가장 최근 행의 본문을 사용
+        assertThat(strings("SELECT body FROM email_queue_contents WHERE email_queue_id = 1")).containsExactly("third");
+        assertThat(longs("SELECT COUNT(*) FROM email_queue_contents")).containsExactly(2L);
+
+        assertThatThrownBy(() -> execute("INSERT INTO email_queue VALUES (7, 'mail-1')"))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void leavesDataAloneWhenIndexExists() {
+        execute("CREATE UNIQUE INDEX ux_email_queue_unique_id ON email_queue (unique_id)");
+        execute("INSERT INTO email_queue VALUES (1, 'mail-1')");
+
+        uniqueIndex.init();
+
+        assertThat(uniqueIndex.exists()).isTrue();
+        assertThat(longs("SELECT COUNT(*) FROM email_queue")).containsExactly(1L);
+    }
+
+    @Test
+    void doesNotTreatCompositeIndexAsUniqueIdIndex() {
+        execute("CREATE UNIQUE INDEX ux_other ON email_queue (unique_id, id)");
+
+        assertThat(uniqueIndex.exists()).isFalse();
+        uniqueIndex.init();
+        assertThat(uniqueIndex.exists()).isTrue();
+    }
+
+    private void execute(String sql) {
+        jdbcTemplate.update(sql, new MapSqlParameterSource());
+    }
+
+    private List<Long> longs(String sql) {
+        return jdbcTemplate.queryForList(sql, new MapSqlParameterSource(), Long.class);
+    }
+
+    private List<String> strings(String sql) {
+        return jdbcTemplate.queryForList(sql, new MapSqlParameterSource(), String.class);
+    }
+}
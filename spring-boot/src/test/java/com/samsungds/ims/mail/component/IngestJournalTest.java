@@ -0,0 +1,216 @@
+package com.samsungds.ims.mail.component;
+
+import com.samsungds.ims.mail.service.EmailIngestService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import javax.mail.MessagingException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestJournalTest {
+    private static final String RAW_MESSAGE = "Subject: test\r\n\r\nbody\r\n";
+
+    @TempDir
+    Path spoolDir;
+
+    private final List<Ingested> ingested = Collections.synchronizedList(new ArrayList<>());
+    private final List<RuntimeException> failures = Collections.synchronizedList(new ArrayList<>());
+    private SmtpInterceptorProperties properties;
+    private IngestJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SmtpInterceptorProperties();
+        properties.setSpoolPath(spoolDir.toString());
+        properties.setIngestWorkers(1);
+        properties.setIngestRetryInitialDelayMillis(1);
+        properties.setIngestRetryMaxDelayMillis(5);
+        properties.setIngestRetryMaxAttempts(3);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (journal != null) {
+            journal.shutdown();
+        }
+    }
+
+    @Test
+    void appendsPublishesAndDeletesAfterIngest() throws Exception {
+        journal = newJournal();
+
+        journal.append("sender@samsung.com", stream(RAW_MESSAGE));
+
+        awaitUntil(() -> ingested.size() == 1 && journal.getDepth() == 0);
+        assertThat(ingested.get(0)).isEqualTo(new Ingested("sender@samsung.com", RAW_MESSAGE));
+        awaitUntil(() -> journalFiles().isEmpty());
+        assertThat(failedFiles()).isEmpty();
+    }
+
+    @Test
+    void keepsNullMailFromApartFromEmptyAddress() throws Exception {
+        journal = newJournal();
+
+        journal.append(null, stream(RAW_MESSAGE));
+        awaitUntil(() -> ingested.size() == 1);
+        journal.append("", stream(RAW_MESSAGE));
+        awaitUntil(() -> ingested.size() == 2);
+
+        assertThat(ingested.get(0).from()).isNull();
+        assertThat(ingested.get(1)).isEqualTo(new Ingested("", RAW_MESSAGE));
+    }
+
+    @Test
+    void replaysPendingEntriesAndDropsUnpublishedOnStartup() throws Exception {
+        // 워커가 종료된 뒤 기록된 항목은 저널에 남음 (처리 전 중단과 같은 상태)
+        IngestJournal previous = newJournal();
+        previous.shutdown();
+        previous.append("sender@samsung.com", stream(RAW_MESSAGE));
+        Path unpublished = spoolDir.resolve("journal").resolve("0000000000000-00000001.tmp");
+        Files.writeString(unpublished, "partial");
+        assertThat(journalFiles()).hasSize(2);
+        assertThat(ingested).isEmpty();
+
+        journal = newJournal();
+        assertThat(unpublished).doesNotExist();
+        journal.replay();
+
+        awaitUntil(() -> ingested.size() == 1 && journalFiles().isEmpty());
+        assertThat(ingested.get(0)).isEqualTo(new Ingested("sender@samsung.com", RAW_MESSAGE));
+    }
+
+    @Test
+    void retriesTransientFailureUntilIngested() throws Exception {
+        failures.add(new TransientDataAccessResourceException("connection reset"));
+        failures.add(new CannotGetJdbcConnectionException("pool exhausted", new SQLTransientConnectionException("timeout")));
+        journal = newJournal();
+
+        journal.append("sender@samsung.com", stream(RAW_MESSAGE));
+
+        awaitUntil(() -> ingested.size() == 1 && journal.getDepth() == 0);
+        assertThat(failures).isEmpty();
+        awaitUntil(() -> journalFiles().isEmpty());
+        assertThat(failedFiles()).isEmpty();
+    }
+
+    @Test
+    void movesToFailedAfterMaxAttempts() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            failures.add(new TransientDataAccessResourceException("database down"));
+        }
+        journal = newJournal();
+
+        journal.append("sender@samsung.com", stream(RAW_MESSAGE));
+
+        awaitUntil(() -> failedFiles().size() == 1 && journal.getDepth() == 0);
+        // 최대 3회 시도 후 중단
+        assertThat(failures).hasSize(2);
+        assertThat(ingested).isEmpty();
+        assertThat(journalFiles()).isEmpty();
+    }
+
+    @Test
+    void movesDeterministicFailureToFailedWithoutRetry() throws Exception {
+        failures.add(new BadSqlGrammarException("insert", "INSERT INTO email_queue", new SQLException("syntax error")));
+        failures.add(new TransientDataAccessResourceException("must not be reached"));
+        journal = newJournal();
+
+        journal.append("sender@samsung.com", stream(RAW_MESSAGE));
+
+        awaitUntil(() -> failedFiles().size() == 1 && journal.getDepth() == 0);
+        assertThat(failures).hasSize(1);
+        assertThat(ingested).isEmpty();
+    }
+
+    @Test
+    void classifiesTransientFailures() {
+        assertThat(IngestJournal.isTransient(new TransientDataAccessResourceException("reset"))).isTrue();
+        assertThat(IngestJournal.isTransient(new QueryTimeoutException("timeout"))).isTrue();
+        assertThat(IngestJournal.isTransient(new IllegalStateException(new TimeoutException()))).isTrue();
+        assertThat(IngestJournal.isTransient(new CannotGetJdbcConnectionException("down"))).isTrue();
+
+        assertThat(IngestJournal.isTransient(new BadSqlGrammarException("q", "SELECT", new SQLException()))).isFalse();
+        assertThat(IngestJournal.isTransient(new InvalidDataAccessApiUsageException("misuse"))).isFalse();
+        assertThat(IngestJournal.isTransient(new DataIntegrityViolationException("duplicate", new SQLTransientConnectionException()))).isFalse();
+        assertThat(IngestJournal.isTransient(new MessagingException("broken MIME"))).isFalse();
+    }
+
+    private IngestJournal newJournal() throws IOException {
+        IngestJournal created = new IngestJournal(new StubIngestService(), properties, new SimpleMeterRegistry());
+        created.init();
+        return created;
+    }
+
+    private List<Path> journalFiles() {
+        return list(spoolDir.resolve("journal"));
+    }
+
+    private List<Path> failedFiles() {
+        return list(spoolDir.resolve("journal").resolve("failed"));
+    }
+
+    private static List<Path> list(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(Files::isRegularFile).toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static InputStream stream(String data) {
+        return new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private record Ingested(String from, String raw) {
+    }
+
+    // 실패 목록의 예외를 순서대로 던진 뒤 수신 내용을 기록
+    private class StubIngestService extends EmailIngestService {
+        StubIngestService() {
+            super(null, null, null, null, null, null);
+        }
+
+        @Override
+        public void ingest(String envelopeFrom, InputStream rawMessage) throws IOException {
+            String raw = new String(rawMessage.readAllBytes(), StandardCharsets.UTF_8);
+            synchronized (failures) {
+                if (!failures.isEmpty()) {
+                    throw failures.remove(0);
+                }
+            }
+            ingested.add(new Ingested(envelopeFrom, raw));
+        }
+    }
+}
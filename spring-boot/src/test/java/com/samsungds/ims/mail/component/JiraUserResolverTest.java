@@ -0,0 +1,156 @@
+package com.samsungds.ims.mail.component;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JiraUserResolverTest {
+    private HttpServer server;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile long responseDelayMillis = 0;
+    private volatile int responseStatus = 200;
+
+    private SmtpInterceptorProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private JiraUserResolver resolver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/jira/rest/api/2/user/search", this::handleUserSearch);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        properties = new SmtpInterceptorProperties();
+        properties.setUserApiUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/jira/rest/api/2/user/search");
+        properties.setUserApiConnectTimeoutMillis(1000);
+        properties.setUserApiReadTimeoutMillis(1000);
+        meterRegistry = new SimpleMeterRegistry();
+        resolver = new JiraUserResolver(properties, meterRegistry);
+        resolver.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        resolver.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void cachesResolvedUser() {
+        assertThat(resolver.resolveEmail("dev.kim")).isEqualTo("dev.kim@samsung.com");
+        assertThat(resolver.resolveEmail("dev.kim")).isEqualTo("dev.kim@samsung.com");
+
+        assertThat(requestCount.get()).isEqualTo(1);
+        assertThat(lookupCount("hit")).isEqualTo(1);
+        assertThat(lookupCount("miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.jira.user.lookup.latency").tag("outcome", "found").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void cachesUnknownUser() {
+        assertThat(resolver.resolveEmail("unknown")).isNull();
+        assertThat(resolver.resolveEmail("unknown")).isNull();
+
+        assertThat(requestCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheServerError() {
+        responseStatus = 500;
+        assertThat(resolver.resolveEmail("dev.kim")).isNull();
+
+        responseStatus = 200;
+        assertThat(resolver.resolveEmail("dev.kim")).isEqualTo("dev.kim@samsung.com");
+        assertThat(requestCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void returnsNullOnReadTimeout() {
+        responseDelayMillis = 2000;
+        long start = System.nanoTime();
+
+        assertThat(resolver.resolveEmail("dev.kim")).isNull();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1900);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedUser() {
+        properties.setUserCacheMaxSize(2);
+        resolver.resolveEmail("a");
+        resolver.resolveEmail("b");
+        resolver.resolveEmail("a");
+        resolver.resolveEmail("c");     // b 제거
+
+        resolver.resolveEmail("a");
+        resolver.resolveEmail("b");
+        assertThat(requestCount.get()).isEqualTo(4);
+        assertThat(resolver.getCacheSize()).isEqualTo(2);
+    }
+
+    @Test
+    void coalescesConcurrentLookups() throws Exception {
+        responseDelayMillis = 300;
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return resolver.resolveEmail("dev.lee");
+                }));
+            }
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("dev.lee@samsung.com");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(requestCount.get()).isEqualTo(1);
+        assertThat(lookupCount("miss")).isEqualTo(1);
+    }
+
+    private double lookupCount(String result) {
+        return meterRegistry.get("mail.jira.user.lookup").tag("result", result).counter().count();
+    }
+
+    private void handleUserSearch(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            if (responseDelayMillis > 0) {
+                Thread.sleep(responseDelayMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String userName = exchange.getRequestURI().getQuery().replace("username=", "");
+        String body = userName.equals("unknown") ? "[]" : "[{\"name\":\"" + userName + "\",\"emailAddress\":\"" + userName + "@samsung.com\"}]";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(responseStatus, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        } catch (IOException ignored) {
+            // 클라이언트가 타임아웃으로 연결을 끊은 경우
+        }
+    }
+}
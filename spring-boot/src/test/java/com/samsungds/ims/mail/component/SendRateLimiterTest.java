@@ -0,0 +1,118 @@
+package com.samsungds.ims.mail.component;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SendRateLimiterTest {
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private SendMailBatchProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SendMailBatchProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void unlimitedWhenRatesAreZero() {
+        SendRateLimiter limiter = newLimiter();
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(limiter.tryAcquire("dev.kim@samsung.com")).isZero();
+        }
+        assertThat(limiter.availableGlobalPermits(50)).isEqualTo(50);
+        assertThat(limiter.globalWaitNanos()).isZero();
+    }
+
+    @Test
+    void throttlesSenderIndependently() {
+        properties.setSenderRatePerSecond(1);
+        properties.setSenderBurst(2);
+        SendRateLimiter limiter = newLimiter();
+
+        assertThat(limiter.tryAcquire("a@samsung.com")).isZero();
+        assertThat(limiter.tryAcquire("A@Samsung.com")).isZero();
+        assertThat(limiter.tryAcquire("a@samsung.com")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.tryAcquire("b@samsung.com")).isZero();
+        assertThat(throttled("sender")).isEqualTo(1);
+
+        advanceMillis(1000);
+        assertThat(limiter.tryAcquire("a@samsung.com")).isZero();
+    }
+
+    @Test
+    void refundsSenderTokenWhenGlobalDenies() {
+        properties.setGlobalRatePerSecond(1);
+        properties.setGlobalBurst(1);
+        // 발신자 버킷은 테스트 중에 다시 채워지지 않을 만큼 느리게
+        properties.setSenderRatePerSecond(0.0001);
+        properties.setSenderBurst(1);
+        SendRateLimiter limiter = newLimiter();
+
+        assertThat(limiter.tryAcquire("a@samsung.com")).isZero();
+        // b의 발신자 토큰은 사용했다가 전역 한도에 걸려 반납됨
+        assertThat(limiter.tryAcquire("b@samsung.com")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(throttled("global")).isEqualTo(1);
+        assertThat(throttled("sender")).isZero();
+
+        advanceMillis(1000);
+        assertThat(limiter.tryAcquire("b@samsung.com")).isZero();
+        assertThat(limiter.tryAcquire("a@samsung.com")).isPositive();
+        assertThat(throttled("sender")).isEqualTo(1);
+    }
+
+    @Test
+    void reportsAvailableGlobalPermitsWithoutConsuming() {
+        properties.setGlobalRatePerSecond(10);
+        properties.setGlobalBurst(5);
+        SendRateLimiter limiter = newLimiter();
+
+        assertThat(limiter.availableGlobalPermits(3)).isEqualTo(3);
+        assertThat(limiter.availableGlobalPermits(100)).isEqualTo(5);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(null)).isZero();
+        }
+        assertThat(limiter.availableGlobalPermits(100)).isZero();
+        assertThat(limiter.globalWaitNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        advanceMillis(250);
+        assertThat(limiter.availableGlobalPermits(100)).isEqualTo(2);
+        assertThat(limiter.globalWaitNanos()).isZero();
+    }
+
+    @Test
+    void rebuildAppliesNewSettings() {
+        properties.setGlobalRatePerSecond(1);
+        properties.setGlobalBurst(1);
+        SendRateLimiter limiter = newLimiter();
+        assertThat(limiter.tryAcquire(null)).isZero();
+        assertThat(limiter.tryAcquire(null)).isPositive();
+
+        properties.setGlobalRatePerSecond(0);
+        limiter.rebuild();
+        assertThat(limiter.tryAcquire(null)).isZero();
+    }
+
+    private SendRateLimiter newLimiter() {
+        SendRateLimiter limiter = new SendRateLimiter(properties, meterRegistry);
+        limiter.setNanoClock(now::get);
+        limiter.init();
+        return limiter;
+    }
+
+    private double throttled(String scope) {
+        return meterRegistry.get("mail.send.throttled").tag("scope", scope).counter().count();
+    }
+
+    private void advanceMillis(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
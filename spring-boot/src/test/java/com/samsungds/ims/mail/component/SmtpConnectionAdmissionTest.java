@@ -0,0 +1,48 @@
+package com.samsungds.ims.mail.component;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmtpConnectionAdmissionTest {
+    private SmtpInterceptorProperties properties;
+    private SmtpConnectionAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SmtpInterceptorProperties();
+        properties.setAllowedIps(List.of("10.0.0.0/8"));
+        properties.setAllowedDomains(List.of("samsungds.net"));
+        properties.setReverseDnsTimeoutMillis(5000);
+        admission = new SmtpConnectionAdmission(properties);
+        admission.init();
+    }
+
+    @Test
+    void admitsMatchingIpWithoutLookup() throws Exception {
+        SmtpConnectionAdmission.Decision decision = admission.admit(InetAddress.getByName("10.1.2.3"));
+
+        assertThat(decision.isAllowed()).isTrue();
+        assertThat(decision.getHostname()).isNull();
+        admission.shutdown();
+    }
+
+    @Test
+    void rejectedLookupAfterShutdownDoesNotWaitForTimeout() throws Exception {
+        admission.shutdown();
+        InetAddress client = InetAddress.getByName("192.0.2.1");
+
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            SmtpConnectionAdmission.Decision decision = admission.admit(client);
+
+            assertThat(decision.isAllowed()).isFalse();
+            assertThat(decision.getHostname()).isEqualTo(SmtpConnectionAdmission.UNKNOWN_HOST);
+            assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(1000);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.samsungds.ims.mail.repository;
+
+import com.samsungds.ims.mail.model.EmailQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 선점기(인스턴스)가 같은 후보를 동시에 선점할 때 한 행이 두 번 선점되지 않는지 확인
+ * 선점기마다 별도 트랜잭션에서 실제로 커밋해야 하므로 테스트 트랜잭션을 사용하지 않습니다.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailQueueRepositoryTest {
+    private static final int ROWS = 200;
+
+    @Autowired
+    private EmailQueueRepository emailQueueRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService claimers;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        claimers = Executors.newFixedThreadPool(4);
+        List<EmailQueue> emails = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            EmailQueue email = new EmailQueue();
+            email.setSender("sender@samsung.com");
+            email.setSubject("subject " + i);
+            email.setUniqueId("claim-" + i);
+            email.setPriority(i % 3);
+            emails.add(email);
+        }
+        emailQueueRepository.saveAll(emails);
+    }
+
+    @AfterEach
+    void tearDown() {
+        claimers.shutdownNow();
+        emailQueueRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void twoClaimersOfSameCandidatesNeverClaimSameRow() throws Exception {
+        for (int round = 0; round < 10; round++) {
+            // 두 선점기가 같은 후보 목록을 읽은 뒤 동시에 잠금
+            CyclicBarrier candidatesRead = new CyclicBarrier(2);
+            String suffix = "-" + round;
+            Future<Claim> first = claimers.submit(() -> claim("first" + suffix, 20, candidatesRead));
+            Future<Claim> second = claimers.submit(() -> claim("second" + suffix, 20, candidatesRead));
+            Claim a = first.get(30, TimeUnit.SECONDS);
+            Claim b = second.get(30, TimeUnit.SECONDS);
+
+            assertThat(a.candidates).isEqualTo(b.candidates).hasSize(20);
+            assertThat(a.claimed).hasSize(a.updated);
+            assertThat(b.claimed).hasSize(b.updated);
+            List<Long> both = new ArrayList<>(a.claimedIds());
+            both.addAll(b.claimedIds());
+            // 후보마다 정확히 한 선점기만 잠금
+            assertThat(both).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(a.candidates);
+        }
+        assertThat(countByStatus(EmailQueue.EmailStatus.PROCESSING)).isEqualTo(ROWS);
+    }
+
+    @Test
+    void concurrentClaimersDrainQueueWithoutDuplicates() throws Exception {
+        List<Long> claimedIds = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> workers = new ArrayList<>();
+        for (int worker = 0; worker < 4; worker++) {
+            int id = worker;
+            workers.add(claimers.submit(() -> {
+                for (int attempt = 0; ; attempt++) {
+                    Claim claim = claim("worker-" + id + "-" + attempt, 15, null);
+                    if (claim.candidates.isEmpty()) {
+                        return null;
+                    }
+                    claimedIds.addAll(claim.claimedIds());
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+
+        assertThat(claimedIds).hasSize(ROWS).doesNotHaveDuplicates();
+        assertThat(emailQueueRepository.findAll())
+                .allMatch(email -> email.getStatus() == EmailQueue.EmailStatus.PROCESSING && email.isLocked())
+                .extracting(EmailQueue::getProcessorId)
+                .doesNotContainNull();
+    }
+
+    // EmailQueueService.claimEmailsForProcessing과 같은 순서: 후보 조회 → 한 번의 UPDATE로 잠금 → 토큰으로 재조회
+    private Claim claim(String claimToken, int limit, CyclicBarrier afterCandidates) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidates = transactionTemplate.execute(status -> emailQueueRepository
+                .findClaimCandidates(EmailQueue.EmailStatus.QUEUED, now, PageRequest.of(0, limit))
+                .stream()
+                .map(EmailQueueRepository.ClaimCandidate::getId)
+                .toList());
+        if (afterCandidates != null) {
+            afterCandidates.await(10, TimeUnit.SECONDS);
+        }
+        if (candidates.isEmpty()) {
+            return new Claim(candidates, 0, List.of());
+        }
+        return transactionTemplate.execute(status -> {
+            int updated = emailQueueRepository.claimEmails(candidates, claimToken, now);
+            return new Claim(candidates, updated, emailQueueRepository.findClaimed(candidates, claimToken));
+        });
+    }
+
+    private long countByStatus(EmailQueue.EmailStatus status) {
+        return emailQueueRepository.findByStatus(status).size();
+    }
+
+    // 애플리케이션 설정(기본 사용자 등록 등)을 제외하고 JPA 저장소만 구성
+    @Configuration
+    @EntityScan(basePackageClasses = EmailQueue.class)
+    @EnableJpaRepositories(basePackageClasses = EmailQueueRepository.class)
+    static class JpaConfig {
+    }
+
+    private record Claim(List<Long> candidates, int updated, List<EmailQueue> claimed) {
+        List<Long> claimedIds() {
+            return claimed.stream().map(EmailQueue::getId).toList();
+        }
+    }
+}
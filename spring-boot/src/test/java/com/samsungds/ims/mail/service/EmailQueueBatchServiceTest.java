@@ -0,0 +1,194 @@
+package com.samsungds.ims.mail.service;
+
+import com.samsungds.ims.mail.component.AdaptiveConcurrencyLimiter;
+import com.samsungds.ims.mail.component.SendMailBatchProperties;
+import com.samsungds.ims.mail.component.SendRateLimiter;
+import com.samsungds.ims.mail.model.EmailQueue;
+import com.samsungds.ims.mail.repository.EmailQueueRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 디스패처가 동시 실행 한도만큼 발송을 유지하며 큐를 비우는지 확인
+ * 발송은 테스트가 직접 완료시키는 future로 대신하고, 선점과 결과 저장은 실제로 커밋합니다.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailQueueBatchServiceTest {
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Autowired
+    private EmailQueueRepository emailQueueRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private final SendMailBatchProperties properties = new SendMailBatchProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingQueue<Send> sends = new LinkedBlockingQueue<>();
+    private RetryScheduler retryScheduler;
+    private EmailQueueBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBatchSize(10);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        EmailQueueService emailQueueService = new EmailQueueService(emailQueueRepository, properties, new NamedParameterJdbcTemplate(dataSource)) {
+            // 프록시 없이 생성하므로 선점은 직접 트랜잭션으로 감쌈
+            @Override
+            public List<EmailQueue> claimEmailsForProcessing(int limit, String claimToken) {
+                return transactionTemplate.execute(status -> super.claimEmailsForProcessing(limit, claimToken));
+            }
+        };
+        EmailQueueBatchAsyncService asyncService = new EmailQueueBatchAsyncService(properties, null, null, null) {
+            @Override
+            public CompletableFuture<EmailQueue> processEmail(EmailQueue email) {
+                CompletableFuture<EmailQueue> future = new CompletableFuture<>();
+                sends.add(new Send(email, future));
+                return future;
+            }
+        };
+        SendRateLimiter sendRateLimiter = new SendRateLimiter(properties, meterRegistry);
+        sendRateLimiter.init();
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        concurrencyLimiter.init();
+        retryScheduler = new RetryScheduler(emailQueueRepository, properties, transactionManager, event -> {
+        }, meterRegistry);
+        retryScheduler.init();
+
+        batchService = new EmailQueueBatchService(asyncService, emailQueueService, properties,
+                sendRateLimiter, concurrencyLimiter, retryScheduler, meterRegistry);
+        batchService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.shutdownDispatcher();
+        retryScheduler.stop();
+        emailQueueRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void refillsSlotAsSoonAsOneSendCompletesAndDrainsQueue() throws InterruptedException {
+        properties.setConcurrentBatchSize(2);
+        for (int i = 0; i < 5; i++) {
+            enqueue("drain-" + i);
+        }
+        batchService.start();
+        batchService.requestDispatch();
+
+        Send first = nextSend();
+        Send second = nextSend();
+        // 한도(2)만큼만 발송
+        assertThat(sends.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(batchService.getProcessorStatus().getInFlight()).isEqualTo(2);
+
+        // 한 건이 끝나면 나머지 한 건을 기다리지 않고 바로 다음 메일 발송
+        first.complete();
+        Send third = nextSend();
+        assertThat(second.future().isDone()).isFalse();
+        assertThat(sends.poll(200, TimeUnit.MILLISECONDS)).isNull();
+
+        third.complete();
+        Send fourth = nextSend();
+        second.complete();
+        Send fifth = nextSend();
+        fourth.complete();
+        fifth.complete();
+
+        await(() -> emailQueueRepository.findAll().stream().allMatch(email -> email.getStatus() == EmailQueue.EmailStatus.SENT));
+        await(() -> batchService.getProcessorStatus().getInFlight() == 0);
+        assertThat(sends).isEmpty();
+        assertThat(emailQueueRepository.findAll()).hasSize(5).noneMatch(EmailQueue::isLocked);
+    }
+
+    @Test
+    void writesBackExceptionallyCompletedSendAsRetry() throws InterruptedException {
+        properties.setConcurrentBatchSize(1);
+        Long failingId = enqueue("failing");
+        Long nextId = enqueue("next");
+        batchService.start();
+        batchService.requestDispatch();
+
+        Send failing = nextSend();
+        assertThat(failing.email().getId()).isEqualTo(failingId);
+        failing.future().completeExceptionally(new IllegalStateException("worker crashed"));
+
+        // 잠금 타임아웃을 기다리지 않고 바로 재시도로 저장되고 자리가 다음 메일로 채워짐
+        Send next = nextSend();
+        assertThat(next.email().getId()).isEqualTo(nextId);
+        EmailQueue failed = emailQueueRepository.findById(failingId).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(EmailQueue.EmailStatus.RETRY);
+        assertThat(failed.getRetryCount()).isEqualTo(1);
+        assertThat(failed.isLocked()).isFalse();
+        assertThat(failed.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(failed.getErrorMessage()).contains("worker crashed");
+
+        next.complete();
+        await(() -> emailQueueRepository.findById(nextId).orElseThrow().getStatus() == EmailQueue.EmailStatus.SENT);
+        await(() -> batchService.getProcessorStatus().getInFlight() == 0);
+    }
+
+    private Long enqueue(String uniqueId) {
+        EmailQueue email = new EmailQueue();
+        email.setSender("sender@samsung.com");
+        email.setSubject("subject " + uniqueId);
+        email.setUniqueId(uniqueId);
+        return emailQueueRepository.save(email).getId();
+    }
+
+    private Send nextSend() throws InterruptedException {
+        Send send = sends.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        assertThat(send).as("발송 요청").isNotNull();
+        return send;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("조건 대기 시간 초과").isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    // 애플리케이션 설정(기본 사용자 등록 등)을 제외하고 JPA 저장소만 구성
+    @Configuration
+    @EntityScan(basePackageClasses = EmailQueue.class)
+    @EnableJpaRepositories(basePackageClasses = EmailQueueRepository.class)
+    static class JpaConfig {
+    }
+
+    /**
+     * 디스패처가 요청한 발송 한 건
+     */
+    private record Send(EmailQueue email, CompletableFuture<EmailQueue> future) {
+        void complete() {
+            email.markAsSent();
+            future.complete(email);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.samsungds.ims.mail.service;
+
+import com.samsungds.ims.mail.component.EmailDedupIndex;
+import com.samsungds.ims.mail.component.SmtpInterceptorProperties;
+import com.samsungds.ims.mail.model.EmailQueueRecipient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailQueueIngestWriterTest {
+    private DriverManagerDataSource dataSource;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private SmtpInterceptorProperties properties;
+    private final List<EmailQueueIngestWriter> writers = new ArrayList<>();
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private ExecutorService clients;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:ingest-writer-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        createSchema();
+
+        properties = new SmtpInterceptorProperties();
+        properties.setIngestBatchSize(50);
+        properties.setIngestFlushIntervalMillis(5);
+        properties.setDedupBloomExpectedInsertions(1000);
+        clients = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        clients.shutdownNow();
+        for (EmailQueueIngestWriter writer : writers) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void countsBlobReferencesOncePerAttachmentRow() {
+        EmailQueueIngestWriter writer = newWriter();
+        String sha256 = sha256(1);
+
+        Long first = writer.write(record("mail-1", attachment("/attachments/mail-1/report.pdf", sha256)));
+        // 같은 메일(uniqueId)의 같은 첨부파일 경로는 다시 기록하지 않음
+        Long duplicate = writer.write(record("mail-1", attachment("/attachments/mail-1/report.pdf", sha256)));
+        Long other = writer.write(record("mail-2", attachment("/attachments/mail-2/report.pdf", sha256)));
+
+        assertThat(duplicate).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(count("SELECT COUNT(*) FROM email_queue_attachment")).isEqualTo(2);
+        assertThat(refCount(sha256)).isEqualTo(2);
+    }
+
+    @Test
+    void countsConcurrentFirstReferencesToSameBlob() throws Exception {
+        // 두 저장기(인스턴스)가 같은 새 원본을 동시에 처음 참조
+        EmailQueueIngestWriter writerA = newWriter();
+        EmailQueueIngestWriter writerB = newWriter();
+        int rounds = 20;
+
+        for (int i = 0; i < rounds; i++) {
+            String sha256 = sha256(i);
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            Future<Long> a = clients.submit(() -> {
+                barrier.await();
+                return writerA.write(record("a-" + sha256, attachment("/attachments/a/" + sha256, sha256)));
+            });
+            Future<Long> b = clients.submit(() -> {
+                barrier.await();
+                return writerB.write(record("b-" + sha256, attachment("/attachments/b/" + sha256, sha256)));
+            });
+
+            assertThat(a.get(10, TimeUnit.SECONDS)).isNotNull();
+            assertThat(b.get(10, TimeUnit.SECONDS)).isNotNull();
+            assertThat(refCount(sha256)).isEqualTo(2);
+        }
+        assertThat(count("SELECT COUNT(*) FROM attachment_blob")).isEqualTo(rounds);
+        assertThat(count("SELECT COUNT(*) FROM email_queue_attachment")).isEqualTo(rounds * 2L);
+    }
+
+    @Test
+    void recreatesBlobRowDeletedBeforeCommit() {
+        EmailQueueIngestWriter writer = newWriter();
+        String sha256 = sha256(7);
+        writer.write(record("mail-1", attachment("/attachments/mail-1/a.pdf", sha256)));
+
+        // 이력 삭제로 참조가 모두 반환되어 행이 지워진 상태에서 같은 원본을 다시 참조
+        jdbcTemplate.update("DELETE FROM attachment_blob WHERE sha256 = :sha256", new MapSqlParameterSource("sha256", sha256));
+        writer.write(record("mail-2", attachment("/attachments/mail-2/a.pdf", sha256)));
+
+        assertThat(refCount(sha256)).isEqualTo(1);
+    }
+
+    @Test
+    void deletesUnreferencedBlobRowsOfFailedRecord() {
+        EmailQueueIngestWriter writer = newWriter();
+        String shared = sha256(1);
+        String orphan = sha256(2);
+        writer.write(record("mail-1", attachment("/attachments/mail-1/a.pdf", shared)));
+
+        // 저장에 실패한 메일이 미리 만든 원본 행은 참조 수 0이면 삭제, 다른 메일이 참조하는 행은 유지
+        EmailQueueIngestWriter.IngestRecord tooLong = new EmailQueueIngestWriter.IngestRecord(
+                "mail-bad", "sender@samsung.com", "x".repeat(300), "<p>body</p>", null);
+        tooLong.getAttachments().add(attachment("/attachments/mail-bad/a.pdf", shared));
+        tooLong.getAttachments().add(attachment("/attachments/mail-bad/b.pdf", orphan));
+        assertThatThrownBy(() -> writer.write(tooLong)).isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(refCount(shared)).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM attachment_blob WHERE sha256 = '" + orphan + "'")).isZero();
+
+        // 같은 원본을 다시 저장하면 행을 새로 만듦
+        writer.write(record("mail-2", attachment("/attachments/mail-2/b.pdf", orphan)));
+        assertThat(refCount(orphan)).isEqualTo(1);
+    }
+
+    @Test
+    void mergesIntoRowMissingFromIndexAfterDuplicateKey() {
+        EmailQueueIngestWriter writer = newWriter();
+        // 인덱스 생성 후 다른 인스턴스가 저장한 행 (블룸 필터에 없으므로 신규로 INSERT를 시도함)
+        jdbcTemplate.update("INSERT INTO email_queue (unique_id, status) VALUES ('mail-1', 'QUEUED')", new MapSqlParameterSource());
+        long existingId = count("SELECT id FROM email_queue WHERE unique_id = 'mail-1'");
+
+        Long queueId = writer.write(record("mail-1", attachment("/attachments/mail-1/a.pdf", sha256(1))));
+
+        assertThat(queueId).isEqualTo(existingId);
+        assertThat(count("SELECT COUNT(*) FROM email_queue")).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM email_queue_recipients WHERE email_queue_id = " + existingId)).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM email_queue_contents WHERE email_queue_id = " + existingId)).isEqualTo(1);
+        assertThat(refCount(sha256(1))).isEqualTo(1);
+    }
+
+    @Test
+    void retriesRecordsIndividuallyWhenBatchFails() throws Exception {
+        properties.setIngestFlushIntervalMillis(500);
+        EmailQueueIngestWriter writer = newWriter();
+        EmailQueueIngestWriter.IngestRecord tooLong = new EmailQueueIngestWriter.IngestRecord(
+                "mail-bad", "sender@samsung.com", "x".repeat(300), "<p>body</p>", null);
+
+        CyclicBarrier barrier = new CyclicBarrier(3);
+        Future<Long> good1 = clients.submit(() -> {
+            barrier.await();
+            return writer.write(record("mail-1", attachment("/attachments/mail-1/a.pdf", sha256(1))));
+        });
+        Future<Long> bad = clients.submit(() -> {
+            barrier.await();
+            return writer.write(tooLong);
+        });
+        Future<Long> good2 = clients.submit(() -> {
+            barrier.await();
+            return writer.write(record("mail-2", attachment("/attachments/mail-2/a.pdf", sha256(1))));
+        });
+
+        assertThat(good1.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(good2.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThatThrownBy(() -> bad.get(10, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(count("SELECT COUNT(*) FROM email_queue")).isEqualTo(2);
+        assertThat(count("SELECT COUNT(*) FROM email_queue_attachment")).isEqualTo(2);
+        assertThat(refCount(sha256(1))).isEqualTo(2);
+    }
+
+    @Test
+    void mergesDuplicateMailsInBatchAndDedupsAttachmentsByFilePath() throws Exception {
+        properties.setIngestFlushIntervalMillis(500);
+        EmailQueueIngestWriter writer = newWriter();
+
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Future<Long> first = clients.submit(() -> {
+            barrier.await();
+            return writer.write(record("mail-1",
+                    attachment("/attachments/mail-1/a.pdf", sha256(1)),
+                    attachment("/attachments/mail-1/b.pdf", sha256(2))));
+        });
+        Future<Long> second = clients.submit(() -> {
+            barrier.await();
+            return writer.write(record("mail-1",
+                    attachment("/attachments/mail-1/a.pdf", sha256(1)),
+                    attachment("/attachments/mail-1/c.pdf", sha256(1))));
+        });
+
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(first.get(10, TimeUnit.SECONDS));
+        assertThat(count("SELECT COUNT(*) FROM email_queue")).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM email_queue_attachment")).isEqualTo(3);
+        assertThat(refCount(sha256(1))).isEqualTo(2);
+        assertThat(refCount(sha256(2))).isEqualTo(1);
+    }
+
+    @Test
+    void failsBatchAndKeepsRunningAfterError() {
+        AtomicBoolean failNext = new AtomicBoolean(true);
+        EmailQueueIngestWriter writer = newWriter(new EmailDedupIndex(jdbcTemplate, properties, new SimpleMeterRegistry()) {
+            @Override
+            public Map<String, Long> findExisting(Set<String> uniqueIds, boolean useIndex) {
+                if (failNext.getAndSet(false)) {
+                    throw new AssertionError("index corrupted");
+                }
+                return super.findExisting(uniqueIds, useIndex);
+            }
+        });
+
+        assertThatThrownBy(() -> writer.write(record("mail-1")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+
+        assertThat(writer.write(record("mail-2"))).isNotNull();
+        assertThat(count("SELECT COUNT(*) FROM email_queue")).isEqualTo(1);
+    }
+
+    @Test
+    void timesOutAndAbandonsRecordsNotYetTakenByWriter() throws Exception {
+        properties.setIngestWriteTimeoutMillis(200);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean blockNext = new AtomicBoolean(true);
+        EmailQueueIngestWriter writer = newWriter(new EmailDedupIndex(jdbcTemplate, properties, new SimpleMeterRegistry()) {
+            @Override
+            public Map<String, Long> findExisting(Set<String> uniqueIds, boolean useIndex) {
+                if (blockNext.getAndSet(false)) {
+                    awaitQuietly(release);
+                }
+                return super.findExisting(uniqueIds, useIndex);
+            }
+        });
+
+        // 첫 메일은 저장 중에 멈춘 배치에 포함되고, 두 번째 메일은 대기열에 남음
+        Future<Long> inFlight = clients.submit(() -> writer.write(record("mail-1")));
+        Thread.sleep(50);
+        assertThatThrownBy(() -> writer.write(record("mail-2")))
+                .isInstanceOfSatisfying(IngestTimeoutException.class, e -> assertThat(e.isAbandoned()).isTrue());
+        assertThatThrownBy(() -> inFlight.get(10, TimeUnit.SECONDS))
+                .cause()
+                .isInstanceOfSatisfying(IngestTimeoutException.class, e -> assertThat(e.isAbandoned()).isFalse());
+
+        release.countDown();
+        assertThat(writer.write(record("mail-3"))).isNotNull();
+        // 배치에 포함되었던 메일은 늦게라도 커밋되고, 포기한 메일은 저장되지 않음
+        assertThat(count("SELECT COUNT(*) FROM email_queue WHERE unique_id = 'mail-1'")).isEqualTo(1);
+        assertThat(count("SELECT COUNT(*) FROM email_queue WHERE unique_id = 'mail-2'")).isZero();
+    }
+
+    private EmailQueueIngestWriter newWriter() {
+        return newWriter(new EmailDedupIndex(jdbcTemplate, properties, new SimpleMeterRegistry()));
+    }
+
+    private EmailQueueIngestWriter newWriter(EmailDedupIndex index) {
+        index.init();
+        EmailQueueIngestWriter writer = new EmailQueueIngestWriter(
+                jdbcTemplate, new DataSourceTransactionManager(dataSource), properties, index, events::add);
+        writer.start();
+        writers.add(writer);
+        return writer;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static EmailQueueIngestWriter.IngestRecord record(String uniqueId, EmailQueueIngestWriter.AttachmentEntry... attachments) {
+        EmailQueueIngestWriter.IngestRecord record = new EmailQueueIngestWriter.IngestRecord(
+                uniqueId, "sender@samsung.com", "subject " + uniqueId, "<p>body</p>", null);
+        record.getRecipients().add(new EmailQueueIngestWriter.RecipientEntry("dev.kim@samsung.com", EmailQueueRecipient.RecipientType.TO));
+        record.getAttachments().addAll(List.of(attachments));
+        return record;
+    }
+
+    private static EmailQueueIngestWriter.AttachmentEntry attachment(String filePath, String sha256) {
+        return new EmailQueueIngestWriter.AttachmentEntry("report.pdf", "application/pdf", filePath, sha256, 1024);
+    }
+
+    private static String sha256(int seed) {
+        return String.format("%064x", seed + 1);
+    }
+
+    private long refCount(String sha256) {
+        return jdbcTemplate.queryForObject("SELECT ref_count FROM attachment_blob WHERE sha256 = :sha256",
+                new MapSqlParameterSource("sha256", sha256), Long.class);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, new MapSqlParameterSource(), Long.class);
+    }
+
+    private void createSchema() {
+        jdbcTemplate.getJdbcTemplate().execute("""
+                CREATE TABLE email_queue (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    sender VARCHAR(255), subject VARCHAR(255), status VARCHAR(20), priority INT, retry_count INT, max_retries INT,
+                    unique_id VARCHAR(255), locked BOOLEAN, created_at TIMESTAMP, updated_at TIMESTAMP)""");
+        jdbcTemplate.getJdbcTemplate().execute("CREATE UNIQUE INDEX ux_email_queue_unique_id ON email_queue (unique_id)");
+        jdbcTemplate.getJdbcTemplate().execute("""
+                CREATE TABLE email_queue_contents (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    email_queue_id BIGINT, body CLOB, body_blob_id VARCHAR(64), created_at TIMESTAMP, updated_at TIMESTAMP)""");
+        jdbcTemplate.getJdbcTemplate().execute("""
+                CREATE TABLE email_queue_recipients (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    email_queue_id BIGINT, email VARCHAR(255), type VARCHAR(10), created_at TIMESTAMP, updated_at TIMESTAMP)""");
+        jdbcTemplate.getJdbcTemplate().execute("""
+                CREATE TABLE email_queue_attachment (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    email_queue_id BIGINT NOT NULL, file_name VARCHAR(255) NOT NULL, content_type VARCHAR(255) NOT NULL,
+                    file_path VARCHAR(1024) NOT NULL, sha256 VARCHAR(64), file_size BIGINT)""");
+        jdbcTemplate.getJdbcTemplate().execute("""
+                CREATE TABLE attachment_blob (
+                    sha256 VARCHAR(64) PRIMARY KEY, file_size BIGINT NOT NULL, ref_count BIGINT NOT NULL,
+                    created_at TIMESTAMP, updated_at TIMESTAMP)""");
+    }
+}
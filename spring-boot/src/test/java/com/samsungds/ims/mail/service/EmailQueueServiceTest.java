@@ -0,0 +1,134 @@
+package com.samsungds.ims.mail.service;
+
+import com.samsungds.ims.mail.component.SendMailBatchProperties;
+import com.samsungds.ims.mail.model.EmailQueue;
+import com.samsungds.ims.mail.repository.EmailQueueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 발송 결과 일괄 저장(saveProcessedEmails) 확인
+ * 선점과 저장을 각각 실제로 커밋해야 하므로 테스트 트랜잭션을 사용하지 않습니다.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailQueueServiceTest {
+    private static final LocalDateTime OLD = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private EmailQueueRepository emailQueueRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private EmailQueueService emailQueueService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        SendMailBatchProperties properties = new SendMailBatchProperties();
+        properties.setLockTimeoutMinutes(0);
+        emailQueueService = new EmailQueueService(emailQueueRepository, properties, jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailQueueRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void savesResultAndUpdatedAtForOwnClaim() {
+        Long id = enqueue("own");
+        EmailQueue claimed = claim("processor-a");
+
+        claimed.markAsSent();
+        assertThat(emailQueueService.saveProcessedEmails(List.of(claimed))).isEqualTo(1);
+
+        EmailQueue saved = emailQueueRepository.findById(id).orElseThrow();
+        assertThat(saved.getStatus()).isEqualTo(EmailQueue.EmailStatus.SENT);
+        assertThat(saved.isLocked()).isFalse();
+        assertThat(saved.getLockedAt()).isNull();
+        assertThat(saved.getUpdatedAt()).isAfter(OLD);
+    }
+
+    @Test
+    void doesNotOverwriteRowReclaimedByAnotherProcessor() {
+        Long id = enqueue("reclaimed");
+        EmailQueue stale = claim("processor-a");
+
+        // 잠금 타임아웃으로 해제된 뒤 다른 프로세서가 다시 선점
+        transactionTemplate.executeWithoutResult(status -> emailQueueService.unlockTimedOutEmails());
+        EmailQueue current = claim("processor-b");
+        assertThat(current.getId()).isEqualTo(id);
+        markUpdatedAt(id, OLD);
+
+        // 늦게 끝난 이전 프로세서의 결과는 건너뜀
+        stale.incrementRetry("timeout");
+        assertThat(emailQueueService.saveProcessedEmails(List.of(stale))).isZero();
+
+        EmailQueue untouched = emailQueueRepository.findById(id).orElseThrow();
+        assertThat(untouched.getStatus()).isEqualTo(EmailQueue.EmailStatus.PROCESSING);
+        assertThat(untouched.getProcessorId()).isEqualTo("processor-b");
+        assertThat(untouched.isLocked()).isTrue();
+        assertThat(untouched.getRetryCount()).isZero();
+        assertThat(untouched.getErrorMessage()).isNull();
+        assertThat(untouched.getUpdatedAt()).isEqualTo(OLD);
+
+        // 현재 선점한 프로세서의 결과는 반영
+        current.markAsSent();
+        assertThat(emailQueueService.saveProcessedEmails(List.of(stale, current))).isEqualTo(1);
+        EmailQueue saved = emailQueueRepository.findById(id).orElseThrow();
+        assertThat(saved.getStatus()).isEqualTo(EmailQueue.EmailStatus.SENT);
+        assertThat(saved.getRetryCount()).isZero();
+        assertThat(saved.getUpdatedAt()).isAfter(OLD);
+    }
+
+    private Long enqueue(String uniqueId) {
+        EmailQueue email = new EmailQueue();
+        email.setSender("sender@samsung.com");
+        email.setSubject("subject " + uniqueId);
+        email.setUniqueId(uniqueId);
+        return emailQueueRepository.save(email).getId();
+    }
+
+    private EmailQueue claim(String claimToken) {
+        List<EmailQueue> claimed = transactionTemplate.execute(status -> emailQueueService.claimEmailsForProcessing(10, claimToken));
+        assertThat(claimed).hasSize(1);
+        return claimed.get(0);
+    }
+
+    private void markUpdatedAt(Long id, LocalDateTime updatedAt) {
+        jdbcTemplate.update("UPDATE email_queue SET updated_at = :updatedAt WHERE id = :id",
+                new MapSqlParameterSource().addValue("id", id).addValue("updatedAt", Timestamp.valueOf(updatedAt)));
+    }
+
+    // 애플리케이션 설정(기본 사용자 등록 등)을 제외하고 JPA 저장소만 구성
+    @Configuration
+    @EntityScan(basePackageClasses = EmailQueue.class)
+    @EnableJpaRepositories(basePackageClasses = EmailQueueRepository.class)
+    static class JpaConfig {
+    }
+}
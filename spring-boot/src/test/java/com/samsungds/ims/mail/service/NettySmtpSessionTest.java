@@ -0,0 +1,312 @@
+package com.samsungds.ims.mail.service;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.subethamail.smtp.MessageHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EmbeddedChannel로 NettySmtpSession의 명령/DATA 처리를 단일 스레드에서 확인
+ * 핸들러 작업은 대기열에 모아 두었다가 테스트가 직접 실행하므로, DATA 핸들러는 종료 표시까지 보낸 뒤에 실행합니다.
+ */
+class NettySmtpSessionTest {
+    private final QueuedExecutor handlerExecutor = new QueuedExecutor();
+    private final List<String> messages = new ArrayList<>();
+    private final List<String> recipients = new ArrayList<>();
+    private int handlersDone;
+    private NettySmtpServer server;
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        server = new NettySmtpServer(context -> new RecordingHandler(), handlerExecutor);
+        server.setHostName("mail.test");
+        server.setMaxMessageSize(4 * 1024 * 1024);
+        channel = new EmbeddedChannel(new NettySmtpSession(server));
+        assertThat(replies()).containsExactly("220 mail.test ESMTP " + server.getSoftwareName());
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void removesLeadingDotFromDataLines() {
+        startTransaction();
+
+        send("Subject: dots\r\n\r\n..leading\r\n...two\r\nmiddle.dot\r\n.\r\n");
+        runHandlers();
+
+        assertThat(replies()).containsExactly("250 Ok");
+        assertThat(messages).containsExactly("Subject: dots\r\n\r\n.leading\r\n..two\r\nmiddle.dot\r\n");
+    }
+
+    @Test
+    void detectsTerminatorSplitAcrossReads() {
+        startTransaction();
+
+        send("body line\r");
+        send("\n.");
+        send("\r");
+        assertThat(replies()).isEmpty();
+        send("\nNOOP\r\n");
+        runHandlers();
+
+        assertThat(replies()).containsExactly("250 Ok", "250 Ok");
+        assertThat(messages).containsExactly("body line\r\n");
+    }
+
+    @Test
+    void keepsDotCrWithoutLfAsData() {
+        startTransaction();
+
+        send("a\r\n.\rb\r\n.\r\n");
+        runHandlers();
+
+        assertThat(replies()).containsExactly("250 Ok");
+        assertThat(messages).containsExactly("a\r\n\rb\r\n");
+    }
+
+    @Test
+    void keepsDotCrSplitFromFollowingDataAcrossReads() {
+        startTransaction();
+
+        // 읽기가 ".\r"에서 끝나고 다음 읽기가 LF가 아닌 바이트로 시작
+        send("a\r\n.\r");
+        send("X\r\n");
+        send(".\r");
+        send("\r\n.\r");
+        send("\n");
+        runHandlers();
+
+        assertThat(replies()).containsExactly("250 Ok");
+        assertThat(messages).containsExactly("a\r\n\rX\r\n\r\r\n");
+        assertThat(channel.isActive()).isTrue();
+    }
+
+    @Test
+    void acceptsBareLfLineEndings() {
+        send("EHLO client\n");
+        assertThat(replies()).hasSize(4).last().isEqualTo("250 SIZE " + server.getMaxMessageSize());
+        send("MAIL FROM:<sender@samsung.com>\n");
+        runHandlers();
+        send("RCPT TO:<dev.kim@samsung.com>\nDATA\n");
+        assertThat(replies()).containsExactly("250 Ok", "250 Ok", "354 End data with <CR><LF>.<CR><LF>");
+
+        send("line1\n..line2\n.\n");
+        runHandlers();
+
+        assertThat(replies()).containsExactly("250 Ok");
+        assertThat(messages).containsExactly("line1\n.line2\n");
+    }
+
+    @Test
+    void queuesPipelinedCommandsWhileAwaitingHandler() {
+        send("EHLO client\r\n");
+        replies();
+
+        // MAIL의 핸들러 생성을 기다리는 동안 도착한 명령은 응답 후 순서대로 처리
+        send("MAIL FROM:<sender@samsung.com>\r\nRCPT TO:<a@samsung.com>\r\nRCPT TO:<b@samsung.com>\r\nDATA\r\n");
+        assertThat(replies()).isEmpty();
+        assertThat(recipients).isEmpty();
+
+        runHandlers();
+        assertThat(replies()).containsExactly("250 Ok", "250 Ok", "250 Ok", "354 End data with <CR><LF>.<CR><LF>");
+        assertThat(recipients).containsExactly("a@samsung.com", "b@samsung.com");
+
+        // DATA 종료와 다음 트랜잭션 명령을 한 번에 보내도 DATA 응답 후 처리
+        send("hello\r\n.\r\nMAIL FROM:<next@samsung.com>\r\nQUIT\r\n");
+        assertThat(replies()).isEmpty();
+        runHandlers();
+        assertThat(replies()).containsExactly("250 Ok");
+        runHandlers();
+
+        assertThat(replies()).containsExactly("250 Ok", "221 Bye");
+        assertThat(messages).containsExactly("hello\r\n");
+        assertThat(handlersDone).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsDeclaredSizeOverLimit() {
+        send("EHLO client\r\n");
+        replies();
+
+        send("MAIL FROM:<sender@samsung.com> SIZE=" + (server.getMaxMessageSize() + 1) + "\r\n");
+        assertThat(replies()).containsExactly("552 5.3.4 Message size exceeds fixed limit");
+        send("MAIL FROM:<sender@samsung.com> SIZE=abc\r\n");
+        assertThat(replies()).containsExactly("501 Syntax: MAIL FROM: <address> [SIZE=<size>]");
+        assertThat(handlerExecutor.tasks).isEmpty();
+
+        send("MAIL FROM:<sender@samsung.com> SIZE=" + server.getMaxMessageSize() + " BODY=8BITMIME\r\n");
+        runHandlers();
+        assertThat(replies()).containsExactly("250 Ok");
+    }
+
+    @Test
+    void rejectsOverLongCommandLines() {
+        send("EHLO client\r\n");
+        replies();
+
+        // 줄 끝 없이 상한을 넘으면 줄 끝까지 버린 뒤 한 번만 응답
+        send("NOOP " + "x".repeat(5000));
+        send("y".repeat(100));
+        assertThat(replies()).isEmpty();
+        send("z\r\nNOOP\r\n");
+        assertThat(replies()).containsExactly("500 5.5.2 Line too long", "250 Ok");
+
+        send("NOOP " + "x".repeat(5000) + "\r\nNOOP\r\n");
+        assertThat(replies()).containsExactly("500 5.5.2 Line too long", "250 Ok");
+        assertThat(channel.isActive()).isTrue();
+    }
+
+    @Test
+    void pausesReadingWhileDataBacklogIsHighAndResumesWhenDrained() {
+        startTransaction();
+        String line = "x".repeat(1022) + "\r\n";
+        StringBuilder expected = new StringBuilder();
+
+        // 핸들러가 읽기 전에 상한(1MB)을 넘게 쌓이면 읽기 중지
+        for (int i = 0; i < 1100; i++) {
+            send(line);
+            expected.append(line);
+        }
+        assertThat(channel.config().isAutoRead()).isFalse();
+
+        send(".\r\n");
+        runHandlers();
+
+        assertThat(channel.config().isAutoRead()).isTrue();
+        assertThat(replies()).containsExactly("250 Ok");
+        assertThat(messages).containsExactly(expected.toString());
+    }
+
+    @Test
+    void pausesReadingWhilePipelinedInputPilesUpAwaitingReply() {
+        send("EHLO client\r\n");
+        replies();
+
+        send("MAIL FROM:<sender@samsung.com>\r\n");
+        int noops = 70 * 1024 / "NOOP\r\n".length();
+        send("NOOP\r\n".repeat(noops));
+        assertThat(channel.config().isAutoRead()).isFalse();
+
+        runHandlers();
+
+        assertThat(channel.config().isAutoRead()).isTrue();
+        List<String> replies = replies();
+        assertThat(replies).hasSize(noops + 1).allMatch("250 Ok"::equals);
+    }
+
+    private void startTransaction() {
+        send("EHLO client\r\nMAIL FROM:<sender@samsung.com>\r\n");
+        runHandlers();
+        send("RCPT TO:<dev.kim@samsung.com>\r\nDATA\r\n");
+        List<String> replies = replies();
+        assertThat(replies.subList(replies.size() - 3, replies.size()))
+                .containsExactly("250 Ok", "250 Ok", "354 End data with <CR><LF>.<CR><LF>");
+    }
+
+    private void send(String data) {
+        channel.writeInbound(Unpooled.copiedBuffer(data, StandardCharsets.ISO_8859_1));
+    }
+
+    // 지금까지 제출된 핸들러 작업과 그 결과로 이벤트 루프에 예약된 작업을 실행
+    // (이 과정에서 새로 제출된 작업은 실행하지 않음: DATA 핸들러는 종료 표시를 보낸 뒤 실행해야 함)
+    private void runHandlers() {
+        channel.runPendingTasks();
+        List<Runnable> submitted = new ArrayList<>(handlerExecutor.tasks);
+        handlerExecutor.tasks.clear();
+        for (Runnable task : submitted) {
+            task.run();
+            channel.runPendingTasks();
+        }
+    }
+
+    private List<String> replies() {
+        StringBuilder out = new StringBuilder();
+        ByteBuf buf;
+        while ((buf = channel.readOutbound()) != null) {
+            out.append(buf.toString(StandardCharsets.US_ASCII));
+            buf.release();
+        }
+        if (out.length() == 0) {
+            return List.of();
+        }
+        assertThat(out.toString()).endsWith("\r\n");
+        return Arrays.asList(out.substring(0, out.length() - 2).split("\r\n"));
+    }
+
+    private class RecordingHandler implements MessageHandler {
+        @Override
+        public void from(String from) {
+        }
+
+        @Override
+        public void recipient(String recipient) {
+            recipients.add(recipient);
+        }
+
+        @Override
+        public void data(InputStream data) throws IOException {
+            messages.add(new String(data.readAllBytes(), StandardCharsets.ISO_8859_1));
+        }
+
+        @Override
+        public void done() {
+            handlersDone++;
+        }
+    }
+
+    /**
+     * 제출된 작업을 테스트 스레드가 실행할 때까지 보관
+     */
+    private static final class QueuedExecutor extends AbstractExecutorService {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.samsungds.ims.mail.service;
+
+import com.samsungds.ims.mail.component.SendMailBatchProperties;
+import com.samsungds.ims.mail.controller.EmailQueueController;
+import com.samsungds.ims.mail.model.EmailQueue;
+import com.samsungds.ims.mail.repository.EmailQueueRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 예약 메일 스케줄러를 고정 시계로 확인 (스케줄러 스레드는 시작하지 않고 promoteDue로 한 번씩 전환)
+ * 전환 UPDATE를 실제로 커밋해야 하므로 테스트 트랜잭션을 사용하지 않습니다.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ScheduledEmailSchedulerTest {
+    @Autowired
+    private EmailQueueRepository emailQueueRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private final MutableClock clock = new MutableClock(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+    private final List<Object> events = new ArrayList<>();
+    private final SendMailBatchProperties properties = new SendMailBatchProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmailQueueService emailQueueService;
+    private ScheduledEmailScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        emailQueueService = new EmailQueueService(emailQueueRepository, properties, new NamedParameterJdbcTemplate(dataSource));
+        scheduler = new ScheduledEmailScheduler(emailQueueRepository, emailQueueService, properties,
+                transactionManager, events::add, meterRegistry);
+        scheduler.setClock(clock);
+        scheduler.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailQueueRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void promotesAtScheduledTime() {
+        EmailQueue email = scheduled("on-time", Duration.ofSeconds(10));
+        scheduler.schedule(email);
+        assertThat(scheduler.getLoadedCount()).isEqualTo(1);
+
+        assertThat(scheduler.promoteDue()).isZero();
+        clock.advance(Duration.ofMillis(9_999));
+        assertThat(scheduler.promoteDue()).isZero();
+        assertThat(status(email)).isEqualTo(EmailQueue.EmailStatus.SCHEDULED);
+
+        clock.advance(Duration.ofMillis(1));
+        assertThat(scheduler.promoteDue()).isEqualTo(1);
+
+        assertThat(status(email)).isEqualTo(EmailQueue.EmailStatus.QUEUED);
+        assertThat(scheduler.getLoadedCount()).isZero();
+        assertThat(events).containsExactly(new EmailQueuedEvent(EmailQueuedEvent.Source.SCHEDULED, 1));
+        assertThat(meterRegistry.get("mail.schedule.lateness").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mail.schedule.lateness").timer().max(TimeUnit.MILLISECONDS)).isZero();
+    }
+
+    @Test
+    void ignoresEmailsOutsideWindow() {
+        properties.setScheduleWindowSeconds(60);
+        scheduler.schedule(scheduled("far", Duration.ofSeconds(61)));
+        assertThat(scheduler.getLoadedCount()).isZero();
+
+        // 시각이 가까워지면 읽기로 올라옴
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(scheduler.load()).isFalse();
+        assertThat(scheduler.getLoadedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLatestWhenWindowIsFull() {
+        properties.setScheduleMaxLoaded(2);
+        EmailQueue first = scheduled("first", Duration.ofSeconds(10));
+        EmailQueue second = scheduled("second", Duration.ofSeconds(20));
+        EmailQueue third = scheduled("third", Duration.ofSeconds(30));
+
+        // 한도만큼 읽으면 이른 순 2건만 올라오고 뒤에 더 있음을 알림
+        assertThat(scheduler.load()).isTrue();
+        assertThat(scheduler.getLoadedCount()).isEqualTo(2);
+
+        // 더 이른 메일이 등록되면 가장 늦은 메일을 버림
+        EmailQueue earliest = scheduled("earliest", Duration.ofSeconds(5));
+        scheduler.schedule(earliest);
+        assertThat(scheduler.getLoadedCount()).isEqualTo(2);
+        // 한도가 찬 상태에서 더 늦은 메일은 바로 버려짐
+        scheduler.schedule(third);
+        assertThat(scheduler.getLoadedCount()).isEqualTo(2);
+
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(scheduler.promoteDue()).isEqualTo(2);
+        assertThat(status(earliest)).isEqualTo(EmailQueue.EmailStatus.QUEUED);
+        assertThat(status(first)).isEqualTo(EmailQueue.EmailStatus.QUEUED);
+        assertThat(status(second)).isEqualTo(EmailQueue.EmailStatus.SCHEDULED);
+        assertThat(status(third)).isEqualTo(EmailQueue.EmailStatus.SCHEDULED);
+
+        // 버린 메일은 다음 읽기에서 다시 올라옴
+        assertThat(scheduler.load()).isTrue();
+        assertThat(scheduler.promoteDue()).isEqualTo(2);
+        assertThat(status(second)).isEqualTo(EmailQueue.EmailStatus.QUEUED);
+        assertThat(status(third)).isEqualTo(EmailQueue.EmailStatus.QUEUED);
+    }
+
+    @Test
+    void reRegistrationFromControllerReplacesScheduledTime() {
+        EmailQueueController controller = new EmailQueueController(emailQueueRepository, null, emailQueueService, null, scheduler);
+        EmailQueue email = controller.scheduleEmail(newEmail("rescheduled"), at(Duration.ofSeconds(10))).getBody();
+        assertThat(scheduler.getLoadedCount()).isEqualTo(1);
+
+        // 같은 메일을 더 늦은 시각으로 다시 예약하면 이전 시각에는 전환하지 않음
+        EmailQueue rescheduled = controller.scheduleEmail(email, at(Duration.ofSeconds(60))).getBody();
+        assertThat(rescheduled.getId()).isEqualTo(email.getId());
+        assertThat(scheduler.getLoadedCount()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(scheduler.promoteDue()).isZero();
+        assertThat(status(email)).isEqualTo(EmailQueue.EmailStatus.SCHEDULED);
+
+        clock.advance(Duration.ofSeconds(50));
+        assertThat(scheduler.promoteDue()).isEqualTo(1);
+        assertThat(status(email)).isEqualTo(EmailQueue.EmailStatus.QUEUED);
+    }
+
+    @Test
+    void addEmailRegistersOnlyFutureSchedule() {
+        EmailQueueController controller = new EmailQueueController(emailQueueRepository, null, emailQueueService, null, scheduler);
+
+        EmailQueue immediate = newEmail("immediate");
+        controller.addEmail(immediate);
+        assertThat(scheduler.getLoadedCount()).isZero();
+
+        EmailQueue later = newEmail("later");
+        later.setScheduledAt(at(Duration.ofSeconds(10)));
+        EmailQueue saved = controller.addEmail(later).getBody();
+        assertThat(saved.getStatus()).isEqualTo(EmailQueue.EmailStatus.SCHEDULED);
+        assertThat(scheduler.getLoadedCount()).isEqualTo(1);
+
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(scheduler.promoteDue()).isEqualTo(1);
+        assertThat(status(saved)).isEqualTo(EmailQueue.EmailStatus.QUEUED);
+    }
+
+    private EmailQueue scheduled(String uniqueId, Duration after) {
+        EmailQueue email = newEmail(uniqueId);
+        email.setStatus(EmailQueue.EmailStatus.SCHEDULED);
+        email.setScheduledAt(at(after));
+        return emailQueueRepository.save(email);
+    }
+
+    private EmailQueue newEmail(String uniqueId) {
+        EmailQueue email = new EmailQueue();
+        email.setSender("sender@samsung.com");
+        email.setSubject("subject " + uniqueId);
+        email.setUniqueId(uniqueId);
+        return email;
+    }
+
+    private LocalDateTime at(Duration after) {
+        return LocalDateTime.now(clock).plus(after);
+    }
+
+    private EmailQueue.EmailStatus status(EmailQueue email) {
+        return emailQueueRepository.findById(email.getId()).orElseThrow().getStatus();
+    }
+
+    // 애플리케이션 설정(기본 사용자 등록 등)을 제외하고 JPA 저장소만 구성
+    @Configuration
+    @EntityScan(basePackageClasses = EmailQueue.class)
+    @EnableJpaRepositories(basePackageClasses = EmailQueueRepository.class)
+    static class JpaConfig {
+    }
+
+    /**
+     * 테스트가 직접 시각을 옮기는 시계
+     */
+    private static final class MutableClock extends Clock {
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
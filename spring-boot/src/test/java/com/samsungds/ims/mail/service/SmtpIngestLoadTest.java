@@ -0,0 +1,276 @@
+package com.samsungds.ims.mail.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.samsungds.ims.mail.benchmark.JiraMailFixtures;
+import com.samsungds.ims.mail.repository.EmailQueueRepository;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.mail.Address;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SMTP 수신 부하 테스트
+ * <p>
+ * 애플리케이션(내장 SMTP 서버 포함)을 메모리 H2로 띄우고, 연결을 유지하는 JavaMail 클라이언트 N개가
+ * Jira 알림 메일(CID 이미지, 첨부파일 포함, SMALL/TYPICAL/HUGE 혼합)을 동시에 보냅니다.
+ * 메일마다 이슈 키가 달라 중복 판별로 합쳐지지 않습니다.
+ * Jira 사용자 조회 API는 테스트 안의 HTTP 스텁이 응답합니다.
+ * 수신(250 응답) 처리량과 지연 시간 백분위(p50/p99/p999), 큐 저장 완료까지의 처리량을 JSON 파일로 기록합니다.
+ * <p>
+ * 기본 test 작업에서는 제외되며 {@code gradle loadTest}로 실행합니다. 설정(시스템 속성):
+ * load.clients(동시 클라이언트 수, 기본 16), load.messages(메일 수, 기본 2000), load.warmup(워밍업 메일 수, 기본 200),
+ * load.listener(SUBETHA/NETTY), load.ingest-mode(DIRECT/JOURNAL), load.result(결과 파일 경로)
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:log4jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+        "mail.batch.send-mail.schedule-cron=0 0 0 1 1 *",
+        "mail.batch.send-mail.dispatch-on-ingest=false",
+        "mail.batch.move-to-history.schedule-cron=0 0 0 1 1 *",
+        "logging.level.com.samsungds.ims.mail=WARN",
+        "logging.level.org.subethamail=WARN"
+})
+class SmtpIngestLoadTest {
+    private static final int CLIENTS = Integer.getInteger("load.clients", 16);
+    private static final int MESSAGES = Integer.getInteger("load.messages", 2000);
+    private static final int WARMUP = Integer.getInteger("load.warmup", 200);
+    private static final String LISTENER = System.getProperty("load.listener", "SUBETHA");
+    private static final String INGEST_MODE = System.getProperty("load.ingest-mode", "DIRECT");
+    private static final String RESULT = System.getProperty("load.result", "build/reports/load/smtp-ingest.json");
+    private static final long DRAIN_TIMEOUT_MILLIS = 120_000;
+
+    private static int smtpPort;
+    private static Path workDir;
+    private static HttpServer jiraStub;
+
+    @Autowired
+    private EmailQueueRepository emailQueueRepository;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        try (ServerSocket probe = new ServerSocket(0)) {
+            smtpPort = probe.getLocalPort();
+        }
+        workDir = Files.createTempDirectory("smtp-load-");
+        jiraStub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        jiraStub.createContext("/rest/api/2/user/search", exchange -> {
+            byte[] body = "[{\"name\":\"jdoe\",\"emailAddress\":\"jdoe@samsung.com\"}]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        jiraStub.start();
+        registry.add("mail.smtp-interceptor.user-api-url",
+                () -> "http://127.0.0.1:" + jiraStub.getAddress().getPort() + "/rest/api/2/user/search");
+        registry.add("mail.smtp-interceptor.port", () -> smtpPort);
+        registry.add("mail.smtp-interceptor.listener", () -> LISTENER);
+        registry.add("mail.smtp-interceptor.ingest-mode", () -> INGEST_MODE);
+        registry.add("mail.smtp-interceptor.attachment-path", () -> workDir.resolve("attachments").toString());
+        registry.add("mail.smtp-interceptor.spool-path", () -> workDir.resolve("spool").toString());
+        registry.add("mail.smtp-interceptor.blob-path", () -> workDir.resolve("blobs").toString());
+        registry.add("mail.smtp-interceptor.max-connections", () -> Math.max(1000, CLIENTS * 2));
+    }
+
+    @AfterAll
+    static void stopJiraStub() {
+        if (jiraStub != null) {
+            jiraStub.stop(0);
+        }
+    }
+
+    @Test
+    void ingestThroughput() throws Exception {
+        Session session = Session.getInstance(smtpProperties());
+        log.warn("부하 테스트 메일 생성 중: 워밍업 {}건, 측정 {}건", WARMUP, MESSAGES);
+        List<MimeMessage> warmup = corpus(session, "WARM", WARMUP);
+        List<MimeMessage> corpus = corpus(session, "LOAD", MESSAGES);
+
+        RunResult warmupResult = run(session, warmup);
+        long baseline = awaitStored(warmupResult.accepted);
+
+        long start = System.nanoTime();
+        RunResult result = run(session, corpus);
+        long acceptedNanos = System.nanoTime() - start;
+
+        long expected = baseline + result.accepted;
+        long stored = awaitStored(expected);
+        long storedNanos = System.nanoTime() - start;
+
+        Map<String, Object> report = report(result, acceptedNanos, stored - baseline, storedNanos);
+        File resultFile = new File(RESULT);
+        Files.createDirectories(resultFile.getAbsoluteFile().getParentFile().toPath());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile, report);
+        log.warn("SMTP 수신 부하 테스트 결과 ({}): {}", resultFile.getAbsolutePath(), report);
+
+        assertEquals(0, result.failures, "수신 실패 메일이 있습니다.");
+        assertTrue(stored >= expected, "제한 시간 안에 저장되지 않은 메일이 있습니다.");
+    }
+
+    /**
+     * 큐에 저장된 메일 수가 expected가 될 때까지 대기 (JOURNAL 모드에서는 백그라운드 워커가 저장)
+     */
+    private long awaitStored(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS;
+        long stored = emailQueueRepository.count();
+        while (stored < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            stored = emailQueueRepository.count();
+        }
+        return stored;
+    }
+
+    private RunResult run(Session session, List<MimeMessage> messages) throws Exception {
+        ConcurrentLinkedQueue<MimeMessage> pending = new ConcurrentLinkedQueue<>(messages);
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            futures.add(clients.submit(() -> send(session, pending, failures)));
+        }
+        long[] latencies = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] clientLatencies = future.get();
+            long[] merged = Arrays.copyOf(latencies, latencies.length + clientLatencies.length);
+            System.arraycopy(clientLatencies, 0, merged, latencies.length, clientLatencies.length);
+            latencies = merged;
+        }
+        clients.shutdown();
+        Arrays.sort(latencies);
+        return new RunResult(latencies.length, failures.get(), latencies);
+    }
+
+    /**
+     * 클라이언트 하나: 연결 하나로 큐가 빌 때까지 보내고 메일별 수신 지연 시간(나노초)을 반환
+     */
+    private long[] send(Session session, Queue<MimeMessage> pending, AtomicInteger failures) throws Exception {
+        long[] latencies = new long[MESSAGES + WARMUP];
+        int count = 0;
+        Transport transport = session.getTransport("smtp");
+        try {
+            transport.connect();
+            MimeMessage message;
+            while ((message = pending.poll()) != null) {
+                Address[] recipients = message.getAllRecipients();
+                long sent = System.nanoTime();
+                try {
+                    transport.sendMessage(message, recipients);
+                    latencies[count++] = System.nanoTime() - sent;
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    log.warn("메일 전송 실패: {}", e.toString());
+                    if (!transport.isConnected()) {
+                        transport.connect();
+                    }
+                }
+            }
+        } finally {
+            transport.close();
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private List<MimeMessage> corpus(Session session, String prefix, int count) {
+        return IntStream.range(0, count).parallel()
+                .mapToObj(i -> {
+                    try {
+                        // 전송 시 다시 인코딩하지 않도록 직렬화된 바이트에서 파싱한 메시지를 사용
+                        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+                        JiraMailFixtures.message(sizeOf(i), prefix + "-" + i).writeTo(raw);
+                        return new MimeMessage(session, new ByteArrayInputStream(raw.toByteArray()));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    // 20건 중 HUGE 1건, TYPICAL 7건, SMALL 12건
+    private static JiraMailFixtures.Size sizeOf(int index) {
+        int slot = index % 20;
+        return slot == 0 ? JiraMailFixtures.Size.HUGE : slot <= 7 ? JiraMailFixtures.Size.TYPICAL : JiraMailFixtures.Size.SMALL;
+    }
+
+    private Map<String, Object> report(RunResult result, long acceptedNanos, long stored, long storedNanos) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(percentile(result.latencies, 0.50)));
+        latency.put("p99", millis(percentile(result.latencies, 0.99)));
+        latency.put("p999", millis(percentile(result.latencies, 0.999)));
+        latency.put("max", millis(result.latencies.length > 0 ? result.latencies[result.latencies.length - 1] : 0));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("listener", LISTENER);
+        report.put("ingestMode", INGEST_MODE);
+        report.put("clients", CLIENTS);
+        report.put("messages", MESSAGES);
+        report.put("corpus", "SMALL 60%, TYPICAL 35%, HUGE 5%");
+        report.put("accepted", result.accepted);
+        report.put("failures", result.failures);
+        report.put("acceptedPerSecond", perSecond(result.accepted, acceptedNanos));
+        report.put("acceptLatencyMillis", latency);
+        report.put("stored", stored);
+        report.put("storedPerSecond", perSecond(stored, storedNanos));
+        return report;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static double perSecond(long count, long nanos) {
+        return nanos > 0 ? Math.round(count * 1_000_000_000.0 / nanos * 10) / 10.0 : 0;
+    }
+
+    private static Properties smtpProperties() {
+        Properties props = new Properties();
+        props.put("mail.smtp.host", "127.0.0.1");
+        props.put("mail.smtp.port", String.valueOf(smtpPort));
+        props.put("mail.smtp.auth", "false");
+        props.put("mail.smtp.starttls.enable", "false");
+        props.put("mail.smtp.connectiontimeout", "10000");
+        props.put("mail.smtp.timeout", "60000");
+        return props;
+    }
+
+    private record RunResult(int accepted, int failures, long[] latencies) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.samsungds.ims.mail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlobReferencesTest {
+    private static final String PNG_ID = "a".repeat(32) + "0123456789abcdef".repeat(2);
+    private static final String PDF_ID = "f".repeat(64);
+    private static final byte[] PNG = "png-bytes".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PDF = randomBytes(5000);
+
+    private final Map<String, byte[]> blobs = new HashMap<>(Map.of(PNG_ID, PNG, PDF_ID, PDF));
+    private final List<String> opened = new ArrayList<>();
+
+    @Test
+    void resolvesReferenceSplitAcrossReaderBuffers() throws IOException {
+        String html = "<img src=\"" + BlobReferences.reference(PNG_ID, "image/png") + "\">";
+        String expected = "<img src=\"" + dataUri("image/png", PNG) + "\">";
+
+        // 읽기 단위와 버퍼 크기를 바꿔 참조가 여러 읽기에 걸쳐 나뉘도록 함
+        for (int size = 1; size <= html.length(); size++) {
+            StringWriter out = new StringWriter();
+            BlobReferences.resolve(new BufferedReader(new ChunkedReader(html, size), size), out, this::open);
+            assertThat(out.toString()).as("size %d", size).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void copiesPartialPrefixAndHashUnchanged() throws IOException {
+        String ref = BlobReferences.reference(PNG_ID, "image/png");
+        String[] unchanged = {
+                "/api/blob",
+                "<a href=\"/api/blobs/\">",
+                "/api/blobs/abc\"",
+                "/api/blobs/" + PNG_ID.toUpperCase(),
+                "/api/blobs/" + PNG_ID,
+                "/api/blobs/" + PNG_ID + "?typ",
+                "/api/blobs/" + PNG_ID + "?size=1",
+                "/api/blobs/" + PNG_ID + "?type=",
+        };
+        for (String html : unchanged) {
+            assertThat(resolve(html)).as(html).isEqualTo(html);
+        }
+        assertThat(opened).isEmpty();
+
+        // 일부만 일치한 접두사/ID 뒤에 바로 이어지는 참조는 치환
+        assertThat(resolve("/api/" + ref)).isEqualTo("/api/" + dataUri("image/png", PNG));
+        assertThat(resolve("/api/blobs/" + PNG_ID.substring(0, 10) + ref))
+                .isEqualTo("/api/blobs/" + PNG_ID.substring(0, 10) + dataUri("image/png", PNG));
+    }
+
+    @Test
+    void keepsReferenceWhenBlobIsMissing() throws IOException {
+        String missing = "0".repeat(64);
+        String html = "<img src=\"" + BlobReferences.reference(missing, "image/gif") + "\">";
+
+        assertThat(resolve(html)).isEqualTo(html);
+        assertThat(opened).containsExactly(missing);
+    }
+
+    @Test
+    void resolvesBackToBackReferences() throws IOException {
+        String png = BlobReferences.reference(PNG_ID, "image/png");
+        String pdf = BlobReferences.reference(PDF_ID, "application/pdf");
+
+        assertThat(resolve(png + png + pdf + "\""))
+                .isEqualTo(dataUri("image/png", PNG) + dataUri("image/png", PNG) + dataUri("application/pdf", PDF) + "\"");
+        assertThat(opened).containsExactly(PNG_ID, PNG_ID, PDF_ID);
+    }
+
+    @Test
+    void resolvesNonImageTypes() throws IOException {
+        assertThat(resolve(BlobReferences.reference(PDF_ID, "application/pdf")))
+                .isEqualTo(dataUri("application/pdf", PDF));
+        assertThat(resolve(BlobReferences.reference(PNG_ID, "text/plain;charset=utf-8") + "\""))
+                .isEqualTo(dataUri("text/plain;charset=utf-8", PNG) + "\"");
+    }
+
+    private String resolve(String html) throws IOException {
+        StringWriter out = new StringWriter();
+        BlobReferences.resolve(new StringReader(html), out, this::open);
+        return out.toString();
+    }
+
+    private InputStream open(String blobId) {
+        opened.add(blobId);
+        byte[] data = blobs.get(blobId);
+        return data != null ? new ByteArrayInputStream(data) : null;
+    }
+
+    private static String dataUri(String mimeType, byte[] data) {
+        return "data:" + mimeType + ";base64," + Base64.getEncoder().encodeToString(data);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] data = new byte[length];
+        new Random(42).nextBytes(data);
+        return data;
+    }
+
+    /**
+     * 한 번에 최대 size 글자만 돌려주는 Reader
+     */
+    private static final class ChunkedReader extends Reader {
+        private final String text;
+        private final int size;
+        private int position;
+
+        private ChunkedReader(String text, int size) {
+            this.text = text;
+            this.size = size;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (position >= text.length()) {
+                return -1;
+            }
+            int n = Math.min(Math.min(len, size), text.length() - position);
+            text.getChars(position, position + n, cbuf, off);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.samsungds.ims.mail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAddedHexKeyAsAbsent() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String key = EmailHashGenerator.generateSha256Hash("body-" + i);
+            keys.add(key);
+            filter.put(key);
+        }
+
+        assertThat(keys).allMatch(filter::mightContain);
+        assertThat(filter.getInsertions()).isEqualTo(10_000);
+        assertThat(filter.isSaturated()).isFalse();
+    }
+
+    @Test
+    void neverReportsAddedNonHexKeyAsAbsent() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            // 16진수가 아닌 키와 16자리보다 짧은 키는 문자열 해시 경로를 사용
+            String key = i % 2 == 0 ? "<" + UUID.randomUUID() + "@jira.samsungds.net>" : "k" + i;
+            keys.add(key);
+            filter.put(key);
+        }
+
+        assertThat(keys).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void keepsFalsePositiveRateNearDesign() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(EmailHashGenerator.generateSha256Hash("present-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(EmailHashGenerator.generateSha256Hash("absent-" + i))) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void reportsSaturationPastExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(2, 0.01);
+        filter.put("a");
+        filter.put("b");
+        assertThat(filter.isSaturated()).isFalse();
+
+        filter.put("c");
+        assertThat(filter.isSaturated()).isTrue();
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
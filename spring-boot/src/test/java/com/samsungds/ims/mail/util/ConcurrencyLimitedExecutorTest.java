@@ -0,0 +1,99 @@
+package com.samsungds.ims.mail.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitedExecutorTest {
+    private final ExecutorService delegate = Executors.newCachedThreadPool();
+    private final ExecutorService caller = Executors.newSingleThreadExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        caller.shutdownNow();
+        delegate.shutdownNow();
+    }
+
+    @Test
+    void rejectsTaskBeyondLimitAfterAcquireTimeout() throws Exception {
+        ConcurrencyLimitedExecutor executor = new ConcurrencyLimitedExecutor(delegate, 2, 100);
+        executor.execute(this::block);
+        executor.execute(this::block);
+        assertThat(executor.getActiveCount()).isEqualTo(2);
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+        assertThat(System.nanoTime() - startedAt).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(executor.getRejectedCount()).isEqualTo(1);
+        assertThat(executor.getWaitingCount()).isZero();
+        assertThat(executor.getActiveCount()).isEqualTo(2);
+
+        // 실행 중인 작업이 끝나면 자리가 돌아옴
+        release.countDown();
+        awaitUntil(() -> executor.getActiveCount() == 0);
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.execute(ran::countDown);
+        assertThat(ran.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void countsWaitingCallerUntilSlotFrees() throws Exception {
+        ConcurrencyLimitedExecutor executor = new ConcurrencyLimitedExecutor(delegate, 1, 5_000);
+        executor.execute(this::block);
+
+        CountDownLatch ran = new CountDownLatch(1);
+        Future<?> waiter = caller.submit(() -> executor.execute(ran::countDown));
+        awaitUntil(() -> executor.getWaitingCount() == 1);
+        assertThat(ran.getCount()).isEqualTo(1);
+
+        release.countDown();
+        waiter.get(1, TimeUnit.SECONDS);
+        assertThat(ran.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.getWaitingCount()).isZero();
+        assertThat(executor.getRejectedCount()).isZero();
+    }
+
+    @Test
+    void returnsPermitWhenDelegateRejects() {
+        ExecutorService stopped = Executors.newSingleThreadExecutor();
+        stopped.shutdown();
+        ConcurrencyLimitedExecutor executor = new ConcurrencyLimitedExecutor(stopped, 1, 5_000);
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+        assertThat(executor.getActiveCount()).isZero();
+
+        // 자리가 반납되었으므로 두 번째 호출은 자리를 기다리지 않고 실행기에서 바로 거부됨
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> executor.execute(() -> {
+        })).isInstanceOf(RejectedExecutionException.class);
+        assertThat(System.nanoTime() - startedAt).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(executor.getRejectedCount()).isEqualTo(2);
+        assertThat(executor.getActiveCount()).isZero();
+        assertThat(executor.getWaitingCount()).isZero();
+    }
+
+    private void block() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitUntil(Callable<Boolean> condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.call()) {
+            assertThat(System.nanoTime()).as("조건 대기 시간 초과").isLessThan(deadline);
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.samsungds.ims.mail.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyWindowTest {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void acquiresUpToFreeSlots() throws Exception {
+        ConcurrencyWindow window = new ConcurrencyWindow(5);
+
+        assertThat(window.acquireUpTo(2)).isEqualTo(2);
+        assertThat(window.acquireUpTo(10)).isEqualTo(3);
+        assertThat(window.getInFlight()).isEqualTo(5);
+
+        window.release(1);
+        assertThat(window.acquireUpTo(0)).isEqualTo(1);
+        assertThat(window.getInFlight()).isEqualTo(5);
+    }
+
+    @Test
+    void blocksWhenFullUntilRelease() throws Exception {
+        ConcurrencyWindow window = new ConcurrencyWindow(2);
+        window.acquireUpTo(2);
+
+        Future<Integer> waiter = executor.submit(() -> window.acquireUpTo(5));
+        assertThatThrownBy(() -> waiter.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        window.release(1);
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(window.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void loweredLimitWaitsForInFlightToDrain() throws Exception {
+        ConcurrencyWindow window = new ConcurrencyWindow(4);
+        window.acquireUpTo(4);
+        window.setLimit(2);
+
+        Future<Integer> waiter = executor.submit(() -> window.acquireUpTo(5));
+        window.release(1);
+        window.release(1);
+        // 진행 중 2건, 한도 2: 아직 자리 없음
+        assertThatThrownBy(() -> waiter.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        window.release(1);
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    @Test
+    void raisedLimitWakesWaiter() throws Exception {
+        ConcurrencyWindow window = new ConcurrencyWindow(1);
+        window.acquireUpTo(1);
+
+        Future<Integer> waiter = executor.submit(() -> window.acquireUpTo(5));
+        assertThatThrownBy(() -> waiter.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        window.setLimit(4);
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isEqualTo(3);
+    }
+
+    @Test
+    void clampsLimitAndReleaseToValidRange() throws Exception {
+        ConcurrencyWindow window = new ConcurrencyWindow(0);
+        assertThat(window.getLimit()).isEqualTo(1);
+        window.setLimit(-3);
+        assertThat(window.getLimit()).isEqualTo(1);
+
+        window.acquireUpTo(1);
+        window.release(0);
+        assertThat(window.getInFlight()).isEqualTo(1);
+        window.release(5);
+        assertThat(window.getInFlight()).isZero();
+    }
+
+    @Test
+    void awaitsIdle() throws Exception {
+        ConcurrencyWindow window = new ConcurrencyWindow(2);
+        assertThat(window.awaitIdle(0)).isTrue();
+
+        window.acquireUpTo(2);
+        assertThat(window.awaitIdle(50)).isFalse();
+
+        executor.submit(() -> window.release(2));
+        assertThat(window.awaitIdle(1000)).isTrue();
+    }
+}
@@ -0,0 +1,98 @@
+package com.samsungds.ims.mail.util;
+
+import com.samsungds.ims.mail.util.DomainRuleTrie.Verdict;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainRuleTrieTest {
+
+    @Test
+    void matchesSuffixOnlyAtLabelBoundary() {
+        DomainRuleTrie trie = DomainRuleTrie.compile(List.of("samsung.com"), List.of());
+
+        assertThat(trie.lookup("dev.kim@samsung.com")).isEqualTo(Verdict.ALLOW);
+        assertThat(trie.lookup("dev.kim@partner.samsung.com")).isEqualTo(Verdict.ALLOW);
+        assertThat(trie.lookup("attacker@evilsamsung.com")).isEqualTo(Verdict.NONE);
+        assertThat(trie.lookup("attacker@samsung.com.evil.net")).isEqualTo(Verdict.NONE);
+        assertThat(trie.lookup("someone@com")).isEqualTo(Verdict.NONE);
+    }
+
+    @Test
+    void acceptsAngleBracketsTrailingDotAndRuleVariants() {
+        DomainRuleTrie trie = DomainRuleTrie.compile(List.of("@samsung.com", ".samsungds.net."), List.of());
+
+        assertThat(trie.getRuleCount()).isEqualTo(2);
+        assertThat(trie.lookup("<dev.kim@samsung.com>")).isEqualTo(Verdict.ALLOW);
+        assertThat(trie.lookup("dev.kim@jira.samsungds.net.")).isEqualTo(Verdict.ALLOW);
+        assertThat(trie.lookup("samsung.com")).isEqualTo(Verdict.ALLOW);
+        assertThat(trie.lookup(null)).isEqualTo(Verdict.NONE);
+        assertThat(trie.lookup("dev.kim@")).isEqualTo(Verdict.NONE);
+    }
+
+    @Test
+    void exactRuleAppliesOnlyToThatDomain() {
+        DomainRuleTrie trie = DomainRuleTrie.compile(List.of("=samsung.com"), List.of());
+
+        assertThat(trie.lookup("dev.kim@samsung.com")).isEqualTo(Verdict.ALLOW);
+        assertThat(trie.lookup("dev.kim@partner.samsung.com")).isEqualTo(Verdict.NONE);
+    }
+
+    @Test
+    void mostSpecificRuleWins() {
+        DomainRuleTrie trie = DomainRuleTrie.compile(
+                List.of("samsung.com", "=external.samsung.com"),
+                List.of("external.samsung.com", "=blocked.samsung.com"));
+
+        assertThat(trie.lookup("a@samsung.com")).isEqualTo(Verdict.ALLOW);
+        assertThat(trie.lookup("a@blocked.samsung.com")).isEqualTo(Verdict.DENY);
+        assertThat(trie.lookup("a@sub.blocked.samsung.com")).isEqualTo(Verdict.ALLOW);
+        // 해당 도메인 전용 규칙이 하위 도메인 규칙보다 구체적
+        assertThat(trie.lookup("a@external.samsung.com")).isEqualTo(Verdict.ALLOW);
+        assertThat(trie.lookup("a@vendor.external.samsung.com")).isEqualTo(Verdict.DENY);
+    }
+
+    @Test
+    void denyOverridesAllowForSameRule() {
+        DomainRuleTrie trie = DomainRuleTrie.compile(
+                List.of("partner.com", "=vendor.com"),
+                List.of("partner.com", "=vendor.com"));
+
+        assertThat(trie.lookup("a@partner.com")).isEqualTo(Verdict.DENY);
+        assertThat(trie.lookup("a@sub.partner.com")).isEqualTo(Verdict.DENY);
+        assertThat(trie.lookup("a@vendor.com")).isEqualTo(Verdict.DENY);
+        assertThat(trie.isAllowed("a@partner.com")).isFalse();
+    }
+
+    @Test
+    void ignoresCaseOfRulesAndAddresses() {
+        DomainRuleTrie trie = DomainRuleTrie.compile(List.of("SamSung.COM", "bücher.de", "ΟΔΟΣ.gr"), List.of("=Ärger.de"));
+
+        assertThat(trie.lookup("Dev.Kim@SAMSUNG.com")).isEqualTo(Verdict.ALLOW);
+        assertThat(trie.lookup("kunde@BÜCHER.DE")).isEqualTo(Verdict.ALLOW);
+        assertThat(trie.lookup("kunde@Bücher.de")).isEqualTo(Verdict.ALLOW);
+        // 어말 시그마(ς)도 대문자 Σ와 같은 문자로 취급
+        assertThat(trie.lookup("info@οδος.GR")).isEqualTo(Verdict.ALLOW);
+        assertThat(trie.lookup("info@ΟΔΟΣ.gr")).isEqualTo(Verdict.ALLOW);
+        assertThat(trie.lookup("info@ärger.DE")).isEqualTo(Verdict.DENY);
+    }
+
+    @Test
+    void findsEveryRuleAmongManySiblings() {
+        List<String> rules = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            rules.add("Tenant" + i + ".Example.com");
+        }
+        DomainRuleTrie trie = DomainRuleTrie.compile(rules, Arrays.asList(null, "", "=", "a..b"));
+
+        assertThat(trie.getRuleCount()).isEqualTo(500);
+        for (int i = 0; i < 500; i++) {
+            assertThat(trie.lookup("user@TENANT" + i + ".example.COM")).isEqualTo(Verdict.ALLOW);
+        }
+        assertThat(trie.lookup("user@tenant500.example.com")).isEqualTo(Verdict.NONE);
+    }
+}
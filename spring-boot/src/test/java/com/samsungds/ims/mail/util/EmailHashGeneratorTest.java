@@ -0,0 +1,55 @@
+package com.samsungds.ims.mail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailHashGeneratorTest {
+
+    @Test
+    void matchesPreviousImplementationOnSampleMessages() {
+        List<String> samples = List.of(
+                "",
+                "plain ascii body",
+                "<p>안녕하세요! <strong>Jira 이슈 알림</strong>입니다.</p><div>새로운 댓글이 추가되었습니다.</div>",
+                "안녕하세요! Jira 이슈 알림입니다.\r\n새로운 댓글이 추가되었습니다.",
+                "emoji 🚀 and latin é ß",
+                "unpaired high \uD800 and low \uDC00 surrogates",
+                "trailing high surrogate \uD83D",
+                "x".repeat(8190) + "한글" + "😀".repeat(5000),
+                "<table>" + "<tr><td>본문 행</td><td>row</td></tr>".repeat(2000) + "</table>");
+
+        for (String sample : samples) {
+            assertThat(EmailHashGenerator.generateSha256Hash(sample)).as(sample.length() > 80 ? sample.substring(0, 80) : sample)
+                    .isEqualTo(previousHash(sample));
+        }
+    }
+
+    @Test
+    void hashesCharSequenceLikeString() {
+        String body = "<p>Jira 이슈 알림</p>".repeat(1000);
+
+        assertThat(EmailHashGenerator.generateSha256Hash(new StringBuilder(body))).isEqualTo(previousHash(body));
+    }
+
+    @Test
+    void returnsNullForNullBody() {
+        assertThat(EmailHashGenerator.generateSha256Hash(null)).isNull();
+    }
+
+    // 스트리밍 인코딩 이전 구현 (본문 전체를 UTF-8 바이트로 변환한 뒤 해시)
+    private static String previousHash(String body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
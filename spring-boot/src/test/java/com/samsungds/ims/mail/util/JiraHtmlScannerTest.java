@@ -0,0 +1,132 @@
+package com.samsungds.ims.mail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JiraHtmlScannerTest {
+
+    @Test
+    void findsUserInsideNestedHeader() {
+        String html = "<table><tr><td id=\"header-pattern\"><div><div><span>Jira</span></div></div>"
+                + "<p><a class=\"user-hover\" rel=\"dev.kim\" href=\"/jira\">김개발</a> 님이 댓글을 남겼습니다.</p></td></tr></table>";
+
+        assertThat(JiraHtmlScanner.findSenderUserName(html)).isEqualTo("dev.kim");
+    }
+
+    @Test
+    void countsNestedTagsWithSameNameAsHeader() {
+        String html = "<div id='header-pattern'><div><div></div></div><div>"
+                + "<a class='link user-hover' rel='dev.lee'>이개발</a></div></div>";
+
+        assertThat(JiraHtmlScanner.findSenderUserName(html)).isEqualTo("dev.lee");
+    }
+
+    @Test
+    void ignoresUserLinkOutsideHeader() {
+        String before = "<a class=\"user-hover\" rel=\"before\">앞</a>";
+        String html = before + "<div id=\"header-pattern\"><div></div></div><a class=\"user-hover\" rel=\"after\">뒤</a>";
+
+        assertThat(JiraHtmlScanner.findSenderUserName(html)).isNull();
+    }
+
+    @Test
+    void returnsEmptyForUserLinkWithoutRel() {
+        String html = "<div id=\"header-pattern\"><a class=\"user-hover\" href=\"/jira\">이름</a>"
+                + "<a class=\"user-hover\" rel=\"second\">두번째</a></div>";
+
+        assertThat(JiraHtmlScanner.findSenderUserName(html)).isEmpty();
+    }
+
+    @Test
+    void ignoresLinksInsideRawTextElements() {
+        String html = "<div id=\"header-pattern\">"
+                + "<script>var s = '<a class=user-hover rel=script>'; if (a </b) {}</script>"
+                + "<style>a.user-hover::after { content: '<a class=user-hover rel=style>'; }</STYLE >"
+                + "<textarea><a class=\"user-hover\" rel=\"textarea\"></textarea>"
+                + "<a class=\"user-hover\" rel=\"real\">실제</a></div>";
+
+        assertThat(JiraHtmlScanner.findSenderUserName(html)).isEqualTo("real");
+    }
+
+    @Test
+    void ignoresLinksInsideComments() {
+        String html = "<!DOCTYPE html><div id=\"header-pattern\">"
+                + "<!-- <a class=\"user-hover\" rel=\"commented\"> --><!----><!--- x -- y --->"
+                + "<?xml version=\"1.0\"?><a class=\"user-hover\" rel=\"real\">실제</a></div>";
+
+        assertThat(JiraHtmlScanner.findSenderUserName(html)).isEqualTo("real");
+    }
+
+    @Test
+    void decodesEntitiesInAttributes() {
+        String html = "<div id=\"header&#45;pattern\"><a class=\"user&#x2D;hover\" rel=\"kim&amp;lee\">이름</a></div>";
+
+        assertThat(JiraHtmlScanner.findSenderUserName(html)).isEqualTo("kim&lee");
+    }
+
+    @Test
+    void replacesQuotedAndUnquotedCidSources() {
+        String html = "<p><img src=\"cid:image001.png\" alt=\"a\"><IMG SRC='CID:image002.png'>"
+                + "<img alt=x src=cid:image003.png width=10><img src=cid:image004.png></p>";
+        Map<String, String> replacements = Map.of(
+                "image001.png", "/attachments/1",
+                "image002.png", "/attachments/2",
+                "image003.png", "/attachments/3",
+                "image004.png", "/attachments/4");
+
+        JiraHtmlScanner.Result result = JiraHtmlScanner.scan(html, replacements);
+
+        assertThat(result.getHtml()).isEqualTo("<p><img src=\"/attachments/1\" alt=\"a\"><IMG SRC='/attachments/2'>"
+                + "<img alt=x src=\"/attachments/3\" width=10><img src=\"/attachments/4\"></p>");
+    }
+
+    @Test
+    void replacesEntityEncodedCidSource() {
+        String html = "<img src=\"cid:image&#48;01.png&#x40;01D9\"><img src=cid:a&amp;b>";
+        Map<String, String> replacements = Map.of("image001.png@01D9", "/attachments/1", "a&b", "/attachments/2");
+
+        assertThat(JiraHtmlScanner.scan(html, replacements).getHtml())
+                .isEqualTo("<img src=\"/attachments/1\"><img src=\"/attachments/2\">");
+    }
+
+    @Test
+    void leavesCidOutsideImgAndInsideCommentsUntouched() {
+        String html = "<a href=\"cid:image001.png\">링크</a><!-- <img src=\"cid:image001.png\"> -->"
+                + "<script>'<img src=\"cid:image001.png\">'</script><img src=\"cid:image001.png\">";
+
+        assertThat(JiraHtmlScanner.scan(html, Map.of("image001.png", "/attachments/1")).getHtml())
+                .isEqualTo("<a href=\"cid:image001.png\">링크</a><!-- <img src=\"cid:image001.png\"> -->"
+                        + "<script>'<img src=\"cid:image001.png\">'</script><img src=\"/attachments/1\">");
+    }
+
+    @Test
+    void returnsOriginalWhenNothingToReplace() {
+        String html = "<div id=\"header-pattern\"><a class=\"user-hover\" rel=\"dev.kim\">김</a></div>"
+                + "<img src=\"cid:image001.png\"><p>본문 &amp; <b>강조</b></p>";
+
+        JiraHtmlScanner.Result withoutReplacements = JiraHtmlScanner.scan(html, Map.of());
+        assertThat(withoutReplacements.getHtml()).isSameAs(html);
+        assertThat(withoutReplacements.getSenderUserName()).isEqualTo("dev.kim");
+
+        JiraHtmlScanner.Result withUnmatchedReplacement = JiraHtmlScanner.scan(html, Map.of("other.png", "/attachments/9"));
+        assertThat(withUnmatchedReplacement.getHtml()).isEqualTo(html);
+        assertThat(withUnmatchedReplacement.getSenderUserName()).isEqualTo("dev.kim");
+    }
+
+    @Test
+    void keepsMalformedMarkupAsIs() {
+        String html = "a < b <<img src=\"cid:x\"> <img src=\"cid:x\" <p";
+
+        assertThat(JiraHtmlScanner.scan(html, Map.of("x", "/attachments/x")).getHtml())
+                .isEqualTo("a < b <<img src=\"/attachments/x\"> <img src=\"/attachments/x\" <p");
+    }
+
+    @Test
+    void handlesNull() {
+        assertThat(JiraHtmlScanner.findSenderUserName(null)).isNull();
+        assertThat(JiraHtmlScanner.scan(null, Map.of()).getHtml()).isNull();
+    }
+}
@@ -0,0 +1,249 @@
+package com.samsungds.ims.mail.util;
+
+import com.samsungds.ims.mail.benchmark.JiraMailFixtures;
+import com.samsungds.ims.mail.benchmark.LegacyMimeWalk;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import javax.activation.DataHandler;
+import javax.mail.MessagingException;
+import javax.mail.Part;
+import javax.mail.internet.MimeBodyPart;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import javax.mail.util.ByteArrayDataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 단일 순회 파서가 변경 전 4회 재귀 순회({@link LegacyMimeWalk})와 같은 결과를 내는지 확인
+ */
+class MimeMessageParserTest {
+
+    @ParameterizedTest
+    @EnumSource(JiraMailFixtures.Size.class)
+    void matchesLegacyWalksOnJiraFixtures(JiraMailFixtures.Size size) throws Exception {
+        byte[] raw = JiraMailFixtures.rawMessage(size);
+
+        Walk legacy = legacyWalk(JiraMailFixtures.parse(raw));
+        Walk parsed = parserWalk(JiraMailFixtures.parse(raw));
+
+        assertThat(parsed).isEqualTo(legacy);
+        assertThat(parsed.htmlBody).contains("user-hover");
+        assertThat(parsed.textBody).isNull();
+        assertThat(parsed.cidImages).containsKey("jira-generated-image-avatar-0");
+    }
+
+    @Test
+    void findsHtmlInRelatedNestedInsideAlternative() throws Exception {
+        MimeMultipart related = new MimeMultipart("related");
+        related.addBodyPart(html("<p><img src=\"cid:logo\"></p>"));
+        related.addBodyPart(image("logo", null));
+        MimeMultipart alternative = new MimeMultipart("alternative");
+        alternative.addBodyPart(text("plain fallback"));
+        alternative.addBodyPart(wrap(related));
+        MimeMultipart mixed = new MimeMultipart("mixed");
+        mixed.addBodyPart(wrap(alternative));
+        mixed.addBodyPart(attachment("report.pdf", "application/pdf"));
+
+        Walk parsed = assertSameAsLegacy(mixed);
+
+        assertThat(parsed.htmlBody).contains("cid:logo");
+        assertThat(parsed.textBody).isNull();
+        assertThat(parsed.cidImages).containsOnlyKeys("logo");
+        assertThat(parsed.attachmentNames).containsExactly("report.pdf");
+    }
+
+    @Test
+    void fallsBackToTextAndIgnoresHtmlAttachment() throws Exception {
+        MimeMultipart mixed = new MimeMultipart("mixed");
+        mixed.addBodyPart(attachment("page.html", "text/html"));
+        mixed.addBodyPart(text("plain body"));
+        mixed.addBodyPart(image("unused", null));
+
+        Walk parsed = assertSameAsLegacy(mixed);
+
+        assertThat(parsed.htmlBody).isNull();
+        assertThat(parsed.textBody).isEqualTo("plain body");
+        // HTML 본문이 없으면 CID 이미지는 처리하지 않음
+        assertThat(parsed.cidImages).isEmpty();
+        assertThat(parsed.attachmentNames).containsExactly("page.html");
+    }
+
+    @Test
+    void treatsInlinePartsWithFileNamesAsAttachmentsUnlessReferencedByCid() throws Exception {
+        MimeMultipart related = new MimeMultipart("related");
+        related.addBodyPart(html("<img src=\"cid:chart\">"));
+        related.addBodyPart(image("chart", "chart.png"));
+        MimeBodyPart inlineDocument = attachment("notes.txt", "text/plain");
+        inlineDocument.setDisposition(Part.INLINE);
+        related.addBodyPart(inlineDocument);
+        MimeBodyPart inlineWithoutName = new MimeBodyPart();
+        inlineWithoutName.setDataHandler(new DataHandler(new ByteArrayDataSource(new byte[16], "application/octet-stream")));
+        inlineWithoutName.setDisposition(Part.INLINE);
+        related.addBodyPart(inlineWithoutName);
+
+        Walk parsed = assertSameAsLegacy(related);
+
+        assertThat(parsed.cidImages).containsOnlyKeys("chart");
+        assertThat(parsed.attachmentNames).containsExactly("notes.txt");
+    }
+
+    @Test
+    void skipsNonImageCidAndKeepsFirstDuplicateCid() throws Exception {
+        MimeMultipart related = new MimeMultipart("related");
+        related.addBodyPart(html("<img src=\"cid:dup\"><img src=\"cid:shared\">"));
+        MimeBodyPart calendar = new MimeBodyPart();
+        calendar.setText("BEGIN:VCALENDAR", "UTF-8", "calendar");
+        calendar.setHeader("Content-ID", "<shared>");
+        related.addBodyPart(calendar);
+        related.addBodyPart(image("shared", null));
+        related.addBodyPart(image("dup", null, (byte) 1));
+        related.addBodyPart(image("dup", null, (byte) 2));
+
+        Walk parsed = assertSameAsLegacy(related);
+
+        assertThat(parsed.cidImages).containsOnlyKeys("shared", "dup");
+        assertThat(parsed.cidImages.get("dup")[0]).isEqualTo((byte) 1);
+    }
+
+    private static Walk assertSameAsLegacy(MimeMultipart content) throws Exception {
+        MimeMessage message = new MimeMessage(JiraMailFixtures.SESSION);
+        message.setContent(content);
+        message.saveChanges();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+        byte[] raw = out.toByteArray();
+
+        Walk legacy = legacyWalk(JiraMailFixtures.parse(raw));
+        Walk parsed = parserWalk(JiraMailFixtures.parse(raw));
+        assertThat(parsed).isEqualTo(legacy);
+        return parsed;
+    }
+
+    private static Walk legacyWalk(MimeMessage message) throws MessagingException, IOException {
+        Walk walk = new Walk();
+        walk.htmlBody = LegacyMimeWalk.findBodyTextRecursive(message, "text/html");
+        if (walk.htmlBody == null) {
+            walk.textBody = LegacyMimeWalk.findBodyTextRecursive(message, "text/plain");
+        }
+        if (walk.htmlBody != null) {
+            LegacyMimeWalk.collectCidImagesRecursive(message, walk.cidImages);
+        }
+        LegacyMimeWalk.readOtherAttachments(message, walk.cidImages.keySet(), walk.attachmentNames);
+        return walk;
+    }
+
+    // EmailIngestService와 같은 방식으로 ParsedEmail을 사용
+    private static Walk parserWalk(MimeMessage message) throws MessagingException, IOException {
+        ParsedEmail parsed = MimeMessageParser.parse(message);
+        Walk walk = new Walk();
+        walk.htmlBody = parsed.getHtmlBody();
+        walk.textBody = parsed.getTextBody();
+        if (walk.htmlBody != null) {
+            for (ParsedEmail.InlineImage image : parsed.getInlineImages().values()) {
+                try (InputStream in = image.getPart().getInputStream()) {
+                    walk.cidImages.put(image.getCid(), in.readAllBytes());
+                }
+            }
+        }
+        for (ParsedEmail.Attachment attachment : parsed.getAttachments()) {
+            if (attachment.getCid() != null && walk.cidImages.containsKey(attachment.getCid())) {
+                continue;
+            }
+            String fileName = attachment.getFileName();
+            if (fileName != null && !fileName.trim().isEmpty()) {
+                walk.attachmentNames.add(fileName);
+            }
+        }
+        return walk;
+    }
+
+    private static MimeBodyPart html(String html) throws MessagingException {
+        MimeBodyPart part = new MimeBodyPart();
+        part.setContent(html, "text/html; charset=UTF-8");
+        return part;
+    }
+
+    private static MimeBodyPart text(String text) throws MessagingException {
+        MimeBodyPart part = new MimeBodyPart();
+        part.setText(text, "UTF-8");
+        return part;
+    }
+
+    private static MimeBodyPart image(String cid, String fileName) throws MessagingException {
+        return image(cid, fileName, (byte) 0);
+    }
+
+    private static MimeBodyPart image(String cid, String fileName, byte marker) throws MessagingException {
+        byte[] data = new byte[64];
+        data[0] = marker;
+        MimeBodyPart part = new MimeBodyPart();
+        part.setDataHandler(new DataHandler(new ByteArrayDataSource(data, "image/png")));
+        part.setHeader("Content-ID", "<" + cid + ">");
+        part.setDisposition(Part.INLINE);
+        if (fileName != null) {
+            part.setFileName(fileName);
+        }
+        return part;
+    }
+
+    private static MimeBodyPart attachment(String fileName, String contentType) throws MessagingException {
+        MimeBodyPart part = new MimeBodyPart();
+        part.setDataHandler(new DataHandler(new ByteArrayDataSource(fileName.getBytes(StandardCharsets.UTF_8), contentType)));
+        part.setFileName(fileName);
+        part.setDisposition(Part.ATTACHMENT);
+        return part;
+    }
+
+    private static MimeBodyPart wrap(MimeMultipart multipart) throws MessagingException {
+        MimeBodyPart part = new MimeBodyPart();
+        part.setContent(multipart);
+        return part;
+    }
+
+    private static class Walk {
+        String htmlBody;
+        String textBody;
+        final Map<String, byte[]> cidImages = new HashMap<>();
+        final List<String> attachmentNames = new ArrayList<>();
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Walk other)) {
+                return false;
+            }
+            if (!Objects.equals(htmlBody, other.htmlBody)
+                    || !Objects.equals(textBody, other.textBody)
+                    || !attachmentNames.equals(other.attachmentNames)
+                    || !cidImages.keySet().equals(other.cidImages.keySet())) {
+                return false;
+            }
+            return cidImages.entrySet().stream()
+                    .allMatch(e -> Arrays.equals(e.getValue(), other.cidImages.get(e.getKey())));
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(htmlBody, textBody, attachmentNames, cidImages.keySet());
+        }
+
+        @Override
+        public String toString() {
+            return "Walk{html=" + (htmlBody == null ? null : htmlBody.length() + " chars")
+                    + ", text=" + (textBody == null ? null : textBody.length() + " chars")
+                    + ", cids=" + cidImages.keySet() + ", attachments=" + attachmentNames + "}";
+        }
+    }
+}
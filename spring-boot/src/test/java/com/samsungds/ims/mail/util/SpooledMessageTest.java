@@ -0,0 +1,171 @@
+package com.samsungds.ims.mail.util;
+
+import com.samsungds.ims.mail.component.EmailDomainPolicy;
+import com.samsungds.ims.mail.component.SmtpInterceptorProperties;
+import com.samsungds.ims.mail.component.SmtpMessageHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.subethamail.smtp.RejectException;
+import org.subethamail.smtp.TooMuchDataException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpooledMessageTest {
+    @TempDir
+    Path spoolDir;
+
+    @Test
+    void keepsMessageUnderThresholdInMemory() throws IOException {
+        byte[] data = bytes(16);
+
+        try (SpooledMessage spooled = SpooledMessage.spool(new ByteArrayInputStream(data), 16, 0, spoolDir)) {
+            assertThat(spooled.isSpooledToFile()).isFalse();
+            assertThat(spooled.getSize()).isEqualTo(16);
+            assertThat(readAll(spooled.newSharedStream())).isEqualTo(data);
+        }
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void spoolsMessageOverThresholdToFileAndDeletesOnClose() throws IOException {
+        byte[] data = bytes(20_000);
+
+        SpooledMessage spooled = SpooledMessage.spool(new ByteArrayInputStream(data), 100, 0, spoolDir);
+        try {
+            assertThat(spooled.isSpooledToFile()).isTrue();
+            assertThat(spooled.getSize()).isEqualTo(data.length);
+            assertThat(spoolFiles()).isEqualTo(1);
+            // 공유 스트림을 여러 번 열어도 같은 내용을 읽음
+            assertThat(readAll(spooled.newSharedStream())).isEqualTo(data);
+            assertThat(readAll(spooled.newSharedStream())).isEqualTo(data);
+        } finally {
+            spooled.close();
+        }
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void acceptsMessageExactlyAtMaxSize() throws IOException {
+        byte[] data = bytes(64);
+
+        try (SpooledMessage spooled = SpooledMessage.spool(new ByteArrayInputStream(data), 16, 64, spoolDir)) {
+            assertThat(spooled.getSize()).isEqualTo(64);
+            assertThat(readAll(spooled.newSharedStream())).isEqualTo(data);
+        }
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void rejectsOneByteOverMaxSizeAndDrainsInput() {
+        CountingInputStream in = new CountingInputStream(bytes(65));
+
+        assertThatThrownBy(() -> SpooledMessage.spool(in, 1024, 64, spoolDir))
+                .isInstanceOf(TooMuchDataException.class);
+        assertThat(in.isExhausted()).isTrue();
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void deletesSpoolFileWhenOverflowHappensAfterSwitchingToFile() {
+        // 8KB 단위로 읽으므로 임계값(16)을 넘어 파일로 전환된 뒤 최대 크기를 초과
+        CountingInputStream in = new CountingInputStream(bytes(100_000));
+
+        assertThatThrownBy(() -> SpooledMessage.spool(in, 16, 20_000, spoolDir))
+                .isInstanceOf(TooMuchDataException.class);
+        assertThat(in.isExhausted()).isTrue();
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void deletesSpoolFileWhenReadFails() {
+        InputStream failing = new InputStream() {
+            private int remaining = 10_000;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- <= 0) {
+                    throw new IOException("connection reset");
+                }
+                return 'a';
+            }
+        };
+
+        assertThatThrownBy(() -> SpooledMessage.spool(failing, 16, 0, spoolDir))
+                .isInstanceOf(IOException.class)
+                .hasMessage("connection reset");
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void copyBoundedRejectsOverflowAndDrainsInput() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(SpooledMessage.copyBounded(new ByteArrayInputStream(bytes(32)), out, 32)).isEqualTo(32);
+        assertThat(out.toByteArray()).isEqualTo(bytes(32));
+
+        CountingInputStream in = new CountingInputStream(bytes(33));
+        assertThatThrownBy(() -> SpooledMessage.copyBounded(in, new ByteArrayOutputStream(), 32))
+                .isInstanceOf(TooMuchDataException.class);
+        assertThat(in.isExhausted()).isTrue();
+    }
+
+    @Test
+    void handlerRejectsOversizedMessageWith552() {
+        SmtpInterceptorProperties properties = new SmtpInterceptorProperties();
+        properties.setAllowedEmailDomains(List.of("samsung.com"));
+        properties.setSpoolPath(spoolDir.toString());
+        properties.setSpoolThreshold(16);
+        properties.setMaxMessageSize(1024);
+        EmailDomainPolicy domainPolicy = new EmailDomainPolicy(properties);
+        domainPolicy.init();
+        // 최대 크기 초과는 저장 전에 거부되므로 수신 서비스/저널은 사용되지 않음
+        SmtpMessageHandler handler = new SmtpMessageHandler(null, null, properties, domainPolicy);
+        handler.from("sender@samsung.com");
+        handler.recipient("receiver@samsung.com");
+
+        assertThatThrownBy(() -> handler.data(new ByteArrayInputStream(bytes(4096))))
+                .isInstanceOfSatisfying(RejectException.class, e -> assertThat(e.getCode()).isEqualTo(552));
+        assertThat(spoolFiles()).isZero();
+    }
+
+    private long spoolFiles() {
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            return files.count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ('a' + i % 26);
+        }
+        return data;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static class CountingInputStream extends ByteArrayInputStream {
+        CountingInputStream(byte[] data) {
+            super(data);
+        }
+
+        boolean isExhausted() {
+            return available() == 0;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.samsungds.ims.mail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+    // 단계별 범위 (tick 1ms 기준): 0단계 64, 1단계 4096, 2단계 262144, 3단계 16777216
+    private static final long[] LEVEL_BOUNDARIES = {64, 4096, 262_144};
+
+    @Test
+    void firesExactlyAtDeadlineAcrossLevelBoundaries() {
+        for (long boundary : LEVEL_BOUNDARIES) {
+            for (long deadline : new long[]{boundary - 1, boundary, boundary + 1}) {
+                TimingWheel wheel = new TimingWheel(1, 0);
+                wheel.add(1, deadline);
+
+                assertThat(wheel.advance(deadline - 1)).as("deadline %d", deadline).isEmpty();
+                assertThat(wheel.advance(deadline)).as("deadline %d", deadline).containsExactly(1L);
+                assertThat(wheel.size()).isZero();
+            }
+        }
+    }
+
+    @Test
+    void firesExactlyAtDeadlineWhenAdvancedTickByTick() {
+        TimingWheel wheel = new TimingWheel(1, 0);
+        long[] deadlines = {1, 63, 64, 65, 127, 128, 4095, 4096, 4097, 8191, 8192, 262_143, 262_144, 262_145};
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.add(i, deadlines[i]);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 1; now <= 262_145; now++) {
+            for (Long id : wheel.advance(now)) {
+                assertThat(deadlines[id.intValue()]).isEqualTo(now);
+                fired.add(id);
+            }
+        }
+        assertThat(fired).hasSize(deadlines.length);
+    }
+
+    @Test
+    void cascadesUpperLevelEntriesInDueOrder() {
+        TimingWheel wheel = new TimingWheel(1, 0);
+        // 같은 1단계 칸(4096~8191)에 거꾸로 등록
+        wheel.add(3, 5000);
+        wheel.add(2, 4500);
+        wheel.add(1, 4200);
+
+        assertThat(wheel.advance(4096)).isEmpty();
+        assertThat(wheel.advance(4200)).containsExactly(1L);
+        assertThat(wheel.advance(4499)).isEmpty();
+        assertThat(wheel.advance(4500)).containsExactly(2L);
+        assertThat(wheel.advance(5000)).containsExactly(3L);
+    }
+
+    @Test
+    void firesInDueOrderWithinOneAdvance() {
+        TimingWheel wheel = new TimingWheel(1, 0);
+        List<Long> deadlines = new ArrayList<>();
+        for (long deadline = 1; deadline <= 300_000; deadline += 997) {
+            deadlines.add(deadline);
+        }
+        List<Long> shuffled = new ArrayList<>(deadlines);
+        Collections.shuffle(shuffled);
+        shuffled.forEach(deadline -> wheel.add(deadline, deadline));
+
+        assertThat(wheel.advance(300_000)).containsExactlyElementsOf(deadlines);
+    }
+
+    @Test
+    void cancelledEntryNeverFires() {
+        TimingWheel wheel = new TimingWheel(1, 0);
+        wheel.add(1, 10);
+        wheel.add(2, 5000);
+        wheel.add(3, 5000);
+
+        assertThat(wheel.remove(1)).isTrue();
+        assertThat(wheel.remove(2)).isTrue();
+        assertThat(wheel.remove(2)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        assertThat(wheel.advance(10_000)).containsExactly(3L);
+        assertThat(wheel.remove(3)).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void reAddingIdReplacesDeadline() {
+        TimingWheel wheel = new TimingWheel(1, 0);
+        wheel.add(1, 100);
+        wheel.add(1, 5000);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(4999)).isEmpty();
+        assertThat(wheel.advance(5000)).containsExactly(1L);
+
+        wheel.add(2, 6000);
+        wheel.add(2, 5500);
+        assertThat(wheel.advance(10_000)).containsExactly(2L);
+    }
+
+    @Test
+    void clampsFarFutureEntryAndFiresAtDeadline() {
+        TimingWheel wheel = new TimingWheel(1, 0);
+        long deadline = wheel.getRangeMillis() * 2 + 12_345;
+        wheel.add(1, deadline);
+
+        assertThat(wheel.advance(wheel.getRangeMillis())).isEmpty();
+        assertThat(wheel.advance(wheel.getRangeMillis() * 2)).isEmpty();
+        assertThat(wheel.advance(deadline - 1)).isEmpty();
+        assertThat(wheel.advance(deadline)).containsExactly(1L);
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextAdvance() {
+        TimingWheel wheel = new TimingWheel(100, 10_000);
+        wheel.add(1, 5_000);
+        wheel.add(2, 10_000);
+
+        assertThat(wheel.size()).isEqualTo(2);
+        assertThat(wheel.advance(10_000)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void roundsDeadlineUpToTick() {
+        TimingWheel wheel = new TimingWheel(100, 0);
+        wheel.add(1, 150);
+
+        assertThat(wheel.advance(199)).isEmpty();
+        assertThat(wheel.advance(200)).containsExactly(1L);
+    }
+
+    @Test
+    void rejectsInvalidTick() {
+        assertThatThrownBy(() -> new TimingWheel(0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.samsungds.ims.mail.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void startsFullAndCapsBurst() {
+        TokenBucket bucket = new TokenBucket(10, 3, now::get);
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+
+        // 오래 쉬어도 burst 이상은 쌓이지 않음
+        advanceMillis(60_000);
+        assertThat(bucket.available(100)).isEqualTo(3);
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 1, now::get);
+        assertThat(bucket.tryAcquire()).isTrue();
+
+        advanceMillis(99);
+        assertThat(bucket.tryAcquire()).isFalse();
+        advanceMillis(1);
+        assertThat(bucket.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void accumulatesFractionalRefill() {
+        TokenBucket bucket = new TokenBucket(2, 4, now::get);
+        for (int i = 0; i < 4; i++) {
+            assertThat(bucket.tryAcquire()).isTrue();
+        }
+
+        for (int i = 0; i < 4; i++) {
+            advanceMillis(250);
+        }
+        assertThat(bucket.available(10)).isEqualTo(2);
+    }
+
+    @Test
+    void reportsWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(4, 1, now::get);
+        assertThat(bucket.nanosUntilAvailable()).isZero();
+        assertThat(bucket.tryAcquire()).isTrue();
+
+        assertThat(bucket.nanosUntilAvailable()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(250));
+        advanceMillis(100);
+        assertThat(bucket.nanosUntilAvailable()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(150));
+        advanceMillis(150);
+        assertThat(bucket.nanosUntilAvailable()).isZero();
+    }
+
+    @Test
+    void refundDoesNotExceedBurst() {
+        TokenBucket bucket = new TokenBucket(1, 2, now::get);
+        bucket.refund();
+        assertThat(bucket.available(10)).isEqualTo(2);
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        bucket.refund();
+        assertThat(bucket.available(10)).isEqualTo(2);
+    }
+
+    @Test
+    void availableDoesNotConsumeAndHonorsMax() {
+        TokenBucket bucket = new TokenBucket(1, 5, now::get);
+
+        assertThat(bucket.available(3)).isEqualTo(3);
+        assertThat(bucket.available(10)).isEqualTo(5);
+    }
+
+    @Test
+    void rejectsNonPositiveRate() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void advanceMillis(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}